@@ -1,7 +1,10 @@
 plugins {
     java
     id("org.springframework.boot") version "3.4.5"
+    id("org.springframework.boot.aot") version "3.4.5"
+    id("org.graalvm.buildtools.native") version "0.10.6" apply false
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.sporty"
@@ -19,10 +22,10 @@ repositories {
 
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("org.springframework.kafka:spring-kafka")
     implementation("org.springframework.boot:spring-boot-starter-validation")
-    implementation("org.springframework.retry:spring-retry")
-    implementation("org.springframework:spring-aspects")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     developmentOnly("org.springframework.boot:spring-boot-docker-compose")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.kafka:spring-kafka-test")
@@ -33,3 +36,103 @@ dependencies {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("soak", "startup")
+    }
+}
+
+// ./gradlew soakTest -Psoak.events=9000 -Psoak.duration=30m -Plive-events.publish.mode=ON_CHANGE
+val soakTest by tasks.registering(Test::class) {
+    description = "Runs the soak test against a simulated provider and an embedded Kafka broker."
+    group = LifecycleBasePlugin.VERIFICATION_GROUP
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("soak")
+    }
+
+    val reportDirectory = layout.buildDirectory.dir("reports/soak").get().asFile
+    maxHeapSize = findProperty("soak.heap")?.toString() ?: "1g"
+    jvmArgs("-Xlog:gc*:file=${reportDirectory}/gc.log:time,uptime,level,tags")
+    systemProperty("soak.report", "${reportDirectory}/report.txt")
+    project.properties
+        .filterKeys { it.startsWith("soak.") || it.startsWith("live-events.") }
+        .forEach { (key, value) -> systemProperty(key, value.toString()) }
+
+    testLogging.showStandardStreams = true
+    outputs.upToDateWhen { false }
+    doFirst { reportDirectory.mkdirs() }
+}
+
+// ./gradlew nativeCompile -Pnative builds build/native/nativeCompile/live-events, needs GraalVM
+if (hasProperty("native")) {
+    apply(plugin = "org.graalvm.buildtools.native")
+}
+
+// conditional beans are decided when the AOT code is generated, so feature flags have to be given at build time
+tasks.named<JavaExec>("processAot") {
+    project.properties
+        .filterKeys { it.startsWith("live-events.") }
+        .forEach { (key, value) -> systemProperty(key, value.toString()) }
+}
+
+val cdsDirectory = layout.buildDirectory.dir("cds")
+val extractedDirectory = cdsDirectory.map { it.dir("application") }
+val applicationJar = extractedDirectory.zip(tasks.bootJar.flatMap { it.archiveFileName }) { directory, jar -> directory.file(jar) }
+val cdsArchive = cdsDirectory.map { it.file("application.jsa") }
+val javaLauncher = javaToolchains.launcherFor(java.toolchain)
+
+val extractBootJar by tasks.registering(Exec::class) {
+    description = "Extracts the boot jar into the layout class data sharing needs."
+    group = BasePlugin.BUILD_GROUP
+    inputs.file(tasks.bootJar.flatMap { it.archiveFile })
+    outputs.dir(extractedDirectory)
+    doFirst {
+        delete(extractedDirectory)
+        commandLine(javaLauncher.get().executablePath.asFile, "-Djarmode=tools", "-jar",
+            tasks.bootJar.get().archiveFile.get().asFile, "extract", "--destination", extractedDirectory.get().asFile)
+    }
+}
+
+// a training run that stops right after the context refresh, before anything connects to Kafka or the provider
+val cdsTrainingRun by tasks.registering(Exec::class) {
+    description = "Records the class data sharing archive of an AOT startup."
+    group = BasePlugin.BUILD_GROUP
+    dependsOn(extractBootJar)
+    inputs.file(applicationJar)
+    outputs.file(cdsArchive)
+    doFirst {
+        commandLine(javaLauncher.get().executablePath.asFile, "-XX:ArchiveClassesAtExit=${cdsArchive.get().asFile}",
+            "-Dspring.aot.enabled=true", "-Dspring.context.exit=onRefresh", "-jar", applicationJar.get().asFile)
+    }
+}
+
+val startupBenchmark by tasks.registering(Test::class) {
+    description = "Measures time to first published message and RSS of the JVM, AOT, AOT with CDS and native startup."
+    group = LifecycleBasePlugin.VERIFICATION_GROUP
+    dependsOn(cdsTrainingRun)
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("startup")
+    }
+
+    systemProperty("startup.application-jar", applicationJar.get().asFile)
+    systemProperty("startup.cds-archive", cdsArchive.get().asFile)
+    systemProperty("startup.native-image", layout.buildDirectory.file("native/nativeCompile/${project.name}").get().asFile)
+    systemProperty("startup.report", layout.buildDirectory.file("reports/startup/report.txt").get().asFile)
+    findProperty("startup.runs")?.let { systemProperty("startup.runs", it.toString()) }
+
+    testLogging.showStandardStreams = true
+    outputs.upToDateWhen { false }
+}
+
+jmh {
+    jmhVersion = "1.37"
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results-${project.version}.json")
+    findProperty("jmhIncludes")?.let { includes = listOf(it.toString()) }
+    findProperty("jmhProfilers")?.let { profilers = listOf(it.toString()) }
+}
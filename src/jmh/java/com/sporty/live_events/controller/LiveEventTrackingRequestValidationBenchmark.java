@@ -0,0 +1,66 @@
+package com.sporty.live_events.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/***
+ What the controller does per request before reaching the tracking service: binding the JSON body and validating it.
+ ***/
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LiveEventTrackingRequestValidationBenchmark {
+    private static final byte[] VALID_BODY = "{\"eventId\":1234,\"status\":true}".getBytes();
+
+    private final LiveEventTrackingRequest validRequest = new LiveEventTrackingRequest(1234L, true);
+    private final LiveEventTrackingRequest invalidRequest = new LiveEventTrackingRequest(12L, true);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+
+    @Setup
+    public void setup() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @Benchmark
+    public Object validateValidRequest() {
+        return validator.validate(validRequest);
+    }
+
+    @Benchmark
+    public Object validateInvalidRequest() {
+        return validator.validate(invalidRequest);
+    }
+
+    @Benchmark
+    public Object bindAndValidateRequest() throws IOException {
+        return validator.validate(objectMapper.readValue(VALID_BODY, LiveEventTrackingRequest.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+}
@@ -0,0 +1,97 @@
+package com.sporty.live_events.mock;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+/***
+ Stand-alone copy of MockLiveEventStatusEndpoint for benchmarks, so they can run without a Spring context.
+ Serves the same payloads on /mock/status/{eventId} and /mock/status/batch after an artificial latency,
+ and counts the client connections it was called on.
+ ***/
+public class MockProviderServer implements AutoCloseable {
+    private final HttpServer server;
+    private final Duration latency;
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+
+    public MockProviderServer(Duration latency) throws IOException {
+        this.latency = latency;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/mock/status/", this::handleStatus);
+        this.server.createContext("/mock/status/batch", this::handleBatchStatus);
+        this.server.start();
+    }
+
+    public String getBaseUri() {
+        return "http://localhost:" + server.getAddress().getPort() + "/mock/status/";
+    }
+
+    /***
+     Number of distinct client connections served so far.
+     ***/
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    private void handleStatus(HttpExchange exchange) throws IOException {
+        var path = exchange.getRequestURI().getPath();
+        var eventId = Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+
+        sleep();
+        respond(exchange, "{\"eventId\":" + eventId + ",\"currentScore\":\"" + UUID.randomUUID() + "\"}");
+    }
+
+    public String getBatchUri() {
+        return getBaseUri() + "batch";
+    }
+
+    private void handleBatchStatus(HttpExchange exchange) throws IOException {
+        var requestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8).trim();
+        var eventIds = requestBody.substring(1, requestBody.length() - 1).split(",");
+
+        var responseBody = new StringBuilder("[");
+        for (int i = 0; i < eventIds.length; i++) {
+            if (i > 0) {
+                responseBody.append(',');
+            }
+            responseBody.append("{\"eventId\":").append(Long.parseLong(eventIds[i].trim()))
+                    .append(",\"currentScore\":\"").append(UUID.randomUUID()).append("\"}");
+        }
+        responseBody.append(']');
+
+        sleep();
+        respond(exchange, responseBody.toString());
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        connections.add(exchange.getRemoteAddress());
+        var bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (var out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,86 @@
+package com.sporty.live_events.service;
+
+import com.sporty.live_events.configuration.LiveEventTrackerJournalProperties;
+import com.sporty.live_events.configuration.LiveScoreCadenceProperties;
+import com.sporty.live_events.configuration.LiveScoreMetricsProperties;
+import com.sporty.live_events.configuration.LiveScorePublishProperties;
+import com.sporty.live_events.configuration.LiveScoreSchedulerProperties;
+import com.sporty.live_events.service.journal.LiveEventTrackerJournalServiceBean;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import com.sporty.live_events.service.scheduler.LiveScoreChangeDetector;
+import com.sporty.live_events.service.scheduler.LiveScorePollingCadence;
+import com.sporty.live_events.service.scheduler.LiveScoreTaskSchedulerServiceBean;
+import com.sporty.live_events.service.scheduler.LiveScoreTierThrottle;
+import com.sporty.live_events.stub.StubExternalLiveScoreRestApiService;
+import com.sporty.live_events.stub.StubLiveEventAdmissionService;
+import com.sporty.live_events.stub.StubLiveScoreKafkaPublisherService;
+import com.sporty.live_events.stub.StubLiveScoreStreamService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/***
+ scheduleTracker under concurrent schedule/unschedule traffic from 8 threads.
+ The smaller the eventIdRange, the more threads contend on the same events.
+ The timing wheel is never advanced, so only the tracking and scheduling bookkeeping is measured.
+ ***/
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LiveEventTrackingServiceBenchmark {
+
+    @Param({"16", "100000"})
+    public int eventIdRange;
+
+    private LiveEventTrackingService liveEventTrackingService;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        var changeDetector = new LiveScoreChangeDetector(
+                new LiveScorePublishProperties(LiveScorePublishProperties.Mode.ON_CHANGE, 0, 100_000), new SimpleMeterRegistry());
+        var schedulerProperties = new LiveScoreSchedulerProperties(Duration.ofSeconds(10), Duration.ofMillis(100), 128,
+                LiveScoreSchedulerProperties.ExecutionMode.PLATFORM, 1, 1, 3, Duration.ofSeconds(1));
+        var pipelineMetrics = new LiveScorePipelineMetrics(new SimpleMeterRegistry(), new LiveScoreMetricsProperties(false, 100));
+        var pollingCadence = new LiveScorePollingCadence(schedulerProperties,
+                new LiveScoreCadenceProperties(false, Duration.ofSeconds(2), Duration.ofSeconds(60), 0.5, 1.5));
+        var schedulerService = new LiveScoreTaskSchedulerServiceBean(
+                new StubExternalLiveScoreRestApiService("0-0"), new StubLiveScoreKafkaPublisherService(blackhole),
+                changeDetector, pollingCadence, pipelineMetrics, new StubLiveScoreStreamService(), new LiveScoreTierThrottle(),
+                new ThreadPoolTaskScheduler(), Runnable::run, schedulerProperties);
+
+        var disabledJournal = new LiveEventTrackerJournalServiceBean(new LiveEventTrackerJournalProperties(false,
+                Path.of("build/tracker-journal"), DataSize.ofMegabytes(1), Duration.ofMinutes(1), Duration.ofSeconds(30),
+                65_536, Duration.ofMillis(100)), pipelineMetrics);
+
+        liveEventTrackingService = new LiveEventTrackingServiceBean(schedulerService, changeDetector, disabledJournal,
+                new StubLiveEventAdmissionService(), pipelineMetrics);
+    }
+
+    @Benchmark
+    public void scheduleAndUnschedule() {
+        var random = ThreadLocalRandom.current();
+        liveEventTrackingService.scheduleTracker(random.nextLong(eventIdRange), random.nextBoolean());
+    }
+}
@@ -0,0 +1,96 @@
+package com.sporty.live_events.service.external;
+
+import com.sporty.live_events.configuration.ExternalLiveScoreProviderProperties;
+import com.sporty.live_events.configuration.LiveScoreMetricsProperties;
+import com.sporty.live_events.configuration.ProviderHedgingProperties;
+import com.sporty.live_events.configuration.ProviderProtectionProperties;
+import com.sporty.live_events.configuration.ProviderRateLimitProperties;
+import com.sporty.live_events.mock.MockProviderServer;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/***
+ Time to fetch the scores of one tick worth of events, one request per event versus batches of batchSize.
+ batchSize 1 is the per-event fallback path.
+ ***/
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BatchScoreFetchBenchmark {
+    private static final ProviderRateLimiter UNLIMITED =
+            new ProviderRateLimiter(new ProviderRateLimitProperties(false, 1000, 100, Duration.ofSeconds(1)));
+    private static final ProviderHedgingProperties NO_HEDGING =
+            new ProviderHedgingProperties(false, "", 0.95, Duration.ofMillis(20), Duration.ofSeconds(1), 1000, 0.05, 10,
+                    Duration.ofSeconds(30), 0.5);
+
+    @Param({"1", "50", "200"})
+    public int batchSize;
+
+    @Param({"1000"})
+    public int eventsPerTick;
+
+    @Param({"5"})
+    public int providerLatencyMillis;
+
+    private MockProviderServer mockProviderServer;
+    private ExternalLiveScoreRestApiServiceBean externalService;
+    private List<Long> eventIds;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        mockProviderServer = new MockProviderServer(Duration.ofMillis(providerLatencyMillis));
+
+        var properties = new ExternalLiveScoreProviderProperties(mockProviderServer.getBaseUri(), 64,
+                batchSize > 1, mockProviderServer.getBatchUri(), batchSize);
+        var pipelineMetrics = new LiveScorePipelineMetrics(new SimpleMeterRegistry(), new LiveScoreMetricsProperties(false, 100));
+        var providerProtection = new ProviderProtection(properties,
+                new ProviderProtectionProperties(true, 5, Duration.ofSeconds(10), 1, 1, Duration.ofMillis(500), 0.7));
+        externalService = new ExternalLiveScoreRestApiServiceBean(RestClient.create(),
+                providerProtection, UNLIMITED, new ProviderHedging(properties, NO_HEDGING, pipelineMetrics), pipelineMetrics,
+                properties);
+        eventIds = LongStream.rangeClosed(1, eventsPerTick).boxed().toList();
+    }
+
+    @Benchmark
+    public void fetchOneTick(Blackhole blackhole) {
+        var maxBatchSize = externalService.getMaxBatchSize();
+        if (maxBatchSize <= 1) {
+            for (var eventId : eventIds) {
+                blackhole.consume(externalService.queryCurrentScore(eventId));
+            }
+            return;
+        }
+
+        for (int from = 0; from < eventIds.size(); from += maxBatchSize) {
+            blackhole.consume(externalService.queryCurrentScores(eventIds.subList(from, Math.min(eventIds.size(), from + maxBatchSize))));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mockProviderServer.close();
+    }
+}
@@ -0,0 +1,88 @@
+package com.sporty.live_events.service.external;
+
+import com.sporty.live_events.configuration.ProviderTransportProperties;
+import com.sporty.live_events.service.kafka.LiveScoreKafkaMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/***
+ Cost of turning one provider response body into the outgoing kafka message, through Jackson databind as
+ RestClient's default converter does versus ExternalLiveScoreResponseConverter.
+ Run with -PjmhProfilers=gc for the allocation comparison (gc.alloc.rate.norm, bytes per response).
+ ***/
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProviderResponseDecodingBenchmark {
+
+    @Param({"DATABIND", "STREAMING"})
+    public ProviderTransportProperties.Decoder decoder;
+
+    private HttpMessageConverter<Object> converter;
+    private ResponseBody responseBody;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        converter = decoder == ProviderTransportProperties.Decoder.STREAMING
+                ? (HttpMessageConverter<Object>) (HttpMessageConverter<?>) new ExternalLiveScoreResponseConverter()
+                : new MappingJackson2HttpMessageConverter();
+        responseBody = new ResponseBody(("{\"eventId\":1234567,\"currentScore\":\"" + UUID.randomUUID() + "\"}")
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public LiveScoreKafkaMessage decode() throws IOException {
+        responseBody.rewind();
+        var response = (ExternalLiveScoreResponse) converter.read(ExternalLiveScoreResponse.class, responseBody);
+        return new LiveScoreKafkaMessage(response.eventId(), response.currentScore());
+    }
+
+    private static final class ResponseBody implements HttpInputMessage {
+        private final ByteArrayInputStream body;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private ResponseBody(byte[] body) {
+            this.body = new ByteArrayInputStream(body);
+            this.headers.setContentType(MediaType.APPLICATION_JSON);
+        }
+
+        private void rewind() {
+            body.reset();
+        }
+
+        @Override
+        public InputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
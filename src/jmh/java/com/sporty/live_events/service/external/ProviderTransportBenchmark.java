@@ -0,0 +1,111 @@
+package com.sporty.live_events.service.external;
+
+import com.sporty.live_events.configuration.ExternalLiveScoreProviderProperties;
+import com.sporty.live_events.configuration.LiveScoreMetricsProperties;
+import com.sporty.live_events.configuration.ProviderHedgingProperties;
+import com.sporty.live_events.configuration.ProviderProtectionProperties;
+import com.sporty.live_events.configuration.ProviderRateLimitProperties;
+import com.sporty.live_events.configuration.ProviderTransportProperties;
+import com.sporty.live_events.configuration.RestClientConfiguration;
+import com.sporty.live_events.mock.MockProviderServer;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/***
+ Latency distribution (p50/p99 in the sample time percentiles) of single score fetches against the mock provider,
+ with 32 concurrent pollers, for RestClient.create() versus the configured JDK HttpClient transport.
+ The number of connections the provider saw is printed at the end of every trial.
+
+ The mock provider speaks HTTP/1.1 only, so HTTP_2 measures the cost of the h2c upgrade attempt and fallback,
+ multiplexing itself needs a provider speaking HTTP/2.
+ ***/
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProviderTransportBenchmark {
+    private static final ProviderRateLimiter UNLIMITED =
+            new ProviderRateLimiter(new ProviderRateLimitProperties(false, 1000, 100, Duration.ofSeconds(1)));
+    private static final ProviderHedgingProperties NO_HEDGING =
+            new ProviderHedgingProperties(false, "", 0.95, Duration.ofMillis(20), Duration.ofSeconds(1), 1000, 0.05, 10,
+                    Duration.ofSeconds(30), 0.5);
+
+    public enum Transport {
+        DEFAULT,
+        HTTP_1_1,
+        HTTP_2
+    }
+
+    @Param({"DEFAULT", "HTTP_1_1", "HTTP_2"})
+    public Transport transport;
+
+    @Param({"2"})
+    public int providerLatencyMillis;
+
+    private MockProviderServer mockProviderServer;
+    private HttpClient httpClient;
+    private ExternalLiveScoreRestApiServiceBean externalService;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        mockProviderServer = new MockProviderServer(Duration.ofMillis(providerLatencyMillis));
+
+        var properties = new ExternalLiveScoreProviderProperties(mockProviderServer.getBaseUri(), 64,
+                false, mockProviderServer.getBatchUri(), 1);
+        var providerProtection = new ProviderProtection(properties,
+                new ProviderProtectionProperties(true, 5, Duration.ofSeconds(10), 1, 1, Duration.ofMillis(500), 0.7));
+        var pipelineMetrics = new LiveScorePipelineMetrics(new SimpleMeterRegistry(), new LiveScoreMetricsProperties(false, 100));
+        externalService = new ExternalLiveScoreRestApiServiceBean(restClient(), providerProtection, UNLIMITED,
+                new ProviderHedging(properties, NO_HEDGING, pipelineMetrics), pipelineMetrics, properties);
+    }
+
+    private RestClient restClient() {
+        if (transport == Transport.DEFAULT) {
+            return RestClient.create();
+        }
+
+        var configuration = new RestClientConfiguration();
+        var transportProperties = new ProviderTransportProperties(
+                transport == Transport.HTTP_2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1,
+                Duration.ofSeconds(1), Duration.ofSeconds(2), ProviderTransportProperties.Decoder.DATABIND);
+        httpClient = configuration.liveScoreHttpClient(transportProperties);
+        return configuration.restClient(httpClient, transportProperties);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public ExternalLiveScoreResponse fetch() {
+        return externalService.queryCurrentScore(ThreadLocalRandom.current().nextLong(1, 100_000));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.println(transport + " transport used " + mockProviderServer.getConnectionCount() + " provider connections");
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        mockProviderServer.close();
+    }
+}
@@ -0,0 +1,115 @@
+package com.sporty.live_events.service.journal;
+
+import com.sporty.live_events.configuration.LiveEventTrackerJournalProperties;
+import com.sporty.live_events.configuration.LiveScoreCadenceProperties;
+import com.sporty.live_events.configuration.LiveScoreMetricsProperties;
+import com.sporty.live_events.configuration.LiveScorePublishProperties;
+import com.sporty.live_events.configuration.LiveScoreSchedulerProperties;
+import com.sporty.live_events.service.LiveEventPriority;
+import com.sporty.live_events.service.LiveEventTrackingServiceBean;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import com.sporty.live_events.service.scheduler.LiveScoreChangeDetector;
+import com.sporty.live_events.service.scheduler.LiveScorePollingCadence;
+import com.sporty.live_events.service.scheduler.LiveScoreTaskSchedulerServiceBean;
+import com.sporty.live_events.service.scheduler.LiveScoreTierThrottle;
+import com.sporty.live_events.stub.StubExternalLiveScoreRestApiService;
+import com.sporty.live_events.stub.StubLiveEventAdmissionService;
+import com.sporty.live_events.stub.StubLiveScoreKafkaPublisherService;
+import com.sporty.live_events.stub.StubLiveScoreStreamService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/***
+ Time from process start to every journaled tracker being re-armed in the timing wheel: opening the journal
+ (snapshot load and journal replay) plus restoring the trackers through the bulk tracking path.
+ ***/
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TrackerJournalRecoveryBenchmark {
+
+    @Param({"10000", "100000"})
+    public int trackedEvents;
+
+    private Path directory;
+    private LiveEventTrackerJournalProperties properties;
+    private LiveEventTrackerJournalServiceBean journal;
+    private LiveEventTrackingServiceBean liveEventTrackingService;
+
+    @Setup(Level.Trial)
+    public void writeJournal() throws Exception {
+        directory = Files.createTempDirectory("tracker-journal");
+        properties = new LiveEventTrackerJournalProperties(true, directory, DataSize.ofMegabytes(16),
+                Duration.ofHours(1), Duration.ofMinutes(1), 65_536, Duration.ofSeconds(1));
+
+        var previousRun = new LiveEventTrackerJournalServiceBean(properties,
+                new LiveScorePipelineMetrics(new SimpleMeterRegistry(), new LiveScoreMetricsProperties(false, 100)));
+        previousRun.open();
+        for (long eventId = 1; eventId <= trackedEvents; eventId++) {
+            previousRun.recordTracked(eventId, LiveEventPriority.DEFAULT);
+        }
+        previousRun.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void newProcess(Blackhole blackhole) {
+        var changeDetector = new LiveScoreChangeDetector(
+                new LiveScorePublishProperties(LiveScorePublishProperties.Mode.ALWAYS, 0, 100_000), new SimpleMeterRegistry());
+        var schedulerProperties = new LiveScoreSchedulerProperties(Duration.ofSeconds(10), Duration.ofMillis(100), 128,
+                LiveScoreSchedulerProperties.ExecutionMode.PLATFORM, 1, 1, 3, Duration.ofSeconds(1));
+        var pipelineMetrics = new LiveScorePipelineMetrics(new SimpleMeterRegistry(), new LiveScoreMetricsProperties(false, 100));
+        var pollingCadence = new LiveScorePollingCadence(schedulerProperties,
+                new LiveScoreCadenceProperties(false, Duration.ofSeconds(2), Duration.ofSeconds(60), 0.5, 1.5));
+        var schedulerService = new LiveScoreTaskSchedulerServiceBean(
+                new StubExternalLiveScoreRestApiService("0-0"), new StubLiveScoreKafkaPublisherService(blackhole),
+                changeDetector, pollingCadence, pipelineMetrics, new StubLiveScoreStreamService(), new LiveScoreTierThrottle(),
+                new ThreadPoolTaskScheduler(), Runnable::run, schedulerProperties);
+
+        journal = new LiveEventTrackerJournalServiceBean(properties, pipelineMetrics);
+        liveEventTrackingService = new LiveEventTrackingServiceBean(schedulerService, changeDetector, journal,
+                new StubLiveEventAdmissionService(), pipelineMetrics);
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopProcess() throws Exception {
+        journal.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteJournal() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public long[] recover() throws Exception {
+        journal.open();
+        var eventIds = journal.getJournaledEventIds();
+        new LiveEventTrackerRecoveryRunner(journal, liveEventTrackingService, properties).recover();
+        return eventIds;
+    }
+}
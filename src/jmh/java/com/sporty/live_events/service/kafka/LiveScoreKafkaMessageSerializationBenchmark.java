@@ -0,0 +1,85 @@
+package com.sporty.live_events.service.kafka;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/***
+ Encode/decode throughput of the binary live score format against the current JSON path.
+ The bytesPerMessage aux counter reports the record value size of each format.
+ ***/
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LiveScoreKafkaMessageSerializationBenchmark {
+    private final LiveScoreKafkaMessage message = new LiveScoreKafkaMessage(1234L, UUID.randomUUID().toString());
+
+    private final JsonSerializer<LiveScoreKafkaMessage> jsonSerializer = new JsonSerializer<>();
+    private final JsonDeserializer<LiveScoreKafkaMessage> jsonDeserializer = new JsonDeserializer<>(LiveScoreKafkaMessage.class);
+    private final LiveScoreKafkaMessageSerializer binarySerializer = new LiveScoreKafkaMessageSerializer();
+    private final LiveScoreKafkaMessageDeserializer binaryDeserializer = new LiveScoreKafkaMessageDeserializer();
+    private final ByteBuffer reusedBuffer = ByteBuffer.allocate(256);
+
+    private byte[] jsonBytes;
+    private byte[] binaryBytes;
+
+    @Setup
+    public void setup() {
+        jsonBytes = jsonSerializer.serialize("live_score", message);
+        binaryBytes = binarySerializer.serialize("live_score", message);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class MessageSize {
+        public long bytesPerMessage;
+    }
+
+    @Benchmark
+    public byte[] encodeJson(MessageSize size) {
+        var bytes = jsonSerializer.serialize("live_score", message);
+        size.bytesPerMessage = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] encodeBinary(MessageSize size) {
+        var bytes = binarySerializer.serialize("live_score", message);
+        size.bytesPerMessage = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public ByteBuffer encodeBinaryIntoReusedBuffer() {
+        reusedBuffer.clear();
+        LiveScoreKafkaMessageSerializer.encode(message, reusedBuffer);
+        return reusedBuffer;
+    }
+
+    @Benchmark
+    public LiveScoreKafkaMessage decodeJson() {
+        return jsonDeserializer.deserialize("live_score", jsonBytes);
+    }
+
+    @Benchmark
+    public LiveScoreKafkaMessage decodeBinary() {
+        return binaryDeserializer.deserialize("live_score", binaryBytes);
+    }
+}
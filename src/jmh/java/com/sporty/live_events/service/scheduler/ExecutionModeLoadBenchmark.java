@@ -0,0 +1,162 @@
+package com.sporty.live_events.service.scheduler;
+
+import com.sporty.live_events.configuration.ExternalLiveScoreProviderProperties;
+import com.sporty.live_events.configuration.LiveScoreCadenceProperties;
+import com.sporty.live_events.configuration.LiveScoreMetricsProperties;
+import com.sporty.live_events.configuration.ProviderHedgingProperties;
+import com.sporty.live_events.configuration.ProviderProtectionProperties;
+import com.sporty.live_events.configuration.LiveScorePublishProperties;
+import com.sporty.live_events.configuration.LiveScoreSchedulerProperties.ExecutionMode;
+import com.sporty.live_events.configuration.LiveScoreSchedulerProperties;
+import com.sporty.live_events.configuration.ProviderRateLimitProperties;
+import com.sporty.live_events.configuration.TaskSchedulerConfiguration;
+import com.sporty.live_events.mock.MockProviderServer;
+import com.sporty.live_events.service.external.ExternalLiveScoreRestApiServiceBean;
+import com.sporty.live_events.service.external.ProviderHedging;
+import com.sporty.live_events.service.external.ProviderProtection;
+import com.sporty.live_events.service.external.ProviderRateLimiter;
+import com.sporty.live_events.service.kafka.LiveScoreKafkaPublisherService;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import com.sporty.live_events.stub.StubLiveScoreStreamService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/***
+ Sustained poll-and-publish throughput of the two execution modes against the mock provider, on the worker executor
+ the application would build for the mode.
+ Every invocation dispatches one burst of events through getTask and waits for all of them to complete,
+ the "events" aux counter is the resulting published events/sec. Polls beyond the provider's concurrency limit,
+ or rejected by the worker executor, are shed rather than queued, the "skipped" aux counter is their rate.
+ ***/
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExecutionModeLoadBenchmark {
+    private static final ProviderRateLimiter UNLIMITED =
+            new ProviderRateLimiter(new ProviderRateLimitProperties(false, 1000, 100, Duration.ofSeconds(1)));
+    private static final ProviderHedgingProperties NO_HEDGING =
+            new ProviderHedgingProperties(false, "", 0.95, Duration.ofMillis(20), Duration.ofSeconds(1), 1000, 0.05, 10,
+                    Duration.ofSeconds(30), 0.5);
+
+    private static final int PLATFORM_WORKER_THREADS = 16;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public ExecutionMode executionMode;
+
+    @Param({"1000"})
+    public int burstSize;
+
+    @Param({"50"})
+    public int providerLatencyMillis;
+
+    @Param({"256"})
+    public int maxConcurrentRequestsPerHost;
+
+    private MockProviderServer mockProviderServer;
+    private Executor workerExecutor;
+    private LiveScoreTaskSchedulerServiceBean schedulerService;
+    private final AtomicLong published = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        mockProviderServer = new MockProviderServer(Duration.ofMillis(providerLatencyMillis));
+
+        var providerProperties = new ExternalLiveScoreProviderProperties(mockProviderServer.getBaseUri(),
+                maxConcurrentRequestsPerHost, false, mockProviderServer.getBatchUri(), 1);
+        var pipelineMetrics = new LiveScorePipelineMetrics(new SimpleMeterRegistry(), new LiveScoreMetricsProperties(false, 100));
+        var providerProtection = new ProviderProtection(providerProperties,
+                new ProviderProtectionProperties(true, 5, Duration.ofSeconds(10), 1, 1, Duration.ofMillis(500), 0.7));
+        var externalService = new ExternalLiveScoreRestApiServiceBean(RestClient.create(),
+                providerProtection, UNLIMITED, new ProviderHedging(providerProperties, NO_HEDGING, pipelineMetrics),
+                pipelineMetrics, providerProperties);
+        LiveScoreKafkaPublisherService countingPublisher = message -> {
+            published.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        };
+        var schedulerProperties = new LiveScoreSchedulerProperties(Duration.ofSeconds(10), Duration.ofMillis(100), 128,
+                executionMode, PLATFORM_WORKER_THREADS, burstSize, 3, Duration.ofSeconds(1));
+        workerExecutor = new TaskSchedulerConfiguration().liveScoreWorkerExecutor(schedulerProperties);
+        if (workerExecutor instanceof ThreadPoolTaskExecutor pool) {
+            pool.initialize();
+        }
+
+        var changeDetector = new LiveScoreChangeDetector(
+                new LiveScorePublishProperties(LiveScorePublishProperties.Mode.ALWAYS, 0, 0), new SimpleMeterRegistry());
+
+        var pollingCadence = new LiveScorePollingCadence(schedulerProperties,
+                new LiveScoreCadenceProperties(false, Duration.ofSeconds(2), Duration.ofSeconds(60), 0.5, 1.5));
+        schedulerService = new LiveScoreTaskSchedulerServiceBean(externalService, countingPublisher, changeDetector,
+                pollingCadence, pipelineMetrics, new StubLiveScoreStreamService(), new LiveScoreTierThrottle(),
+                new ThreadPoolTaskScheduler(), workerExecutor, schedulerProperties);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Throughput {
+        public long events;
+        public long skipped;
+    }
+
+    @Benchmark
+    public void pollAndPublishBurst(Throughput throughput) throws InterruptedException {
+        var completed = new CountDownLatch(burstSize);
+        published.set(0);
+
+        for (long eventId = 1; eventId <= burstSize; eventId++) {
+            var task = schedulerService.getTask(eventId);
+            try {
+                workerExecutor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        completed.countDown();
+                    }
+                });
+            } catch (RejectedExecutionException exc) {
+                completed.countDown();
+            }
+        }
+
+        completed.await();
+        throughput.events += published.get();
+        throughput.skipped += burstSize - published.get();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (workerExecutor instanceof DisposableBean pool) {
+            pool.destroy();
+        } else if (workerExecutor instanceof AutoCloseable executor) {
+            executor.close();
+        }
+        mockProviderServer.close();
+    }
+}
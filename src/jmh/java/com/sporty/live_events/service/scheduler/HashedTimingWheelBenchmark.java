@@ -0,0 +1,114 @@
+package com.sporty.live_events.service.scheduler;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/***
+ Scheduling overhead and tick jitter of the timing wheel at 1k, 10k and 100k tracked events.
+ The dispatcher only consumes the due ids, so the numbers cover the wheel itself and not the poll/publish work.
+ ***/
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class HashedTimingWheelBenchmark {
+    private static final Duration TICK = Duration.ofMillis(100);
+    private static final Duration CYCLE = Duration.ofSeconds(10);
+    private static final long CYCLE_TICKS = CYCLE.toNanos() / TICK.toNanos();
+
+    @Param({"1000", "10000", "100000"})
+    public int events;
+
+    private HashedTimingWheel timingWheel;
+    private long now;
+    private Blackhole blackhole;
+
+    @Setup(Level.Invocation)
+    public void setup(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        this.now = 0;
+        this.timingWheel = new HashedTimingWheel(TICK, 128, blackhole::consume, () -> now);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public HashedTimingWheel scheduleAndCancelAll() {
+        for (long eventId = 0; eventId < events; eventId++) {
+            timingWheel.schedule(eventId, CYCLE);
+        }
+        for (long eventId = 0; eventId < events; eventId++) {
+            timingWheel.cancel(eventId);
+        }
+        return timingWheel;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public HashedTimingWheel advanceFullCycle() {
+        for (long eventId = 0; eventId < events; eventId++) {
+            timingWheel.schedule(eventId, CYCLE);
+        }
+        for (long tick = 1; tick <= CYCLE_TICKS; tick++) {
+            timingWheel.advance(tick * TICK.toNanos());
+        }
+        return timingWheel;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Jitter {
+        public long maxTickLatenessMicros;
+        public long lastTickLatenessMicros;
+    }
+
+    /***
+     Runs the wheel in real time on its own ticker thread for two cycles and reports how late the ticks were.
+     ***/
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public void tickJitter(Jitter jitter) throws InterruptedException {
+        var realTimeWheel = new HashedTimingWheel(TICK, 128, blackhole::consume);
+        for (long eventId = 0; eventId < events; eventId++) {
+            realTimeWheel.schedule(eventId, CYCLE);
+        }
+
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+        try {
+            ticker.scheduleAtFixedRate(realTimeWheel::advance, 0, TICK.toMillis(), TimeUnit.MILLISECONDS);
+            Thread.sleep(CYCLE.toMillis() * 2);
+        } finally {
+            ticker.shutdownNow();
+        }
+
+        jitter.maxTickLatenessMicros = TimeUnit.NANOSECONDS.toMicros(realTimeWheel.getMaxTickLatenessNanos());
+        jitter.lastTickLatenessMicros = TimeUnit.NANOSECONDS.toMicros(realTimeWheel.getLastTickLatenessNanos());
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        timingWheel = null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.sporty.live_events.service.scheduler;
+
+import com.sporty.live_events.configuration.LiveScoreCadenceProperties;
+import com.sporty.live_events.configuration.LiveScoreMetricsProperties;
+import com.sporty.live_events.configuration.LiveScorePublishProperties;
+import com.sporty.live_events.configuration.LiveScoreSchedulerProperties;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import com.sporty.live_events.stub.StubExternalLiveScoreRestApiService;
+import com.sporty.live_events.stub.StubLiveScoreKafkaPublisherService;
+import com.sporty.live_events.stub.StubLiveScoreStreamService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/***
+ Cost of one poll-to-message cycle from getTask with an offline provider and publisher,
+ for each publish mode of the change detector.
+ ***/
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LiveScoreTaskBenchmark {
+
+    @Param({"ALWAYS", "ON_CHANGE"})
+    public LiveScorePublishProperties.Mode publishMode;
+
+    private LiveScoreTaskSchedulerServiceBean schedulerService;
+    private long eventId;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        var changeDetector = new LiveScoreChangeDetector(
+                new LiveScorePublishProperties(publishMode, 0, 100_000), new SimpleMeterRegistry());
+        var schedulerProperties = new LiveScoreSchedulerProperties(Duration.ofSeconds(10), Duration.ofMillis(100), 128,
+                LiveScoreSchedulerProperties.ExecutionMode.PLATFORM, 1, 1, 3, Duration.ofSeconds(1));
+
+        var pipelineMetrics = new LiveScorePipelineMetrics(new SimpleMeterRegistry(), new LiveScoreMetricsProperties(false, 100));
+        var pollingCadence = new LiveScorePollingCadence(schedulerProperties,
+                new LiveScoreCadenceProperties(false, Duration.ofSeconds(2), Duration.ofSeconds(60), 0.5, 1.5));
+        schedulerService = new LiveScoreTaskSchedulerServiceBean(
+                new StubExternalLiveScoreRestApiService(UUID.randomUUID().toString()),
+                new StubLiveScoreKafkaPublisherService(blackhole),
+                changeDetector, pollingCadence, pipelineMetrics, new StubLiveScoreStreamService(), new LiveScoreTierThrottle(),
+                new ThreadPoolTaskScheduler(), Runnable::run, schedulerProperties);
+    }
+
+    @Benchmark
+    public void pollAndPublish() {
+        schedulerService.getTask(1000 + (eventId++ & 1023)).run();
+    }
+}
@@ -0,0 +1,40 @@
+package com.sporty.live_events.stub;
+
+import com.sporty.live_events.service.external.ExternalLiveScoreRestApiService;
+import com.sporty.live_events.service.external.ExternalLiveScoreResponse;
+
+import java.util.Collection;
+import java.util.List;
+
+/***
+ Offline provider answering every query with the same score, so benchmarks measure our code and not the network.
+ ***/
+public class StubExternalLiveScoreRestApiService implements ExternalLiveScoreRestApiService {
+    private final String score;
+
+    public StubExternalLiveScoreRestApiService(String score) {
+        this.score = score;
+    }
+
+    @Override
+    public ExternalLiveScoreResponse queryCurrentScore(long eventId) {
+        return new ExternalLiveScoreResponse(eventId, score);
+    }
+
+    @Override
+    public List<ExternalLiveScoreResponse> queryCurrentScores(Collection<Long> eventIds) {
+        return eventIds.stream()
+                .map(this::queryCurrentScore)
+                .toList();
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return 1;
+    }
+
+    @Override
+    public double getMaxRequestsPerSecond() {
+        return 0;
+    }
+}
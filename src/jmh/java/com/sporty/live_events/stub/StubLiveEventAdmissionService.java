@@ -0,0 +1,40 @@
+package com.sporty.live_events.stub;
+
+import com.sporty.live_events.service.LiveEventPriority;
+import com.sporty.live_events.service.admission.LiveEventAdmissionService;
+import com.sporty.live_events.service.admission.LiveEventTierLoad;
+
+import java.util.Map;
+
+/***
+ Admission control that admits every event, so benchmarks measure tracking without a capacity model in the way.
+ ***/
+public class StubLiveEventAdmissionService implements LiveEventAdmissionService {
+
+    @Override
+    public void admit(long eventId, LiveEventPriority priority) {
+    }
+
+    @Override
+    public void checkCapacity(long eventId, LiveEventPriority priority) {
+    }
+
+    @Override
+    public void release(long eventId) {
+    }
+
+    @Override
+    public LiveEventPriority getPriority(long eventId) {
+        return null;
+    }
+
+    @Override
+    public double getCapacity() {
+        return Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public Map<LiveEventPriority, LiveEventTierLoad> getLoad() {
+        return Map.of();
+    }
+}
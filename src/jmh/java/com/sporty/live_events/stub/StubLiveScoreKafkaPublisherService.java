@@ -0,0 +1,26 @@
+package com.sporty.live_events.stub;
+
+import com.sporty.live_events.service.kafka.LiveScoreKafkaMessage;
+import com.sporty.live_events.service.kafka.LiveScoreKafkaPublisherService;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CompletableFuture;
+
+/***
+ Offline publisher handing every message to a blackhole and acknowledging it right away.
+ ***/
+public class StubLiveScoreKafkaPublisherService implements LiveScoreKafkaPublisherService {
+    private static final CompletableFuture<Void> DELIVERED = CompletableFuture.completedFuture(null);
+
+    private final Blackhole blackhole;
+
+    public StubLiveScoreKafkaPublisherService(Blackhole blackhole) {
+        this.blackhole = blackhole;
+    }
+
+    @Override
+    public CompletableFuture<Void> publishMessage(LiveScoreKafkaMessage message) {
+        blackhole.consume(message);
+        return DELIVERED;
+    }
+}
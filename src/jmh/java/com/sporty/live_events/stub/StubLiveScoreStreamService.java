@@ -0,0 +1,18 @@
+package com.sporty.live_events.stub;
+
+import com.sporty.live_events.service.external.LiveScoreStreamService;
+
+/***
+ Provider stream that never connects, so every tracked event is polled.
+ ***/
+public class StubLiveScoreStreamService implements LiveScoreStreamService {
+
+    @Override
+    public void subscribe(Listener listener) {
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+}
@@ -1,11 +1,14 @@
 package com.sporty.live_events;
 
+import com.sporty.live_events.configuration.LiveEventsRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
-@EnableRetry
+@ConfigurationPropertiesScan
+@ImportRuntimeHints(LiveEventsRuntimeHints.class)
 public class LiveEventsApplication {
 
     public static void main(String[] args) {
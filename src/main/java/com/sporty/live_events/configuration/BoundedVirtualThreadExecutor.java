@@ -0,0 +1,46 @@
+package com.sporty.live_events.configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/***
+ Runs every task on its own virtual thread, rejecting new tasks once maxInFlight of them are still running
+ so that a stalled provider can not make us pile up an unbounded number of parked threads.
+ ***/
+class BoundedVirtualThreadExecutor implements Executor, AutoCloseable {
+    private final ExecutorService delegate;
+    private final Semaphore inFlight;
+
+    BoundedVirtualThreadExecutor(String threadNamePrefix, int maxInFlight) {
+        this.delegate = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!inFlight.tryAcquire()) {
+            throw new RejectedExecutionException("Too many live score cycles in flight");
+        }
+
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException exc) {
+            inFlight.release();
+            throw exc;
+        }
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,18 @@
+package com.sporty.live_events.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/***
+ Batching is off by default as not every provider exposes a batch endpoint,
+ in which case the scheduler falls back to one request per event. With batching on, a provider that answers the
+ batch endpoint with 404, 405 or 501 is switched back to one request per event as well.
+ ***/
+@ConfigurationProperties(prefix = "live-events.provider")
+public record ExternalLiveScoreProviderProperties(
+        @DefaultValue("http://localhost:8080/mock/status/") String baseUri,
+        @DefaultValue("64") int maxConcurrentRequestsPerHost,
+        @DefaultValue("false") boolean batchEnabled,
+        @DefaultValue("http://localhost:8080/mock/status/batch") String batchUri,
+        @DefaultValue("100") int batchMaxSize) {
+}
@@ -0,0 +1,24 @@
+package com.sporty.live_events.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/***
+ capacity is the number of event polls per second the service can sustain. 0 derives it from the provider budget,
+ its request rate limit times the batch size, and from the workers, each completing a call per expectedFetchLatency.
+ Above softLimit of the capacity the lower tiers are stretched, up to maxStretch times their interval, above
+ hardLimit they are shed and their new trackers rejected. Load is re-evaluated every evaluationInterval.
+ Unless enabled, the load per tier is only exposed, nothing is degraded or rejected.
+ ***/
+@ConfigurationProperties(prefix = "live-events.admission")
+public record LiveEventAdmissionProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("0") double capacity,
+        @DefaultValue("200ms") Duration expectedFetchLatency,
+        @DefaultValue("0.8") double softLimit,
+        @DefaultValue("1.0") double hardLimit,
+        @DefaultValue("4") double maxStretch,
+        @DefaultValue("5s") Duration evaluationInterval) {
+}
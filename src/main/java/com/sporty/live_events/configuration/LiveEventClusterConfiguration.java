@@ -0,0 +1,23 @@
+package com.sporty.live_events.configuration;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+@ConditionalOnProperty(prefix = "live-events.cluster", name = "enabled", havingValue = "true")
+public class LiveEventClusterConfiguration {
+    /***
+     A single partition keeps membership and commands in one order for every instance, compaction keeps only
+     the last command of each event and the last heartbeat of each instance.
+     ***/
+    @Bean
+    public NewTopic liveEventsClusterTopic(LiveEventClusterProperties properties) {
+        return TopicBuilder.name(properties.controlTopic())
+                .partitions(1)
+                .compact()
+                .build();
+    }
+}
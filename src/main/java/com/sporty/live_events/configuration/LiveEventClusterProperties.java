@@ -0,0 +1,21 @@
+package com.sporty.live_events.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/***
+ Cluster mode is off by default, every instance then tracks the events it was asked to on its own.
+ A blank instanceId picks a random one on every start. An instance is dropped from the ring when no heartbeat
+ of it was seen for memberTimeout, or right away when it leaves gracefully.
+ ***/
+@ConfigurationProperties(prefix = "live-events.cluster")
+public record LiveEventClusterProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("") String instanceId,
+        @DefaultValue("live_events_cluster") String controlTopic,
+        @DefaultValue("2s") Duration heartbeatInterval,
+        @DefaultValue("6s") Duration memberTimeout,
+        @DefaultValue("128") int virtualNodes) {
+}
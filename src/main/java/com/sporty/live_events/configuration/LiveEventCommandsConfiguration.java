@@ -0,0 +1,48 @@
+package com.sporty.live_events.configuration;
+
+import com.sporty.live_events.service.command.LiveEventCommandMessage;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+@Configuration
+@ConditionalOnProperty(prefix = "live-events.commands", name = "enabled", havingValue = "true")
+public class LiveEventCommandsConfiguration {
+    public static final String CONTAINER_FACTORY = "liveEventCommandsContainerFactory";
+
+    /***
+     Batch listeners whose offsets are committed once the listener returned, that is once the batch was applied.
+     A failing batch is redelivered with backoff and never skipped, undeserializable records arrive as null values.
+     ***/
+    @Bean(CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<String, LiveEventCommandMessage> liveEventCommandsContainerFactory(
+            KafkaProperties kafkaProperties, LiveEventCommandsProperties properties) {
+        var consumerProperties = kafkaProperties.buildConsumerProperties(null);
+        consumerProperties.put(ConsumerConfig.GROUP_ID_CONFIG, properties.groupId());
+        consumerProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, properties.maxBatchSize());
+        var consumerFactory = new DefaultKafkaConsumerFactory<>(consumerProperties, new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new JsonDeserializer<>(LiveEventCommandMessage.class, false)));
+
+        var backOff = new ExponentialBackOff(properties.retryBackoff().toMillis(), 2);
+        backOff.setMaxInterval(properties.maxRetryBackoff().toMillis());
+
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, LiveEventCommandMessage>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(properties.concurrency());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(backOff));
+        return factory;
+    }
+}
@@ -0,0 +1,22 @@
+package com.sporty.live_events.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/***
+ concurrency is the number of consumers of the command topic, more than its partition count leaves some idle.
+ maxBatchSize caps the records of one poll, which are collapsed and applied together.
+ A batch that could not be applied is retried with backoff, from retryBackoff up to maxRetryBackoff, until it is.
+ ***/
+@ConfigurationProperties(prefix = "live-events.commands")
+public record LiveEventCommandsProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("live_events_commands") String topic,
+        @DefaultValue("live_events_commands") String groupId,
+        @DefaultValue("1") int concurrency,
+        @DefaultValue("1000") int maxBatchSize,
+        @DefaultValue("1s") Duration retryBackoff,
+        @DefaultValue("30s") Duration maxRetryBackoff) {
+}
@@ -0,0 +1,26 @@
+package com.sporty.live_events.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/***
+ journalSize is the size of the memory mapped journal file, it is compacted into the snapshot whenever it fills up
+ and in any case every compactionInterval.
+ Startup waits at most recoveryTimeout for the trackers to be re-armed, the rest is restored in the background.
+ At most maxPendingRecords changes wait for the writer, once they do, tracking waits up to backpressureTimeout for room
+ and the change is not journaled if none frees up.
+ ***/
+@ConfigurationProperties(prefix = "live-events.journal")
+public record LiveEventTrackerJournalProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/tracker-journal") Path directory,
+        @DefaultValue("16MB") DataSize journalSize,
+        @DefaultValue("1m") Duration compactionInterval,
+        @DefaultValue("30s") Duration recoveryTimeout,
+        @DefaultValue("65536") int maxPendingRecords,
+        @DefaultValue("100ms") Duration backpressureTimeout) {
+}
@@ -0,0 +1,38 @@
+package com.sporty.live_events.configuration;
+
+import com.sporty.live_events.controller.LiveEventTrackingBulkResult;
+import com.sporty.live_events.controller.LiveEventTrackingRequest;
+import com.sporty.live_events.service.cluster.LiveEventClusterMessage;
+import com.sporty.live_events.service.command.LiveEventCommandMessage;
+import com.sporty.live_events.service.external.ExternalLiveScoreResponse;
+import com.sporty.live_events.service.kafka.LiveScoreKafkaMessage;
+import com.sporty.live_events.service.kafka.LiveScoreKafkaMessageDeserializer;
+import com.sporty.live_events.service.kafka.LiveScoreKafkaMessageSerializer;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/***
+ Reflection the AOT processing can't infer for a native image: the records Jackson binds outside of controller
+ signatures, on Kafka, the provider calls and the bulk endpoint, and the Kafka (de)serializers that are only
+ named by class in application.properties.
+ ***/
+public class LiveEventsRuntimeHints implements RuntimeHintsRegistrar {
+    private final BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingHints.registerReflectionHints(hints.reflection(),
+                LiveScoreKafkaMessage.class,
+                ExternalLiveScoreResponse.class,
+                LiveEventClusterMessage.class,
+                LiveEventCommandMessage.class,
+                LiveEventTrackingRequest.class,
+                LiveEventTrackingBulkResult.class);
+
+        hints.reflection()
+                .registerType(LiveScoreKafkaMessageSerializer.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                .registerType(LiveScoreKafkaMessageDeserializer.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+    }
+}
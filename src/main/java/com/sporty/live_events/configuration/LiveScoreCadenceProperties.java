@@ -0,0 +1,19 @@
+package com.sporty.live_events.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/***
+ With adaptive cadence, every changed score multiplies the event's poll interval by speedUpFactor down to floor,
+ and every unchanged score multiplies it by backOffFactor up to ceiling. New events start at the scheduler cycle.
+ ***/
+@ConfigurationProperties(prefix = "live-events.cadence")
+public record LiveScoreCadenceProperties(
+        @DefaultValue("false") boolean adaptive,
+        @DefaultValue("2s") Duration floor,
+        @DefaultValue("60s") Duration ceiling,
+        @DefaultValue("0.5") double speedUpFactor,
+        @DefaultValue("1.5") double backOffFactor) {
+}
@@ -0,0 +1,20 @@
+package com.sporty.live_events.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/***
+ The last ringCapacity published scores are shared by every subscriber, a subscriber falling further behind gets a
+ fresh snapshot of its events instead. Idle subscriptions get a keep-alive comment every keepAliveInterval, which
+ is also how dropped clients are noticed.
+ ***/
+@ConfigurationProperties(prefix = "live-events.fan-out")
+public record LiveScoreFanOutProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("65536") int ringCapacity,
+        @DefaultValue("10000") int maxSubscribers,
+        @DefaultValue("1000") int maxEventsPerSubscription,
+        @DefaultValue("15s") Duration keepAliveInterval) {
+}
@@ -0,0 +1,22 @@
+package com.sporty.live_events.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/***
+ Producer batching, linger and compression are configured through the standard spring.kafka.producer.* properties,
+ these only drive our own in-flight limit and dead lettering. Delivery is retried by the producer itself, within
+ spring.kafka.producer.properties.delivery.timeout.ms.
+ traceHeaders stamps the poll cycle's tick, fetch and publish times onto every record as headers, traceInPayload
+ carries them inside the message as well, for consumers that can't read headers.
+ ***/
+@ConfigurationProperties(prefix = "live-events.kafka")
+public record LiveScoreKafkaPublisherProperties(
+        @DefaultValue("10000") int maxInFlight,
+        @DefaultValue("5s") Duration backpressureTimeout,
+        @DefaultValue("live_score.DLT") String deadLetterTopic,
+        @DefaultValue("true") boolean traceHeaders,
+        @DefaultValue("false") boolean traceInPayload) {
+}
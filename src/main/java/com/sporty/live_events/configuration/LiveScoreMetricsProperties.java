@@ -0,0 +1,14 @@
+package com.sporty.live_events.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/***
+ perEventTags adds fetch and publish timers tagged with the event id, for at most maxTaggedEvents tracked events at
+ a time, so tracking 100k events cannot blow up the meter registry. They are removed when the event is untracked. The untagged timers always cover every event.
+ ***/
+@ConfigurationProperties(prefix = "live-events.metrics")
+public record LiveScoreMetricsProperties(
+        @DefaultValue("false") boolean perEventTags,
+        @DefaultValue("100") int maxTaggedEvents) {
+}
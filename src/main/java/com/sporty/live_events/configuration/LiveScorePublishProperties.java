@@ -0,0 +1,22 @@
+package com.sporty.live_events.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/***
+ heartbeatCycles is only used by ON_CHANGE_WITH_HEARTBEAT, an unchanged score is re-published every heartbeatCycles cycles.
+ cacheCapacity bounds the number of events whose last published score is remembered, events over the capacity are
+ always published.
+ ***/
+@ConfigurationProperties(prefix = "live-events.publish")
+public record LiveScorePublishProperties(
+        @DefaultValue("ALWAYS") Mode mode,
+        @DefaultValue("6") int heartbeatCycles,
+        @DefaultValue("200000") int cacheCapacity) {
+
+    public enum Mode {
+        ALWAYS,
+        ON_CHANGE,
+        ON_CHANGE_WITH_HEARTBEAT
+    }
+}
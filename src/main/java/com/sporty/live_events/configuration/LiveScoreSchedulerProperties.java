@@ -0,0 +1,28 @@
+package com.sporty.live_events.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/***
+ workerThreads is only used by the PLATFORM execution mode.
+ workerQueueCapacity bounds the poll cycles waiting in the pool for PLATFORM, and the cycles in flight for VIRTUAL.
+ A failed provider call is retried up to fetchMaxAttempts per cycle, fetchRetryBackoff later on the timing wheel.
+ ***/
+@ConfigurationProperties(prefix = "live-events.scheduler")
+public record LiveScoreSchedulerProperties(
+        @DefaultValue("10s") Duration cycle,
+        @DefaultValue("100ms") Duration tickDuration,
+        @DefaultValue("128") int wheelSize,
+        @DefaultValue("PLATFORM") ExecutionMode executionMode,
+        @DefaultValue("16") int workerThreads,
+        @DefaultValue("100000") int workerQueueCapacity,
+        @DefaultValue("3") int fetchMaxAttempts,
+        @DefaultValue("1s") Duration fetchRetryBackoff) {
+
+    public enum ExecutionMode {
+        PLATFORM,
+        VIRTUAL
+    }
+}
@@ -0,0 +1,20 @@
+package com.sporty.live_events.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/***
+ Streaming ingestion is off by default. When on, a dropped stream is reconnected after reconnectBackoff,
+ doubling on every failed attempt up to maxReconnectBackoff, and events are polled in the meantime.
+ A stream that sent nothing, not even a keep-alive, for idleTimeout is treated as dropped.
+ ***/
+@ConfigurationProperties(prefix = "live-events.provider.stream")
+public record LiveScoreStreamProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("http://localhost:8080/mock/stream") String uri,
+        @DefaultValue("1s") Duration reconnectBackoff,
+        @DefaultValue("30s") Duration maxReconnectBackoff,
+        @DefaultValue("30s") Duration idleTimeout) {
+}
@@ -0,0 +1,18 @@
+package com.sporty.live_events.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/***
+ The mock provider scores goalsPerSecond goals across the events it has been asked about, and keeps the last
+ replayCapacity score changes so that a stream reconnecting with Last-Event-ID can be resumed.
+ Stream subscribers get a keep-alive comment every keepAliveInterval.
+ ***/
+@ConfigurationProperties(prefix = "live-events.mock")
+public record MockProviderProperties(
+        @DefaultValue("10") int goalsPerSecond,
+        @DefaultValue("10000") int replayCapacity,
+        @DefaultValue("10s") Duration keepAliveInterval) {
+}
@@ -0,0 +1,30 @@
+package com.sporty.live_events.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/***
+ A single score query the primary provider hasn't answered within the delayPercentile of its last latencyWindow
+ latencies, kept between minDelay and maxDelay, is sent to the secondary provider at secondaryBaseUri as well, and
+ the first answer wins. maxDelay applies until enough latencies are known.
+
+ Every query to the primary earns maxHedgeRatio of a hedge, saved up to maxHedgeBurst, so hedges never add more than
+ that share of load. A provider's health is the decaying success rate of its calls, failures being forgotten with a
+ half-life of healthRecovery. The healthier provider takes the primary role, and a provider below minHealth is not
+ hedged to.
+ ***/
+@ConfigurationProperties(prefix = "live-events.provider.hedging")
+public record ProviderHedgingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("") String secondaryBaseUri,
+        @DefaultValue("0.95") double delayPercentile,
+        @DefaultValue("20ms") Duration minDelay,
+        @DefaultValue("1s") Duration maxDelay,
+        @DefaultValue("1000") int latencyWindow,
+        @DefaultValue("0.05") double maxHedgeRatio,
+        @DefaultValue("10") int maxHedgeBurst,
+        @DefaultValue("30s") Duration healthRecovery,
+        @DefaultValue("0.5") double minHealth) {
+}
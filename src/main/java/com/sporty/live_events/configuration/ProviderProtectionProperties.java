@@ -0,0 +1,25 @@
+package com.sporty.live_events.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/***
+ The circuit of a provider host opens after failureThreshold consecutive failed calls, rejects every call for
+ openDuration, and then lets halfOpenProbes calls through to decide whether to close again.
+
+ The concurrency limit of a host starts at live-events.provider.max-concurrent-requests-per-host and never exceeds it.
+ It grows by one per limit's worth of calls answered within targetLatency, and is multiplied by decreaseFactor,
+ at most once per targetLatency, when calls take longer, never dropping below minConcurrency.
+ ***/
+@ConfigurationProperties(prefix = "live-events.provider.protection")
+public record ProviderProtectionProperties(
+        @DefaultValue("true") boolean circuitBreakerEnabled,
+        @DefaultValue("5") int failureThreshold,
+        @DefaultValue("10s") Duration openDuration,
+        @DefaultValue("1") int halfOpenProbes,
+        @DefaultValue("1") int minConcurrency,
+        @DefaultValue("500ms") Duration targetLatency,
+        @DefaultValue("0.7") double decreaseFactor) {
+}
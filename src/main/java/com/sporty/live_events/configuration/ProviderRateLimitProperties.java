@@ -0,0 +1,19 @@
+package com.sporty.live_events.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/***
+ Request rate agreed with the score provider, shared by every call. Up to burst calls go out back to back after an
+ idle period, beyond that calls are spaced to requestsPerSecond. A call that would wait longer than maxWait for its
+ turn is skipped instead.
+ ***/
+@ConfigurationProperties(prefix = "live-events.provider.rate-limit")
+public record ProviderRateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000") double requestsPerSecond,
+        @DefaultValue("100") int burst,
+        @DefaultValue("1s") Duration maxWait) {
+}
@@ -0,0 +1,29 @@
+package com.sporty.live_events.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/***
+ Transport of the outbound score client. Connections are pooled and kept alive by the JDK HttpClient,
+ HTTP_2 multiplexes every call to a host over one connection and falls back to HTTP/1.1 when the provider doesn't speak it.
+
+ Connections per host are bounded by live-events.provider.max-concurrent-requests-per-host, as a call holds its
+ provider permit for as long as it uses a connection.
+
+ STREAMING decodes single score responses with ExternalLiveScoreResponseConverter, DATABIND with Jackson's ObjectMapper.
+ ***/
+@ConfigurationProperties(prefix = "live-events.provider.transport")
+public record ProviderTransportProperties(
+        @DefaultValue("HTTP_2") HttpClient.Version httpVersion,
+        @DefaultValue("1s") Duration connectTimeout,
+        @DefaultValue("2s") Duration readTimeout,
+        @DefaultValue("STREAMING") Decoder decoder) {
+
+    public enum Decoder {
+        DATABIND,
+        STREAMING
+    }
+}
@@ -1,13 +1,31 @@
 package com.sporty.live_events.configuration;
 
+import com.sporty.live_events.service.external.ExternalLiveScoreResponseConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+
 @Configuration
 public class RestClientConfiguration {
     @Bean
-    public RestClient restClient() {
-        return RestClient.create();
+    public HttpClient liveScoreHttpClient(ProviderTransportProperties properties) {
+        return HttpClient.newBuilder()
+                .version(properties.httpVersion())
+                .connectTimeout(properties.connectTimeout())
+                .build();
+    }
+
+    @Bean
+    public RestClient restClient(HttpClient liveScoreHttpClient, ProviderTransportProperties properties) {
+        var requestFactory = new JdkClientHttpRequestFactory(liveScoreHttpClient);
+        requestFactory.setReadTimeout(properties.readTimeout());
+        var builder = RestClient.builder().requestFactory(requestFactory);
+        if (properties.decoder() == ProviderTransportProperties.Decoder.STREAMING) {
+            builder.messageConverters(converters -> converters.add(0, new ExternalLiveScoreResponseConverter()));
+        }
+        return builder.build();
     }
 }
@@ -3,12 +3,29 @@ package com.sporty.live_events.configuration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+import java.util.concurrent.Executor;
+
 @Configuration
 public class TaskSchedulerConfiguration {
     @Bean
     public TaskScheduler taskScheduler() {
         return new ThreadPoolTaskScheduler();
     }
+
+    @Bean
+    public Executor liveScoreWorkerExecutor(LiveScoreSchedulerProperties properties) {
+        if (properties.executionMode() == LiveScoreSchedulerProperties.ExecutionMode.VIRTUAL) {
+            return new BoundedVirtualThreadExecutor("live-score-vt-", properties.workerQueueCapacity());
+        }
+
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.workerThreads());
+        executor.setMaxPoolSize(properties.workerThreads());
+        executor.setQueueCapacity(properties.workerQueueCapacity());
+        executor.setThreadNamePrefix("live-score-worker-");
+        return executor;
+    }
 }
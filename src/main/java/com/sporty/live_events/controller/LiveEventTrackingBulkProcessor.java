@@ -0,0 +1,166 @@
+package com.sporty.live_events.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sporty.live_events.service.LiveEventTrackingCommand;
+import com.sporty.live_events.service.LiveEventTrackingOutcome;
+import com.sporty.live_events.service.LiveEventTrackingService;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/***
+ Streams a JSON array or NDJSON body of tracking requests, applies them in chunks through the tracking service and
+ streams one NDJSON result line per item back, so neither the request nor the response is ever held in memory whole.
+ ***/
+@Component
+public class LiveEventTrackingBulkProcessor {
+    static final int CHUNK_SIZE = 1000;
+
+    private final LiveEventTrackingService liveEventTrackingService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter resultWriter;
+    private final Validator validator;
+
+    public LiveEventTrackingBulkProcessor(LiveEventTrackingService liveEventTrackingService, ObjectMapper objectMapper, Validator validator) {
+        this.liveEventTrackingService = liveEventTrackingService;
+        this.objectMapper = objectMapper;
+        this.resultWriter = objectMapper.writerFor(LiveEventTrackingBulkResult.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.validator = validator;
+    }
+
+    public void process(InputStream requestBody, OutputStream responseBody) throws IOException {
+        try (var parser = objectMapper.getFactory().createParser(requestBody);
+             var generator = objectMapper.getFactory().createGenerator(responseBody)) {
+            generator.setRootValueSeparator(null);
+
+            var chunk = new Chunk();
+            String malformed = null;
+            JsonToken token = null;
+            try {
+                token = parser.nextToken();
+                if (token == JsonToken.START_ARRAY) {
+                    token = parser.nextToken();
+                }
+            } catch (StreamReadException exc) {
+                malformed = exc.getMessage();
+            }
+
+            // only reading the request is guarded, a failure to write the response is not a malformed body
+            while (malformed == null && token != null && token != JsonToken.END_ARRAY) {
+                try {
+                    chunk.add(parser);
+                    token = parser.nextToken();
+                } catch (StreamReadException exc) {
+                    malformed = exc.getMessage();
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    apply(chunk, generator);
+                }
+            }
+
+            apply(chunk, generator);
+            if (malformed != null) {
+                write(generator, new LiveEventTrackingBulkResult(null, LiveEventTrackingBulkResult.Result.INVALID,
+                        "Malformed request body, stopped processing: " + malformed));
+            }
+        }
+    }
+
+    private void apply(Chunk chunk, JsonGenerator generator) throws IOException {
+        var outcomes = liveEventTrackingService.scheduleTrackers(chunk.commands);
+
+        int commandIndex = 0;
+        for (var item : chunk.items) {
+            if (item.error != null) {
+                write(generator, new LiveEventTrackingBulkResult(item.eventId, LiveEventTrackingBulkResult.Result.INVALID, item.error));
+                continue;
+            }
+
+            var command = chunk.commands.get(commandIndex);
+            var result = result(command, outcomes.get(commandIndex));
+            commandIndex++;
+
+            write(generator, new LiveEventTrackingBulkResult(command.eventId(), result, null));
+        }
+
+        generator.flush();
+        chunk.clear();
+    }
+
+    private static LiveEventTrackingBulkResult.Result result(LiveEventTrackingCommand command, LiveEventTrackingOutcome outcome) {
+        return switch (outcome) {
+            case CHANGED -> command.status() ? LiveEventTrackingBulkResult.Result.SCHEDULED : LiveEventTrackingBulkResult.Result.UNSCHEDULED;
+            case UNCHANGED -> LiveEventTrackingBulkResult.Result.UNCHANGED;
+            case REJECTED -> LiveEventTrackingBulkResult.Result.REJECTED;
+        };
+    }
+
+    private void write(JsonGenerator generator, LiveEventTrackingBulkResult result) throws IOException {
+        resultWriter.writeValue(generator, result);
+        generator.writeRaw('\n');
+    }
+
+    private final class Chunk {
+        private List<LiveEventTrackingCommand> commands = new ArrayList<>(CHUNK_SIZE);
+        private List<Item> items = new ArrayList<>(CHUNK_SIZE);
+
+        /***
+         Reads the item the parser is at. An item whose values have the wrong type is skipped and reported invalid,
+         only a body that is not JSON any more stops the processing.
+         ***/
+        private void add(JsonParser parser) throws IOException {
+            var context = parser.getParsingContext();
+            var itemParent = parser.currentToken().isStructStart() ? context.getParent() : context;
+
+            LiveEventTrackingRequest request;
+            try {
+                request = objectMapper.readValue(parser, LiveEventTrackingRequest.class);
+            } catch (DatabindException exc) {
+                if (exc.getCause() instanceof StreamReadException malformed) {
+                    throw malformed;
+                }
+                while (parser.getParsingContext() != itemParent && parser.nextToken() != null) {
+                    // skip the rest of the item
+                }
+                items.add(new Item(null, exc.getOriginalMessage()));
+                return;
+            }
+
+            var violations = validator.validate(request);
+            if (violations.isEmpty()) {
+                commands.add(new LiveEventTrackingCommand(request.eventId(), request.status(), request.pollInterval(),
+                        request.priority()));
+                items.add(new Item(request.eventId(), null));
+            } else {
+                var violation = violations.iterator().next();
+                items.add(new Item(request.eventId(), violation.getPropertyPath() + " " + violation.getMessage()));
+            }
+        }
+
+        private int size() {
+            return items.size();
+        }
+
+        private void clear() {
+            // fresh lists rather than clear(), the applied commands are handed over to the tracking service
+            commands = new ArrayList<>(CHUNK_SIZE);
+            items = new ArrayList<>(CHUNK_SIZE);
+        }
+    }
+
+    private record Item(Long eventId, String error) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.sporty.live_events.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LiveEventTrackingBulkResult(Long eventId, Result result, String error) {
+
+    public enum Result {
+        SCHEDULED,
+        UNSCHEDULED,
+        UNCHANGED,
+        REJECTED,
+        INVALID
+    }
+}
@@ -1,24 +1,49 @@
 package com.sporty.live_events.controller;
 
 import com.sporty.live_events.service.LiveEventTrackingService;
+import com.sporty.live_events.service.admission.LiveEventAdmissionException;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/api/events")
 public class LiveEventTrackingController {
 
     private final LiveEventTrackingService liveEventTrackingService;
+    private final LiveEventTrackingBulkProcessor liveEventTrackingBulkProcessor;
 
-    public LiveEventTrackingController(LiveEventTrackingService liveEventTrackingService) {
+    public LiveEventTrackingController(LiveEventTrackingService liveEventTrackingService,
+                                       LiveEventTrackingBulkProcessor liveEventTrackingBulkProcessor) {
         this.liveEventTrackingService = liveEventTrackingService;
+        this.liveEventTrackingBulkProcessor = liveEventTrackingBulkProcessor;
     }
 
     @PostMapping("/status")
     void scheduleTracker(@RequestBody @Valid LiveEventTrackingRequest liveEventTrackingRequest) {
-        liveEventTrackingService.scheduleTracker(liveEventTrackingRequest.eventId(), liveEventTrackingRequest.status());
+        liveEventTrackingService.scheduleTracker(liveEventTrackingRequest.eventId(), liveEventTrackingRequest.status(),
+                liveEventTrackingRequest.pollInterval(), liveEventTrackingRequest.priority());
+    }
+
+    @PostMapping(value = "/status/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    void scheduleTrackers(InputStream requestBody, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        liveEventTrackingBulkProcessor.process(requestBody, response.getOutputStream());
+    }
+
+    @ExceptionHandler(LiveEventAdmissionException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    String trackerRejected(LiveEventAdmissionException exc) {
+        return exc.getMessage();
     }
 }
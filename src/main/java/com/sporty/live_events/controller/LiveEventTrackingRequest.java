@@ -1,15 +1,32 @@
 package com.sporty.live_events.controller;
 
+import com.sporty.live_events.service.LiveEventPriority;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import org.hibernate.validator.constraints.time.DurationMin;
+
+import java.time.Duration;
 
 /***
  Note:
  For demonstration purposes, I added an artificial constraint for the eventId below, as the task description asks
  for input validation, but there is not much to validate when long and boolean are chosen for the request field
  types - spring automatically handles most of the validation for these types.
+
+ pollInterval is optional, e.g. "PT5S", and pins the event to a fixed poll interval instead of the default cadence.
+ priority is optional, PREMIUM, STANDARD or LOW, and decides which events are degraded first under overload.
  ***/
 public record LiveEventTrackingRequest(
         @Min(1000) @Max(9999) long eventId,
-        boolean status) {
+        boolean status,
+        @DurationMin(seconds = 1) Duration pollInterval,
+        LiveEventPriority priority) {
+
+    public LiveEventTrackingRequest(long eventId, boolean status) {
+        this(eventId, status, null, null);
+    }
+
+    public LiveEventTrackingRequest(long eventId, boolean status, Duration pollInterval) {
+        this(eventId, status, pollInterval, null);
+    }
 }
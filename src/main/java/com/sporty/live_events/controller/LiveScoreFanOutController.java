@@ -0,0 +1,58 @@
+package com.sporty.live_events.controller;
+
+import com.sporty.live_events.configuration.LiveScoreFanOutProperties;
+import com.sporty.live_events.service.fanout.LiveScoreFanOutException;
+import com.sporty.live_events.service.fanout.LiveScoreFanOutService;
+import com.sporty.live_events.service.kafka.LiveScoreKafkaMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/scores")
+@ConditionalOnProperty(prefix = "live-events.fan-out", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LiveScoreFanOutController {
+
+    private final LiveScoreFanOutService liveScoreFanOutService;
+    private final LiveScoreFanOutProperties properties;
+
+    public LiveScoreFanOutController(LiveScoreFanOutService liveScoreFanOutService, LiveScoreFanOutProperties properties) {
+        this.liveScoreFanOutService = liveScoreFanOutService;
+        this.properties = properties;
+    }
+
+    @GetMapping
+    List<LiveScoreKafkaMessage> getLatestScores(@RequestParam long[] eventIds) {
+        return liveScoreFanOutService.getLatestScores(validate(eventIds));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter subscribe(@RequestParam long[] eventIds,
+                         @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return liveScoreFanOutService.subscribe(validate(eventIds), lastEventId);
+    }
+
+    @ExceptionHandler(LiveScoreFanOutException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    void fanOutUnavailable() {
+    }
+
+    private long[] validate(long[] eventIds) {
+        if (eventIds.length == 0 || eventIds.length > properties.maxEventsPerSubscription()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Between 1 and " + properties.maxEventsPerSubscription() + " event ids are expected");
+        }
+        return eventIds;
+    }
+}
@@ -1,17 +1,53 @@
 package com.sporty.live_events.mock;
 
 import com.sporty.live_events.service.kafka.LiveScoreKafkaMessage;
+import com.sporty.live_events.service.kafka.LiveScoreTrace;
+import com.sporty.live_events.service.kafka.LiveScoreTraceHeaders;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.TimeUnit;
+
 @Service
 public class KafkaConsumerService {
     private static final Logger log = LoggerFactory.getLogger(KafkaConsumerService.class);
 
+    private final MockLiveScoreFeed mockLiveScoreFeed;
+    private final Timer endToEndLatency;
+    private final Timer tickToConsumeLatency;
+
+    public KafkaConsumerService(MockLiveScoreFeed mockLiveScoreFeed, MeterRegistry meterRegistry) {
+        this.mockLiveScoreFeed = mockLiveScoreFeed;
+        this.endToEndLatency = Timer.builder("live.score.mock.end.to.end")
+                .description("Time from a score change in the mock provider until its message is consumed")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.tickToConsumeLatency = Timer.builder("live.score.mock.tick.to.consume")
+                .description("Time from the scheduler tick that polled a score until its message is consumed")
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     @KafkaListener(topics = "live_score", groupId = "live_score_group")
-    public void listen(LiveScoreKafkaMessage message) {
+    public void listen(ConsumerRecord<String, LiveScoreKafkaMessage> record) {
+        var message = record.value();
         log.info("Received kafka message: {}", message);
+
+        var trace = message.trace() != null ? message.trace() : LiveScoreTraceHeaders.read(record.headers());
+        if (trace != null) {
+            // both clocks are wall clocks, of different processes in a real deployment
+            tickToConsumeLatency.record(Math.max(0, LiveScoreTrace.nowMicros() - trace.tickedAtMicros()), TimeUnit.MICROSECONDS);
+        }
+
+        var changedAtNanos = mockLiveScoreFeed.changedAtNanos(message.eventId(), message.currentScore());
+        if (changedAtNanos >= 0) {
+            endToEndLatency.record(System.nanoTime() - changedAtNanos, TimeUnit.NANOSECONDS);
+        }
     }
 }
@@ -2,16 +2,31 @@ package com.sporty.live_events.mock;
 
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.UUID;
+import java.util.List;
 
 @RestController
 @RequestMapping("/mock/status")
 public class MockLiveEventStatusEndpoint {
+    private final MockLiveScoreFeed mockLiveScoreFeed;
+
+    public MockLiveEventStatusEndpoint(MockLiveScoreFeed mockLiveScoreFeed) {
+        this.mockLiveScoreFeed = mockLiveScoreFeed;
+    }
+
     @GetMapping("/{eventId}")
     MockLiveStatusResponse getLiveEventScore(@PathVariable long eventId) {
-        return new MockLiveStatusResponse(eventId, UUID.randomUUID().toString());
+        return new MockLiveStatusResponse(eventId, mockLiveScoreFeed.currentScore(eventId));
+    }
+
+    @PostMapping("/batch")
+    List<MockLiveStatusResponse> getLiveEventScores(@RequestBody List<Long> eventIds) {
+        return eventIds.stream()
+                .map(this::getLiveEventScore)
+                .toList();
     }
 }
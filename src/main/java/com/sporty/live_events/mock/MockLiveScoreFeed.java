@@ -0,0 +1,178 @@
+package com.sporty.live_events.mock;
+
+import com.sporty.live_events.configuration.MockProviderProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/***
+ Scores of the mock provider. An event starts at 0-0 the first time it is asked about, and from then on
+ random goals are scored across the known events, each change being pushed to the stream subscribers.
+ Changes are numbered and the last ones are kept, so a subscriber coming back with the number of the last change it
+ saw gets the ones it missed, or a "reset" event when they are no longer kept. Quiet streams get keep-alive comments,
+ like a real provider's, so that clients can tell a quiet stream from a dead one.
+ ***/
+@Component
+public class MockLiveScoreFeed {
+
+    private final TaskScheduler taskScheduler;
+    private final MockProviderProperties properties;
+    private final Map<Long, Score> scores = new ConcurrentHashMap<>();
+
+    // guarded by this, changes are appended and sent under the same lock so every subscriber sees them in order
+    private final ScoreChange[] replay;
+    private final List<SseEmitter> subscribers = new ArrayList<>();
+    private long nextChangeId = 1;
+
+    private ScheduledFuture<?> ticker;
+    private ScheduledFuture<?> keepAlive;
+
+    public MockLiveScoreFeed(TaskScheduler taskScheduler, MockProviderProperties properties) {
+        this.taskScheduler = taskScheduler;
+        this.properties = properties;
+        this.replay = new ScoreChange[properties.replayCapacity()];
+    }
+
+    @PostConstruct
+    void startTicker() {
+        if (properties.goalsPerSecond() > 0) {
+            ticker = taskScheduler.scheduleAtFixedRate(this::scoreGoal,
+                    Duration.ofNanos(Duration.ofSeconds(1).toNanos() / properties.goalsPerSecond()));
+        }
+        keepAlive = taskScheduler.scheduleAtFixedRate(this::keepAlive, properties.keepAliveInterval());
+    }
+
+    @PreDestroy
+    synchronized void stopTicker() {
+        if (ticker != null) {
+            ticker.cancel(false);
+        }
+        if (keepAlive != null) {
+            keepAlive.cancel(false);
+        }
+        List.copyOf(subscribers).forEach(SseEmitter::complete);
+        subscribers.clear();
+    }
+
+    public String currentScore(long eventId) {
+        return scores.computeIfAbsent(eventId, id -> new Score(0, 0, System.nanoTime())).value();
+    }
+
+    /***
+     Returns when the event's score changed to the given one, or -1 when that is not the event's current score.
+     ***/
+    public long changedAtNanos(long eventId, String score) {
+        var current = scores.get(eventId);
+        return current != null && current.value().equals(score) ? current.changedAtNanos() : -1;
+    }
+
+    /***
+     Adds the subscriber after replaying the changes following lastChangeId to it.
+     ***/
+    public synchronized void subscribe(SseEmitter emitter, Long lastChangeId) {
+        if (lastChangeId != null && !replay(emitter, lastChangeId)) {
+            return;
+        }
+
+        subscribers.add(emitter);
+        emitter.onCompletion(() -> unsubscribe(emitter));
+        emitter.onTimeout(() -> unsubscribe(emitter));
+        emitter.onError(exc -> unsubscribe(emitter));
+    }
+
+    private synchronized void unsubscribe(SseEmitter emitter) {
+        subscribers.remove(emitter);
+    }
+
+    private void scoreGoal() {
+        var eventIds = scores.keySet().toArray(Long[]::new);
+        if (eventIds.length == 0) {
+            return;
+        }
+
+        var random = ThreadLocalRandom.current();
+        var eventId = eventIds[random.nextInt(eventIds.length)];
+        var home = random.nextBoolean();
+        var score = scores.computeIfPresent(eventId, (id, current) ->
+                new Score(current.home() + (home ? 1 : 0), current.away() + (home ? 0 : 1), System.nanoTime()));
+        if (score != null) {
+            publish(new MockLiveStatusResponse(eventId, score.value()));
+        }
+    }
+
+    private synchronized void publish(MockLiveStatusResponse response) {
+        var change = new ScoreChange(nextChangeId++, response);
+        replay[(int) (change.id() % replay.length)] = change;
+
+        for (var subscriber : List.copyOf(subscribers)) {
+            if (!send(subscriber, change)) {
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    private synchronized void keepAlive() {
+        for (var subscriber : List.copyOf(subscribers)) {
+            try {
+                subscriber.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException exc) {
+                subscriber.completeWithError(exc);
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    private boolean replay(SseEmitter emitter, long lastChangeId) {
+        var oldestChangeId = Math.max(1, nextChangeId - replay.length);
+        if (lastChangeId + 1 < oldestChangeId || lastChangeId >= nextChangeId) {
+            try {
+                emitter.send(SseEmitter.event().id(String.valueOf(nextChangeId - 1)).name("reset").data(""));
+                return true;
+            } catch (IOException exc) {
+                emitter.completeWithError(exc);
+                return false;
+            }
+        }
+
+        for (var id = lastChangeId + 1; id < nextChangeId; id++) {
+            if (!send(emitter, replay[(int) (id % replay.length)])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean send(SseEmitter emitter, ScoreChange change) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(change.id()))
+                    .name("score")
+                    .data(change.response(), MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException exc) {
+            emitter.completeWithError(exc);
+            return false;
+        }
+    }
+
+    private record Score(int home, int away, long changedAtNanos) {
+        String value() {
+            return home + "-" + away;
+        }
+    }
+
+    private record ScoreChange(long id, MockLiveStatusResponse response) {
+    }
+}
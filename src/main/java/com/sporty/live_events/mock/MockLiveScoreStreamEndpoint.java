@@ -0,0 +1,26 @@
+package com.sporty.live_events.mock;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/mock/stream")
+public class MockLiveScoreStreamEndpoint {
+    private final MockLiveScoreFeed mockLiveScoreFeed;
+
+    public MockLiveScoreStreamEndpoint(MockLiveScoreFeed mockLiveScoreFeed) {
+        this.mockLiveScoreFeed = mockLiveScoreFeed;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter streamLiveEventScores(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        // no timeout, the stream lives until either side closes it
+        var emitter = new SseEmitter(0L);
+        mockLiveScoreFeed.subscribe(emitter, lastEventId);
+        return emitter;
+    }
+}
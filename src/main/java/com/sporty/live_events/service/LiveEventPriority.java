@@ -0,0 +1,14 @@
+package com.sporty.live_events.service;
+
+/***
+ Priority tier of a tracked event, from the most to the least important. Under overload the lower tiers are polled
+ less often first, then not at all, and new trackers of a tier are rejected once the tiers at or above it use up
+ the capacity on their own. PREMIUM is never degraded.
+ ***/
+public enum LiveEventPriority {
+    PREMIUM,
+    STANDARD,
+    LOW;
+
+    public static final LiveEventPriority DEFAULT = STANDARD;
+}
@@ -0,0 +1,322 @@
+package com.sporty.live_events.service;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/***
+ Set of tracked event ids, striped over open addressing primitive long tables so that ids are never boxed.
+
+ Registering and removing run their callback under the stripe's write lock, which makes "schedule if absent" and
+ "cancel and remove" atomic: two concurrent requests for the same event can never both schedule a job, and a cancel
+ can never slip in between the check and the scheduling of a job.
+ Lookups are optimistic reads and do not take a lock unless they race with a writer.
+ ***/
+public class LiveEventTrackerRegistry {
+    private static final int STRIPE_COUNT = 64;
+    private static final int STRIPE_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(STRIPE_COUNT);
+    private static final LongPredicate ADMIT_ALL = eventId -> true;
+
+    private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+
+    public LiveEventTrackerRegistry() {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public boolean registerIfAbsent(long eventId, LongConsumer onRegister) {
+        var stripe = stripeFor(eventId);
+        var stamp = stripe.lock.writeLock();
+        try {
+            return stripe.registerIfAbsent(eventId, ADMIT_ALL, onRegister);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean removeIfPresent(long eventId, LongConsumer onRemove) {
+        var stripe = stripeFor(eventId);
+        var stamp = stripe.lock.writeLock();
+        try {
+            return stripe.removeIfPresent(eventId, onRemove);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /***
+     Runs the action under the stripe's write lock if the event is registered, so it can't race with its removal.
+     ***/
+    public boolean applyIfPresent(long eventId, LongConsumer action) {
+        var stripe = stripeFor(eventId);
+        var stamp = stripe.lock.writeLock();
+        try {
+            if (!stripe.contains(eventId)) {
+                return false;
+            }
+
+            action.accept(eventId);
+            return true;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /***
+     Applies register (true) or remove (false) for every event id, locking each stripe once for all of its ids instead
+     of once per id. Ids of the same event always share a stripe, so they are applied in their original order.
+     Returns whether each entry changed the registry.
+     ***/
+    public boolean[] applyAll(long[] eventIds, boolean[] register, LongConsumer onRegister, LongConsumer onRemove) {
+        return applyAll(eventIds, register, ADMIT_ALL, onRegister, onRemove, new boolean[eventIds.length]);
+    }
+
+    /***
+     Same as applyAll(eventIds, register, onRegister, onRemove), registering an absent event only if admit accepts it.
+     A rejected entry does not change the registry and is marked in rejected, which is as long as eventIds.
+     ***/
+    public boolean[] applyAll(long[] eventIds, boolean[] register, LongPredicate admit, LongConsumer onRegister,
+                              LongConsumer onRemove, boolean[] rejected) {
+        var applied = new boolean[eventIds.length];
+        var stripeStarts = new int[STRIPE_COUNT + 1];
+        var stripeOfEntry = new int[eventIds.length];
+
+        for (int i = 0; i < eventIds.length; i++) {
+            stripeOfEntry[i] = stripeIndex(eventIds[i]);
+            stripeStarts[stripeOfEntry[i] + 1]++;
+        }
+        for (int s = 0; s < STRIPE_COUNT; s++) {
+            stripeStarts[s + 1] += stripeStarts[s];
+        }
+
+        var entriesByStripe = new int[eventIds.length];
+        var nextSlot = stripeStarts.clone();
+        for (int i = 0; i < eventIds.length; i++) {
+            entriesByStripe[nextSlot[stripeOfEntry[i]]++] = i;
+        }
+
+        for (int s = 0; s < STRIPE_COUNT; s++) {
+            if (stripeStarts[s] == stripeStarts[s + 1]) {
+                continue;
+            }
+
+            var stripe = stripes[s];
+            var stamp = stripe.lock.writeLock();
+            try {
+                for (int slot = stripeStarts[s]; slot < stripeStarts[s + 1]; slot++) {
+                    var i = entriesByStripe[slot];
+                    applied[i] = register[i]
+                            ? stripe.registerIfAbsent(eventIds[i], admit, onRegister)
+                            : stripe.removeIfPresent(eventIds[i], onRemove);
+                    // still absent right after a register that changed nothing, so admit turned it down
+                    rejected[i] = register[i] && !applied[i] && !stripe.contains(eventIds[i]);
+                }
+            } finally {
+                stripe.lock.unlockWrite(stamp);
+            }
+        }
+
+        return applied;
+    }
+
+    public boolean contains(long eventId) {
+        var stripe = stripeFor(eventId);
+        var stamp = stripe.lock.tryOptimisticRead();
+        var contains = stripe.contains(eventId);
+
+        if (!stripe.lock.validate(stamp)) {
+            stamp = stripe.lock.readLock();
+            try {
+                contains = stripe.contains(eventId);
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return contains;
+    }
+
+    public int size() {
+        var size = 0;
+        for (var stripe : stripes) {
+            var stamp = stripe.lock.readLock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    /***
+     Visits every registered event id, one stripe at a time. Not a point in time snapshot across stripes.
+     ***/
+    public void forEach(LongConsumer action) {
+        for (var stripe : stripes) {
+            var stamp = stripe.lock.readLock();
+            try {
+                stripe.forEach(action);
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    public long[] toArray() {
+        var collector = new Object() {
+            long[] eventIds = new long[1024];
+            int size;
+
+            void add(long eventId) {
+                if (size == eventIds.length) {
+                    eventIds = Arrays.copyOf(eventIds, size << 1);
+                }
+                eventIds[size++] = eventId;
+            }
+        };
+
+        forEach(collector::add);
+        return Arrays.copyOf(collector.eventIds, collector.size);
+    }
+
+    private Stripe stripeFor(long eventId) {
+        return stripes[stripeIndex(eventId)];
+    }
+
+    private static int stripeIndex(long eventId) {
+        return (int) (mix(eventId) >>> STRIPE_SHIFT);
+    }
+
+    private static long mix(long eventId) {
+        return eventId * 0x9E3779B97F4A7C15L;
+    }
+
+    /***
+     Linear probing table where 0 marks a free slot, the event id 0 itself is kept in a flag.
+     Removal shifts the following entries back instead of leaving tombstones.
+     ***/
+    private static final class Stripe {
+        private final StampedLock lock = new StampedLock();
+        private long[] keys = new long[16];
+        private int size;
+        private boolean containsZero;
+
+        private boolean registerIfAbsent(long eventId, LongPredicate admit, LongConsumer onRegister) {
+            if (contains(eventId) || !admit.test(eventId)) {
+                return false;
+            }
+
+            onRegister.accept(eventId);
+            add(eventId);
+            return true;
+        }
+
+        private boolean removeIfPresent(long eventId, LongConsumer onRemove) {
+            if (!contains(eventId)) {
+                return false;
+            }
+
+            onRemove.accept(eventId);
+            remove(eventId);
+            return true;
+        }
+
+        private boolean contains(long eventId) {
+            if (eventId == 0) {
+                return containsZero;
+            }
+
+            var table = keys;
+            var mask = table.length - 1;
+            var index = slot(eventId, mask);
+            for (int probes = 0; probes < table.length; probes++) {
+                var key = table[index];
+                if (key == 0) {
+                    return false;
+                }
+                if (key == eventId) {
+                    return true;
+                }
+                index = (index + 1) & mask;
+            }
+            return false;
+        }
+
+        private void add(long eventId) {
+            size++;
+            if (eventId == 0) {
+                containsZero = true;
+                return;
+            }
+
+            if (size * 2 > keys.length) {
+                resize();
+            }
+            insert(keys, eventId);
+        }
+
+        private void remove(long eventId) {
+            size--;
+            if (eventId == 0) {
+                containsZero = false;
+                return;
+            }
+
+            var mask = keys.length - 1;
+            var index = slot(eventId, mask);
+            while (keys[index] != eventId) {
+                index = (index + 1) & mask;
+            }
+
+            var free = index;
+            index = (index + 1) & mask;
+            while (keys[index] != 0) {
+                var home = slot(keys[index], mask);
+                // move the entry back into the freed slot unless its home slot lies cyclically in (free, index]
+                var reachable = free <= index ? (home > free && home <= index) : (home > free || home <= index);
+                if (!reachable) {
+                    keys[free] = keys[index];
+                    free = index;
+                }
+                index = (index + 1) & mask;
+            }
+            keys[free] = 0;
+        }
+
+        private void forEach(LongConsumer action) {
+            if (containsZero) {
+                action.accept(0);
+            }
+            for (var key : keys) {
+                if (key != 0) {
+                    action.accept(key);
+                }
+            }
+        }
+
+        private void resize() {
+            var resized = new long[keys.length << 1];
+            for (var key : keys) {
+                if (key != 0) {
+                    insert(resized, key);
+                }
+            }
+            keys = resized;
+        }
+
+        private static void insert(long[] table, long eventId) {
+            var mask = table.length - 1;
+            var index = slot(eventId, mask);
+            while (table[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            table[index] = eventId;
+        }
+
+        private static int slot(long eventId, int mask) {
+            return (int) mix(eventId) & mask;
+        }
+    }
+}
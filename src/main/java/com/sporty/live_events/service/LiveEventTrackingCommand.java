@@ -0,0 +1,18 @@
+package com.sporty.live_events.service;
+
+import java.time.Duration;
+
+/***
+ pollInterval pins a tracked event to a fixed poll interval, null leaves its cadence as it is.
+ priority places a tracked event in that tier, null leaves it in its tier, new events go to the default one.
+ ***/
+public record LiveEventTrackingCommand(long eventId, boolean status, Duration pollInterval, LiveEventPriority priority) {
+
+    public LiveEventTrackingCommand(long eventId, boolean status) {
+        this(eventId, status, null, null);
+    }
+
+    public LiveEventTrackingCommand(long eventId, boolean status, Duration pollInterval) {
+        this(eventId, status, pollInterval, null);
+    }
+}
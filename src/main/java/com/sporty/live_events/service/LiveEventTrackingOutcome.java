@@ -0,0 +1,11 @@
+package com.sporty.live_events.service;
+
+/***
+ What a tracking command did to the tracking state of its event. REJECTED is a command tracking a new event whose
+ priority tier was at capacity when it was applied, it left the event untracked.
+ ***/
+public enum LiveEventTrackingOutcome {
+    CHANGED,
+    UNCHANGED,
+    REJECTED
+}
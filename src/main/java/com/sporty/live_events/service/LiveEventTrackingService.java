@@ -1,9 +1,29 @@
 package com.sporty.live_events.service;
 
-import java.util.concurrent.ScheduledFuture;
+import java.time.Duration;
+import java.util.List;
 
 public interface LiveEventTrackingService {
     void scheduleTracker(long eventId, boolean status);
 
-    ScheduledFuture<?> getScheduledTrackerForEvent(long eventId);
+    /***
+     Same as scheduleTracker(eventId, status), additionally pinning a tracked event to the given poll interval.
+     A null interval leaves the event's cadence as it is.
+     ***/
+    void scheduleTracker(long eventId, boolean status, Duration pollInterval);
+
+    /***
+     Same as scheduleTracker(eventId, status, pollInterval), additionally placing a tracked event in the given priority
+     tier. A null priority leaves the event in its tier, new events go to the default one.
+     Throws LiveEventAdmissionException when a new event's tier is at capacity, the event is not tracked then.
+     ***/
+    void scheduleTracker(long eventId, boolean status, Duration pollInterval, LiveEventPriority priority);
+
+    /***
+     Applies the commands in order and returns, per command, what it did to the tracking state of its event.
+     A command tracking a new event whose tier is at capacity is rejected and does not change it.
+     ***/
+    List<LiveEventTrackingOutcome> scheduleTrackers(List<LiveEventTrackingCommand> commands);
+
+    boolean isTrackerScheduledForEvent(long eventId);
 }
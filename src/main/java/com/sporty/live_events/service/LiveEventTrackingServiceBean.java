@@ -1,13 +1,21 @@
 package com.sporty.live_events.service;
 
+import com.sporty.live_events.service.admission.LiveEventAdmissionException;
+import com.sporty.live_events.service.admission.LiveEventAdmissionService;
+import com.sporty.live_events.service.journal.LiveEventTrackerJournalService;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import com.sporty.live_events.service.scheduler.LiveScoreChangeDetector;
 import com.sporty.live_events.service.scheduler.LiveScoreTaskSchedulerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledFuture;
+import java.util.function.LongConsumer;
 
 @Service
 public class LiveEventTrackingServiceBean implements LiveEventTrackingService {
@@ -16,41 +24,176 @@ public class LiveEventTrackingServiceBean implements LiveEventTrackingService {
 
     private final LiveScoreTaskSchedulerService liveScoreTaskSchedulerService;
 
-    private final Map<Long, ScheduledFuture<?>> scheduledJobs;
+    private final LiveScoreChangeDetector liveScoreChangeDetector;
 
-    public LiveEventTrackingServiceBean(LiveScoreTaskSchedulerService liveScoreTaskSchedulerService) {
+    private final LiveEventTrackerJournalService liveEventTrackerJournalService;
+
+    private final LiveEventAdmissionService liveEventAdmissionService;
+
+    private final LiveScorePipelineMetrics liveScorePipelineMetrics;
+
+    private final LiveEventTrackerRegistry trackerRegistry;
+
+    private final LongConsumer startJob;
+
+    private final LongConsumer stopJob;
+
+    public LiveEventTrackingServiceBean(LiveScoreTaskSchedulerService liveScoreTaskSchedulerService,
+                                        LiveScoreChangeDetector liveScoreChangeDetector,
+                                        LiveEventTrackerJournalService liveEventTrackerJournalService,
+                                        LiveEventAdmissionService liveEventAdmissionService,
+                                        LiveScorePipelineMetrics liveScorePipelineMetrics) {
         this.liveScoreTaskSchedulerService = liveScoreTaskSchedulerService;
+        this.liveScoreChangeDetector = liveScoreChangeDetector;
+        this.liveEventTrackerJournalService = liveEventTrackerJournalService;
+        this.liveEventAdmissionService = liveEventAdmissionService;
+        this.liveScorePipelineMetrics = liveScorePipelineMetrics;
+
+        this.trackerRegistry = new LiveEventTrackerRegistry();
+        this.startJob = this::startJob;
+        this.stopJob = this::stopJob;
 
-        this.scheduledJobs = new ConcurrentHashMap<>();
+        liveScorePipelineMetrics.monitorActiveTrackers(trackerRegistry, LiveEventTrackerRegistry::size);
     }
 
     @Override
     public void scheduleTracker(long eventId, boolean status) {
+        scheduleTracker(eventId, status, null, null);
+    }
+
+    @Override
+    public void scheduleTracker(long eventId, boolean status, Duration pollInterval) {
+        scheduleTracker(eventId, status, pollInterval, null);
+    }
+
+    @Override
+    public void scheduleTracker(long eventId, boolean status, Duration pollInterval, LiveEventPriority priority) {
         if (status) {
-            schedule(eventId);
+            if (schedule(eventId, priority)) {
+                log.info("Scheduled live score tracker for event {}", eventId);
+            } else if (priority != null) {
+                setPriority(eventId, priority);
+            }
         } else {
-            unSchedule(eventId);
+            if (unSchedule(eventId)) {
+                log.info("Unscheduled live score tracker for event {}", eventId);
+            }
+        }
+
+        if (status && pollInterval != null && setPollInterval(eventId, pollInterval)) {
+            log.info("Set poll interval of live score tracker for event {} to {}", eventId, pollInterval);
+        }
+    }
+
+    @Override
+    public List<LiveEventTrackingOutcome> scheduleTrackers(List<LiveEventTrackingCommand> commands) {
+        var eventIds = new long[commands.size()];
+        var statuses = new boolean[commands.size()];
+        Map<Long, LiveEventPriority> priorities = null;
+        for (int i = 0; i < commands.size(); i++) {
+            var command = commands.get(i);
+            eventIds[i] = command.eventId();
+            statuses[i] = command.status();
+            if (command.priority() != null) {
+                if (priorities == null) {
+                    priorities = new HashMap<>();
+                }
+                priorities.put(command.eventId(), command.priority());
+            }
         }
+
+        // a new event is admitted in the tier of the batch's last command for it that names one
+        var batchPriorities = priorities;
+        var rejected = new boolean[commands.size()];
+        var applied = trackerRegistry.applyAll(eventIds, statuses,
+                eventId -> admit(eventId, batchPriorities == null ? null : batchPriorities.get(eventId)),
+                startJob, stopJob, rejected);
+        for (int i = 0; i < commands.size(); i++) {
+            var command = commands.get(i);
+            if (!command.status() || rejected[i]) {
+                continue;
+            }
+            if (command.priority() != null) {
+                setPriority(command.eventId(), command.priority());
+            }
+            if (command.pollInterval() != null) {
+                setPollInterval(command.eventId(), command.pollInterval());
+            }
+        }
+
+        var results = new ArrayList<LiveEventTrackingOutcome>(applied.length);
+        var changed = 0;
+        var rejectedCount = 0;
+        for (int i = 0; i < applied.length; i++) {
+            if (applied[i]) {
+                results.add(LiveEventTrackingOutcome.CHANGED);
+                changed++;
+            } else if (rejected[i]) {
+                results.add(LiveEventTrackingOutcome.REJECTED);
+                rejectedCount++;
+            } else {
+                results.add(LiveEventTrackingOutcome.UNCHANGED);
+            }
+        }
+
+        log.info("Applied {} live score tracker commands, {} changed the tracking state", commands.size(), changed);
+        if (rejectedCount > 0) {
+            log.warn("Rejected {} live score tracker commands, their priority tiers are at capacity", rejectedCount);
+        }
+        return results;
     }
 
     @Override
-    public ScheduledFuture<?> getScheduledTrackerForEvent(long eventId) {
-        return scheduledJobs.get(eventId);
+    public boolean isTrackerScheduledForEvent(long eventId) {
+        return trackerRegistry.contains(eventId);
     }
 
-    private void schedule(long eventId) {
-        if (scheduledJobs.containsKey(eventId)) return;
+    private boolean schedule(long eventId, LiveEventPriority priority) {
+        return trackerRegistry.registerIfAbsent(eventId, trackedEventId -> {
+            liveEventAdmissionService.admit(trackedEventId, priority);
+            startJob(trackedEventId);
+        });
+    }
 
-        log.info("Scheduling live score tracker for event {}", eventId);
-        var future = liveScoreTaskSchedulerService.scheduleJob(eventId);
-        scheduledJobs.put(eventId, future);
+    private boolean unSchedule(long eventId) {
+        return trackerRegistry.removeIfPresent(eventId, stopJob);
     }
 
-    private void unSchedule(long eventId) {
-        if (!scheduledJobs.containsKey(eventId)) return;
+    private boolean setPollInterval(long eventId, Duration pollInterval) {
+        return trackerRegistry.applyIfPresent(eventId,
+                trackedEventId -> liveScoreTaskSchedulerService.setPollInterval(trackedEventId, pollInterval));
+    }
+
+    private boolean setPriority(long eventId, LiveEventPriority priority) {
+        return trackerRegistry.applyIfPresent(eventId, trackedEventId -> {
+            liveEventAdmissionService.admit(trackedEventId, priority);
+            liveEventTrackerJournalService.recordTracked(trackedEventId, priority);
+        });
+    }
+
+    private boolean admit(long eventId, LiveEventPriority priority) {
+        try {
+            liveEventAdmissionService.admit(eventId, priority);
+            return true;
+        } catch (LiveEventAdmissionException exc) {
+            log.debug("Rejected live score tracker for event {}: {}", eventId, exc.getMessage());
+            return false;
+        }
+    }
+
+    private void startJob(long eventId) {
+        liveScorePipelineMetrics.tagEvent(eventId);
+        liveScoreTaskSchedulerService.scheduleJob(eventId);
+        // admitted before the job starts, so the tier is known by now
+        liveEventTrackerJournalService.recordTracked(eventId, liveEventAdmissionService.getPriority(eventId));
+    }
 
-        log.info("Unscheduling live score tracker for event {}", eventId);
-        liveScoreTaskSchedulerService.unscheduleJob(scheduledJobs.get(eventId));
-        scheduledJobs.remove(eventId);
+    private void stopJob(long eventId) {
+        // released before unscheduling, while the cadence the event was admitted at is still known
+        liveEventAdmissionService.release(eventId);
+        liveScoreTaskSchedulerService.unscheduleJob(eventId);
+        liveScoreChangeDetector.evict(eventId);
+        liveScorePipelineMetrics.untagEvent(eventId);
+        liveEventTrackerJournalService.recordUntracked(eventId);
     }
 }
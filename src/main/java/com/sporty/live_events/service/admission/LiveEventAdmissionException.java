@@ -0,0 +1,7 @@
+package com.sporty.live_events.service.admission;
+
+public class LiveEventAdmissionException extends RuntimeException {
+    public LiveEventAdmissionException(String message) {
+        super(message);
+    }
+}
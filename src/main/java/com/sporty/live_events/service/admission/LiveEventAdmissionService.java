@@ -0,0 +1,33 @@
+package com.sporty.live_events.service.admission;
+
+import com.sporty.live_events.service.LiveEventPriority;
+
+import java.util.Map;
+
+public interface LiveEventAdmissionService {
+    /***
+     Places the event in the priority tier, a null priority keeps a tracked event in its tier and puts a new one in
+     the default tier. Throws LiveEventAdmissionException for a new event whose tier is out of capacity.
+     ***/
+    void admit(long eventId, LiveEventPriority priority);
+
+    /***
+     Throws LiveEventAdmissionException when a new event would not be admitted in the priority tier right now,
+     without admitting it.
+     ***/
+    void checkCapacity(long eventId, LiveEventPriority priority);
+
+    void release(long eventId);
+
+    /***
+     The tier the event was admitted in, or null when it is not admitted.
+     ***/
+    LiveEventPriority getPriority(long eventId);
+
+    /***
+     Polls per second the service can sustain.
+     ***/
+    double getCapacity();
+
+    Map<LiveEventPriority, LiveEventTierLoad> getLoad();
+}
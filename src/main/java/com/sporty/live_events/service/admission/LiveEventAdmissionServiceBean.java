@@ -0,0 +1,288 @@
+package com.sporty.live_events.service.admission;
+
+import com.sporty.live_events.configuration.LiveEventAdmissionProperties;
+import com.sporty.live_events.configuration.LiveScoreSchedulerProperties;
+import com.sporty.live_events.service.LiveEventPriority;
+import com.sporty.live_events.service.external.ExternalLiveScoreRestApiService;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import com.sporty.live_events.service.scheduler.LiveScorePollingCadence;
+import com.sporty.live_events.service.scheduler.LiveScoreTierThrottle;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ScheduledFuture;
+
+/***
+ Capacity model of the poll pipeline, in event polls per second, against the polls per second every tier asks for
+ at the cadence of its events.
+ On every evaluation, above the soft limit the tiers from the lowest up are stretched just as far as needed to get
+ back under it, up to maxStretch, and if even that leaves the load above the hard limit they are shed, lowest
+ first. PREMIUM is never degraded. In between evaluations the load is kept up to date as events come and go, so a
+ burst of new trackers is rejected as soon as the tiers at or above theirs would exceed the hard limit even when
+ degraded as far as they can be.
+ ***/
+@Service
+public class LiveEventAdmissionServiceBean implements LiveEventAdmissionService {
+    private static final Logger log = LoggerFactory.getLogger(LiveEventAdmissionServiceBean.class);
+
+    private static final LiveEventPriority[] TIERS = LiveEventPriority.values();
+
+    private final LiveScoreTierThrottle liveScoreTierThrottle;
+    private final LiveScorePollingCadence liveScorePollingCadence;
+    private final LiveScorePipelineMetrics liveScorePipelineMetrics;
+    private final TaskScheduler taskScheduler;
+    private final LiveEventAdmissionProperties properties;
+    private final double capacity;
+
+    // guarded by this
+    private final int[] trackers = new int[TIERS.length];
+    private final double[] pollsPerSecond = new double[TIERS.length];
+    private String degradation = "";
+
+    private volatile Map<LiveEventPriority, LiveEventTierLoad> load;
+
+    private ScheduledFuture<?> evaluation;
+
+    public LiveEventAdmissionServiceBean(LiveScoreTierThrottle liveScoreTierThrottle,
+                                         LiveScorePollingCadence liveScorePollingCadence,
+                                         ExternalLiveScoreRestApiService externalLiveScoreRestApiService,
+                                         LiveScorePipelineMetrics liveScorePipelineMetrics,
+                                         TaskScheduler taskScheduler,
+                                         LiveScoreSchedulerProperties schedulerProperties,
+                                         LiveEventAdmissionProperties properties) {
+        if (properties.softLimit() > properties.hardLimit() || properties.maxStretch() < 1) {
+            throw new IllegalArgumentException("Admission soft limit must not be above the hard limit, and max stretch not below 1");
+        }
+
+        this.liveScoreTierThrottle = liveScoreTierThrottle;
+        this.liveScorePollingCadence = liveScorePollingCadence;
+        this.liveScorePipelineMetrics = liveScorePipelineMetrics;
+        this.taskScheduler = taskScheduler;
+        this.properties = properties;
+        this.capacity = properties.capacity() > 0 ? properties.capacity()
+                : capacity(externalLiveScoreRestApiService.getMaxRequestsPerSecond(),
+                externalLiveScoreRestApiService.getMaxBatchSize(), schedulerProperties, properties.expectedFetchLatency());
+        this.load = snapshot(undegraded(), new boolean[TIERS.length]);
+
+        liveScorePipelineMetrics.monitorCapacity(this, LiveEventAdmissionService::getCapacity);
+        for (var tier : TIERS) {
+            liveScorePipelineMetrics.monitorTierLoad(tierName(tier), this, admission -> admission.getLoad().get(tier));
+        }
+    }
+
+    @PostConstruct
+    void startEvaluation() {
+        log.info("Live event capacity is {} polls per second, admission control {}", Math.round(capacity),
+                properties.enabled() ? "enabled" : "disabled");
+        evaluation = taskScheduler.scheduleAtFixedRate(this::evaluate, properties.evaluationInterval());
+    }
+
+    @PreDestroy
+    void stopEvaluation() {
+        if (evaluation != null) {
+            evaluation.cancel(false);
+        }
+    }
+
+    @Override
+    public synchronized void admit(long eventId, LiveEventPriority priority) {
+        var current = liveScoreTierThrottle.getPriority(eventId);
+        var tier = priority != null ? priority : current != null ? current : LiveEventPriority.DEFAULT;
+        if (tier == current) {
+            return;
+        }
+
+        var eventPollsPerSecond = pollsPerSecond(eventId);
+        if (current == null) {
+            checkCapacity(eventId, tier, eventPollsPerSecond);
+        } else {
+            remove(current, eventPollsPerSecond);
+        }
+
+        trackers[tier.ordinal()]++;
+        pollsPerSecond[tier.ordinal()] += eventPollsPerSecond;
+        liveScoreTierThrottle.assign(eventId, tier);
+    }
+
+    @Override
+    public synchronized void checkCapacity(long eventId, LiveEventPriority priority) {
+        if (liveScoreTierThrottle.getPriority(eventId) == null) {
+            checkCapacity(eventId, priority != null ? priority : LiveEventPriority.DEFAULT, pollsPerSecond(eventId));
+        }
+    }
+
+    @Override
+    public synchronized void release(long eventId) {
+        var current = liveScoreTierThrottle.getPriority(eventId);
+        if (current == null) {
+            return;
+        }
+
+        remove(current, pollsPerSecond(eventId));
+        liveScoreTierThrottle.remove(eventId);
+    }
+
+    @Override
+    public LiveEventPriority getPriority(long eventId) {
+        return liveScoreTierThrottle.getPriority(eventId);
+    }
+
+    @Override
+    public double getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public Map<LiveEventPriority, LiveEventTierLoad> getLoad() {
+        return load;
+    }
+
+    /***
+     Re-computes the load of every tier from the current cadence of its events, which adaptive cadence and pinned
+     intervals keep changing, and degrades the tiers accordingly.
+     ***/
+    synchronized void evaluate() {
+        Arrays.fill(trackers, 0);
+        Arrays.fill(pollsPerSecond, 0);
+        liveScoreTierThrottle.forEach((priority, eventId) -> {
+            trackers[priority.ordinal()]++;
+            pollsPerSecond[priority.ordinal()] += pollsPerSecond(eventId);
+        });
+
+        var stretches = undegraded();
+        var shed = new boolean[TIERS.length];
+        if (properties.enabled()) {
+            degrade(stretches, shed);
+        }
+        liveScoreTierThrottle.degrade(stretches, shed);
+        load = snapshot(stretches, shed);
+
+        var current = describe(stretches, shed);
+        if (!current.equals(degradation)) {
+            if (current.isEmpty()) {
+                log.info("Live event load of {} polls per second is within capacity again, no tier is degraded", Math.round(totalLoad()));
+            } else {
+                log.warn("Live event load of {} polls per second exceeds the capacity of {}, degraded {}",
+                        Math.round(totalLoad()), Math.round(capacity), current);
+            }
+            degradation = current;
+        }
+    }
+
+    private void degrade(double[] stretches, boolean[] shed) {
+        var softLoad = properties.softLimit() * capacity;
+        var hardLoad = properties.hardLimit() * capacity;
+        var remainingLoad = totalLoad();
+
+        for (int tier = TIERS.length - 1; tier > 0 && remainingLoad > softLoad; tier--) {
+            var tierLoad = pollsPerSecond[tier];
+            if (tierLoad <= 0) {
+                continue;
+            }
+
+            var stretchedLoad = Math.max(tierLoad - (remainingLoad - softLoad), tierLoad / properties.maxStretch());
+            stretches[tier] = tierLoad / stretchedLoad;
+            remainingLoad -= tierLoad - stretchedLoad;
+        }
+
+        for (int tier = TIERS.length - 1; tier > 0 && remainingLoad > hardLoad; tier--) {
+            if (pollsPerSecond[tier] <= 0) {
+                continue;
+            }
+
+            shed[tier] = true;
+            remainingLoad -= pollsPerSecond[tier] / stretches[tier];
+        }
+    }
+
+    private void checkCapacity(long eventId, LiveEventPriority tier, double eventPollsPerSecond) {
+        if (properties.enabled() && tier != TIERS[0]
+                && minimumLoad(tier) + eventPollsPerSecond > properties.hardLimit() * capacity) {
+            liveScorePipelineMetrics.recordAdmissionRejected(tierName(tier));
+            throw new LiveEventAdmissionException("At capacity for " + tierName(tier) + " priority events, event "
+                    + eventId + " is not tracked");
+        }
+    }
+
+    /***
+     The load of the tiers at or above the given one when every degradable tier among them is stretched as far as it
+     can be. Once it reaches the hard limit, new events of the tier could only be shed.
+     ***/
+    private double minimumLoad(LiveEventPriority priority) {
+        var minimumLoad = pollsPerSecond[0];
+        for (int tier = 1; tier <= priority.ordinal(); tier++) {
+            minimumLoad += pollsPerSecond[tier] / properties.maxStretch();
+        }
+        return minimumLoad;
+    }
+
+    private void remove(LiveEventPriority priority, double eventPollsPerSecond) {
+        trackers[priority.ordinal()]--;
+        pollsPerSecond[priority.ordinal()] = Math.max(0, pollsPerSecond[priority.ordinal()] - eventPollsPerSecond);
+    }
+
+    private double pollsPerSecond(long eventId) {
+        return 1e9 / liveScorePollingCadence.getInterval(eventId).toNanos();
+    }
+
+    private double totalLoad() {
+        return Arrays.stream(pollsPerSecond).sum();
+    }
+
+    private Map<LiveEventPriority, LiveEventTierLoad> snapshot(double[] stretches, boolean[] shed) {
+        var snapshot = new EnumMap<LiveEventPriority, LiveEventTierLoad>(LiveEventPriority.class);
+        for (var tier : TIERS) {
+            var index = tier.ordinal();
+            snapshot.put(tier, new LiveEventTierLoad(trackers[index], pollsPerSecond[index], stretches[index], shed[index]));
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    private static String describe(double[] stretches, boolean[] shed) {
+        var description = new StringJoiner(", ");
+        for (var tier : TIERS) {
+            if (shed[tier.ordinal()]) {
+                description.add(tierName(tier) + " shed");
+            } else if (stretches[tier.ordinal()] > 1) {
+                description.add(String.format(Locale.ROOT, "%s stretched %.1fx", tierName(tier), stretches[tier.ordinal()]));
+            }
+        }
+        return description.toString();
+    }
+
+    private static double[] undegraded() {
+        var stretches = new double[TIERS.length];
+        Arrays.fill(stretches, 1.0);
+        return stretches;
+    }
+
+    private static String tierName(LiveEventPriority priority) {
+        return priority.name().toLowerCase(Locale.ROOT);
+    }
+
+    /***
+     Event polls per second within the provider's request rate limit and within what the workers complete, each
+     taking expectedFetchLatency per call, with calls carrying up to a batch of events each.
+     ***/
+    static double capacity(double maxRequestsPerSecond, int maxBatchSize, LiveScoreSchedulerProperties schedulerProperties,
+                           Duration expectedFetchLatency) {
+        var eventsPerCall = Math.max(1, maxBatchSize);
+        var workers = schedulerProperties.executionMode() == LiveScoreSchedulerProperties.ExecutionMode.PLATFORM
+                ? schedulerProperties.workerThreads()
+                : schedulerProperties.workerQueueCapacity();
+        var workerBudget = workers * eventsPerCall * 1e9 / expectedFetchLatency.toNanos();
+        var providerBudget = maxRequestsPerSecond > 0 ? maxRequestsPerSecond * eventsPerCall : Double.POSITIVE_INFINITY;
+        return Math.min(workerBudget, providerBudget);
+    }
+}
@@ -0,0 +1,8 @@
+package com.sporty.live_events.service.admission;
+
+/***
+ Load of a priority tier: its tracked events, the polls per second they ask for at their own cadence, the factor
+ their intervals are currently stretched by and whether the tier is shed.
+ ***/
+public record LiveEventTierLoad(int trackers, double pollsPerSecond, double stretch, boolean shed) {
+}
@@ -0,0 +1,368 @@
+package com.sporty.live_events.service.cluster;
+
+import com.sporty.live_events.configuration.LiveEventClusterProperties;
+import com.sporty.live_events.service.LiveEventPriority;
+import com.sporty.live_events.service.LiveEventTrackerRegistry;
+import com.sporty.live_events.service.LiveEventTrackingCommand;
+import com.sporty.live_events.service.LiveEventTrackingOutcome;
+import com.sporty.live_events.service.LiveEventTrackingService;
+import com.sporty.live_events.service.LiveEventTrackingServiceBean;
+import com.sporty.live_events.service.admission.LiveEventAdmissionException;
+import com.sporty.live_events.service.admission.LiveEventAdmissionService;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.support.TopicPartitionOffset;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/***
+ Tracking service of cluster mode. Tracking commands are not applied where they are received but published to the
+ single partition, compacted control topic, which every instance reads from the beginning. So every instance knows
+ every tracked event, while only the event's owner on the consistent hash ring of live members runs its poll job
+ through the local LiveEventTrackingServiceBean.
+
+ Membership is carried by heartbeats on the same topic. An instance owns nothing until its own first heartbeat came
+ back to it: by then it has read everything published before it joined, including the heartbeats of the live members,
+ and it takes over its share at the same point of the topic where the others hand it over.
+ Every change of membership rebalances, starting the jobs of newly owned events and stopping the ones that moved elsewhere.
+ Admission control is checked against this instance's load before a command to track a new event is published, so
+ a tracker rejected at capacity is reported to the caller and never reaches the topic. The owner applies it once more
+ when the command comes back, a tracker it still rejects, because the owner's load differs or changed meanwhile, is
+ only logged there.
+ ***/
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "live-events.cluster", name = "enabled", havingValue = "true")
+public class ClusteredLiveEventTrackingServiceBean implements LiveEventTrackingService, SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(ClusteredLiveEventTrackingServiceBean.class);
+
+    private static final Duration SEND_TIMEOUT = Duration.ofSeconds(10);
+
+    private final LiveEventTrackingServiceBean localTrackingService;
+    private final LiveEventAdmissionService liveEventAdmissionService;
+    private final TaskScheduler taskScheduler;
+    private final LiveEventClusterProperties properties;
+    private final String instanceId;
+    private final long startedAtMillis = System.currentTimeMillis();
+
+    private final DefaultKafkaProducerFactory<String, LiveEventClusterMessage> producerFactory;
+    private final KafkaTemplate<String, LiveEventClusterMessage> kafkaTemplate;
+    private final KafkaMessageListenerContainer<String, LiveEventClusterMessage> controlTopicListener;
+
+    // cluster wide tracked events, written by the control topic listener only
+    private final LiveEventTrackerRegistry trackedEvents = new LiveEventTrackerRegistry();
+
+    // guarded by this
+    private final Map<Long, Duration> pollIntervals = new HashMap<>();
+    private final Map<Long, LiveEventPriority> priorities = new HashMap<>();
+    private final Map<String, Long> lastHeartbeatNanos = new HashMap<>();
+    private ConsistentHashRing ring = ConsistentHashRing.empty();
+    private boolean ready;
+
+    private ScheduledFuture<?> heartbeat;
+    private volatile boolean running;
+
+    public ClusteredLiveEventTrackingServiceBean(LiveEventTrackingServiceBean localTrackingService,
+                                                 LiveEventAdmissionService liveEventAdmissionService,
+                                                 KafkaProperties kafkaProperties,
+                                                 TaskScheduler taskScheduler,
+                                                 LiveEventClusterProperties properties) {
+        this.localTrackingService = localTrackingService;
+        this.liveEventAdmissionService = liveEventAdmissionService;
+        this.taskScheduler = taskScheduler;
+        this.properties = properties;
+        this.instanceId = properties.instanceId().isBlank() ? UUID.randomUUID().toString() : properties.instanceId();
+
+        this.producerFactory = new DefaultKafkaProducerFactory<>(kafkaProperties.buildProducerProperties(null),
+                new StringSerializer(), new JsonSerializer<>());
+        this.kafkaTemplate = new KafkaTemplate<>(producerFactory);
+
+        var consumerProperties = kafkaProperties.buildConsumerProperties(null);
+        consumerProperties.put(ConsumerConfig.GROUP_ID_CONFIG, properties.controlTopic() + "-" + instanceId);
+        consumerProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        var consumerFactory = new DefaultKafkaConsumerFactory<>(consumerProperties,
+                new StringDeserializer(), new JsonDeserializer<>(LiveEventClusterMessage.class, false));
+
+        var containerProperties = new ContainerProperties(
+                new TopicPartitionOffset(properties.controlTopic(), 0, TopicPartitionOffset.SeekPosition.BEGINNING));
+        containerProperties.setMessageListener(
+                (MessageListener<String, LiveEventClusterMessage>) record -> onControlMessage(record.value()));
+        this.controlTopicListener = new KafkaMessageListenerContainer<>(consumerFactory, containerProperties);
+        this.controlTopicListener.setBeanName("live-events-cluster-" + instanceId);
+    }
+
+    @Override
+    public void scheduleTracker(long eventId, boolean status) {
+        scheduleTracker(eventId, status, null);
+    }
+
+    @Override
+    public void scheduleTracker(long eventId, boolean status, Duration pollInterval) {
+        scheduleTracker(eventId, status, pollInterval, null);
+    }
+
+    @Override
+    public void scheduleTracker(long eventId, boolean status, Duration pollInterval, LiveEventPriority priority) {
+        if (status && !trackedEvents.contains(eventId)) {
+            liveEventAdmissionService.checkCapacity(eventId, priority);
+        }
+        await(publish(eventId, status, pollInterval, priority));
+    }
+
+    /***
+     Publishes every command that passes the admission check and returns whether it changes the cluster wide
+     tracking state as this instance currently sees it, REJECTED for one that does not pass. The commands themselves
+     are applied once they come back from the control topic.
+     ***/
+    @Override
+    public List<LiveEventTrackingOutcome> scheduleTrackers(List<LiveEventTrackingCommand> commands) {
+        var results = new ArrayList<LiveEventTrackingOutcome>(commands.size());
+        var sends = new ArrayList<CompletableFuture<?>>(commands.size());
+        var rejected = 0;
+        for (var command : commands) {
+            var tracked = trackedEvents.contains(command.eventId());
+            if (command.status() && !tracked && !admissible(command)) {
+                results.add(LiveEventTrackingOutcome.REJECTED);
+                rejected++;
+                continue;
+            }
+            results.add(command.status() != tracked ? LiveEventTrackingOutcome.CHANGED : LiveEventTrackingOutcome.UNCHANGED);
+            sends.add(publish(command.eventId(), command.status(), command.pollInterval(), command.priority()));
+        }
+
+        await(CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)));
+        if (rejected > 0) {
+            log.warn("Rejected {} live score tracker commands, their priority tiers are at capacity", rejected);
+        }
+        return results;
+    }
+
+    @Override
+    public boolean isTrackerScheduledForEvent(long eventId) {
+        return trackedEvents.contains(eventId);
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public synchronized ConsistentHashRing getRing() {
+        return ring;
+    }
+
+    @Override
+    public void start() {
+        controlTopicListener.start();
+        heartbeat = taskScheduler.scheduleAtFixedRate(this::heartbeat, properties.heartbeatInterval());
+        running = true;
+        log.info("Joining live events cluster as {}", instanceId);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (heartbeat != null) {
+            heartbeat.cancel(false);
+        }
+
+        try {
+            var key = memberKey(instanceId);
+            await(CompletableFuture.allOf(
+                    kafkaTemplate.send(properties.controlTopic(), key, LiveEventClusterMessage.leave(instanceId)),
+                    tombstone(key)));
+        } catch (LiveEventClusterException exc) {
+            log.warn("Could not announce that {} leaves the live events cluster, it will time out instead", instanceId, exc);
+        }
+        controlTopicListener.stop();
+        producerFactory.destroy();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private boolean admissible(LiveEventTrackingCommand command) {
+        try {
+            liveEventAdmissionService.checkCapacity(command.eventId(), command.priority());
+            return true;
+        } catch (LiveEventAdmissionException exc) {
+            log.debug("Rejected live score tracker for event {}: {}", command.eventId(), exc.getMessage());
+            return false;
+        }
+    }
+
+    /***
+     Publishes the command keyed by its event, so that compaction keeps the last command of every event.
+     An untrack is followed by a tombstone: the untrack reaches every running instance, while compaction drops the
+     event's key altogether instead of keeping an untrack per event ever tracked.
+     ***/
+    private CompletableFuture<?> publish(long eventId, boolean status, Duration pollInterval, LiveEventPriority priority) {
+        var message = LiveEventClusterMessage.track(instanceId, eventId, status,
+                pollInterval == null ? 0 : pollInterval.toMillis(), priority);
+        var key = String.valueOf(eventId);
+        var send = kafkaTemplate.send(properties.controlTopic(), key, message);
+        return status ? send : CompletableFuture.allOf(send, tombstone(key));
+    }
+
+    private CompletableFuture<?> tombstone(String key) {
+        return kafkaTemplate.send(properties.controlTopic(), key, null);
+    }
+
+    private void heartbeat() {
+        try {
+            expireMembers();
+            kafkaTemplate.send(properties.controlTopic(), memberKey(instanceId), LiveEventClusterMessage.heartbeat(instanceId));
+        } catch (Exception exc) {
+            log.error("Could not send live events cluster heartbeat", exc);
+        }
+    }
+
+    synchronized void onControlMessage(LiveEventClusterMessage message) {
+        // tombstone, the untrack or leave before it was applied already
+        if (message == null) {
+            return;
+        }
+
+        switch (message.type()) {
+            case TRACK -> onTrack(message);
+            case HEARTBEAT -> onHeartbeat(message);
+            case LEAVE -> {
+                if (!instanceId.equals(message.instanceId()) && lastHeartbeatNanos.remove(message.instanceId()) != null) {
+                    log.info("Instance {} left the live events cluster", message.instanceId());
+                    rebalance();
+                }
+            }
+        }
+    }
+
+    private void onTrack(LiveEventClusterMessage message) {
+        var eventId = message.eventId();
+        var pollInterval = message.pollIntervalMillis() > 0 ? Duration.ofMillis(message.pollIntervalMillis()) : null;
+
+        if (message.status()) {
+            trackedEvents.registerIfAbsent(eventId, id -> {
+            });
+            if (pollInterval != null) {
+                pollIntervals.put(eventId, pollInterval);
+            }
+            if (message.priority() != null) {
+                priorities.put(eventId, message.priority());
+            }
+        } else {
+            trackedEvents.removeIfPresent(eventId, id -> {
+            });
+            pollIntervals.remove(eventId);
+            priorities.remove(eventId);
+        }
+
+        if (!message.status() || (ready && instanceId.equals(ring.ownerOf(eventId)))) {
+            try {
+                localTrackingService.scheduleTracker(eventId, message.status(), pollInterval, message.priority());
+            } catch (LiveEventAdmissionException exc) {
+                log.warn("Live score tracker for event {} not started: {}", eventId, exc.getMessage());
+            }
+        }
+    }
+
+    private void onHeartbeat(LiveEventClusterMessage message) {
+        var member = message.instanceId();
+        if (instanceId.equals(member)) {
+            if (!ready && message.timestamp() >= startedAtMillis) {
+                ready = true;
+                lastHeartbeatNanos.put(instanceId, System.nanoTime());
+                rebalance();
+            }
+            return;
+        }
+
+        // heartbeats replayed from before we joined don't prove the member is still alive
+        if (message.timestamp() < System.currentTimeMillis() - properties.memberTimeout().toMillis()) {
+            return;
+        }
+        if (lastHeartbeatNanos.put(member, System.nanoTime()) == null) {
+            log.info("Instance {} joined the live events cluster", member);
+            rebalance();
+        }
+    }
+
+    private synchronized void expireMembers() {
+        var expiredBefore = System.nanoTime() - properties.memberTimeout().toNanos();
+        var expired = lastHeartbeatNanos.entrySet().removeIf(member ->
+                !instanceId.equals(member.getKey()) && member.getValue() < expiredBefore);
+        if (expired) {
+            log.warn("Live events cluster members timed out, remaining {}", lastHeartbeatNanos.keySet());
+            rebalance();
+        }
+    }
+
+    private void rebalance() {
+        if (!ready) {
+            return;
+        }
+
+        ring = new ConsistentHashRing(lastHeartbeatNanos.keySet(), properties.virtualNodes());
+
+        var commands = new ArrayList<LiveEventTrackingCommand>();
+        var owned = 0;
+        for (var eventId : trackedEvents.toArray()) {
+            var owner = instanceId.equals(ring.ownerOf(eventId));
+            if (owner) {
+                owned++;
+            }
+            if (owner != localTrackingService.isTrackerScheduledForEvent(eventId)) {
+                commands.add(owner
+                        ? new LiveEventTrackingCommand(eventId, true, pollIntervals.get(eventId), priorities.get(eventId))
+                        : new LiveEventTrackingCommand(eventId, false));
+            }
+        }
+        if (!commands.isEmpty()) {
+            localTrackingService.scheduleTrackers(commands);
+        }
+
+        log.info("Live events cluster rebalanced over {}, {} owns {} of {} tracked events, {} moved",
+                ring.getMembers(), instanceId, owned, trackedEvents.size(), commands.size());
+    }
+
+    private static String memberKey(String instanceId) {
+        return "member-" + instanceId;
+    }
+
+    private static void await(CompletableFuture<?> send) {
+        try {
+            send.get(SEND_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new LiveEventClusterException("Interrupted while publishing to the live events cluster", exc);
+        } catch (ExecutionException | TimeoutException exc) {
+            throw new LiveEventClusterException("Could not publish to the live events cluster", exc);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.sporty.live_events.service.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/***
+ Immutable consistent hash ring of instance ids, each placed on the ring virtualNodes times.
+ An event belongs to the first point at or after its hash, so adding or removing an instance only moves the events
+ of the points it gains or loses, and every instance computes the same owner from the same membership.
+ ***/
+public class ConsistentHashRing {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final Set<String> members;
+    private final long[] points;
+    private final String[] owners;
+
+    public ConsistentHashRing(Collection<String> members, int virtualNodes) {
+        this.members = Set.copyOf(members);
+
+        var sortedMembers = members.stream().distinct().sorted().toList();
+        var hashes = new long[sortedMembers.size() * virtualNodes];
+        var memberOfPoint = new String[hashes.length];
+        for (int m = 0; m < sortedMembers.size(); m++) {
+            var memberHash = fnv1a(sortedMembers.get(m));
+            for (int v = 0; v < virtualNodes; v++) {
+                hashes[m * virtualNodes + v] = mix(memberHash + v * GOLDEN_GAMMA);
+                memberOfPoint[m * virtualNodes + v] = sortedMembers.get(m);
+            }
+        }
+
+        List<Integer> order = IntStream.range(0, hashes.length).boxed()
+                .sorted(Comparator.comparingLong((Integer i) -> hashes[i]).thenComparing(i -> memberOfPoint[i]))
+                .toList();
+        this.points = new long[hashes.length];
+        this.owners = new String[hashes.length];
+        for (int i = 0; i < order.size(); i++) {
+            points[i] = hashes[order.get(i)];
+            owners[i] = memberOfPoint[order.get(i)];
+        }
+    }
+
+    public static ConsistentHashRing empty() {
+        return new ConsistentHashRing(List.of(), 0);
+    }
+
+    /***
+     Instance owning the event, null when the ring has no members.
+     ***/
+    public String ownerOf(long eventId) {
+        if (points.length == 0) {
+            return null;
+        }
+
+        var index = Arrays.binarySearch(points, mix(eventId));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public Set<String> getMembers() {
+        return members;
+    }
+
+    private static long fnv1a(String value) {
+        var hash = 0xcbf29ce484222325L;
+        for (var b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
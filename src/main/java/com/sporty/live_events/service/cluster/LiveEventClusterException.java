@@ -0,0 +1,7 @@
+package com.sporty.live_events.service.cluster;
+
+public class LiveEventClusterException extends RuntimeException {
+    public LiveEventClusterException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,31 @@
+package com.sporty.live_events.service.cluster;
+
+import com.sporty.live_events.service.LiveEventPriority;
+
+/***
+ Record of the cluster control topic. TRACK carries a tracking command for eventId, HEARTBEAT and LEAVE announce
+ the membership of instanceId. timestamp is the sender's epoch millis. priority is null unless the command names one.
+ ***/
+public record LiveEventClusterMessage(Type type, String instanceId, long timestamp,
+                                      long eventId, boolean status, long pollIntervalMillis, LiveEventPriority priority) {
+
+    public static LiveEventClusterMessage track(String instanceId, long eventId, boolean status, long pollIntervalMillis,
+                                                LiveEventPriority priority) {
+        return new LiveEventClusterMessage(Type.TRACK, instanceId, System.currentTimeMillis(), eventId, status,
+                pollIntervalMillis, priority);
+    }
+
+    public static LiveEventClusterMessage heartbeat(String instanceId) {
+        return new LiveEventClusterMessage(Type.HEARTBEAT, instanceId, System.currentTimeMillis(), 0, false, 0, null);
+    }
+
+    public static LiveEventClusterMessage leave(String instanceId) {
+        return new LiveEventClusterMessage(Type.LEAVE, instanceId, System.currentTimeMillis(), 0, false, 0, null);
+    }
+
+    public enum Type {
+        TRACK,
+        HEARTBEAT,
+        LEAVE
+    }
+}
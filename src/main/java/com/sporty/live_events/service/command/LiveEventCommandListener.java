@@ -0,0 +1,94 @@
+package com.sporty.live_events.service.command;
+
+import com.sporty.live_events.configuration.LiveEventCommandsConfiguration;
+import com.sporty.live_events.configuration.LiveEventCommandsProperties;
+import com.sporty.live_events.service.LiveEventTrackingCommand;
+import com.sporty.live_events.service.LiveEventTrackingService;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/***
+ Applies the tracking commands of the command topic, e.g. emitted by the fixture system, batch by batch.
+ Within a batch only the outcome per event is applied: the last command of the event, keeping a poll interval
+ pinned and a priority set by an earlier command as long as tracking stayed on. Offsets are committed once the batch was applied,
+ so after an outage the topic is simply replayed from where the group stopped.
+ ***/
+@Service
+@ConditionalOnProperty(prefix = "live-events.commands", name = "enabled", havingValue = "true")
+public class LiveEventCommandListener {
+    private static final Logger log = LoggerFactory.getLogger(LiveEventCommandListener.class);
+
+    private static final Duration MIN_POLL_INTERVAL = Duration.ofSeconds(1);
+
+    private final LiveEventTrackingService liveEventTrackingService;
+    private final LiveScorePipelineMetrics liveScorePipelineMetrics;
+    private final LiveEventCommandsProperties properties;
+
+    public LiveEventCommandListener(LiveEventTrackingService liveEventTrackingService,
+                                    LiveScorePipelineMetrics liveScorePipelineMetrics,
+                                    LiveEventCommandsProperties properties) {
+        this.liveEventTrackingService = liveEventTrackingService;
+        this.liveScorePipelineMetrics = liveScorePipelineMetrics;
+        this.properties = properties;
+    }
+
+    public String getTopic() {
+        return properties.topic();
+    }
+
+    @KafkaListener(topics = "#{__listener.topic}", containerFactory = LiveEventCommandsConfiguration.CONTAINER_FACTORY)
+    public void onCommands(List<ConsumerRecord<String, LiveEventCommandMessage>> records) {
+        var messages = new ArrayList<LiveEventCommandMessage>(records.size());
+        for (var record : records) {
+            if (isValid(record.value())) {
+                messages.add(record.value());
+            } else {
+                log.warn("Skipping invalid tracking command at {}-{}@{}: {}",
+                        record.topic(), record.partition(), record.offset(), record.value());
+            }
+        }
+
+        var commands = collapse(messages);
+        if (!commands.isEmpty()) {
+            liveEventTrackingService.scheduleTrackers(commands);
+        }
+
+        liveScorePipelineMetrics.recordTrackingCommands("applied", commands.size());
+        liveScorePipelineMetrics.recordTrackingCommands("collapsed", messages.size() - commands.size());
+        liveScorePipelineMetrics.recordTrackingCommands("invalid", records.size() - messages.size());
+        log.debug("Applied {} tracking commands out of {} records", commands.size(), records.size());
+    }
+
+    static List<LiveEventTrackingCommand> collapse(List<LiveEventCommandMessage> messages) {
+        var outcomes = new LinkedHashMap<Long, LiveEventTrackingCommand>();
+        for (var message : messages) {
+            var pollInterval = message.pollIntervalMillis() > 0 ? Duration.ofMillis(message.pollIntervalMillis()) : null;
+            var priority = message.priority();
+            var previous = outcomes.get(message.eventId());
+            if (message.status() && previous != null && previous.status()) {
+                pollInterval = pollInterval == null ? previous.pollInterval() : pollInterval;
+                priority = priority == null ? previous.priority() : priority;
+            }
+            outcomes.put(message.eventId(), message.status()
+                    ? new LiveEventTrackingCommand(message.eventId(), true, pollInterval, priority)
+                    : new LiveEventTrackingCommand(message.eventId(), false));
+        }
+        return new ArrayList<>(outcomes.values());
+    }
+
+    private static boolean isValid(LiveEventCommandMessage message) {
+        return message != null
+                && message.eventId() > 0
+                && (message.pollIntervalMillis() == 0 || message.pollIntervalMillis() >= MIN_POLL_INTERVAL.toMillis());
+    }
+}
@@ -0,0 +1,15 @@
+package com.sporty.live_events.service.command;
+
+import com.sporty.live_events.service.LiveEventPriority;
+
+/***
+ Record of the command topic, keyed by eventId so that the commands of an event stay in order on one partition.
+ status turns tracking on or off, a positive pollIntervalMillis pins a tracked event to that interval,
+ 0 leaves its cadence as it is. priority places a tracked event in that tier, null leaves it in its tier.
+ ***/
+public record LiveEventCommandMessage(long eventId, boolean status, long pollIntervalMillis, LiveEventPriority priority) {
+
+    public LiveEventCommandMessage(long eventId, boolean status, long pollIntervalMillis) {
+        this(eventId, status, pollIntervalMillis, null);
+    }
+}
@@ -0,0 +1,102 @@
+package com.sporty.live_events.service.external;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/***
+ Streams eventId and currentScore straight from the response body into an ExternalLiveScoreResponse, skipping
+ any other field, instead of going through ObjectMapper's bean deserializer. Parser buffers come from a shared pool
+ so that they are reused across platform and virtual threads alike; the score string is the only other allocation.
+ ***/
+public class ExternalLiveScoreResponseConverter extends AbstractHttpMessageConverter<ExternalLiveScoreResponse> {
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .recyclerPool(JsonRecyclerPools.newConcurrentDequePool())
+            .build();
+
+    public ExternalLiveScoreResponseConverter() {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ExternalLiveScoreResponse.class == clazz;
+    }
+
+    @Override
+    protected boolean canWrite(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ExternalLiveScoreResponse readInternal(Class<? extends ExternalLiveScoreResponse> clazz,
+                                                     HttpInputMessage inputMessage) throws IOException {
+        try (var parser = JSON_FACTORY.createParser(inputMessage.getBody())) {
+            return decode(parser);
+        } catch (JsonProcessingException exc) {
+            throw new HttpMessageNotReadableException("Malformed live score response: " + exc.getOriginalMessage(), exc, inputMessage);
+        }
+    }
+
+    static ExternalLiveScoreResponse decode(String json) throws IOException {
+        try (var parser = JSON_FACTORY.createParser(json)) {
+            return decode(parser);
+        }
+    }
+
+    static ExternalLiveScoreResponse decode(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a live score object");
+        }
+
+        var eventId = 0L;
+        var hasEventId = false;
+        String currentScore = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var field = parser.currentName();
+            var value = parser.nextToken();
+            if ("eventId".equals(field) && value.isNumeric()) {
+                eventId = parser.getLongValue();
+                hasEventId = true;
+            } else if ("currentScore".equals(field) && value != JsonToken.VALUE_NULL) {
+                if (!value.isScalarValue()) {
+                    throw new JsonParseException(parser, "Live score currentScore is not a scalar value");
+                }
+                currentScore = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (!hasEventId) {
+            throw new JsonParseException(parser, "Live score response has no eventId");
+        }
+        return new ExternalLiveScoreResponse(eventId, currentScore);
+    }
+
+    /***
+     Encodes the two fields decode reads. Not reachable through a RestClient, which never sends live scores, as
+     canWrite is false for every media type.
+     ***/
+    @Override
+    protected void writeInternal(ExternalLiveScoreResponse response, HttpOutputMessage outputMessage) throws IOException {
+        try (var generator = JSON_FACTORY.createGenerator(outputMessage.getBody())
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.writeStartObject();
+            generator.writeNumberField("eventId", response.eventId());
+            generator.writeStringField("currentScore", response.currentScore());
+            generator.writeEndObject();
+        }
+    }
+}
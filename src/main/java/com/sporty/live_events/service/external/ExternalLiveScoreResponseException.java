@@ -0,0 +1,10 @@
+package com.sporty.live_events.service.external;
+
+/***
+ Thrown when the provider answers a score query with a body that does not belong to the requested event.
+ ***/
+public class ExternalLiveScoreResponseException extends RuntimeException {
+    public ExternalLiveScoreResponseException(String message) {
+        super(message);
+    }
+}
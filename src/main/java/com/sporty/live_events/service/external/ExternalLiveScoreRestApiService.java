@@ -1,6 +1,26 @@
 package com.sporty.live_events.service.external;
 
+import java.util.Collection;
+import java.util.List;
+
+/***
+ Calls are neither retried nor blocking on provider protection: a failed call throws, and a call rejected by the
+ provider's circuit breaker or concurrency limit throws ProviderUnavailableException. Retrying is up to the caller.
+ The only wait is for the provider's rate limit, bounded by live-events.provider.rate-limit.max-wait.
+ ***/
 public interface ExternalLiveScoreRestApiService {
 
     ExternalLiveScoreResponse queryCurrentScore(long eventId);
+
+    List<ExternalLiveScoreResponse> queryCurrentScores(Collection<Long> eventIds);
+
+    /***
+     Maximum number of events the provider accepts in one batch query, 1 when it does not support batching.
+     ***/
+    int getMaxBatchSize();
+
+    /***
+     Requests per second the provider accepts, 0 when calls are not rate limited.
+     ***/
+    double getMaxRequestsPerSecond();
 }
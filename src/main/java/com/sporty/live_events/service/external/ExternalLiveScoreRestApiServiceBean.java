@@ -1,38 +1,199 @@
 package com.sporty.live_events.service.external;
 
+import com.sporty.live_events.configuration.ExternalLiveScoreProviderProperties;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClient;
 
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 @Service
 public class ExternalLiveScoreRestApiServiceBean implements ExternalLiveScoreRestApiService {
-    public static final String SCORE_BASE_URI = "http://localhost:8080/mock/status/";
     private static final Logger log = LoggerFactory.getLogger(ExternalLiveScoreRestApiServiceBean.class);
     private final RestClient restClient;
+    private final ProviderProtection providerProtection;
+    private final ProviderRateLimiter providerRateLimiter;
+    private final ProviderHedging providerHedging;
+    private final LiveScorePipelineMetrics liveScorePipelineMetrics;
+    private final String scoreBaseUri;
+    private final URI scoreBatchUri;
+    private final int maxBatchSize;
+
+    private volatile boolean batchSupported = true;
 
-    public ExternalLiveScoreRestApiServiceBean(RestClient restClient) {
+    public ExternalLiveScoreRestApiServiceBean(RestClient restClient,
+                                               ProviderProtection providerProtection,
+                                               ProviderRateLimiter providerRateLimiter,
+                                               ProviderHedging providerHedging,
+                                               LiveScorePipelineMetrics liveScorePipelineMetrics,
+                                               ExternalLiveScoreProviderProperties properties) {
         this.restClient = restClient;
+        this.providerProtection = providerProtection;
+        this.providerRateLimiter = providerRateLimiter;
+        this.providerHedging = providerHedging;
+        this.liveScorePipelineMetrics = liveScorePipelineMetrics;
+        this.scoreBaseUri = properties.baseUri();
+        this.scoreBatchUri = URI.create(properties.batchUri());
+        this.maxBatchSize = properties.batchEnabled() ? Math.max(1, properties.batchMaxSize()) : 1;
     }
 
+    /***
+     With hedging enabled, a slow score query is also sent to the secondary provider. The rate limit is acquired once
+     per query, by its first call let through by the provider protection, hedges are bounded by the hedge budget instead.
+     ***/
     @Override
-    @Retryable(
-            maxAttempts = 3,
-            backoff = @Backoff(delay = 1000)
-    )
     public ExternalLiveScoreResponse queryCurrentScore(long eventId) {
         log.info("Querying live score for event {}", eventId);
 
-        var response = restClient.get()
-                .uri(SCORE_BASE_URI + eventId)
-                .retrieve()
-                .toEntity(ExternalLiveScoreResponse.class)
-                .getBody();
+        var rateLimited = new AtomicBoolean();
+        var response = providerHedging.isEnabled()
+                ? providerHedging.query(baseUri -> fetch(baseUri, eventId, rateLimited))
+                : fetch(scoreBaseUri, eventId, rateLimited);
 
         log.info("Live score retrieved {}", response);
 
         return response;
     }
+
+    /***
+     Only the first score of every requested event is returned, scores of events not asked for are dropped, and
+     requested events the provider did not answer for are left out. A provider that turns out to have no batch
+     endpoint, answering it with 404, 405 or 501, is queried one event at a time from then on, this batch included.
+     ***/
+    @Override
+    public List<ExternalLiveScoreResponse> queryCurrentScores(Collection<Long> eventIds) {
+        log.info("Querying live scores for {} events", eventIds.size());
+
+        List<ExternalLiveScoreResponse> responses;
+        try {
+            responses = fetchBatch(eventIds);
+        } catch (HttpClientErrorException.NotFound | HttpClientErrorException.MethodNotAllowed
+                 | HttpServerErrorException.NotImplemented exc) {
+            batchSupported = false;
+            log.warn("Provider has no batch endpoint at {} ({}), falling back to one request per event",
+                    scoreBatchUri, exc.getStatusCode());
+            return queryEach(eventIds);
+        }
+
+        var requested = new HashSet<>(eventIds);
+        var scores = new ArrayList<ExternalLiveScoreResponse>(requested.size());
+        var unrequested = 0;
+        for (var response : responses == null ? List.<ExternalLiveScoreResponse>of() : responses) {
+            if (response != null && requested.remove(response.eventId())) {
+                scores.add(response);
+            } else {
+                unrequested++;
+            }
+        }
+
+        if (unrequested > 0) {
+            log.warn("Provider returned {} live scores that were not requested or repeated, dropped them", unrequested);
+            liveScorePipelineMetrics.recordBatchMismatch("unrequested", unrequested);
+        }
+        if (!requested.isEmpty()) {
+            log.warn("Provider returned no live score for {} of {} requested events", requested.size(), eventIds.size());
+            liveScorePipelineMetrics.recordBatchMismatch("missing", requested.size());
+        }
+        log.info("Live scores retrieved for {} events", scores.size());
+
+        return scores;
+    }
+
+    /***
+     The protection permit is taken before the rate limit token, so a call rejected by an open circuit or the
+     concurrency limit neither spends a token nor waits for one.
+     ***/
+    private List<ExternalLiveScoreResponse> fetchBatch(Collection<Long> eventIds) {
+        try (var permit = providerProtection.acquire(scoreBatchUri)) {
+            liveScorePipelineMetrics.recordRateLimitWait(providerRateLimiter.acquire());
+            var startNanos = System.nanoTime();
+            var success = false;
+            try {
+                var responses = restClient.post()
+                        .uri(scoreBatchUri)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(eventIds)
+                        .retrieve()
+                        .body(new ParameterizedTypeReference<List<ExternalLiveScoreResponse>>() {
+                        });
+                success = true;
+                return responses;
+            } finally {
+                if (!success) {
+                    permit.failed();
+                }
+                liveScorePipelineMetrics.recordBatchFetch(startNanos, success);
+            }
+        }
+    }
+
+    /***
+     Queries the events one by one, leaving out the ones whose query failed.
+     ***/
+    private List<ExternalLiveScoreResponse> queryEach(Collection<Long> eventIds) {
+        var responses = new ArrayList<ExternalLiveScoreResponse>(eventIds.size());
+        for (var eventId : eventIds) {
+            try {
+                responses.add(queryCurrentScore(eventId));
+            } catch (RuntimeException exc) {
+                log.warn("Could not query live score for event {}", eventId, exc);
+            }
+        }
+        return responses;
+    }
+
+    private ExternalLiveScoreResponse fetch(String baseUri, long eventId, AtomicBoolean rateLimited) {
+        var uri = baseUri + eventId;
+        try (var permit = providerProtection.acquire(URI.create(uri))) {
+            if (rateLimited.compareAndSet(false, true)) {
+                liveScorePipelineMetrics.recordRateLimitWait(providerRateLimiter.acquire());
+            }
+            var startNanos = System.nanoTime();
+            var success = false;
+            try {
+                var response = restClient.get()
+                        .uri(uri)
+                        .retrieve()
+                        .toEntity(ExternalLiveScoreResponse.class)
+                        .getBody();
+                if (response == null || response.eventId() != eventId) {
+                    throw new ExternalLiveScoreResponseException("Provider answered the score query of event " + eventId
+                            + " with " + (response == null ? "an empty body" : "the score of event " + response.eventId()));
+                }
+                success = true;
+                return response;
+            } finally {
+                // a hedged call cancelled because the other provider answered first says nothing about its provider
+                if (!success && Thread.currentThread().isInterrupted()) {
+                    permit.cancelled();
+                } else {
+                    if (!success) {
+                        permit.failed();
+                    }
+                    liveScorePipelineMetrics.recordFetch(eventId, startNanos, success);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return batchSupported ? maxBatchSize : 1;
+    }
+
+    @Override
+    public double getMaxRequestsPerSecond() {
+        return providerRateLimiter.getRequestsPerSecond();
+    }
 }
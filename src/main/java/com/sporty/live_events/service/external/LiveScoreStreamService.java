@@ -0,0 +1,24 @@
+package com.sporty.live_events.service.external;
+
+/***
+ Push-based alternative to polling: a Server-Sent-Events stream of the provider carrying the score changes of
+ every event over one connection. Events still need one poll for their current score, the stream only carries changes.
+ ***/
+public interface LiveScoreStreamService {
+
+    void subscribe(Listener listener);
+
+    /***
+     Whether the stream is connected right now. Polling is the fallback whenever it is not.
+     ***/
+    boolean isStreaming();
+
+    interface Listener {
+        void onScore(ExternalLiveScoreResponse response);
+
+        /***
+         The stream could not resume where it dropped, so changes may have been missed and scores must be polled again.
+         ***/
+        void onReset();
+    }
+}
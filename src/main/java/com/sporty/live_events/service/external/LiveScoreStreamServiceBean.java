@@ -0,0 +1,266 @@
+package com.sporty.live_events.service.external;
+
+import com.sporty.live_events.configuration.LiveScoreStreamProperties;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/***
+ Reads the provider's Server-Sent-Events stream on a dedicated thread over the shared score HttpClient.
+ "score" events carry an {eventId, currentScore} object and are handed to every listener as they arrive,
+ a "reset" event means the provider could not resume the stream from the Last-Event-ID we sent.
+ A dropped stream is reconnected with backoff, resuming after the last event that was handed over. The provider sends
+ keep-alive comments while there are no changes, so a stream silent for longer than idleTimeout is half open or
+ stalled and is dropped as well.
+ ***/
+@Service
+public class LiveScoreStreamServiceBean implements LiveScoreStreamService {
+    private static final Logger log = LoggerFactory.getLogger(LiveScoreStreamServiceBean.class);
+
+    private static final String SCORE_EVENT = "score";
+    private static final String RESET_EVENT = "reset";
+
+    private final HttpClient httpClient;
+    private final LiveScorePipelineMetrics liveScorePipelineMetrics;
+    private final LiveScoreStreamProperties properties;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private Thread reader;
+    private volatile boolean running;
+    private volatile boolean streaming;
+    private volatile InputStream body;
+    private volatile long lastReadNanos;
+    private String lastEventId;
+    private long connections;
+
+    public LiveScoreStreamServiceBean(HttpClient liveScoreHttpClient,
+                                      LiveScorePipelineMetrics liveScorePipelineMetrics,
+                                      LiveScoreStreamProperties properties) {
+        this.httpClient = liveScoreHttpClient;
+        this.liveScorePipelineMetrics = liveScorePipelineMetrics;
+        this.properties = properties;
+
+        liveScorePipelineMetrics.monitorStream(this, stream -> stream.isStreaming() ? 1 : 0);
+    }
+
+    @PostConstruct
+    void open() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        running = true;
+        reader = Thread.ofPlatform().name("live-score-stream").daemon().start(this::readLoop);
+    }
+
+    @PreDestroy
+    void close() throws InterruptedException {
+        if (reader == null) {
+            return;
+        }
+
+        running = false;
+        closeBody();
+        reader.interrupt();
+        reader.join();
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    private void readLoop() {
+        var backoff = properties.reconnectBackoff();
+        while (running) {
+            var connectionsBefore = connections;
+            try {
+                stream();
+                if (running) {
+                    log.warn("Live score stream was closed by the provider, polling until it is back");
+                }
+            } catch (IOException exc) {
+                if (running) {
+                    log.warn("Live score stream dropped, polling until it is back: {}", exc.getMessage());
+                }
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                streaming = false;
+            }
+
+            if (!running) {
+                return;
+            }
+            if (connections != connectionsBefore) {
+                backoff = properties.reconnectBackoff();
+            }
+
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            liveScorePipelineMetrics.recordStreamReconnect();
+            backoff = min(backoff.multipliedBy(2), properties.maxReconnectBackoff());
+        }
+    }
+
+    private void stream() throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(URI.create(properties.uri()))
+                .timeout(properties.idleTimeout())
+                .header("Accept", "text/event-stream")
+                .GET();
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+
+        var response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        body = response.body();
+        lastReadNanos = System.nanoTime();
+        var watchdog = watch(body);
+        try (var lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            if (response.statusCode() != 200) {
+                throw new IOException("Live score stream answered with status " + response.statusCode());
+            }
+
+            connections++;
+            streaming = true;
+            log.info("Live score stream connected{}", lastEventId == null ? "" : ", resuming after event " + lastEventId);
+
+            String eventName = null;
+            String eventId = null;
+            var data = new StringBuilder();
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lastReadNanos = System.nanoTime();
+                if (line.isEmpty()) {
+                    dispatch(eventName, eventId, data);
+                    eventName = null;
+                    eventId = null;
+                    data.setLength(0);
+                    continue;
+                }
+                if (line.startsWith(":")) {
+                    continue;
+                }
+
+                var colon = line.indexOf(':');
+                var field = colon < 0 ? line : line.substring(0, colon);
+                var value = colon < 0 ? "" : line.substring(line.startsWith(": ", colon) ? colon + 2 : colon + 1);
+                switch (field) {
+                    case "event" -> eventName = value;
+                    case "id" -> eventId = value;
+                    case "data" -> {
+                        if (!data.isEmpty()) {
+                            data.append('\n');
+                        }
+                        data.append(value);
+                    }
+                    default -> {
+                    }
+                }
+            }
+        } finally {
+            watchdog.interrupt();
+            body = null;
+        }
+    }
+
+    /***
+     Closes the connection's body once nothing was read from it for idleTimeout, which fails the blocked read.
+     ***/
+    private Thread watch(InputStream connectionBody) {
+        var idleTimeoutNanos = properties.idleTimeout().toNanos();
+        return Thread.ofVirtual().name("live-score-stream-watchdog").start(() -> {
+            try {
+                while (true) {
+                    var silentNanos = System.nanoTime() - lastReadNanos;
+                    if (silentNanos >= idleTimeoutNanos) {
+                        log.warn("Live score stream was silent for {}, dropping it", properties.idleTimeout());
+                        streaming = false;
+                        connectionBody.close();
+                        return;
+                    }
+                    Thread.sleep(Duration.ofNanos(idleTimeoutNanos - silentNanos));
+                }
+            } catch (InterruptedException exc) {
+                // the connection ended on its own
+            } catch (IOException exc) {
+                log.debug("Could not close silent live score stream", exc);
+            }
+        });
+    }
+
+    private void dispatch(String eventName, String eventId, StringBuilder data) {
+        if (RESET_EVENT.equals(eventName)) {
+            log.warn("Live score stream could not resume after event {}, scores are polled again", lastEventId);
+            listeners.forEach(Listener::onReset);
+        } else if ((eventName == null || SCORE_EVENT.equals(eventName)) && !data.isEmpty()) {
+            handOver(eventId, data.toString());
+        }
+
+        if (eventId != null) {
+            lastEventId = eventId;
+        }
+    }
+
+    private void handOver(String eventId, String data) {
+        ExternalLiveScoreResponse response;
+        try {
+            response = ExternalLiveScoreResponseConverter.decode(data);
+        } catch (IOException exc) {
+            log.warn("Skipping malformed live score stream event {}: {}", eventId, data);
+            return;
+        }
+
+        liveScorePipelineMetrics.recordStreamUpdate();
+        for (var listener : listeners) {
+            try {
+                listener.onScore(response);
+            } catch (RuntimeException exc) {
+                log.error("Could not handle streamed live score {}", response, exc);
+            }
+        }
+    }
+
+    private void closeBody() {
+        var current = body;
+        if (current == null) {
+            return;
+        }
+
+        try {
+            current.close();
+        } catch (IOException exc) {
+            log.debug("Could not close live score stream", exc);
+        }
+    }
+
+    private static Duration min(Duration first, Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+}
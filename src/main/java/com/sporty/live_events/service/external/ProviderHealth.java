@@ -0,0 +1,101 @@
+package com.sporty.live_events.service.external;
+
+import com.sporty.live_events.configuration.ProviderHedgingProperties;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/***
+ Latencies and health of one score provider.
+ The latencies are kept in a ring of the last latencyWindow calls, their percentile is re-sorted once every
+ sixteenth of the window instead of on every query. Calls cancelled because the other provider answered first count
+ with the time they ran so far, which keeps a provider that is always beaten from looking faster than it is.
+ The health is an exponentially weighted success rate, which drifts back towards 1 with a half-life of
+ healthRecovery, so a provider that failed is tried again once it had time to recover even without traffic.
+ ***/
+public class ProviderHealth {
+    private static final double SAMPLE_WEIGHT = 0.2;
+    private static final int MIN_SAMPLES = 20;
+
+    private final String name;
+    private final String baseUri;
+    private final double delayPercentile;
+    private final long recoveryNanos;
+    private final LongSupplier nanoClock;
+    private final long[] latencies;
+    private final int resortInterval;
+
+    // guarded by this
+    private int samples;
+    private int next;
+    private int samplesSinceSort;
+    private long percentileNanos = -1;
+    private double health = 1;
+    private long healthUpdatedAtNanos;
+
+    ProviderHealth(String name, String baseUri, ProviderHedgingProperties properties, LongSupplier nanoClock) {
+        this.name = name;
+        this.baseUri = baseUri;
+        this.delayPercentile = properties.delayPercentile();
+        this.recoveryNanos = properties.healthRecovery().toNanos();
+        this.nanoClock = nanoClock;
+        this.latencies = new long[Math.max(MIN_SAMPLES, properties.latencyWindow())];
+        this.resortInterval = Math.max(1, latencies.length / 16);
+        this.healthUpdatedAtNanos = nanoClock.getAsLong();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getBaseUri() {
+        return baseUri;
+    }
+
+    public synchronized void recordSuccess(long latencyNanos) {
+        addLatency(latencyNanos);
+        updateHealth(1);
+    }
+
+    public synchronized void recordFailure() {
+        updateHealth(0);
+    }
+
+    public synchronized void recordCancelled(long elapsedNanos) {
+        addLatency(elapsedNanos);
+    }
+
+    public synchronized double getHealth() {
+        var elapsedNanos = nanoClock.getAsLong() - healthUpdatedAtNanos;
+        return 1 - (1 - health) * Math.pow(0.5, (double) elapsedNanos / recoveryNanos);
+    }
+
+    /***
+     The delayPercentile of the recent latencies, or -1 while fewer than MIN_SAMPLES are known.
+     ***/
+    public synchronized long getLatencyPercentileNanos() {
+        if (samples < MIN_SAMPLES) {
+            return -1;
+        }
+        if (percentileNanos < 0 || samplesSinceSort >= resortInterval) {
+            var sorted = Arrays.copyOf(latencies, samples);
+            Arrays.sort(sorted);
+            percentileNanos = sorted[Math.max(0, (int) Math.ceil(delayPercentile * sorted.length) - 1)];
+            samplesSinceSort = 0;
+        }
+        return percentileNanos;
+    }
+
+    private void addLatency(long latencyNanos) {
+        latencies[next] = latencyNanos;
+        next = (next + 1) % latencies.length;
+        samples = Math.min(samples + 1, latencies.length);
+        samplesSinceSort++;
+    }
+
+    private void updateHealth(double sample) {
+        var current = getHealth();
+        health = current + SAMPLE_WEIGHT * (sample - current);
+        healthUpdatedAtNanos = nanoClock.getAsLong();
+    }
+}
@@ -0,0 +1,199 @@
+package com.sporty.live_events.service.external;
+
+import com.sporty.live_events.configuration.ExternalLiveScoreProviderProperties;
+import com.sporty.live_events.configuration.ProviderHedgingProperties;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/***
+ Hedges single score queries across the primary and a secondary provider, to cut the tail latency of the polls.
+ A query is sent to whichever provider is healthier, and once it took longer than that provider's hedge delay it is
+ sent to the other one as well, if the hedge budget and the other provider's health allow. The first successful
+ answer wins, the call still running is cancelled by interrupting its thread.
+ ***/
+@Component
+public class ProviderHedging {
+    private static final Logger log = LoggerFactory.getLogger(ProviderHedging.class);
+
+    private final boolean enabled;
+    private final ProviderHealth primary;
+    private final ProviderHealth secondary;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final double maxHedgeRatio;
+    private final int maxHedgeBurst;
+    private final double minHealth;
+    private final LongSupplier nanoClock;
+    private final LiveScorePipelineMetrics liveScorePipelineMetrics;
+    private final ExecutorService executor;
+
+    // guarded by this
+    private double hedgeBudget;
+
+    public ProviderHedging(ExternalLiveScoreProviderProperties providerProperties, ProviderHedgingProperties properties,
+                           LiveScorePipelineMetrics liveScorePipelineMetrics) {
+        this(providerProperties, properties, liveScorePipelineMetrics, System::nanoTime);
+    }
+
+    ProviderHedging(ExternalLiveScoreProviderProperties providerProperties, ProviderHedgingProperties properties,
+                    LiveScorePipelineMetrics liveScorePipelineMetrics, LongSupplier nanoClock) {
+        if (properties.enabled() && properties.secondaryBaseUri().isBlank()) {
+            throw new IllegalArgumentException("Provider hedging needs a secondary base uri");
+        }
+
+        this.enabled = properties.enabled();
+        this.primary = new ProviderHealth("primary", providerProperties.baseUri(), properties, nanoClock);
+        this.secondary = new ProviderHealth("secondary", properties.secondaryBaseUri(), properties, nanoClock);
+        this.minDelayNanos = properties.minDelay().toNanos();
+        this.maxDelayNanos = properties.maxDelay().toNanos();
+        this.maxHedgeRatio = properties.maxHedgeRatio();
+        this.maxHedgeBurst = properties.maxHedgeBurst();
+        this.minHealth = properties.minHealth();
+        this.nanoClock = nanoClock;
+        this.liveScorePipelineMetrics = liveScorePipelineMetrics;
+        this.hedgeBudget = maxHedgeBurst;
+        this.executor = enabled
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("provider-hedge-", 0).factory())
+                : null;
+
+        if (enabled) {
+            for (var provider : new ProviderHealth[]{primary, secondary}) {
+                liveScorePipelineMetrics.monitorProvider(provider.getName(), provider, ProviderHealth::getHealth,
+                        this::hedgeDelayNanos);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /***
+     Runs the query, which calls the provider at the given base uri, hedged across both providers.
+     Throws the failure of the first provider's call when no call succeeds.
+     ***/
+    public <T> T query(Function<String, T> query) {
+        var first = primary;
+        var second = secondary;
+        if (second.getHealth() > first.getHealth()) {
+            first = secondary;
+            second = primary;
+        }
+        earnHedge();
+
+        var completion = new ExecutorCompletionService<T>(executor);
+        var settled = new AtomicBoolean();
+        var firstCall = submit(completion, first, query, settled);
+        Future<T> hedge = null;
+        try {
+            var done = completion.poll(hedgeDelayNanos(first), TimeUnit.NANOSECONDS);
+            if (done == null) {
+                if (second.getHealth() >= minHealth && takeHedge()) {
+                    hedge = submit(completion, second, query, settled);
+                } else {
+                    liveScorePipelineMetrics.recordHedge("throttled");
+                }
+            }
+
+            RuntimeException failure = null;
+            for (int pending = hedge == null ? 1 : 2; pending > 0; pending--) {
+                var call = done != null ? done : completion.take();
+                done = null;
+                try {
+                    var result = call.get();
+                    if (hedge != null) {
+                        liveScorePipelineMetrics.recordHedge(call == hedge ? "won" : "lost");
+                    }
+                    return result;
+                } catch (ExecutionException exc) {
+                    if (failure == null || call == firstCall) {
+                        failure = unwrap(exc);
+                    }
+                }
+            }
+            throw failure;
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the score provider", exc);
+        } finally {
+            settled.set(true);
+            firstCall.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    /***
+     How long a query waits for the provider before it is hedged, maxDelay until enough of its latencies are known.
+     ***/
+    long hedgeDelayNanos(ProviderHealth provider) {
+        var percentileNanos = provider.getLatencyPercentileNanos();
+        return percentileNanos < 0 ? maxDelayNanos : Math.clamp(percentileNanos, minDelayNanos, maxDelayNanos);
+    }
+
+    /***
+     Calls the provider and records its outcome. A call that fails once the query is settled was cancelled, its
+     provider is not blamed for it.
+     ***/
+    private <T> Future<T> submit(CompletionService<T> completion, ProviderHealth provider, Function<String, T> query,
+                                 AtomicBoolean settled) {
+        return completion.submit(() -> {
+            var startNanos = nanoClock.getAsLong();
+            try {
+                var result = query.apply(provider.getBaseUri());
+                provider.recordSuccess(nanoClock.getAsLong() - startNanos);
+                return result;
+            } catch (RuntimeException | Error exc) {
+                if (settled.get() || Thread.currentThread().isInterrupted()) {
+                    provider.recordCancelled(nanoClock.getAsLong() - startNanos);
+                } else {
+                    provider.recordFailure();
+                    log.debug("Score query to the {} provider failed", provider.getName(), exc);
+                }
+                throw exc;
+            }
+        });
+    }
+
+    private synchronized void earnHedge() {
+        hedgeBudget = Math.min(maxHedgeBurst, hedgeBudget + maxHedgeRatio);
+    }
+
+    private synchronized boolean takeHedge() {
+        if (hedgeBudget < 1) {
+            return false;
+        }
+
+        hedgeBudget--;
+        return true;
+    }
+
+    private static RuntimeException unwrap(ExecutionException exc) {
+        if (exc.getCause() instanceof Error error) {
+            throw error;
+        }
+        return exc.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(exc.getCause());
+    }
+}
@@ -0,0 +1,207 @@
+package com.sporty.live_events.service.external;
+
+import com.sporty.live_events.configuration.ExternalLiveScoreProviderProperties;
+import com.sporty.live_events.configuration.ProviderProtectionProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/***
+ Guards every provider host with a circuit breaker and an adaptive (AIMD) concurrency limit.
+ Calls that would hit an open circuit or exceed the limit are rejected right away instead of waiting for a permit,
+ so a provider brownout never ties up worker threads. With virtual threads the worker pool no longer bounds how many
+ polls run at once, so the limit is also what keeps us from flooding the score provider.
+ ***/
+@Component
+public class ProviderProtection {
+    private static final Logger log = LoggerFactory.getLogger(ProviderProtection.class);
+
+    private final ProviderProtectionProperties properties;
+    private final int maxConcurrentRequestsPerHost;
+    private final LongSupplier nanoClock;
+    private final Map<String, HostGuard> guardsByHost = new ConcurrentHashMap<>();
+
+    public ProviderProtection(ExternalLiveScoreProviderProperties providerProperties, ProviderProtectionProperties properties) {
+        this(providerProperties, properties, System::nanoTime);
+    }
+
+    ProviderProtection(ExternalLiveScoreProviderProperties providerProperties, ProviderProtectionProperties properties,
+                       LongSupplier nanoClock) {
+        this.properties = properties;
+        this.maxConcurrentRequestsPerHost = providerProperties.maxConcurrentRequestsPerHost();
+        this.nanoClock = nanoClock;
+    }
+
+    /***
+     Returns a permit to call the host, to be closed once the call completed and marked failed if it did not succeed,
+     or cancelled if it was abandoned before it completed.
+     ***/
+    public Permit acquire(URI uri) {
+        var host = uri.getHost() + ":" + uri.getPort();
+        var guard = guardsByHost.computeIfAbsent(host, HostGuard::new);
+        return guard.acquire();
+    }
+
+    /***
+     Current concurrency limit of the host, for monitoring.
+     ***/
+    public int getConcurrencyLimit(URI uri) {
+        var guard = guardsByHost.get(uri.getHost() + ":" + uri.getPort());
+        return guard == null ? maxConcurrentRequestsPerHost : guard.currentLimit();
+    }
+
+    public interface Permit extends AutoCloseable {
+        void failed();
+
+        /***
+         The call was abandoned, e.g. a hedged call the other provider answered first. It frees its slot without
+         counting as a success or a failure, and without its latency.
+         ***/
+        void cancelled();
+
+        @Override
+        void close();
+    }
+
+    private enum Outcome {
+        SUCCESS,
+        FAILURE,
+        CANCELLED
+    }
+
+    private enum CircuitState {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final class HostGuard {
+        private final String host;
+        private final long openDurationNanos = properties.openDuration().toNanos();
+        private final long targetLatencyNanos = properties.targetLatency().toNanos();
+
+        private CircuitState state = CircuitState.CLOSED;
+        private int consecutiveFailures;
+        private long openedAtNanos;
+        private int probesInFlight;
+
+        private double limit = maxConcurrentRequestsPerHost;
+        private int inFlight;
+        private long lastDecreaseNanos;
+
+        private HostGuard(String host) {
+            this.host = host;
+            this.lastDecreaseNanos = nanoClock.getAsLong() - targetLatencyNanos;
+        }
+
+        private synchronized Permit acquire() {
+            var now = nanoClock.getAsLong();
+            var probe = false;
+
+            if (properties.circuitBreakerEnabled() && state != CircuitState.CLOSED) {
+                if (state == CircuitState.OPEN && now - openedAtNanos >= openDurationNanos) {
+                    state = CircuitState.HALF_OPEN;
+                    probesInFlight = 0;
+                    log.info("Circuit of provider {} is half open, probing", host);
+                }
+                if (state == CircuitState.OPEN || probesInFlight >= properties.halfOpenProbes()) {
+                    throw new ProviderUnavailableException(ProviderUnavailableException.Reason.CIRCUIT_OPEN,
+                            "Circuit of provider " + host + " is open");
+                }
+                probe = true;
+            }
+
+            if (inFlight >= (int) limit) {
+                throw new ProviderUnavailableException(ProviderUnavailableException.Reason.CONCURRENCY_LIMIT,
+                        "Concurrency limit " + (int) limit + " of provider " + host + " is reached");
+            }
+
+            inFlight++;
+            if (probe) {
+                probesInFlight++;
+            }
+            return new HostPermit(this, now, probe);
+        }
+
+        private synchronized void release(long startNanos, boolean probe, Outcome outcome) {
+            var now = nanoClock.getAsLong();
+            inFlight--;
+            if (probe) {
+                probesInFlight--;
+            }
+            if (outcome == Outcome.CANCELLED) {
+                return;
+            }
+
+            adaptLimit(now, now - startNanos);
+            if (properties.circuitBreakerEnabled()) {
+                recordOutcome(now, outcome == Outcome.SUCCESS);
+            }
+        }
+
+        private void adaptLimit(long now, long latencyNanos) {
+            if (latencyNanos <= targetLatencyNanos) {
+                limit = Math.min(maxConcurrentRequestsPerHost, limit + 1 / limit);
+            } else if (now - lastDecreaseNanos >= targetLatencyNanos) {
+                // back off at most once per target latency, so one burst of slow calls only counts once
+                limit = Math.max(properties.minConcurrency(), limit * properties.decreaseFactor());
+                lastDecreaseNanos = now;
+            }
+        }
+
+        private void recordOutcome(long now, boolean success) {
+            if (success) {
+                if (state != CircuitState.CLOSED) {
+                    log.info("Circuit of provider {} is closed again", host);
+                }
+                state = CircuitState.CLOSED;
+                consecutiveFailures = 0;
+                return;
+            }
+
+            consecutiveFailures++;
+            if (state == CircuitState.HALF_OPEN || (state == CircuitState.CLOSED && consecutiveFailures >= properties.failureThreshold())) {
+                log.warn("Circuit of provider {} is open after {} consecutive failures", host, consecutiveFailures);
+                state = CircuitState.OPEN;
+                openedAtNanos = now;
+            }
+        }
+
+        private synchronized int currentLimit() {
+            return (int) limit;
+        }
+    }
+
+    private static final class HostPermit implements Permit {
+        private final HostGuard guard;
+        private final long startNanos;
+        private final boolean probe;
+        private Outcome outcome = Outcome.SUCCESS;
+
+        private HostPermit(HostGuard guard, long startNanos, boolean probe) {
+            this.guard = guard;
+            this.startNanos = startNanos;
+            this.probe = probe;
+        }
+
+        @Override
+        public void failed() {
+            outcome = Outcome.FAILURE;
+        }
+
+        @Override
+        public void cancelled() {
+            outcome = Outcome.CANCELLED;
+        }
+
+        @Override
+        public void close() {
+            guard.release(startNanos, probe, outcome);
+        }
+    }
+}
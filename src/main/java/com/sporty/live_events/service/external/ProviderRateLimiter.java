@@ -0,0 +1,88 @@
+package com.sporty.live_events.service.external;
+
+import com.sporty.live_events.configuration.ProviderRateLimitProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/***
+ Token bucket in front of every provider call, kept as the theoretical arrival time of the next call (GCRA) so that
+ taking a token is a single compare-and-set instead of a lock and a refill task.
+ A call reserves its turn and sleeps until then, a call whose turn is further away than maxWait is rejected without
+ taking a token.
+ ***/
+@Component
+public class ProviderRateLimiter {
+
+    private final ProviderRateLimitProperties properties;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final long maxWaitNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    public ProviderRateLimiter(ProviderRateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    ProviderRateLimiter(ProviderRateLimitProperties properties, LongSupplier nanoClock) {
+        if (properties.enabled() && (properties.requestsPerSecond() <= 0 || properties.burst() <= 0)) {
+            throw new IllegalArgumentException("Provider rate limit and burst must be positive");
+        }
+
+        this.properties = properties;
+        this.emissionIntervalNanos = properties.enabled() ? Math.round(1e9 / properties.requestsPerSecond()) : 0;
+        this.burstToleranceNanos = (Math.max(1, properties.burst()) - 1) * emissionIntervalNanos;
+        this.maxWaitNanos = properties.maxWait().toNanos();
+        this.nanoClock = nanoClock;
+        this.theoreticalArrivalNanos = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /***
+     Requests per second allowed to the provider, 0 when calls are not limited.
+     ***/
+    public double getRequestsPerSecond() {
+        return properties.enabled() ? properties.requestsPerSecond() : 0;
+    }
+
+    /***
+     Takes a token, waiting for it when the bucket is empty, and returns how long the call was held back.
+     ***/
+    public long acquire() {
+        if (!properties.enabled()) {
+            return 0;
+        }
+
+        var waitNanos = reserve();
+        if (waitNanos > 0) {
+            try {
+                Thread.sleep(Duration.ofNanos(waitNanos));
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+                throw new ProviderUnavailableException(ProviderUnavailableException.Reason.RATE_LIMITED,
+                        "Interrupted while waiting for the provider rate limit");
+            }
+        }
+        return waitNanos;
+    }
+
+    /***
+     Reserves the next turn and returns how long until it comes.
+     ***/
+    long reserve() {
+        var now = nanoClock.getAsLong();
+        while (true) {
+            var arrival = theoreticalArrivalNanos.get();
+            var waitNanos = arrival - burstToleranceNanos - now;
+            if (waitNanos > maxWaitNanos) {
+                throw new ProviderUnavailableException(ProviderUnavailableException.Reason.RATE_LIMITED,
+                        "Provider rate limit of " + properties.requestsPerSecond() + " requests per second is reached");
+            }
+            if (theoreticalArrivalNanos.compareAndSet(arrival, Math.max(arrival, now) + emissionIntervalNanos)) {
+                return Math.max(0, waitNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.sporty.live_events.service.external;
+
+/***
+ Thrown without calling the provider when its circuit is open, its concurrency limit is reached, or the call would
+ wait too long for the provider's rate limit.
+ The poll is skipped rather than failed, it is not retried before the event's next cycle.
+ ***/
+public class ProviderUnavailableException extends RuntimeException {
+    private final Reason reason;
+
+    public ProviderUnavailableException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public enum Reason {
+        CIRCUIT_OPEN,
+        CONCURRENCY_LIMIT,
+        RATE_LIMITED
+    }
+}
@@ -0,0 +1,89 @@
+package com.sporty.live_events.service.fanout;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+/***
+ Fixed size ring of the last published entries, read by any number of readers that each keep their own cursor.
+ Entries are numbered from 1 and shared, never copied per reader. A reader that falls a whole ring behind finds its
+ next entry overwritten, get returns null and it's up to the reader to catch up some other way.
+ ***/
+public class BroadcastRing<T> {
+
+    private final Slot<T>[] slots;
+    private final int mask;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+
+    private volatile long lastSequence;
+
+    @SuppressWarnings("unchecked")
+    public BroadcastRing(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two, got " + capacity);
+        }
+
+        this.slots = new Slot[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /***
+     Appends the entry built for the next sequence and wakes up the waiting readers.
+     ***/
+    public long publish(LongFunction<T> entryFactory) {
+        lock.lock();
+        try {
+            var sequence = lastSequence + 1;
+            slots[(int) (sequence & mask)] = new Slot<>(sequence, entryFactory.apply(sequence));
+            lastSequence = sequence;
+            published.signalAll();
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /***
+     Returns the entry of the sequence, or null when it was already overwritten.
+     ***/
+    public T get(long sequence) {
+        var slot = slots[(int) (sequence & mask)];
+        return slot != null && slot.sequence() == sequence ? slot.entry() : null;
+    }
+
+    /***
+     Returns whether the entry of the sequence can still be read, or was never published yet.
+     ***/
+    public boolean canReadFrom(long sequence) {
+        return sequence > lastSequence || get(sequence) != null;
+    }
+
+    /***
+     Waits until an entry after the sequence is published, and returns the last published sequence.
+     ***/
+    public long awaitAfter(long sequence, Duration timeout) throws InterruptedException {
+        if (lastSequence > sequence) {
+            return lastSequence;
+        }
+
+        var remainingNanos = timeout.toNanos();
+        lock.lock();
+        try {
+            while (lastSequence <= sequence && remainingNanos > 0) {
+                remainingNanos = published.awaitNanos(remainingNanos);
+            }
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Slot<T>(long sequence, T entry) {
+    }
+}
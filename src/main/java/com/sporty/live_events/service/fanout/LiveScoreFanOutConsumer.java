@@ -0,0 +1,155 @@
+package com.sporty.live_events.service.fanout;
+
+import com.sporty.live_events.service.kafka.LiveScoreKafkaMessage;
+import com.sporty.live_events.service.kafka.LiveScoreKafkaMessageDeserializer;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RecordDeserializationException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/***
+ Reads every partition of the live_score topic from the beginning into LiveScoreFanOutServiceBean, on a dedicated thread.
+ Partitions are assigned rather than subscribed to, so no consumer group is joined and no offset is ever committed.
+ Records up to the end offsets found on start seed the view, only the ones after them are published to subscribers.
+ ***/
+@Component
+@ConditionalOnProperty(prefix = "live-events.fan-out", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LiveScoreFanOutConsumer implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(LiveScoreFanOutConsumer.class);
+
+    private static final String TOPIC = "live_score";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    private final LiveScoreFanOutServiceBean liveScoreFanOutService;
+    private final ConsumerFactory<String, LiveScoreKafkaMessage> consumerFactory;
+
+    private volatile Consumer<String, LiveScoreKafkaMessage> consumer;
+    private volatile boolean running;
+    private Thread reader;
+
+    public LiveScoreFanOutConsumer(LiveScoreFanOutServiceBean liveScoreFanOutService, KafkaProperties kafkaProperties) {
+        this.liveScoreFanOutService = liveScoreFanOutService;
+
+        var consumerProperties = kafkaProperties.buildConsumerProperties(null);
+        consumerProperties.remove(ConsumerConfig.GROUP_ID_CONFIG);
+        consumerProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        this.consumerFactory = new DefaultKafkaConsumerFactory<>(consumerProperties,
+                new StringDeserializer(), new LiveScoreKafkaMessageDeserializer());
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        reader = Thread.ofPlatform().name("live-score-fan-out-reader").daemon().start(this::read);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        var current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        try {
+            reader.join(POLL_TIMEOUT.toMillis() * 5);
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void read() {
+        try (var kafkaConsumer = consumerFactory.createConsumer()) {
+            consumer = kafkaConsumer;
+            if (!running) {
+                return;
+            }
+
+            var seedEndOffsets = assignFromBeginning(kafkaConsumer);
+            if (seedEndOffsets.isEmpty()) {
+                return;
+            }
+            log.info("Seeding live score fan-out from {} partitions of {}", seedEndOffsets.size(), TOPIC);
+            while (running) {
+                poll(kafkaConsumer, seedEndOffsets);
+            }
+        } catch (WakeupException exc) {
+            // stopping
+        } catch (RuntimeException exc) {
+            log.error("Live score fan-out stopped reading {}", TOPIC, exc);
+        } finally {
+            consumer = null;
+        }
+    }
+
+    /***
+     Waits for the topic to exist, returns no end offsets if the consumer was stopped in the meantime.
+     ***/
+    private Map<TopicPartition, Long> assignFromBeginning(Consumer<String, LiveScoreKafkaMessage> kafkaConsumer) {
+        List<TopicPartition> partitions = List.of();
+        while (running && partitions.isEmpty()) {
+            try {
+                partitions = kafkaConsumer.partitionsFor(TOPIC).stream()
+                        .map(partition -> new TopicPartition(TOPIC, partition.partition()))
+                        .toList();
+            } catch (TimeoutException exc) {
+                log.warn("Live score fan-out could not look up the partitions of {}, retrying", TOPIC);
+            }
+            if (partitions.isEmpty()) {
+                try {
+                    Thread.sleep(POLL_TIMEOUT);
+                } catch (InterruptedException exc) {
+                    Thread.currentThread().interrupt();
+                    return Map.of();
+                }
+            }
+        }
+        if (partitions.isEmpty()) {
+            return Map.of();
+        }
+
+        kafkaConsumer.assign(partitions);
+        kafkaConsumer.seekToBeginning(partitions);
+        return kafkaConsumer.endOffsets(partitions);
+    }
+
+    private void poll(Consumer<String, LiveScoreKafkaMessage> kafkaConsumer, Map<TopicPartition, Long> seedEndOffsets) {
+        try {
+            for (var record : kafkaConsumer.poll(POLL_TIMEOUT)) {
+                var message = record.value();
+                if (message == null) {
+                    continue;
+                }
+
+                var seedEndOffset = seedEndOffsets.get(new TopicPartition(record.topic(), record.partition()));
+                if (seedEndOffset != null && record.offset() < seedEndOffset) {
+                    liveScoreFanOutService.seed(message);
+                } else {
+                    liveScoreFanOutService.onScore(message);
+                }
+            }
+        } catch (RecordDeserializationException exc) {
+            log.warn("Skipping undeserializable live score at {}@{}", exc.topicPartition(), exc.offset(), exc);
+            kafkaConsumer.seek(exc.topicPartition(), exc.offset() + 1);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.sporty.live_events.service.fanout;
+
+public class LiveScoreFanOutException extends RuntimeException {
+    public LiveScoreFanOutException(String message) {
+        super(message);
+    }
+
+    public LiveScoreFanOutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,25 @@
+package com.sporty.live_events.service.fanout;
+
+import com.sporty.live_events.service.kafka.LiveScoreKafkaMessage;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/***
+ In-memory view of the latest published score of every event, for clients that would otherwise each consume the
+ live_score topic themselves.
+ ***/
+public interface LiveScoreFanOutService {
+
+    /***
+     Latest scores of the given events, events without a published score yet are left out.
+     ***/
+    List<LiveScoreKafkaMessage> getLatestScores(long[] eventIds);
+
+    /***
+     Streams a "snapshot" of the events' latest scores followed by a "score" event for each of their updates.
+     A client reconnecting to the same instance since its start with the id of the last event it received is resumed
+     from there when possible, and gets a fresh snapshot otherwise.
+     ***/
+    SseEmitter subscribe(long[] eventIds, String lastEventId);
+}
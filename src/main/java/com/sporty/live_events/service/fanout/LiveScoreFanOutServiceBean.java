@@ -0,0 +1,249 @@
+package com.sporty.live_events.service.fanout;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sporty.live_events.configuration.LiveScoreFanOutProperties;
+import com.sporty.live_events.service.kafka.LiveScoreKafkaMessage;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+/***
+ Keeps the latest score of every event from the live_score topic, read in full by every instance through
+ LiveScoreFanOutConsumer, and fans the updates out to Server-Sent-Events subscribers. The scores retained on the topic
+ before the instance started only seed the view, subscribers get them in their snapshot, not as updates.
+
+ Every update is encoded once into an SSE frame and appended to a BroadcastRing shared by all subscribers.
+ Each subscriber is served by its own virtual thread reading the ring from its own cursor, so a slow client only
+ holds up itself. A subscriber that falls a whole ring behind skips the updates it missed and gets a fresh snapshot
+ of its events instead, nothing is buffered per subscriber.
+
+ Event ids are the ring sequence prefixed with this instance's epoch, random per start, so that a client resuming
+ with the id of another instance or of an earlier start gets a snapshot instead of some unrelated part of the stream.
+ ***/
+@Service
+@ConditionalOnProperty(prefix = "live-events.fan-out", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LiveScoreFanOutServiceBean implements LiveScoreFanOutService {
+    private static final Logger log = LoggerFactory.getLogger(LiveScoreFanOutServiceBean.class);
+
+    private static final String SCORE_EVENT = "score";
+    private static final String SNAPSHOT_EVENT = "snapshot";
+    private static final Set<DataWithMediaType> KEEP_ALIVE = SseEmitter.event().comment("keep-alive").build();
+
+    private final ObjectMapper objectMapper;
+    private final LiveScorePipelineMetrics liveScorePipelineMetrics;
+    private final LiveScoreFanOutProperties properties;
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final Map<Long, LiveScoreKafkaMessage> latestScores = new ConcurrentHashMap<>();
+    private final BroadcastRing<ScoreUpdate> ring;
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final ExecutorService deliveryExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("live-score-fan-out-", 0).factory());
+
+    public LiveScoreFanOutServiceBean(ObjectMapper objectMapper,
+                                      LiveScorePipelineMetrics liveScorePipelineMetrics,
+                                      LiveScoreFanOutProperties properties) {
+        this.objectMapper = objectMapper;
+        this.liveScorePipelineMetrics = liveScorePipelineMetrics;
+        this.properties = properties;
+        this.ring = new BroadcastRing<>(properties.ringCapacity());
+
+        liveScorePipelineMetrics.monitorFanOut(subscribers, AtomicInteger::get);
+    }
+
+    @PreDestroy
+    void close() {
+        deliveryExecutor.shutdownNow();
+    }
+
+    /***
+     Takes a score retained on the topic from before this instance started into the view, without publishing it.
+     ***/
+    public void seed(LiveScoreKafkaMessage message) {
+        latestScores.put(message.eventId(), message);
+    }
+
+    public void onScore(LiveScoreKafkaMessage message) {
+        // the view is updated first, so a snapshot taken at any sequence already holds every update up to it
+        latestScores.put(message.eventId(), message);
+        ring.publish(sequence -> new ScoreUpdate(message.eventId(), frame(sequence, SCORE_EVENT, message)));
+    }
+
+    @Override
+    public List<LiveScoreKafkaMessage> getLatestScores(long[] eventIds) {
+        var scores = new ArrayList<LiveScoreKafkaMessage>(eventIds.length);
+        for (var eventId : eventIds) {
+            var score = latestScores.get(eventId);
+            if (score != null) {
+                scores.add(score);
+            }
+        }
+        return scores;
+    }
+
+    @Override
+    public SseEmitter subscribe(long[] eventIds, String lastEventId) {
+        // no timeout, the subscription lives until the client goes away
+        var emitter = new SseEmitter(0L);
+        subscribe(emitter, eventIds, lastEventId);
+        return emitter;
+    }
+
+    void subscribe(SseEmitter emitter, long[] eventIds, String lastEventId) {
+        if (subscribers.incrementAndGet() > properties.maxSubscribers()) {
+            subscribers.decrementAndGet();
+            throw new LiveScoreFanOutException("Live score subscriber limit of " + properties.maxSubscribers() + " reached");
+        }
+
+        var subscription = new Subscription(emitter, LongStream.of(eventIds).sorted().distinct().toArray());
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(exc -> subscription.close());
+        var lastSequence = sequenceOf(lastEventId);
+        try {
+            deliveryExecutor.execute(() -> deliver(subscription, lastSequence));
+        } catch (RejectedExecutionException exc) {
+            subscribers.decrementAndGet();
+            throw new LiveScoreFanOutException("Live score fan-out is shutting down", exc);
+        }
+    }
+
+    int getSubscriberCount() {
+        return subscribers.get();
+    }
+
+    String getEpoch() {
+        return epoch;
+    }
+
+    /***
+     The ring sequence of an event id sent by this instance since its start, null for any other id.
+     ***/
+    private Long sequenceOf(String eventId) {
+        if (eventId == null || !eventId.startsWith(epoch + "-")) {
+            return null;
+        }
+        try {
+            var sequence = Long.parseLong(eventId, epoch.length() + 1, eventId.length(), 10);
+            return sequence >= 0 ? sequence : null;
+        } catch (NumberFormatException exc) {
+            return null;
+        }
+    }
+
+    private void deliver(Subscription subscription, Long lastSequence) {
+        try {
+            var cursor = canResumeAfter(lastSequence) ? lastSequence : sendSnapshot(subscription);
+            while (!subscription.isClosed()) {
+                var lastSequence = ring.awaitAfter(cursor, properties.keepAliveInterval());
+                if (lastSequence == cursor) {
+                    subscription.send(KEEP_ALIVE);
+                } else {
+                    cursor = sendUpdates(subscription, cursor, lastSequence);
+                }
+            }
+        } catch (IOException | IllegalStateException exc) {
+            // the emitter completes itself when a send fails
+            log.debug("Live score subscriber went away: {}", exc.getMessage());
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            subscription.emitter().complete();
+        } finally {
+            subscribers.decrementAndGet();
+        }
+    }
+
+    private boolean canResumeAfter(Long lastSequence) {
+        return lastSequence != null && lastSequence <= ring.getLastSequence() && ring.canReadFrom(lastSequence + 1);
+    }
+
+    private long sendUpdates(Subscription subscription, long cursor, long lastSequence) throws IOException {
+        for (var sequence = cursor + 1; sequence <= lastSequence; sequence++) {
+            var update = ring.get(sequence);
+            if (update == null) {
+                liveScorePipelineMetrics.recordFanOutResync();
+                return sendSnapshot(subscription);
+            }
+            if (subscription.isSubscribedTo(update.eventId())) {
+                subscription.send(update.frame());
+            }
+        }
+        return lastSequence;
+    }
+
+    private long sendSnapshot(Subscription subscription) throws IOException {
+        var sequence = ring.getLastSequence();
+        subscription.send(frame(sequence, SNAPSHOT_EVENT, getLatestScores(subscription.eventIds())));
+        return sequence;
+    }
+
+    private Set<DataWithMediaType> frame(long sequence, String name, Object data) {
+        try {
+            return SseEmitter.event()
+                    .id(epoch + "-" + sequence)
+                    .name(name)
+                    .data(objectMapper.writeValueAsBytes(data), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException exc) {
+            throw new LiveScoreFanOutException("Could not encode live score " + name + " " + sequence, exc);
+        }
+    }
+
+    private record ScoreUpdate(long eventId, Set<DataWithMediaType> frame) {
+    }
+
+    private static final class Subscription {
+        private final SseEmitter emitter;
+        private final long[] eventIds;
+        private volatile boolean closed;
+
+        Subscription(SseEmitter emitter, long[] eventIds) {
+            this.emitter = emitter;
+            this.eventIds = eventIds;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        long[] eventIds() {
+            return eventIds;
+        }
+
+        boolean isSubscribedTo(long eventId) {
+            return Arrays.binarySearch(eventIds, eventId) >= 0;
+        }
+
+        void send(Set<DataWithMediaType> frame) throws IOException {
+            emitter.send(frame);
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+
+        void close() {
+            closed = true;
+        }
+    }
+}
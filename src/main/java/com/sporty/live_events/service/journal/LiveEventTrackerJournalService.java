@@ -0,0 +1,22 @@
+package com.sporty.live_events.service.journal;
+
+import com.sporty.live_events.service.LiveEventPriority;
+
+public interface LiveEventTrackerJournalService {
+    /***
+     Journals the event as tracked in the priority tier, a null priority is the default tier.
+     ***/
+    void recordTracked(long eventId, LiveEventPriority priority);
+
+    void recordUntracked(long eventId);
+
+    /***
+     Event ids that were tracked when the service last stopped, as restored from the snapshot and journal on startup.
+     ***/
+    long[] getJournaledEventIds();
+
+    /***
+     The journaled event ids that were tracked in the priority tier.
+     ***/
+    long[] getJournaledEventIds(LiveEventPriority priority);
+}
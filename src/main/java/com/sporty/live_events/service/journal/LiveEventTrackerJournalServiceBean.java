@@ -0,0 +1,341 @@
+package com.sporty.live_events.service.journal;
+
+import com.sporty.live_events.configuration.LiveEventTrackerJournalProperties;
+import com.sporty.live_events.service.LiveEventPriority;
+import com.sporty.live_events.service.LiveEventTrackerRegistry;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/***
+ Append-only journal of tracked/untracked operations, written through a memory mapped file by a single writer thread.
+ Request threads only enqueue, so journaling stays off their critical path. The queue is bounded: when the writer falls
+ behind, a request thread waits up to the backpressure timeout for room, then drops its record and counts the drop
+ rather than letting pending records grow without limit. A dropped change is missing from the recovered state.
+
+ Journal records are [op: 1 byte][eventId: 8 bytes], a zero op byte marks the end of the journal. A tracked op
+ carries the event's priority tier, so a tier change is journaled as another tracked record, and the tier-less
+ tracked op of older journals is replayed into the default tier.
+ Whenever the journal fills up, and every compaction interval, the current set of tracked events is written to
+ a snapshot file ([count: 8 bytes][eventId: 8 bytes]*[tier: 1 byte]*) which atomically replaces the previous one, and
+ the journal is reset. Snapshots of older versions end after the event ids, their events are in the default tier.
+ Replaying a journal on top of a newer snapshot yields the same state, so a crash in between the two steps is harmless.
+ ***/
+@Service
+public class LiveEventTrackerJournalServiceBean implements LiveEventTrackerJournalService {
+    private static final Logger log = LoggerFactory.getLogger(LiveEventTrackerJournalServiceBean.class);
+
+    private static final LiveEventPriority[] TIERS = LiveEventPriority.values();
+    private static final byte TRACKED = 1;
+    private static final byte UNTRACKED = 2;
+    // followed by one op per tier, in tier order
+    private static final byte TRACKED_IN_TIER = 3;
+    private static final int RECORD_SIZE = 1 + Long.BYTES;
+    private static final String JOURNAL_FILE = "journal.bin";
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+    private static final LongConsumer NO_OP = eventId -> {
+    };
+
+    private final LiveEventTrackerJournalProperties properties;
+    private final LiveScorePipelineMetrics liveScorePipelineMetrics;
+    private final BlockingQueue<JournalRecord> pendingRecords;
+    // the journaled events of every tier, indexed by the tier's ordinal
+    private final LiveEventTrackerRegistry[] journaledEvents = new LiveEventTrackerRegistry[TIERS.length];
+
+    private final long[][] recoveredEventIds = new long[TIERS.length][];
+    private FileChannel journalChannel;
+    private MappedByteBuffer journal;
+    private Thread writer;
+    private volatile boolean running;
+
+    public LiveEventTrackerJournalServiceBean(LiveEventTrackerJournalProperties properties,
+                                              LiveScorePipelineMetrics liveScorePipelineMetrics) {
+        this.properties = properties;
+        this.liveScorePipelineMetrics = liveScorePipelineMetrics;
+        this.pendingRecords = new LinkedBlockingQueue<>(properties.maxPendingRecords());
+        for (int tier = 0; tier < TIERS.length; tier++) {
+            journaledEvents[tier] = new LiveEventTrackerRegistry();
+            recoveredEventIds[tier] = new long[0];
+        }
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        Files.createDirectories(properties.directory());
+        readSnapshot();
+
+        journalChannel = FileChannel.open(journalPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // a journal grown past its configured size keeps its records
+        journal = journalChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                Math.max(properties.journalSize().toBytes(), journalChannel.size()));
+        var replayed = replayJournal();
+
+        for (var tier : TIERS) {
+            recoveredEventIds[tier.ordinal()] = journaledEvents[tier.ordinal()].toArray();
+        }
+        log.info("Tracker journal opened with {} tracked events, {} journal records replayed",
+                getJournaledEventIds().length, replayed);
+
+        running = true;
+        writer = Thread.ofPlatform().name("live-events-journal").daemon().start(this::writeLoop);
+    }
+
+    @PreDestroy
+    void close() throws IOException, InterruptedException {
+        if (writer == null) {
+            return;
+        }
+
+        running = false;
+        writer.join();
+        journal.force();
+        journalChannel.close();
+    }
+
+    @Override
+    public void recordTracked(long eventId, LiveEventPriority priority) {
+        if (running) {
+            enqueue(new JournalRecord(eventId, true, priority != null ? priority : LiveEventPriority.DEFAULT));
+        }
+    }
+
+    @Override
+    public void recordUntracked(long eventId) {
+        if (running) {
+            enqueue(new JournalRecord(eventId, false, null));
+        }
+    }
+
+    private void enqueue(JournalRecord record) {
+        try {
+            if (pendingRecords.offer(record, properties.backpressureTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+            log.error("Tracker journal writer is {} records behind, not journaling {}", pendingRecords.size(), record);
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while waiting to journal {}", record);
+        }
+        liveScorePipelineMetrics.recordJournalDrop();
+    }
+
+    @Override
+    public long[] getJournaledEventIds() {
+        var eventIds = new long[Arrays.stream(recoveredEventIds).mapToInt(tierEventIds -> tierEventIds.length).sum()];
+        var length = 0;
+        for (var tierEventIds : recoveredEventIds) {
+            System.arraycopy(tierEventIds, 0, eventIds, length, tierEventIds.length);
+            length += tierEventIds.length;
+        }
+        return eventIds;
+    }
+
+    @Override
+    public long[] getJournaledEventIds(LiveEventPriority priority) {
+        return recoveredEventIds[priority.ordinal()];
+    }
+
+    private void writeLoop() {
+        var batch = new ArrayList<JournalRecord>(1024);
+        var compactionIntervalNanos = properties.compactionInterval().toNanos();
+        var nextCompaction = System.nanoTime() + compactionIntervalNanos;
+        var dirty = false;
+
+        while (running || !pendingRecords.isEmpty()) {
+            try {
+                var first = pendingRecords.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    pendingRecords.drainTo(batch);
+                }
+
+                var written = 0;
+                try {
+                    for (; written < batch.size(); written++) {
+                        dirty |= write(batch.get(written));
+                    }
+                } finally {
+                    // a failed record stays in the batch, with the ones after it, and is written again on the next round
+                    batch.subList(0, written).clear();
+                }
+
+                if (dirty && System.nanoTime() >= nextCompaction) {
+                    compact();
+                    dirty = false;
+                    nextCompaction = System.nanoTime() + compactionIntervalNanos;
+                }
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException exc) {
+                log.error("Could not write tracker journal, {} tracking changes are pending",
+                        batch.size() + pendingRecords.size(), exc);
+            }
+        }
+    }
+
+    private boolean write(JournalRecord record) throws IOException {
+        // only state changes are journaled, so re-arming recovered trackers does not grow the journal
+        var journaledTier = journaledTier(record.eventId());
+        if (record.tracked() ? journaledTier == record.priority() : journaledTier == null) {
+            return false;
+        }
+
+        ensureCapacity();
+        journal.put(record.tracked() ? (byte) (TRACKED_IN_TIER + record.priority().ordinal()) : UNTRACKED)
+                .putLong(record.eventId());
+        // the snapshot is taken from journaledEvents, so it only takes the change once the record is written
+        apply(record.eventId(), record.tracked() ? record.priority() : null);
+        return true;
+    }
+
+    /***
+     Moves the event into the tier's journaled events, or out of all of them for a null tier.
+     ***/
+    private void apply(long eventId, LiveEventPriority priority) {
+        for (var tier : TIERS) {
+            if (tier == priority) {
+                journaledEvents[tier.ordinal()].registerIfAbsent(eventId, NO_OP);
+            } else {
+                journaledEvents[tier.ordinal()].removeIfPresent(eventId, NO_OP);
+            }
+        }
+    }
+
+    private LiveEventPriority journaledTier(long eventId) {
+        for (var tier : TIERS) {
+            if (journaledEvents[tier.ordinal()].contains(eventId)) {
+                return tier;
+            }
+        }
+        return null;
+    }
+
+    /***
+     Makes room for a record by compacting the journal into the snapshot, and grows the journal file if even an empty
+     journal can't hold one.
+     ***/
+    private void ensureCapacity() throws IOException {
+        if (journal.remaining() >= RECORD_SIZE) {
+            return;
+        }
+
+        compact();
+        if (journal.remaining() < RECORD_SIZE) {
+            var size = Math.max(2L * journal.capacity(), RECORD_SIZE);
+            log.warn("Tracker journal of {} bytes can't hold a record, growing it to {} bytes", journal.capacity(), size);
+            var position = journal.position();
+            journal = journalChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            journal.position(position);
+        }
+    }
+
+    void compact() throws IOException {
+        var tierEventIds = new long[TIERS.length][];
+        var count = 0;
+        for (var tier : TIERS) {
+            tierEventIds[tier.ordinal()] = journaledEvents[tier.ordinal()].toArray();
+            count += tierEventIds[tier.ordinal()].length;
+        }
+
+        var snapshot = ByteBuffer.allocate((Long.BYTES + 1) * count + Long.BYTES);
+        snapshot.putLong(count);
+        for (var eventIds : tierEventIds) {
+            for (var eventId : eventIds) {
+                snapshot.putLong(eventId);
+            }
+        }
+        for (var tier : TIERS) {
+            for (int i = 0; i < tierEventIds[tier.ordinal()].length; i++) {
+                snapshot.put((byte) tier.ordinal());
+            }
+        }
+        snapshot.flip();
+
+        var temporarySnapshot = properties.directory().resolve(SNAPSHOT_FILE + ".tmp");
+        try (var channel = FileChannel.open(temporarySnapshot, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (snapshot.hasRemaining()) {
+                channel.write(snapshot);
+            }
+            channel.force(true);
+        }
+        Files.move(temporarySnapshot, snapshotPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        // stale records past the new end would otherwise be replayed, so the written part is zeroed
+        var written = journal.position();
+        var zeros = new byte[Math.min(64 * 1024, Math.max(1, written))];
+        journal.position(0);
+        while (journal.position() < written) {
+            journal.put(zeros, 0, Math.min(zeros.length, written - journal.position()));
+        }
+        journal.position(0);
+        journal.force();
+
+        log.debug("Tracker journal compacted into a snapshot of {} events", count);
+    }
+
+    private void readSnapshot() throws IOException {
+        if (!Files.exists(snapshotPath())) {
+            return;
+        }
+
+        var snapshot = ByteBuffer.wrap(Files.readAllBytes(snapshotPath()));
+        var count = (int) snapshot.getLong();
+        var tiers = snapshot.slice(Long.BYTES * (count + 1), snapshot.capacity() - Long.BYTES * (count + 1));
+        var hasTiers = tiers.remaining() >= count;
+        for (int i = 0; i < count; i++) {
+            var eventId = snapshot.getLong();
+            journaledEvents[hasTiers ? tiers.get(i) : LiveEventPriority.DEFAULT.ordinal()].registerIfAbsent(eventId, NO_OP);
+        }
+    }
+
+    private int replayJournal() {
+        var replayed = 0;
+        while (journal.remaining() >= RECORD_SIZE) {
+            var op = journal.get(journal.position());
+            if (op < TRACKED || op >= TRACKED_IN_TIER + TIERS.length) {
+                break;
+            }
+
+            journal.get();
+            var eventId = journal.getLong();
+            apply(eventId, op == UNTRACKED ? null : op == TRACKED ? LiveEventPriority.DEFAULT : TIERS[op - TRACKED_IN_TIER]);
+            replayed++;
+        }
+        return replayed;
+    }
+
+    private Path journalPath() {
+        return properties.directory().resolve(JOURNAL_FILE);
+    }
+
+    private Path snapshotPath() {
+        return properties.directory().resolve(SNAPSHOT_FILE);
+    }
+
+    private record JournalRecord(long eventId, boolean tracked, LiveEventPriority priority) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.sporty.live_events.service.journal;
+
+import com.sporty.live_events.configuration.LiveEventTrackerJournalProperties;
+import com.sporty.live_events.service.LiveEventPriority;
+import com.sporty.live_events.service.LiveEventTrackingCommand;
+import com.sporty.live_events.service.LiveEventTrackingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/***
+ Re-arms the trackers that were journaled before the last shutdown, in chunks through the bulk tracking path.
+ Trackers come back in the tier they were journaled in, the tiers from PREMIUM down, so when the capacity left is
+ short it is the lower tiers that admission control turns away.
+ Startup blocks until recovery completes or the recovery timeout elapses, whichever comes first.
+
+ Not created in cluster mode: the compacted control topic holds the cluster wide tracking state there, and replaying
+ this instance's journal to it would track again what other members untracked while this one was down.
+ ***/
+@Component
+@ConditionalOnProperty(prefix = "live-events.cluster", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class LiveEventTrackerRecoveryRunner implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(LiveEventTrackerRecoveryRunner.class);
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final LiveEventTrackerJournalService liveEventTrackerJournalService;
+
+    private final LiveEventTrackingService liveEventTrackingService;
+
+    private final LiveEventTrackerJournalProperties properties;
+
+    public LiveEventTrackerRecoveryRunner(LiveEventTrackerJournalService liveEventTrackerJournalService,
+                                          LiveEventTrackingService liveEventTrackingService,
+                                          LiveEventTrackerJournalProperties properties) {
+        this.liveEventTrackerJournalService = liveEventTrackerJournalService;
+        this.liveEventTrackingService = liveEventTrackingService;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException, ExecutionException {
+        var eventIds = liveEventTrackerJournalService.getJournaledEventIds();
+        if (!properties.enabled() || eventIds.length == 0) {
+            return;
+        }
+
+        var startNanos = System.nanoTime();
+        var recovery = CompletableFuture.runAsync(this::recover)
+                .whenComplete((ignored, exc) -> {
+                    if (exc != null) {
+                        log.error("Tracker recovery failed", exc);
+                    } else {
+                        log.info("Recovered {} live score trackers in {} ms", eventIds.length,
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                    }
+                });
+
+        try {
+            recovery.get(properties.recoveryTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException exc) {
+            log.warn("Tracker recovery did not complete within {}, continuing in the background", properties.recoveryTimeout());
+        }
+    }
+
+    void recover() {
+        for (var priority : LiveEventPriority.values()) {
+            var eventIds = liveEventTrackerJournalService.getJournaledEventIds(priority);
+            for (int start = 0; start < eventIds.length; start += CHUNK_SIZE) {
+                var end = Math.min(eventIds.length, start + CHUNK_SIZE);
+                var commands = new ArrayList<LiveEventTrackingCommand>(end - start);
+                for (int i = start; i < end; i++) {
+                    commands.add(new LiveEventTrackingCommand(eventIds[i], true, null, priority));
+                }
+                liveEventTrackingService.scheduleTrackers(commands);
+            }
+        }
+    }
+}
@@ -1,4 +1,19 @@
 package com.sporty.live_events.service.kafka;
 
-public record LiveScoreKafkaMessage(long eventId, String currentScore) {
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/***
+ trace is only carried in the payload when live-events.kafka.trace-in-payload is on, it goes out as record headers
+ otherwise, and is null on messages that were published without one.
+ ***/
+public record LiveScoreKafkaMessage(long eventId, String currentScore,
+                                    @JsonInclude(JsonInclude.Include.NON_NULL) LiveScoreTrace trace) {
+
+    public LiveScoreKafkaMessage(long eventId, String currentScore) {
+        this(eventId, currentScore, null);
+    }
+
+    public LiveScoreKafkaMessage withTrace(LiveScoreTrace trace) {
+        return trace == this.trace ? this : new LiveScoreKafkaMessage(eventId, currentScore, trace);
+    }
 }
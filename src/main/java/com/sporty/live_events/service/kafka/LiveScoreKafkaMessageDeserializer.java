@@ -0,0 +1,88 @@
+package com.sporty.live_events.service.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/***
+ Reads both the binary encoding of LiveScoreKafkaMessageSerializer and the JSON one of Spring's JsonSerializer,
+ told apart by the first byte, so consumers keep working while producers switch formats.
+ ***/
+public class LiveScoreKafkaMessageDeserializer implements Deserializer<LiveScoreKafkaMessage> {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public LiveScoreKafkaMessage deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        if (data[0] == '{') {
+            return deserializeJson(data);
+        }
+        if (data[0] != LiveScoreKafkaMessageSerializer.SCHEMA_VERSION
+                && data[0] != LiveScoreKafkaMessageSerializer.TRACED_SCHEMA_VERSION) {
+            throw new SerializationException("Unknown live score schema version " + data[0] + " on topic " + topic);
+        }
+
+        try {
+            return decode(data);
+        } catch (IndexOutOfBoundsException | BufferUnderflowException exc) {
+            throw new SerializationException("Truncated live score record on topic " + topic, exc);
+        }
+    }
+
+    public static LiveScoreKafkaMessage decode(byte[] data) {
+        int position = 1;
+
+        long eventId = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            eventId = (eventId << 8) | (data[position++] & 0xFF);
+        }
+
+        int scoreLength = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[position++];
+            scoreLength |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+
+        var score = new String(data, position, scoreLength, StandardCharsets.UTF_8);
+        if (data[0] != LiveScoreKafkaMessageSerializer.TRACED_SCHEMA_VERSION) {
+            return new LiveScoreKafkaMessage(eventId, score);
+        }
+
+        var buffer = ByteBuffer.wrap(data, position + scoreLength, data.length - position - scoreLength);
+        var tickedAt = buffer.getLong();
+        var fetchStartedAt = tickedAt + getZigZagVarLong(buffer);
+        var fetchEndedAt = fetchStartedAt + getZigZagVarLong(buffer);
+        var publishedAt = fetchEndedAt + getZigZagVarLong(buffer);
+        return new LiveScoreKafkaMessage(eventId, score, new LiveScoreTrace(tickedAt, fetchStartedAt, fetchEndedAt, publishedAt));
+    }
+
+    private static long getZigZagVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private LiveScoreKafkaMessage deserializeJson(byte[] data) {
+        try {
+            return objectMapper.readValue(data, LiveScoreKafkaMessage.class);
+        } catch (IOException exc) {
+            throw new SerializationException("Could not deserialize live score json", exc);
+        }
+    }
+}
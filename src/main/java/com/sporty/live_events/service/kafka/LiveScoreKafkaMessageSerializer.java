@@ -0,0 +1,141 @@
+package com.sporty.live_events.service.kafka;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.ByteBuffer;
+
+/***
+ Compact binary encoding of LiveScoreKafkaMessage:
+ [schema version: 1 byte][eventId: 8 bytes][score length: varint][score: UTF-8 bytes]
+ Messages carrying their trace use schema version 2, which appends it as
+ [tickedAt: 8 bytes][fetch start, fetch end and publish time: zigzag varlong deltas to the previous stamp],
+ a handful of bytes on top of version 1 since the stages are micro to milliseconds apart.
+
+ The encoded size is computed up front so that every record costs exactly one allocation, the returned array.
+ Callers owning a buffer can encode into it directly with encode(...) and skip that one too.
+ ***/
+public class LiveScoreKafkaMessageSerializer implements Serializer<LiveScoreKafkaMessage> {
+    public static final byte SCHEMA_VERSION = 1;
+    public static final byte TRACED_SCHEMA_VERSION = 2;
+
+    @Override
+    public byte[] serialize(String topic, LiveScoreKafkaMessage message) {
+        if (message == null) {
+            return null;
+        }
+
+        var bytes = new byte[encodedSize(message)];
+        encode(message, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    public static int encodedSize(LiveScoreKafkaMessage message) {
+        var scoreLength = utf8Length(message.currentScore());
+        var size = 1 + Long.BYTES + varIntSize(scoreLength) + scoreLength;
+
+        var trace = message.trace();
+        if (trace != null) {
+            size += Long.BYTES
+                    + varLongSize(zigZag(trace.fetchStartedAtMicros() - trace.tickedAtMicros()))
+                    + varLongSize(zigZag(trace.fetchEndedAtMicros() - trace.fetchStartedAtMicros()))
+                    + varLongSize(zigZag(trace.publishedAtMicros() - trace.fetchEndedAtMicros()));
+        }
+        return size;
+    }
+
+    public static void encode(LiveScoreKafkaMessage message, ByteBuffer target) {
+        var score = message.currentScore();
+        var trace = message.trace();
+
+        target.put(trace == null ? SCHEMA_VERSION : TRACED_SCHEMA_VERSION);
+        target.putLong(message.eventId());
+        putVarInt(target, utf8Length(score));
+
+        for (int i = 0; i < score.length(); i++) {
+            char c = score.charAt(i);
+            if (c < 0x80) {
+                target.put((byte) c);
+            } else if (c < 0x800) {
+                target.put((byte) (0xC0 | (c >> 6)));
+                target.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < score.length() && Character.isLowSurrogate(score.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, score.charAt(++i));
+                target.put((byte) (0xF0 | (codePoint >> 18)));
+                target.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                target.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                target.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                target.put((byte) '?');
+            } else {
+                target.put((byte) (0xE0 | (c >> 12)));
+                target.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                target.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+
+        if (trace != null) {
+            target.putLong(trace.tickedAtMicros());
+            putVarLong(target, zigZag(trace.fetchStartedAtMicros() - trace.tickedAtMicros()));
+            putVarLong(target, zigZag(trace.fetchEndedAtMicros() - trace.fetchStartedAtMicros()));
+            putVarLong(target, zigZag(trace.publishedAtMicros() - trace.fetchEndedAtMicros()));
+        }
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static void putVarInt(ByteBuffer target, int value) {
+        while ((value & ~0x7F) != 0) {
+            target.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        target.put((byte) value);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static void putVarLong(ByteBuffer target, long value) {
+        while ((value & ~0x7FL) != 0) {
+            target.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        target.put((byte) value);
+    }
+}
@@ -0,0 +1,11 @@
+package com.sporty.live_events.service.kafka;
+
+public class LiveScoreKafkaPublisherException extends RuntimeException {
+    public LiveScoreKafkaPublisherException(String message) {
+        super(message);
+    }
+
+    public LiveScoreKafkaPublisherException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,7 +1,13 @@
 package com.sporty.live_events.service.kafka;
 
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 
 public interface LiveScoreKafkaPublisherService {
-    void publishMessage(LiveScoreKafkaMessage message) throws ExecutionException, InterruptedException;
+    /***
+     Hands the message over to the producer without waiting for the broker.
+     The returned future completes once the message is delivered, and completes exceptionally when it could only be
+     routed to the dead letter topic.
+     A trace on the message is stamped with the hand-over time and sent as record headers.
+     ***/
+    CompletableFuture<Void> publishMessage(LiveScoreKafkaMessage message);
 }
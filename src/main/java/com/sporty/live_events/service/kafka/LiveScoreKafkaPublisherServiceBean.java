@@ -1,14 +1,23 @@
 package com.sporty.live_events.service.kafka;
 
+import com.sporty.live_events.configuration.LiveScoreKafkaPublisherProperties;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
+/***
+ Delivery retries are left to the idempotent producer, which retries within delivery.timeout.ms and keeps the order of
+ an event's records. Resending a failed record from here could land it after a newer score of the same event.
+ A record that still fails goes to the dead letter topic.
+ ***/
 @Service
 public class LiveScoreKafkaPublisherServiceBean implements LiveScoreKafkaPublisherService {
     private static final Logger log = LoggerFactory.getLogger(LiveScoreKafkaPublisherServiceBean.class);
@@ -16,26 +25,89 @@ public class LiveScoreKafkaPublisherServiceBean implements LiveScoreKafkaPublish
     private static final String TOPIC = "live_score";
 
     private final KafkaTemplate<String, LiveScoreKafkaMessage> kafkaTemplate;
+    private final LiveScoreKafkaPublisherProperties properties;
+    private final LiveScorePipelineMetrics liveScorePipelineMetrics;
+    private final Semaphore inFlight;
 
-    public LiveScoreKafkaPublisherServiceBean(KafkaTemplate<String, LiveScoreKafkaMessage> kafkaTemplate) {
+    public LiveScoreKafkaPublisherServiceBean(KafkaTemplate<String, LiveScoreKafkaMessage> kafkaTemplate,
+                                              LiveScorePipelineMetrics liveScorePipelineMetrics,
+                                              LiveScoreKafkaPublisherProperties properties) {
         this.kafkaTemplate = kafkaTemplate;
+        this.properties = properties;
+        this.liveScorePipelineMetrics = liveScorePipelineMetrics;
+        this.inFlight = new Semaphore(properties.maxInFlight());
     }
 
     @Override
-    @Retryable(
-            maxAttempts = 3,
-            backoff = @Backoff(delay = 1000)
-    )
-    public void publishMessage(LiveScoreKafkaMessage message) throws ExecutionException, InterruptedException {
-        log.info("Sending kafka message for live score {}", message);
+    public CompletableFuture<Void> publishMessage(LiveScoreKafkaMessage message) {
+        acquireInFlightPermit(message);
+        log.debug("Sending kafka message for live score {}", message);
 
+        var startNanos = System.nanoTime();
+        var trace = message.trace() == null ? null : message.trace().published(LiveScoreTrace.nowMicros());
+        var payload = message.withTrace(properties.traceInPayload() ? trace : null);
+        var delivery = new CompletableFuture<Void>();
+        delivery.whenComplete((ignored, exc) -> {
+            inFlight.release();
+            liveScorePipelineMetrics.recordPublish(message.eventId(), startNanos, exc == null);
+            if (exc == null && trace != null) {
+                // the ack can't travel in the record it acknowledges, it only ends up in the stage latencies
+                liveScorePipelineMetrics.recordStages(trace, LiveScoreTrace.nowMicros());
+            }
+        });
+
+        send(payload, trace, delivery);
+        return delivery;
+    }
+
+    private void acquireInFlightPermit(LiveScoreKafkaMessage message) {
         try {
-            kafkaTemplate.send(TOPIC, message);
-            log.info("Kafka message published for live score {}", message);
-        } catch (Exception exc) {
-            log.error("Exception during kafka publish {}", message, exc);
-            throw exc;
+            if (!inFlight.tryAcquire(properties.backpressureTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new LiveScoreKafkaPublisherException("Too many kafka messages in flight, could not publish " + message);
+            }
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new LiveScoreKafkaPublisherException("Interrupted while waiting to publish " + message, exc);
         }
     }
 
+    private void send(LiveScoreKafkaMessage message, LiveScoreTrace trace, CompletableFuture<Void> delivery) {
+        sendAsync(TOPIC, message, trace).whenComplete((result, exc) -> {
+            if (exc == null) {
+                log.debug("Kafka message published for live score {}", message);
+                delivery.complete(null);
+            } else {
+                log.error("Exception during kafka publish {}, routing it to {}", message, properties.deadLetterTopic(), exc);
+                // dead lettering must not run on the producer's network thread the callbacks are invoked on
+                CompletableFuture.runAsync(() -> sendToDeadLetterTopic(message, trace, exc, delivery));
+            }
+        });
+    }
+
+    private void sendToDeadLetterTopic(LiveScoreKafkaMessage message, LiveScoreTrace trace, Throwable cause,
+                                       CompletableFuture<Void> delivery) {
+        sendAsync(properties.deadLetterTopic(), message, trace).whenComplete((result, exc) -> {
+            if (exc != null) {
+                log.error("Could not route live score {} to {}", message, properties.deadLetterTopic(), exc);
+            }
+            delivery.completeExceptionally(new LiveScoreKafkaPublisherException("Failed to publish live score " + message, cause));
+        });
+    }
+
+    private CompletableFuture<SendResult<String, LiveScoreKafkaMessage>> sendAsync(String topic, LiveScoreKafkaMessage message,
+                                                                                   LiveScoreTrace trace) {
+        try {
+            // keyed by event id so that all scores of an event land on the same partition in order
+            var key = String.valueOf(message.eventId());
+            if (trace == null || !properties.traceHeaders()) {
+                return kafkaTemplate.send(topic, key, message);
+            }
+
+            var record = new ProducerRecord<>(topic, key, message);
+            LiveScoreTraceHeaders.write(record.headers(), trace);
+            return kafkaTemplate.send(record);
+        } catch (Exception exc) {
+            return CompletableFuture.failedFuture(exc);
+        }
+    }
 }
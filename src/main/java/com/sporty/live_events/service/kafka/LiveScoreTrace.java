@@ -0,0 +1,32 @@
+package com.sporty.live_events.service.kafka;
+
+import java.time.Instant;
+
+/***
+ When the scheduler tick that fired a poll cycle was due, when the provider call started and ended, and when the
+ score was handed to the producer, in wall clock microseconds since the epoch, so that consumers in other processes
+ can measure against their own clock. publishedAtMicros is 0 until the publisher stamps it.
+ A retried fetch keeps the tick of its first attempt, so the trace shows how long the score was stuck behind retries.
+ ***/
+public record LiveScoreTrace(long tickedAtMicros, long fetchStartedAtMicros, long fetchEndedAtMicros, long publishedAtMicros) {
+
+    public LiveScoreTrace(long tickedAtMicros, long fetchStartedAtMicros, long fetchEndedAtMicros) {
+        this(tickedAtMicros, fetchStartedAtMicros, fetchEndedAtMicros, 0);
+    }
+
+    /***
+     Scores pushed by the provider stream have no tick or fetch, all their stages start when they were received.
+     ***/
+    public static LiveScoreTrace receivedAt(long receivedAtMicros) {
+        return new LiveScoreTrace(receivedAtMicros, receivedAtMicros, receivedAtMicros);
+    }
+
+    public LiveScoreTrace published(long publishedAtMicros) {
+        return new LiveScoreTrace(tickedAtMicros, fetchStartedAtMicros, fetchEndedAtMicros, publishedAtMicros);
+    }
+
+    public static long nowMicros() {
+        var now = Instant.now();
+        return now.getEpochSecond() * 1_000_000 + now.getNano() / 1_000;
+    }
+}
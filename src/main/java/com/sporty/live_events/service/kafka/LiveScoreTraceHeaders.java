@@ -0,0 +1,54 @@
+package com.sporty.live_events.service.kafka;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+
+/***
+ Record headers of a LiveScoreTrace, one per stage, with the epoch microseconds as decimal text so that they can be
+ read without our classes, by kcat or a consumer in another language.
+ ***/
+public final class LiveScoreTraceHeaders {
+    public static final String TICKED_AT = "live-score-ticked-at";
+    public static final String FETCH_STARTED_AT = "live-score-fetch-started-at";
+    public static final String FETCH_ENDED_AT = "live-score-fetch-ended-at";
+    public static final String PUBLISHED_AT = "live-score-published-at";
+
+    private LiveScoreTraceHeaders() {
+    }
+
+    public static void write(Headers headers, LiveScoreTrace trace) {
+        headers.add(TICKED_AT, encode(trace.tickedAtMicros()));
+        headers.add(FETCH_STARTED_AT, encode(trace.fetchStartedAtMicros()));
+        headers.add(FETCH_ENDED_AT, encode(trace.fetchEndedAtMicros()));
+        headers.add(PUBLISHED_AT, encode(trace.publishedAtMicros()));
+    }
+
+    /***
+     The trace of a record, or null when it was published without one or its headers are not ours.
+     ***/
+    public static LiveScoreTrace read(Headers headers) {
+        try {
+            var tickedAt = decode(headers.lastHeader(TICKED_AT));
+            if (tickedAt < 0) {
+                return null;
+            }
+            return new LiveScoreTrace(tickedAt, decode(headers.lastHeader(FETCH_STARTED_AT)),
+                    decode(headers.lastHeader(FETCH_ENDED_AT)), Math.max(0, decode(headers.lastHeader(PUBLISHED_AT))));
+        } catch (NumberFormatException exc) {
+            return null;
+        }
+    }
+
+    private static byte[] encode(long micros) {
+        return Long.toString(micros).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static long decode(Header header) {
+        if (header == null || header.value() == null) {
+            return -1;
+        }
+        return Long.parseLong(new String(header.value(), StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,362 @@
+package com.sporty.live_events.service.metrics;
+
+import com.sporty.live_events.configuration.LiveScoreMetricsProperties;
+import com.sporty.live_events.service.admission.LiveEventTierLoad;
+import com.sporty.live_events.service.kafka.LiveScoreTrace;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/***
+ Meters of the poll-to-publish pipeline, exposed under /actuator/metrics and /actuator/prometheus.
+ Per-event timers are registered when an event starts being tracked, while fewer than maxTaggedEvents events are
+ tagged, and removed from the registry once it is untracked. So their cardinality is bounded by the live events,
+ and events tracked later are tagged as earlier ones end.
+ ***/
+@Component
+public class LiveScorePipelineMetrics {
+    private static final String FETCH = "live.score.fetch";
+    private static final String PUBLISH = "live.score.publish";
+    private static final String BY_EVENT = ".by.event";
+    private static final String STAGE = "live.score.stage";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean perEventTags;
+    private final int maxTaggedEvents;
+    private final Timer fetchTimer;
+    private final Timer batchFetchTimer;
+    private final Timer publishTimer;
+    private final Timer queueStage;
+    private final Timer fetchStage;
+    private final Timer handOverStage;
+    private final Timer ackStage;
+    private final Timer totalStage;
+    private final Counter fetchFailures;
+    private final Counter publishFailures;
+    private final Counter taskFailures;
+    private final Counter fetchRetries;
+    private final Timer rateLimitWait;
+    private final Counter streamUpdates;
+    private final Counter streamReconnects;
+    private final Counter fanOutResyncs;
+    private final Counter journalDrops;
+    private final Map<String, Counter> skippedPolls = new ConcurrentHashMap<>();
+    private final Map<String, Counter> trackingCommands = new ConcurrentHashMap<>();
+    private final Map<String, Counter> admissionRejections = new ConcurrentHashMap<>();
+    private final Map<String, Counter> hedges = new ConcurrentHashMap<>();
+    private final Map<String, Counter> batchMismatches = new ConcurrentHashMap<>();
+    private final Map<Long, EventTimers> eventTimers = new ConcurrentHashMap<>();
+
+    public LiveScorePipelineMetrics(MeterRegistry meterRegistry, LiveScoreMetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.perEventTags = properties.perEventTags();
+        this.maxTaggedEvents = properties.maxTaggedEvents();
+        this.fetchTimer = Timer.builder(FETCH)
+                .description("Live score provider calls")
+                .tag("mode", "single")
+                .register(meterRegistry);
+        this.batchFetchTimer = Timer.builder(FETCH)
+                .description("Live score provider calls")
+                .tag("mode", "batch")
+                .register(meterRegistry);
+        this.publishTimer = Timer.builder(PUBLISH)
+                .description("Time from handing a live score to Kafka until it is acknowledged, retries included")
+                .register(meterRegistry);
+        this.queueStage = stageTimer("queue");
+        this.fetchStage = stageTimer("fetch");
+        this.handOverStage = stageTimer("handover");
+        this.ackStage = stageTimer("ack");
+        this.totalStage = stageTimer("total");
+        this.fetchFailures = failureCounter("fetch");
+        this.publishFailures = failureCounter("publish");
+        this.taskFailures = failureCounter("task");
+        this.fetchRetries = Counter.builder("live.score.fetch.retries")
+                .description("Failed live score provider calls retried on a later scheduler tick")
+                .register(meterRegistry);
+        this.rateLimitWait = Timer.builder("live.score.rate.limit.wait")
+                .description("Time provider calls were held back by the provider rate limit, on top of the schedule lag")
+                .register(meterRegistry);
+        this.streamUpdates = Counter.builder("live.score.stream.updates")
+                .description("Live score changes received from the provider stream")
+                .register(meterRegistry);
+        this.streamReconnects = Counter.builder("live.score.stream.reconnects")
+                .description("Attempts to reconnect the provider stream after it dropped or could not connect")
+                .register(meterRegistry);
+        this.fanOutResyncs = Counter.builder("live.score.fanout.resyncs")
+                .description("Score subscribers that fell a whole update ring behind and were sent a fresh snapshot")
+                .register(meterRegistry);
+        this.journalDrops = Counter.builder("live.events.journal.dropped")
+                .description("Tracking changes not journaled because the journal writer was too far behind")
+                .register(meterRegistry);
+    }
+
+    public void recordFetch(long eventId, long startNanos, boolean success) {
+        var elapsedNanos = System.nanoTime() - startNanos;
+        fetchTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        var timers = eventTimers.get(eventId);
+        if (timers != null) {
+            timers.fetch().record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+        if (!success) {
+            fetchFailures.increment();
+        }
+    }
+
+    public void recordBatchFetch(long startNanos, boolean success) {
+        batchFetchTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (!success) {
+            fetchFailures.increment();
+        }
+    }
+
+    public void recordPublish(long eventId, long startNanos, boolean success) {
+        var elapsedNanos = System.nanoTime() - startNanos;
+        publishTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        var timers = eventTimers.get(eventId);
+        if (timers != null) {
+            timers.publish().record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+        if (!success) {
+            publishFailures.increment();
+        }
+    }
+
+    /***
+     Splits the time from the tick of a poll cycle until the broker acknowledged its score into histograms per stage:
+     queue until the provider call starts, retries of the cycle included, fetch, handover to the producer, ack by
+     the broker, and the total, so that a slow p99 can be attributed to the schedule, the provider or Kafka.
+     ***/
+    public void recordStages(LiveScoreTrace trace, long ackedAtMicros) {
+        recordStage(queueStage, trace.fetchStartedAtMicros() - trace.tickedAtMicros());
+        recordStage(fetchStage, trace.fetchEndedAtMicros() - trace.fetchStartedAtMicros());
+        recordStage(handOverStage, trace.publishedAtMicros() - trace.fetchEndedAtMicros());
+        recordStage(ackStage, ackedAtMicros - trace.publishedAtMicros());
+        recordStage(totalStage, ackedAtMicros - trace.tickedAtMicros());
+    }
+
+    public void recordRateLimitWait(long waitNanos) {
+        rateLimitWait.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /***
+     Scores of a batch query the provider returned for events that were not requested or more than once, and
+     requested events it returned no score for.
+     ***/
+    public void recordBatchMismatch(String kind, int scores) {
+        batchMismatches.computeIfAbsent(kind, key -> Counter.builder("live.score.batch.mismatches")
+                        .description("Batch query scores the provider returned unrequested or left missing")
+                        .tag("kind", key)
+                        .register(meterRegistry))
+                .increment(scores);
+    }
+
+    public void recordFetchRetry() {
+        fetchRetries.increment();
+    }
+
+    /***
+     Polls not sent because the provider's circuit was open, its concurrency or rate limit reached, or because the
+     provider stream already delivers the event's scores, and polls of priority tiers stretched or shed under overload.
+     ***/
+    public void recordSkippedPolls(String reason, int polls) {
+        skippedPolls.computeIfAbsent(reason, key -> Counter.builder("live.score.polls.skipped")
+                        .description("Live score polls skipped to protect the provider or made unnecessary by its stream")
+                        .tag("reason", key)
+                        .register(meterRegistry))
+                .increment(polls);
+    }
+
+    /***
+     Tracking commands read from the command topic, by whether they were applied, collapsed into a later command
+     of the same event in their batch, or invalid.
+     ***/
+    public void recordTrackingCommands(String result, int commands) {
+        trackingCommands.computeIfAbsent(result, key -> Counter.builder("live.events.commands")
+                        .description("Tracking commands read from the command topic")
+                        .tag("result", key)
+                        .register(meterRegistry))
+                .increment(commands);
+    }
+
+    public void recordJournalDrop() {
+        journalDrops.increment();
+    }
+
+    public void recordTaskFailure() {
+        taskFailures.increment();
+    }
+
+    public void recordStreamUpdate() {
+        streamUpdates.increment();
+    }
+
+    public void recordStreamReconnect() {
+        streamReconnects.increment();
+    }
+
+    public <T> void monitorStream(T stream, ToDoubleFunction<T> connected) {
+        Gauge.builder("live.score.stream.connected", stream, connected)
+                .description("1 while the provider stream is connected, polling is the fallback otherwise")
+                .register(meterRegistry);
+    }
+
+    public void recordFanOutResync() {
+        fanOutResyncs.increment();
+    }
+
+    public <T> void monitorFanOut(T fanOut, ToDoubleFunction<T> subscribers) {
+        Gauge.builder("live.score.fanout.subscribers", fanOut, subscribers)
+                .description("Clients subscribed to live score updates")
+                .register(meterRegistry);
+    }
+
+    /***
+     Gauge of how late the scheduler ticks run compared to their intended time.
+     ***/
+    public <T> void monitorScheduleLag(T timingWheel, ToDoubleFunction<T> lastLatenessNanos, ToDoubleFunction<T> maxLatenessNanos) {
+        Gauge.builder("live.score.schedule.lag", timingWheel, wheel -> lastLatenessNanos.applyAsDouble(wheel) / 1e9)
+                .description("Lateness of the last scheduler tick")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("live.score.schedule.lag.max", timingWheel, wheel -> maxLatenessNanos.applyAsDouble(wheel) / 1e9)
+                .description("Highest lateness of a scheduler tick since startup")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public <T> void monitorMissedTicks(T timingWheel, ToDoubleFunction<T> missedTicks) {
+        FunctionCounter.builder("live.score.schedule.missed.ticks", timingWheel, missedTicks)
+                .description("Scheduler ticks that ran more than a tick late and were caught up by the next one")
+                .register(meterRegistry);
+    }
+
+    public <T> void monitorActiveTrackers(T trackers, ToDoubleFunction<T> count) {
+        Gauge.builder("live.events.trackers.active", trackers, count)
+                .description("Events whose live score is currently tracked")
+                .register(meterRegistry);
+    }
+
+    public <T> void monitorCapacity(T admission, ToDoubleFunction<T> capacity) {
+        Gauge.builder("live.events.capacity", admission, capacity)
+                .description("Event polls per second the service sustains, from the provider budget and the workers")
+                .register(meterRegistry);
+    }
+
+    /***
+     Gauges of a priority tier: its trackers, the polls per second they ask for, the factor their intervals are
+     stretched by and 1 while the tier is shed.
+     ***/
+    public <T> void monitorTierLoad(String tier, T admission, Function<T, LiveEventTierLoad> load) {
+        Gauge.builder("live.events.tier.trackers", admission, source -> load.apply(source).trackers())
+                .description("Tracked events of the priority tier")
+                .tag("tier", tier)
+                .register(meterRegistry);
+        Gauge.builder("live.events.tier.load", admission, source -> load.apply(source).pollsPerSecond())
+                .description("Event polls per second the priority tier asks for")
+                .tag("tier", tier)
+                .register(meterRegistry);
+        Gauge.builder("live.events.tier.stretch", admission, source -> load.apply(source).stretch())
+                .description("Factor the poll intervals of the priority tier are stretched by")
+                .tag("tier", tier)
+                .register(meterRegistry);
+        Gauge.builder("live.events.tier.shed", admission, source -> load.apply(source).shed() ? 1 : 0)
+                .description("1 while the priority tier is shed and not polled")
+                .tag("tier", tier)
+                .register(meterRegistry);
+    }
+
+    public void recordAdmissionRejected(String tier) {
+        admissionRejections.computeIfAbsent(tier, key -> Counter.builder("live.events.admission.rejected")
+                        .description("New trackers rejected because their priority tier is at capacity")
+                        .tag("tier", key)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    /***
+     Score queries the primary provider was slow to answer: won and lost by the hedge sent to the secondary provider,
+     or throttled when the hedge budget or the secondary's health held it back.
+     ***/
+    public void recordHedge(String outcome) {
+        hedges.computeIfAbsent(outcome, key -> Counter.builder("live.score.hedges")
+                        .description("Score queries hedged to the secondary provider, by outcome")
+                        .tag("outcome", key)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    /***
+     Gauges of a score provider: its health between 0 and 1, and how long a query waits for it before it is hedged.
+     ***/
+    public <T> void monitorProvider(String provider, T source, ToDoubleFunction<T> health, ToDoubleFunction<T> hedgeDelayNanos) {
+        Gauge.builder("live.score.provider.health", source, health)
+                .description("Decaying success rate of the score provider's calls")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder("live.score.provider.hedge.delay", source, value -> hedgeDelayNanos.applyAsDouble(value) / 1e9)
+                .description("Time a score query waits for the provider before it is hedged to the other one")
+                .tag("provider", provider)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /***
+     Registers the per-event timers of an event that starts being tracked, unless maxTaggedEvents events are tagged.
+     ***/
+    public synchronized void tagEvent(long eventId) {
+        if (!perEventTags || eventTimers.size() >= maxTaggedEvents || eventTimers.containsKey(eventId)) {
+            return;
+        }
+
+        eventTimers.put(eventId, new EventTimers(eventTimer(FETCH, eventId), eventTimer(PUBLISH, eventId)));
+    }
+
+    /***
+     Removes the per-event timers of an untracked event, calls of it still in flight are then only timed untagged.
+     ***/
+    public synchronized void untagEvent(long eventId) {
+        var timers = eventTimers.remove(eventId);
+        if (timers != null) {
+            meterRegistry.remove(timers.fetch());
+            meterRegistry.remove(timers.publish());
+        }
+    }
+
+    private Timer eventTimer(String name, long eventId) {
+        return Timer.builder(name + BY_EVENT)
+                .tag("event", String.valueOf(eventId))
+                .register(meterRegistry);
+    }
+
+    private static void recordStage(Timer timer, long micros) {
+        // the stamps come from the wall clock, which may step back between two of them
+        timer.record(Math.max(0, micros), TimeUnit.MICROSECONDS);
+    }
+
+    private Timer stageTimer(String stage) {
+        return Timer.builder(STAGE)
+                .description("Stages of a poll cycle, from its scheduler tick until the broker acknowledged its score")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Counter failureCounter(String stage) {
+        return Counter.builder("live.score.failures")
+                .description("Failed live score fetches, publishes and poll cycles")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    private record EventTimers(Timer fetch, Timer publish) {
+    }
+}
@@ -0,0 +1,454 @@
+package com.sporty.live_events.service.scheduler;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/***
+ A single hashed timing wheel owning every tracked event id.
+ Only the ticker thread calling advance() touches the buckets; other threads hand over new entries through a
+ queue and cancel by flagging, so scheduling and unscheduling never contend with a running tick.
+ All event ids due in the same tick are handed to the dispatcher together.
+
+ Rescheduling changes the interval of a live entry in place and moves its next deadline to last fire + new interval.
+ The move only adds the entry to its new bucket, the copy left behind is dropped when its bucket comes around.
+ Retries move the next deadline the same way, without changing the interval. The failed fires of the current cycle
+ and when the cycle started are kept on the entry, so callers track their retries without a map of their own.
+
+ Live entries are looked up by their primitive event id without a lock, see EntryTable. Only schedule and cancel,
+ which run when an event is tracked or untracked, serialize on the table.
+
+ With maxInitialFiresPerTick set, the first fires of new entries are spread: each tick takes at most that many,
+ the rest go to the following ticks. A burst of new entries then keeps its spread phases in every later cycle,
+ instead of firing together each interval, while an entry scheduled on its own still fires on the next tick.
+ ***/
+public class HashedTimingWheel {
+    private static final long NEVER_FIRED = -1;
+
+    private final long tickNanos;
+    private final int mask;
+    private final ArrayDeque<Entry>[] buckets;
+    private final EntryTable entries = new EntryTable();
+    private final Queue<Entry> pendingEntries = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry> rescheduledEntries = new ConcurrentLinkedQueue<>();
+    private final Queue<Retry> retries = new ConcurrentLinkedQueue<>();
+    private final Consumer<long[]> dispatcher;
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    private final int maxInitialFiresPerTick;
+
+    private long[] dueBuffer = new long[64];
+    private long spreadTick;
+    private int spreadFires;
+    private volatile long currentTick;
+    private volatile long lastTickLatenessNanos;
+    private volatile long maxTickLatenessNanos;
+    private volatile long missedTicks;
+
+    public HashedTimingWheel(Duration tickDuration, int wheelSize, Consumer<long[]> dispatcher) {
+        this(tickDuration, wheelSize, 0, dispatcher, System::nanoTime);
+    }
+
+    public HashedTimingWheel(Duration tickDuration, int wheelSize, int maxInitialFiresPerTick, Consumer<long[]> dispatcher) {
+        this(tickDuration, wheelSize, maxInitialFiresPerTick, dispatcher, System::nanoTime);
+    }
+
+    HashedTimingWheel(Duration tickDuration, int wheelSize, Consumer<long[]> dispatcher, LongSupplier nanoClock) {
+        this(tickDuration, wheelSize, 0, dispatcher, nanoClock);
+    }
+
+    @SuppressWarnings("unchecked")
+    HashedTimingWheel(Duration tickDuration, int wheelSize, int maxInitialFiresPerTick, Consumer<long[]> dispatcher,
+                      LongSupplier nanoClock) {
+        if (tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("Tick duration must be positive: " + tickDuration);
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("Wheel size must be positive: " + wheelSize);
+        }
+
+        var size = Integer.highestOneBit(wheelSize) == wheelSize ? wheelSize : Integer.highestOneBit(wheelSize) << 1;
+
+        this.tickNanos = tickDuration.toNanos();
+        this.mask = size - 1;
+        this.buckets = new ArrayDeque[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.dispatcher = dispatcher;
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+        this.maxInitialFiresPerTick = Math.max(0, maxInitialFiresPerTick);
+    }
+
+    public boolean schedule(long eventId, Duration interval) {
+        var entry = new Entry(eventId, toTicks(interval));
+        if (!entries.putIfAbsent(entry)) {
+            return false;
+        }
+
+        entry.deadlineTick = currentTick + 1;
+        pendingEntries.add(entry);
+        return true;
+    }
+
+    public boolean reschedule(long eventId, Duration interval) {
+        var entry = entries.get(eventId);
+        if (entry == null) {
+            return false;
+        }
+
+        var intervalTicks = toTicks(interval);
+        if (entry.intervalTicks != intervalTicks) {
+            entry.intervalTicks = intervalTicks;
+            rescheduledEntries.add(entry);
+        }
+        return true;
+    }
+
+    /***
+     Fires the event once more after the delay unless its regular fire comes first, its interval continues from there.
+     ***/
+    public boolean scheduleRetry(long eventId, Duration delay) {
+        var entry = entries.get(eventId);
+        if (entry == null) {
+            return false;
+        }
+
+        retries.add(new Retry(entry, currentTick + toTicks(delay)));
+        return true;
+    }
+
+    /***
+     Counts a failed fire of the event's current cycle, the first one also records when the cycle started.
+     Returns the failed fires of the cycle so far, or 0 if the event is not scheduled.
+     ***/
+    public int recordFailedFire(long eventId, long cycleStartedAt) {
+        var entry = entries.get(eventId);
+        if (entry == null) {
+            return 0;
+        }
+
+        synchronized (entry) {
+            if (entry.failedFires == 0) {
+                entry.cycleStartedAt = cycleStartedAt;
+            }
+            return ++entry.failedFires;
+        }
+    }
+
+    /***
+     When the event's current cycle started if one of its fires failed, the given start otherwise.
+     ***/
+    public long getCycleStartedAt(long eventId, long startedAt) {
+        var entry = entries.get(eventId);
+        return entry != null && entry.failedFires > 0 ? entry.cycleStartedAt : startedAt;
+    }
+
+    /***
+     Forgets the failed fires of the event's current cycle. Cheap when there were none, as after most fires.
+     ***/
+    public void endCycle(long eventId) {
+        var entry = entries.get(eventId);
+        if (entry == null || entry.failedFires == 0) {
+            return;
+        }
+
+        synchronized (entry) {
+            entry.failedFires = 0;
+        }
+    }
+
+    public boolean cancel(long eventId) {
+        var entry = entries.remove(eventId);
+        if (entry == null) {
+            return false;
+        }
+
+        entry.cancelled = true;
+        return true;
+    }
+
+    public boolean contains(long eventId) {
+        return entries.get(eventId) != null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getLastTickLatenessNanos() {
+        return lastTickLatenessNanos;
+    }
+
+    public long getMaxTickLatenessNanos() {
+        return maxTickLatenessNanos;
+    }
+
+    /***
+     Ticks that were not run on time but caught up by a later advance(), as the ticker fell more than a tick behind.
+     ***/
+    public long getMissedTicks() {
+        return missedTicks;
+    }
+
+    long getCurrentTick() {
+        return currentTick;
+    }
+
+    public void advance() {
+        advance(nanoClock.getAsLong());
+    }
+
+    synchronized void advance(long nowNanos) {
+        var targetTick = (nowNanos - startNanos) / tickNanos;
+        if (targetTick - currentTick > 1) {
+            missedTicks += targetTick - currentTick - 1;
+        }
+
+        while (currentTick < targetTick) {
+            var tick = currentTick + 1;
+            var lateness = nowNanos - (startNanos + tick * tickNanos);
+
+            lastTickLatenessNanos = lateness;
+            if (lateness > maxTickLatenessNanos) {
+                maxTickLatenessNanos = lateness;
+            }
+
+            processTick(tick);
+            currentTick = tick;
+        }
+    }
+
+    private void processTick(long tick) {
+        transferPendingEntries(tick);
+        transferRescheduledEntries(tick);
+        transferRetries(tick);
+
+        var bucketIndex = (int) (tick & mask);
+        var bucket = buckets[bucketIndex];
+        var dueCount = 0;
+
+        for (int remaining = bucket.size(); remaining > 0; remaining--) {
+            var entry = bucket.poll();
+
+            // cancelled, moved to another bucket by a reschedule, or a second copy that already fired this tick
+            if (entry.cancelled || (entry.deadlineTick & mask) != bucketIndex || entry.lastFiredTick == tick) {
+                continue;
+            }
+            if (entry.deadlineTick > tick) {
+                bucket.add(entry);
+                continue;
+            }
+
+            if (dueCount == dueBuffer.length) {
+                dueBuffer = Arrays.copyOf(dueBuffer, dueCount << 1);
+            }
+            dueBuffer[dueCount++] = entry.eventId;
+
+            entry.lastFiredTick = tick;
+            entry.deadlineTick = tick + entry.intervalTicks;
+            buckets[(int) (entry.deadlineTick & mask)].add(entry);
+        }
+
+        if (dueCount > 0) {
+            dispatcher.accept(Arrays.copyOf(dueBuffer, dueCount));
+        }
+    }
+
+    private void transferPendingEntries(long tick) {
+        Entry entry;
+        while ((entry = pendingEntries.poll()) != null) {
+            if (entry.cancelled) {
+                continue;
+            }
+            if (entry.deadlineTick < tick) {
+                entry.deadlineTick = tick;
+            }
+            if (maxInitialFiresPerTick > 0) {
+                entry.deadlineTick = spreadInitialFire(entry.deadlineTick);
+            }
+            buckets[(int) (entry.deadlineTick & mask)].add(entry);
+        }
+    }
+
+    private long spreadInitialFire(long deadlineTick) {
+        if (spreadTick < deadlineTick) {
+            spreadTick = deadlineTick;
+            spreadFires = 0;
+        }
+        if (spreadFires == maxInitialFiresPerTick) {
+            spreadTick++;
+            spreadFires = 0;
+        }
+
+        spreadFires++;
+        return spreadTick;
+    }
+
+    private void transferRescheduledEntries(long tick) {
+        Entry entry;
+        while ((entry = rescheduledEntries.poll()) != null) {
+            if (entry.cancelled || entry.lastFiredTick == NEVER_FIRED) {
+                // not in a bucket yet or anymore, the new interval applies from the first fire
+                continue;
+            }
+
+            var deadlineTick = Math.max(tick, entry.lastFiredTick + entry.intervalTicks);
+            if (deadlineTick != entry.deadlineTick) {
+                entry.deadlineTick = deadlineTick;
+                buckets[(int) (deadlineTick & mask)].add(entry);
+            }
+        }
+    }
+
+    private void transferRetries(long tick) {
+        Retry retry;
+        while ((retry = retries.poll()) != null) {
+            var entry = retry.entry();
+            var deadlineTick = Math.max(tick, retry.retryTick());
+            if (!entry.cancelled && entry.lastFiredTick != NEVER_FIRED && deadlineTick < entry.deadlineTick) {
+                entry.deadlineTick = deadlineTick;
+                buckets[(int) (deadlineTick & mask)].add(entry);
+            }
+        }
+    }
+
+    private long toTicks(Duration interval) {
+        return Math.max(1, (interval.toNanos() + tickNanos - 1) / tickNanos);
+    }
+
+    private static final class Entry {
+        private final long eventId;
+        private volatile long intervalTicks;
+        private long deadlineTick;
+        private long lastFiredTick = NEVER_FIRED;
+        private volatile boolean cancelled;
+        // written under the entry's monitor, cycleStartedAt before failedFires
+        private volatile int failedFires;
+        private volatile long cycleStartedAt;
+
+        private Entry(long eventId, long intervalTicks) {
+            this.eventId = eventId;
+            this.intervalTicks = intervalTicks;
+        }
+    }
+
+    private record Retry(Entry entry, long retryTick) {
+    }
+
+    /***
+     Open addressing table of the live entries, probed by the event id each entry holds, so ids are never boxed.
+     Lookups read the slots without locking: entries are never moved within a table, a removed entry leaves a tombstone
+     and growing or purging tombstones publishes a new array, so an entry present during a whole lookup is always found.
+     Inserts and removals are serialized by the table's monitor.
+     ***/
+    private static final class EntryTable {
+        private static final int MIN_CAPACITY = 64;
+        private static final Entry TOMBSTONE = new Entry(0, 0);
+
+        private volatile AtomicReferenceArray<Entry> slots = new AtomicReferenceArray<>(MIN_CAPACITY);
+        private volatile int size;
+        // live entries and tombstones, guarded by this
+        private int usedSlots;
+
+        private Entry get(long eventId) {
+            var table = slots;
+            var mask = table.length() - 1;
+            var index = slot(eventId, mask);
+            for (int probes = 0; probes <= mask; probes++) {
+                var entry = table.get(index);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry != TOMBSTONE && entry.eventId == eventId) {
+                    return entry;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        private synchronized boolean putIfAbsent(Entry entry) {
+            if (get(entry.eventId) != null) {
+                return false;
+            }
+            if ((usedSlots + 1) * 2 > slots.length()) {
+                rebuild();
+            }
+
+            var table = slots;
+            var mask = table.length() - 1;
+            var index = slot(entry.eventId, mask);
+            Entry current;
+            while ((current = table.get(index)) != null && current != TOMBSTONE) {
+                index = (index + 1) & mask;
+            }
+            if (current == null) {
+                usedSlots++;
+            }
+            table.set(index, entry);
+            size++;
+            return true;
+        }
+
+        private synchronized Entry remove(long eventId) {
+            var table = slots;
+            var mask = table.length() - 1;
+            var index = slot(eventId, mask);
+            for (int probes = 0; probes <= mask; probes++) {
+                var entry = table.get(index);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry != TOMBSTONE && entry.eventId == eventId) {
+                    table.set(index, TOMBSTONE);
+                    size--;
+                    return entry;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        /***
+         Copies the live entries into a table a quarter full after the next insert, growing or shrinking it as needed.
+         ***/
+        private void rebuild() {
+            var capacity = MIN_CAPACITY;
+            while ((size + 1) * 4 > capacity) {
+                capacity <<= 1;
+            }
+
+            var table = slots;
+            var rebuilt = new AtomicReferenceArray<Entry>(capacity);
+            var mask = capacity - 1;
+            for (int i = 0; i < table.length(); i++) {
+                var entry = table.get(i);
+                if (entry != null && entry != TOMBSTONE) {
+                    var index = slot(entry.eventId, mask);
+                    while (rebuilt.get(index) != null) {
+                        index = (index + 1) & mask;
+                    }
+                    rebuilt.set(index, entry);
+                }
+            }
+
+            usedSlots = size;
+            slots = rebuilt;
+        }
+
+        private static int slot(long eventId, int mask) {
+            return (int) (eventId * 0x9E3779B97F4A7C15L >>> 32) & mask;
+        }
+    }
+}
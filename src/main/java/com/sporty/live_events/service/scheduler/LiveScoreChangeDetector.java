@@ -0,0 +1,92 @@
+package com.sporty.live_events.service.scheduler;
+
+import com.sporty.live_events.configuration.LiveScorePublishProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/***
+ Remembers the last published score per event so that unchanged scores are not re-published every cycle.
+ ***/
+@Component
+public class LiveScoreChangeDetector {
+    private final LiveScorePublishProperties.Mode mode;
+    private final int heartbeatCycles;
+    private final int cacheCapacity;
+    private final Map<Long, PublishedScore> lastPublishedScores = new ConcurrentHashMap<>();
+    private final Counter publishedCounter;
+    private final Counter suppressedCounter;
+
+    public LiveScoreChangeDetector(LiveScorePublishProperties properties, MeterRegistry meterRegistry) {
+        this.mode = properties.mode();
+        this.heartbeatCycles = properties.mode() == LiveScorePublishProperties.Mode.ON_CHANGE_WITH_HEARTBEAT
+                ? properties.heartbeatCycles()
+                : 0;
+        this.cacheCapacity = properties.cacheCapacity();
+        this.publishedCounter = Counter.builder("live.score.messages")
+                .description("Live score messages handed over to Kafka")
+                .tag("outcome", "published")
+                .register(meterRegistry);
+        this.suppressedCounter = Counter.builder("live.score.messages")
+                .description("Live score messages not published as the score did not change")
+                .tag("outcome", "suppressed")
+                .register(meterRegistry);
+        Gauge.builder("live.score.change.cache.size", lastPublishedScores, Map::size)
+                .register(meterRegistry);
+    }
+
+    public boolean shouldPublish(long eventId, String currentScore) {
+        if (mode == LiveScorePublishProperties.Mode.ALWAYS) {
+            return count(true);
+        }
+
+        var publishedScore = lastPublishedScores.get(eventId);
+        if (publishedScore == null) {
+            if (lastPublishedScores.size() >= cacheCapacity) {
+                return count(true);
+            }
+            publishedScore = lastPublishedScores.computeIfAbsent(eventId, id -> new PublishedScore());
+        }
+
+        synchronized (publishedScore) {
+            return count(publishedScore.update(currentScore, heartbeatCycles));
+        }
+    }
+
+    /***
+     Forgets the last published score, to be called when publishing failed or the event is no longer tracked.
+     ***/
+    public void evict(long eventId) {
+        lastPublishedScores.remove(eventId);
+    }
+
+    private boolean count(boolean publish) {
+        (publish ? publishedCounter : suppressedCounter).increment();
+        return publish;
+    }
+
+    private static final class PublishedScore {
+        private String score;
+        private int cyclesSincePublish;
+        private boolean published;
+
+        private boolean update(String currentScore, int heartbeatCycles) {
+            cyclesSincePublish++;
+
+            var heartbeatDue = heartbeatCycles > 0 && cyclesSincePublish >= heartbeatCycles;
+            if (published && Objects.equals(score, currentScore) && !heartbeatDue) {
+                return false;
+            }
+
+            score = currentScore;
+            cyclesSincePublish = 0;
+            published = true;
+            return true;
+        }
+    }
+}
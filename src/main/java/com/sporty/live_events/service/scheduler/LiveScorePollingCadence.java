@@ -0,0 +1,124 @@
+package com.sporty.live_events.service.scheduler;
+
+import com.sporty.live_events.configuration.LiveScoreCadenceProperties;
+import com.sporty.live_events.configuration.LiveScoreSchedulerProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/***
+ Decides the poll interval of every tracked event. Events poll at the scheduler cycle unless adaptive cadence is on,
+ which speeds volatile events up toward the floor and backs quiet ones off toward the ceiling, or a fixed interval
+ was requested for the event, which takes precedence over both.
+ ***/
+@Component
+public class LiveScorePollingCadence {
+    private final boolean adaptive;
+    private final long cycleNanos;
+    private final long floorNanos;
+    private final long ceilingNanos;
+    private final double speedUpFactor;
+    private final double backOffFactor;
+    private final Map<Long, Cadence> cadences = new ConcurrentHashMap<>();
+
+    public LiveScorePollingCadence(LiveScoreSchedulerProperties schedulerProperties, LiveScoreCadenceProperties properties) {
+        if (properties.floor().compareTo(properties.ceiling()) > 0) {
+            throw new IllegalArgumentException("Cadence floor " + properties.floor() + " is above the ceiling " + properties.ceiling());
+        }
+
+        this.adaptive = properties.adaptive();
+        this.floorNanos = properties.floor().toNanos();
+        this.ceilingNanos = properties.ceiling().toNanos();
+        this.cycleNanos = adaptive
+                ? Math.clamp(schedulerProperties.cycle().toNanos(), floorNanos, ceilingNanos)
+                : schedulerProperties.cycle().toNanos();
+        this.speedUpFactor = properties.speedUpFactor();
+        this.backOffFactor = properties.backOffFactor();
+    }
+
+    public Duration getInterval(long eventId) {
+        var cadence = cadences.get(eventId);
+        if (cadence == null) {
+            return Duration.ofNanos(cycleNanos);
+        }
+
+        synchronized (cadence) {
+            return Duration.ofNanos(cadence.effectiveIntervalNanos());
+        }
+    }
+
+    /***
+     Records a polled score and returns the event's new poll interval, or null when the interval stays the same.
+     ***/
+    public Duration onScore(long eventId, String currentScore) {
+        var cadence = cadences.get(eventId);
+        if (cadence == null) {
+            if (!adaptive) {
+                return null;
+            }
+            cadence = cadences.computeIfAbsent(eventId, id -> new Cadence(cycleNanos));
+        }
+
+        synchronized (cadence) {
+            if (cadence.overrideNanos > 0 || !adaptive) {
+                return null;
+            }
+
+            var previousScore = cadence.score;
+            var firstScore = !cadence.scored;
+            cadence.score = currentScore;
+            cadence.scored = true;
+            if (firstScore) {
+                return null;
+            }
+
+            var factor = Objects.equals(previousScore, currentScore) ? backOffFactor : speedUpFactor;
+            var intervalNanos = Math.clamp((long) (cadence.intervalNanos * factor), floorNanos, ceilingNanos);
+            if (intervalNanos == cadence.intervalNanos) {
+                return null;
+            }
+
+            cadence.intervalNanos = intervalNanos;
+            return Duration.ofNanos(intervalNanos);
+        }
+    }
+
+    /***
+     Pins the event to a fixed poll interval, or returns it to the default cadence when the interval is null.
+     Returns the interval the event polls at from now on.
+     ***/
+    public Duration override(long eventId, Duration pollInterval) {
+        if (pollInterval == null && !adaptive) {
+            cadences.remove(eventId);
+            return Duration.ofNanos(cycleNanos);
+        }
+
+        var cadence = cadences.computeIfAbsent(eventId, id -> new Cadence(cycleNanos));
+        synchronized (cadence) {
+            cadence.overrideNanos = pollInterval == null ? 0 : pollInterval.toNanos();
+            return Duration.ofNanos(cadence.effectiveIntervalNanos());
+        }
+    }
+
+    public void evict(long eventId) {
+        cadences.remove(eventId);
+    }
+
+    private static final class Cadence {
+        private long intervalNanos;
+        private long overrideNanos;
+        private String score;
+        private boolean scored;
+
+        private Cadence(long intervalNanos) {
+            this.intervalNanos = intervalNanos;
+        }
+
+        private long effectiveIntervalNanos() {
+            return overrideNanos > 0 ? overrideNanos : intervalNanos;
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.sporty.live_events.service.scheduler;
 
-import java.util.concurrent.ScheduledFuture;
+import java.time.Duration;
 
 public interface LiveScoreTaskSchedulerService {
-    ScheduledFuture<?> scheduleJob(long eventId);
+    void scheduleJob(long eventId);
 
-    void unscheduleJob(ScheduledFuture<?> job);
+    void unscheduleJob(long eventId);
+
+    /***
+     Changes the poll interval of a scheduled job in place, a null interval returns it to the default cadence.
+     ***/
+    void setPollInterval(long eventId, Duration pollInterval);
+
+    boolean isJobScheduled(long eventId);
 }
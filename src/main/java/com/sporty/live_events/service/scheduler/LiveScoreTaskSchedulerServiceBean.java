@@ -1,43 +1,223 @@
 package com.sporty.live_events.service.scheduler;
 
+import com.sporty.live_events.configuration.LiveScoreSchedulerProperties;
+import com.sporty.live_events.service.LiveEventTrackerRegistry;
+import com.sporty.live_events.service.external.ExternalLiveScoreResponse;
 import com.sporty.live_events.service.external.ExternalLiveScoreRestApiService;
+import com.sporty.live_events.service.external.LiveScoreStreamService;
+import com.sporty.live_events.service.external.ProviderUnavailableException;
 import com.sporty.live_events.service.kafka.LiveScoreKafkaMessage;
 import com.sporty.live_events.service.kafka.LiveScoreKafkaPublisherService;
+import com.sporty.live_events.service.kafka.LiveScoreTrace;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
 
 @Service
 public class LiveScoreTaskSchedulerServiceBean implements LiveScoreTaskSchedulerService {
     private static final Logger log = LoggerFactory.getLogger(LiveScoreTaskSchedulerServiceBean.class);
-    private final static int TASK_CYCLE_DURATION_IN_SEC = 10;
+
+    private static final LongConsumer NO_OP = eventId -> {
+    };
 
     private final ExternalLiveScoreRestApiService externalLiveScoreRestApiService;
     private final LiveScoreKafkaPublisherService liveScoreKafkaPublisherService;
+    private final LiveScoreChangeDetector liveScoreChangeDetector;
+    private final LiveScorePollingCadence liveScorePollingCadence;
+    private final LiveScorePipelineMetrics liveScorePipelineMetrics;
+    private final LiveScoreStreamService liveScoreStreamService;
+    private final LiveScoreTierThrottle liveScoreTierThrottle;
     private final TaskScheduler taskScheduler;
+    private final Executor workerExecutor;
+    private final LiveScoreSchedulerProperties properties;
+    private final HashedTimingWheel timingWheel;
+
+    // events whose current score the provider stream keeps up to date, they are not polled while the stream is up
+    private volatile LiveEventTrackerRegistry streamedEvents = new LiveEventTrackerRegistry();
+
+    private ScheduledFuture<?> ticker;
 
-    public LiveScoreTaskSchedulerServiceBean(ExternalLiveScoreRestApiService externalLiveScoreRestApiService, LiveScoreKafkaPublisherService liveScoreKafkaPublisherService, TaskScheduler taskScheduler) {
+    public LiveScoreTaskSchedulerServiceBean(ExternalLiveScoreRestApiService externalLiveScoreRestApiService,
+                                             LiveScoreKafkaPublisherService liveScoreKafkaPublisherService,
+                                             LiveScoreChangeDetector liveScoreChangeDetector,
+                                             LiveScorePollingCadence liveScorePollingCadence,
+                                             LiveScorePipelineMetrics liveScorePipelineMetrics,
+                                             LiveScoreStreamService liveScoreStreamService,
+                                             LiveScoreTierThrottle liveScoreTierThrottle,
+                                             TaskScheduler taskScheduler,
+                                             @Qualifier("liveScoreWorkerExecutor") Executor workerExecutor,
+                                             LiveScoreSchedulerProperties properties) {
         this.externalLiveScoreRestApiService = externalLiveScoreRestApiService;
         this.liveScoreKafkaPublisherService = liveScoreKafkaPublisherService;
+        this.liveScoreChangeDetector = liveScoreChangeDetector;
+        this.liveScorePollingCadence = liveScorePollingCadence;
+        this.liveScorePipelineMetrics = liveScorePipelineMetrics;
+        this.liveScoreStreamService = liveScoreStreamService;
+        this.liveScoreTierThrottle = liveScoreTierThrottle;
         this.taskScheduler = taskScheduler;
+        this.workerExecutor = workerExecutor;
+        this.properties = properties;
+        this.timingWheel = new HashedTimingWheel(properties.tickDuration(), properties.wheelSize(),
+                initialPollsPerTick(externalLiveScoreRestApiService, properties), this::dispatch);
+
+        liveScorePipelineMetrics.monitorScheduleLag(timingWheel,
+                HashedTimingWheel::getLastTickLatenessNanos, HashedTimingWheel::getMaxTickLatenessNanos);
+        liveScorePipelineMetrics.monitorMissedTicks(timingWheel, HashedTimingWheel::getMissedTicks);
+    }
+
+    @PostConstruct
+    void startTicker() {
+        liveScoreStreamService.subscribe(new LiveScoreStreamService.Listener() {
+            @Override
+            public void onScore(ExternalLiveScoreResponse response) {
+                onStreamedScore(response);
+            }
+
+            @Override
+            public void onReset() {
+                streamedEvents = new LiveEventTrackerRegistry();
+            }
+        });
+        ticker = taskScheduler.scheduleAtFixedRate(timingWheel::advance, properties.tickDuration());
+    }
+
+    @PreDestroy
+    void stopTicker() {
+        if (ticker != null) {
+            ticker.cancel(false);
+        }
+    }
+
+    @Override
+    public void scheduleJob(long eventId) {
+        timingWheel.schedule(eventId, liveScorePollingCadence.getInterval(eventId));
+    }
+
+    @Override
+    public void unscheduleJob(long eventId) {
+        timingWheel.cancel(eventId);
+        liveScorePollingCadence.evict(eventId);
+        streamedEvents.removeIfPresent(eventId, NO_OP);
+    }
+
+    @Override
+    public void setPollInterval(long eventId, Duration pollInterval) {
+        timingWheel.reschedule(eventId, liveScorePollingCadence.override(eventId, pollInterval));
     }
 
     @Override
-    public ScheduledFuture<?> scheduleJob(long eventId) {
-        return taskScheduler.scheduleAtFixedRate(getTask(eventId), Duration.ofSeconds(TASK_CYCLE_DURATION_IN_SEC));
+    public boolean isJobScheduled(long eventId) {
+        return timingWheel.contains(eventId);
     }
 
-    private Runnable getTask(long eventId) {
+    HashedTimingWheel getTimingWheel() {
+        return timingWheel;
+    }
+
+    private void dispatch(long[] dueEventIds) {
+        if (liveScoreStreamService.isStreaming()) {
+            dueEventIds = withoutStreamed(dueEventIds);
+        }
+        if (liveScoreTierThrottle.isThrottling()) {
+            dueEventIds = withoutDegraded(dueEventIds);
+        }
+
+        // dispatched on the ticker thread, right after the tick the events are due at
+        var tickedAtMicros = LiveScoreTrace.nowMicros() - timingWheel.getLastTickLatenessNanos() / 1_000;
+        var maxBatchSize = externalLiveScoreRestApiService.getMaxBatchSize();
+        if (maxBatchSize <= 1) {
+            for (long eventId : dueEventIds) {
+                if (!submit(getTask(eventId, tickedAtMicros))) {
+                    log.warn("Worker pool is saturated, skipping this cycle for event {}", eventId);
+                }
+            }
+            return;
+        }
+
+        for (int from = 0; from < dueEventIds.length; from += maxBatchSize) {
+            var batch = Arrays.copyOfRange(dueEventIds, from, Math.min(dueEventIds.length, from + maxBatchSize));
+            if (!submit(getBatchTask(batch, tickedAtMicros))) {
+                log.warn("Worker pool is saturated, skipping this cycle for a batch of {} events", batch.length);
+            }
+        }
+    }
+
+    /***
+     New events get their first poll spread at the provider's rate, so a fixture list turned on at once is polled
+     over the following ticks instead of in the same one, and stays spread in every later cycle.
+     Without a rate limit there is no rate to spread at, and new events are polled on the next tick.
+     ***/
+    private static int initialPollsPerTick(ExternalLiveScoreRestApiService externalLiveScoreRestApiService,
+                                           LiveScoreSchedulerProperties properties) {
+        var requestsPerSecond = externalLiveScoreRestApiService.getMaxRequestsPerSecond();
+        if (requestsPerSecond <= 0) {
+            return 0;
+        }
+
+        var requestsPerTick = requestsPerSecond * properties.tickDuration().toNanos() / 1e9;
+        return (int) Math.max(1, requestsPerTick * Math.max(1, externalLiveScoreRestApiService.getMaxBatchSize()));
+    }
+
+    private boolean submit(Runnable task) {
+        try {
+            workerExecutor.execute(() -> runCycle(task));
+            return true;
+        } catch (RejectedExecutionException exc) {
+            return false;
+        }
+    }
+
+    private void runCycle(Runnable task) {
+        try {
+            task.run();
+        } catch (LiveScoreTaskSchedulerException exc) {
+            // already logged by the task, the next cycle is armed by the timing wheel
+            liveScorePipelineMetrics.recordTaskFailure();
+        }
+    }
+
+    Runnable getTask(long eventId) {
+        return getTask(eventId, LiveScoreTrace.nowMicros());
+    }
+
+    Runnable getTask(long eventId, long tickedAtMicros) {
         return () -> {
+            var cycleTickedAtMicros = cycleTick(eventId, tickedAtMicros);
+            var fetchStartedAtMicros = LiveScoreTrace.nowMicros();
+            ExternalLiveScoreResponse response;
             try {
-                var response = externalLiveScoreRestApiService.queryCurrentScore(eventId);
-                var message = new LiveScoreKafkaMessage(response.eventId(), response.currentScore());
+                response = externalLiveScoreRestApiService.queryCurrentScore(eventId);
+            } catch (ProviderUnavailableException exc) {
+                skipPolls(exc, 1);
+                return;
+            } catch (Exception exc) {
+                log.error("Could not query live score for event {} for this cycle", eventId, exc);
+                retryFetch(eventId, cycleTickedAtMicros);
+                throw new LiveScoreTaskSchedulerException("Failed to query live score for event " + eventId, exc);
+            }
+            var trace = new LiveScoreTrace(cycleTickedAtMicros, fetchStartedAtMicros, LiveScoreTrace.nowMicros());
+            timingWheel.endCycle(eventId);
+            markStreamed(eventId);
 
-                liveScoreKafkaPublisherService.publishMessage(message);
+            try {
+                adaptCadence(response);
+                publishIfChanged(response, trace);
             } catch (Exception exc) {
                 log.error("Could not publish for event {} for this cycle", eventId, exc);
                 throw new LiveScoreTaskSchedulerException("Failed to publish live score for event " + eventId, exc);
@@ -45,8 +225,179 @@ public class LiveScoreTaskSchedulerServiceBean implements LiveScoreTaskScheduler
         };
     }
 
-    @Override
-    public void unscheduleJob(ScheduledFuture<?> job) {
-        job.cancel(false);
+    Runnable getBatchTask(long[] eventIds) {
+        return getBatchTask(eventIds, LiveScoreTrace.nowMicros());
+    }
+
+    Runnable getBatchTask(long[] eventIds, long tickedAtMicros) {
+        return () -> {
+            var fetchStartedAtMicros = LiveScoreTrace.nowMicros();
+            var requested = LongStream.of(eventIds).boxed().toList();
+            List<ExternalLiveScoreResponse> responses;
+            try {
+                responses = externalLiveScoreRestApiService.queryCurrentScores(requested);
+            } catch (ProviderUnavailableException exc) {
+                skipPolls(exc, eventIds.length);
+                return;
+            } catch (Exception exc) {
+                log.error("Could not query live scores for {} events for this cycle", eventIds.length, exc);
+                for (var eventId : eventIds) {
+                    retryFetch(eventId, cycleTick(eventId, tickedAtMicros));
+                }
+                throw new LiveScoreTaskSchedulerException("Failed to query live scores for " + eventIds.length + " events", exc);
+            }
+
+            var fetchEndedAtMicros = LiveScoreTrace.nowMicros();
+            var unanswered = new HashSet<>(requested);
+            for (var response : responses) {
+                // a score of an event not in this batch, or a second one, would end another cycle than its own
+                if (!unanswered.remove(response.eventId())) {
+                    log.warn("Dropped live score of event {} which was not requested in this batch", response.eventId());
+                    continue;
+                }
+                var trace = new LiveScoreTrace(cycleTick(response.eventId(), tickedAtMicros), fetchStartedAtMicros, fetchEndedAtMicros);
+                timingWheel.endCycle(response.eventId());
+                markStreamed(response.eventId());
+                try {
+                    adaptCadence(response);
+                    publishIfChanged(response, trace);
+                } catch (Exception exc) {
+                    log.error("Could not publish for event {} for this cycle", response.eventId(), exc);
+                }
+            }
+
+            // events the provider left out of its answer are retried like a failed query
+            for (var eventId : unanswered) {
+                retryFetch(eventId, cycleTick(eventId, tickedAtMicros));
+            }
+        };
+    }
+
+    /***
+     Re-fires the event after the retry backoff instead of sleeping the worker, until the attempts of the cycle are
+     exhausted. The event's regular cycle goes on either way.
+     The attempts and the tick of the first one live on the event's timing wheel entry, and go away with it on untrack.
+     ***/
+    private void retryFetch(long eventId, long cycleTickedAtMicros) {
+        var attempts = timingWheel.recordFailedFire(eventId, cycleTickedAtMicros);
+        if (attempts > 0 && attempts < properties.fetchMaxAttempts()
+                && timingWheel.scheduleRetry(eventId, properties.fetchRetryBackoff())) {
+            liveScorePipelineMetrics.recordFetchRetry();
+        } else {
+            timingWheel.endCycle(eventId);
+        }
+    }
+
+    // a retried cycle's trace starts at the tick of its first attempt
+    private long cycleTick(long eventId, long tickedAtMicros) {
+        return timingWheel.getCycleStartedAt(eventId, tickedAtMicros);
+    }
+
+    /***
+     Stream updates of tracked events take the same path as polled scores, and make polling the event unnecessary
+     for as long as the stream stays up.
+     ***/
+    private void onStreamedScore(ExternalLiveScoreResponse response) {
+        var eventId = response.eventId();
+        if (!timingWheel.contains(eventId)) {
+            return;
+        }
+
+        markStreamed(streamedEvents, eventId);
+        adaptCadence(response);
+        publishIfChanged(response, LiveScoreTrace.receivedAt(LiveScoreTrace.nowMicros()));
+    }
+
+    private void markStreamed(long eventId) {
+        if (liveScoreStreamService.isStreaming()) {
+            markStreamed(streamedEvents, eventId);
+        }
+    }
+
+    /***
+     The event is almost always registered already, the optimistic read spares its stripe's write lock.
+     ***/
+    private static void markStreamed(LiveEventTrackerRegistry streamed, long eventId) {
+        if (!streamed.contains(eventId)) {
+            streamed.registerIfAbsent(eventId, NO_OP);
+        }
+    }
+
+    private long[] withoutStreamed(long[] dueEventIds) {
+        var current = streamedEvents;
+        var remaining = new long[dueEventIds.length];
+        var count = 0;
+        for (var eventId : dueEventIds) {
+            if (!current.contains(eventId)) {
+                remaining[count++] = eventId;
+            }
+        }
+
+        var streamed = dueEventIds.length - count;
+        if (streamed > 0) {
+            liveScorePipelineMetrics.recordSkippedPolls("streamed", streamed);
+        }
+        return count == dueEventIds.length ? dueEventIds : Arrays.copyOf(remaining, count);
+    }
+
+    /***
+     Drops the polls of events whose tier is stretched and not due at this firing, or shed, under overload.
+     ***/
+    private long[] withoutDegraded(long[] dueEventIds) {
+        var remaining = new long[dueEventIds.length];
+        var count = 0;
+        var stretched = 0;
+        var shed = 0;
+        for (var eventId : dueEventIds) {
+            switch (liveScoreTierThrottle.decide(eventId)) {
+                case POLL -> remaining[count++] = eventId;
+                case STRETCHED -> stretched++;
+                case SHED -> shed++;
+            }
+        }
+
+        if (stretched > 0) {
+            liveScorePipelineMetrics.recordSkippedPolls("stretched", stretched);
+        }
+        if (shed > 0) {
+            liveScorePipelineMetrics.recordSkippedPolls("shed", shed);
+        }
+        return count == dueEventIds.length ? dueEventIds : Arrays.copyOf(remaining, count);
+    }
+
+    private void skipPolls(ProviderUnavailableException exc, int polls) {
+        log.debug("Skipping {} live score polls for this cycle: {}", polls, exc.getMessage());
+        liveScorePipelineMetrics.recordSkippedPolls(exc.getReason().name().toLowerCase(Locale.ROOT), polls);
+    }
+
+    private void adaptCadence(ExternalLiveScoreResponse response) {
+        var eventId = response.eventId();
+        if (!timingWheel.contains(eventId)) {
+            return;
+        }
+
+        var pollInterval = liveScorePollingCadence.onScore(eventId, response.currentScore());
+        if (pollInterval != null) {
+            timingWheel.reschedule(eventId, pollInterval);
+        }
+    }
+
+    private void publishIfChanged(ExternalLiveScoreResponse response, LiveScoreTrace trace) {
+        var eventId = response.eventId();
+        if (!liveScoreChangeDetector.shouldPublish(eventId, response.currentScore())) {
+            return;
+        }
+
+        try {
+            liveScoreKafkaPublisherService.publishMessage(new LiveScoreKafkaMessage(eventId, response.currentScore(), trace))
+                    .whenComplete((ignored, exc) -> {
+                        if (exc != null) {
+                            liveScoreChangeDetector.evict(eventId);
+                        }
+                    });
+        } catch (RuntimeException exc) {
+            liveScoreChangeDetector.evict(eventId);
+            throw exc;
+        }
     }
 }
@@ -0,0 +1,115 @@
+package com.sporty.live_events.service.scheduler;
+
+import com.sporty.live_events.service.LiveEventPriority;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ObjLongConsumer;
+
+/***
+ Priority tier of every tracked event, and how far each tier is degraded. Polls of a tier stretched by a factor
+ of s go ahead on every s-th firing of the event only, polls of a shed tier not at all, so the timing wheel keeps
+ the events' cadence and a tier is restored simply by setting its stretch back to 1.
+ The tiers are set by the admission control, decide(...) is only called by the scheduler's ticker thread.
+ ***/
+@Component
+public class LiveScoreTierThrottle {
+    private static final LiveEventPriority[] TIERS = LiveEventPriority.values();
+
+    public enum Decision {
+        POLL,
+        STRETCHED,
+        SHED
+    }
+
+    private final Map<Long, Tracker> trackers = new ConcurrentHashMap<>();
+
+    private volatile double[] stretches = filled(1.0);
+    private volatile boolean[] shed = new boolean[TIERS.length];
+    private volatile boolean throttling;
+
+    public void assign(long eventId, LiveEventPriority priority) {
+        trackers.computeIfAbsent(eventId, id -> new Tracker()).priority = priority;
+    }
+
+    /***
+     The event's tier, or null when it has none.
+     ***/
+    public LiveEventPriority getPriority(long eventId) {
+        var tracker = trackers.get(eventId);
+        return tracker == null ? null : tracker.priority;
+    }
+
+    public void remove(long eventId) {
+        trackers.remove(eventId);
+    }
+
+    public void forEach(ObjLongConsumer<LiveEventPriority> action) {
+        trackers.forEach((eventId, tracker) -> action.accept(tracker.priority, eventId));
+    }
+
+    /***
+     Sets, per tier in the order of LiveEventPriority, the factor its poll intervals are stretched by and whether
+     it is shed.
+     ***/
+    public void degrade(double[] stretches, boolean[] shed) {
+        var degraded = false;
+        for (int tier = 0; tier < TIERS.length; tier++) {
+            degraded |= stretches[tier] > 1 || shed[tier];
+        }
+
+        this.stretches = stretches.clone();
+        this.shed = shed.clone();
+        this.throttling = degraded;
+    }
+
+    public double getStretch(LiveEventPriority priority) {
+        return stretches[priority.ordinal()];
+    }
+
+    public boolean isShed(LiveEventPriority priority) {
+        return shed[priority.ordinal()];
+    }
+
+    public boolean isThrottling() {
+        return throttling;
+    }
+
+    Decision decide(long eventId) {
+        var tracker = trackers.get(eventId);
+        if (tracker == null) {
+            return Decision.POLL;
+        }
+
+        var tier = tracker.priority.ordinal();
+        if (shed[tier]) {
+            return Decision.SHED;
+        }
+
+        var stretch = stretches[tier];
+        if (stretch <= 1) {
+            return Decision.POLL;
+        }
+
+        var poll = tracker.credit >= 1;
+        if (poll) {
+            tracker.credit -= 1;
+        }
+        tracker.credit += 1 / stretch;
+        return poll ? Decision.POLL : Decision.STRETCHED;
+    }
+
+    private static double[] filled(double value) {
+        var values = new double[TIERS.length];
+        Arrays.fill(values, value);
+        return values;
+    }
+
+    private static final class Tracker {
+        private volatile LiveEventPriority priority;
+        // only touched by the ticker thread, starts full so that a new event's first poll goes ahead
+        private double credit = 1;
+    }
+}
@@ -0,0 +1,107 @@
+package com.sporty.live_events.configuration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class BoundedVirtualThreadExecutorUnitTest {
+
+    private static final int MAX_IN_FLIGHT = 2;
+
+    private final BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test-vt-", MAX_IN_FLIGHT);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void teardown() {
+        release.countDown();
+        executor.close();
+    }
+
+    @Test
+    void shouldRunTasksOnVirtualThreads() throws Exception {
+        var virtual = new AtomicBoolean();
+        var done = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            done.countDown();
+        });
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(virtual).isTrue();
+    }
+
+    @Test
+    void shouldRejectTasksBeyondMaxInFlight() throws Exception {
+        var started = new CountDownLatch(MAX_IN_FLIGHT);
+        for (int i = 0; i < MAX_IN_FLIGHT; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                awaitRelease();
+            });
+        }
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> executor.execute(() -> {
+        })).isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void shouldAcceptTasksAgainOnceRunningOnesComplete() throws Exception {
+        for (int i = 0; i < MAX_IN_FLIGHT; i++) {
+            executor.execute(this::awaitRelease);
+        }
+
+        release.countDown();
+
+        var done = new CountDownLatch(1);
+        await().atMost(5, TimeUnit.SECONDS).ignoreException(RejectedExecutionException.class)
+                .until(() -> {
+                    executor.execute(done::countDown);
+                    return true;
+                });
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void shouldReleasePermitOfTaskThatFailed() throws Exception {
+        var failed = new CountDownLatch(MAX_IN_FLIGHT);
+        for (int i = 0; i < MAX_IN_FLIGHT; i++) {
+            executor.execute(() -> {
+                failed.countDown();
+                throw new IllegalStateException("Provider call failed");
+            });
+        }
+        assertThat(failed.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // both permits come back although neither task completed normally
+        var accepted = new AtomicInteger();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> {
+            try {
+                executor.execute(this::awaitRelease);
+                accepted.incrementAndGet();
+            } catch (RejectedExecutionException exc) {
+                // the failed tasks did not release their permits yet
+            }
+            return accepted.get() == MAX_IN_FLIGHT;
+        });
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.sporty.live_events.configuration;
+
+import com.sporty.live_events.service.external.ExternalLiveScoreResponse;
+import com.sporty.live_events.service.kafka.LiveScoreKafkaMessage;
+import com.sporty.live_events.service.kafka.LiveScoreKafkaMessageDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveEventsRuntimeHintsUnitTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void shouldRegisterJacksonBindingOfKafkaAndProviderRecords() {
+        new LiveEventsRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.reflection().onType(LiveScoreKafkaMessage.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(ExternalLiveScoreResponse.class, "currentScore")).accepts(hints);
+    }
+
+    @Test
+    void shouldRegisterConstructorOfDeserializerConfiguredByClassName() {
+        new LiveEventsRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.reflection().onType(LiveScoreKafkaMessageDeserializer.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+    }
+}
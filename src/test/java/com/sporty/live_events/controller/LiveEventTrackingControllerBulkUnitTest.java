@@ -0,0 +1,198 @@
+package com.sporty.live_events.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sporty.live_events.service.LiveEventPriority;
+import com.sporty.live_events.service.LiveEventTrackingCommand;
+import com.sporty.live_events.service.LiveEventTrackingService;
+import com.sporty.live_events.service.admission.LiveEventAdmissionException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.sporty.live_events.service.LiveEventTrackingOutcome.CHANGED;
+import static com.sporty.live_events.service.LiveEventTrackingOutcome.REJECTED;
+import static com.sporty.live_events.service.LiveEventTrackingOutcome.UNCHANGED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(LiveEventTrackingController.class)
+@Import(LiveEventTrackingBulkProcessor.class)
+class LiveEventTrackingControllerBulkUnitTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LiveEventTrackingService liveEventTrackingService;
+
+    @Test
+    void shouldApplyJsonArrayAndReturnResultPerItem() throws Exception {
+        when(liveEventTrackingService.scheduleTrackers(anyList())).thenReturn(List.of(CHANGED, UNCHANGED, CHANGED));
+
+        var lines = callBulkEndpoint(MediaType.APPLICATION_JSON, """
+                [{"eventId": 1001, "status": true},
+                 {"eventId": 1002, "status": true},
+                 {"eventId": 1003, "status": false}]
+                """);
+
+        verify(liveEventTrackingService).scheduleTrackers(List.of(
+                new LiveEventTrackingCommand(1001, true),
+                new LiveEventTrackingCommand(1002, true),
+                new LiveEventTrackingCommand(1003, false)));
+        assertThat(lines).containsExactly(
+                "{\"eventId\":1001,\"result\":\"SCHEDULED\"}",
+                "{\"eventId\":1002,\"result\":\"UNCHANGED\"}",
+                "{\"eventId\":1003,\"result\":\"UNSCHEDULED\"}");
+    }
+
+    @Test
+    void shouldReportTrackersRejectedAtCapacity() throws Exception {
+        when(liveEventTrackingService.scheduleTrackers(anyList())).thenReturn(List.of(CHANGED, REJECTED));
+
+        var lines = callBulkEndpoint(MediaType.APPLICATION_NDJSON, """
+                {"eventId": 1001, "status": true, "priority": "PREMIUM"}
+                {"eventId": 1002, "status": true, "priority": "LOW"}
+                """);
+
+        verify(liveEventTrackingService).scheduleTrackers(List.of(
+                new LiveEventTrackingCommand(1001, true, null, LiveEventPriority.PREMIUM),
+                new LiveEventTrackingCommand(1002, true, null, LiveEventPriority.LOW)));
+        assertThat(lines).containsExactly(
+                "{\"eventId\":1001,\"result\":\"SCHEDULED\"}",
+                "{\"eventId\":1002,\"result\":\"REJECTED\"}");
+    }
+
+    @Test
+    void shouldRespondTooManyRequestsWhenTrackerRejectedAtCapacity() throws Exception {
+        doThrow(new LiveEventAdmissionException("At capacity for low priority events, event 1001 is not tracked"))
+                .when(liveEventTrackingService).scheduleTracker(1001, true, null, LiveEventPriority.LOW);
+
+        mockMvc.perform(post("/api/events/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"eventId": 1001, "status": true, "priority": "LOW"}
+                                """))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(content().string("At capacity for low priority events, event 1001 is not tracked"));
+    }
+
+    @Test
+    void shouldApplyNdjsonAndReportInvalidItems() throws Exception {
+        when(liveEventTrackingService.scheduleTrackers(anyList())).thenReturn(List.of(CHANGED));
+
+        var lines = callBulkEndpoint(MediaType.APPLICATION_NDJSON, """
+                {"eventId": 1001, "status": true}
+                {"eventId": 12, "status": true}
+                """);
+
+        verify(liveEventTrackingService).scheduleTrackers(List.of(new LiveEventTrackingCommand(1001, true)));
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).isEqualTo("{\"eventId\":1001,\"result\":\"SCHEDULED\"}");
+        assertThat(lines.get(1)).startsWith("{\"eventId\":12,\"result\":\"INVALID\"");
+    }
+
+    @Test
+    void shouldApplyLargeRequestsInChunks() throws Exception {
+        var items = 2 * LiveEventTrackingBulkProcessor.CHUNK_SIZE + 1;
+        var appliedChunkSizes = new ArrayList<Integer>();
+        when(liveEventTrackingService.scheduleTrackers(anyList())).thenAnswer(invocation -> {
+            List<LiveEventTrackingCommand> commands = invocation.getArgument(0);
+            appliedChunkSizes.add(commands.size());
+            return Collections.nCopies(commands.size(), CHANGED);
+        });
+
+        var body = IntStream.range(0, items)
+                .mapToObj(i -> "{\"eventId\": " + (1000 + i % 9000) + ", \"status\": true}")
+                .collect(Collectors.joining("\n"));
+
+        var lines = callBulkEndpoint(MediaType.APPLICATION_NDJSON, body);
+
+        assertThat(lines).hasSize(items);
+        assertThat(appliedChunkSizes).containsExactly(LiveEventTrackingBulkProcessor.CHUNK_SIZE, LiveEventTrackingBulkProcessor.CHUNK_SIZE, 1);
+    }
+
+    @Test
+    void shouldReportItemWithMistypedValueInvalidAndContinue() throws Exception {
+        when(liveEventTrackingService.scheduleTrackers(anyList())).thenReturn(List.of(CHANGED, CHANGED));
+
+        var lines = callBulkEndpoint(MediaType.APPLICATION_JSON, """
+                [{"eventId": 1001, "status": true},
+                 {"eventId": "abc", "status": true, "priority": {"tier": "PREMIUM"}},
+                 42,
+                 {"eventId": 1002, "status": true}]
+                """);
+
+        verify(liveEventTrackingService).scheduleTrackers(List.of(
+                new LiveEventTrackingCommand(1001, true),
+                new LiveEventTrackingCommand(1002, true)));
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0)).isEqualTo("{\"eventId\":1001,\"result\":\"SCHEDULED\"}");
+        assertThat(lines.get(1)).startsWith("{\"result\":\"INVALID\"").contains("abc");
+        assertThat(lines.get(2)).startsWith("{\"result\":\"INVALID\"");
+        assertThat(lines.get(3)).isEqualTo("{\"eventId\":1002,\"result\":\"SCHEDULED\"}");
+    }
+
+    @Test
+    void shouldNotApplyChunkAgainWhenResponseCannotBeWritten() throws Exception {
+        when(liveEventTrackingService.scheduleTrackers(anyList())).thenReturn(List.of(CHANGED));
+        var processor = new LiveEventTrackingBulkProcessor(liveEventTrackingService, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        var requestBody = new ByteArrayInputStream("{\"eventId\": 1001, \"status\": true}".getBytes(StandardCharsets.UTF_8));
+        var responseBody = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Client went away");
+            }
+        };
+
+        assertThatThrownBy(() -> processor.process(requestBody, responseBody)).isInstanceOf(IOException.class);
+        verify(liveEventTrackingService, times(1)).scheduleTrackers(anyList());
+    }
+
+    @Test
+    void shouldStopAtMalformedBody() throws Exception {
+        when(liveEventTrackingService.scheduleTrackers(anyList())).thenReturn(List.of(CHANGED));
+
+        var lines = callBulkEndpoint(MediaType.APPLICATION_NDJSON, """
+                {"eventId": 1001, "status": true}
+                {"eventId": 
+                """);
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(1)).contains("INVALID");
+    }
+
+    private List<String> callBulkEndpoint(MediaType contentType, String body) throws Exception {
+        var content = mockMvc.perform(post("/api/events/status/bulk")
+                        .contentType(contentType)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return content.lines().toList();
+    }
+}
@@ -5,6 +5,9 @@ import com.sporty.live_events.helper.EventIdGenerator;
 import com.sporty.live_events.service.LiveEventTrackingService;
 import com.sporty.live_events.service.external.ExternalLiveScoreResponse;
 import com.sporty.live_events.service.kafka.LiveScoreKafkaMessage;
+import com.sporty.live_events.service.kafka.LiveScoreTraceHeaders;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -17,16 +20,17 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.client.RestClient;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import static org.awaitility.Awaitility.await;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+@SpringBootTest(properties = "live-events.provider.protection.circuit-breaker-enabled=false")
 @AutoConfigureMockMvc
 class LiveEventTrackingControllerWithExternalServiceMocksIntegrationTest {
     @Autowired
@@ -46,6 +50,11 @@ class LiveEventTrackingControllerWithExternalServiceMocksIntegrationTest {
 
     private final static int TASK_CYCLE_DURATION_IN_SEC = 10;
 
+    @BeforeEach
+    void setupKafkaTemplateMock() {
+        when(kafkaTemplate.send(anyRecord())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
     @Test
     void shouldPublishScoreWhenEventTrackingRequested() throws Exception {
         var eventId = EventIdGenerator.generateValidEventId();
@@ -56,7 +65,7 @@ class LiveEventTrackingControllerWithExternalServiceMocksIntegrationTest {
 
         var message = new LiveScoreKafkaMessage(externalLiveScoreResponse.eventId(), externalLiveScoreResponse.currentScore());
         await().atMost(TASK_CYCLE_DURATION_IN_SEC, TimeUnit.SECONDS).untilAsserted(() ->
-                verify(kafkaTemplate).send("live_score", message)
+                verify(kafkaTemplate).send(record(eventId, message))
         );
     }
 
@@ -73,9 +82,7 @@ class LiveEventTrackingControllerWithExternalServiceMocksIntegrationTest {
                 verify(restClient, atLeast(3)).get()
         );
         await().atMost(TASK_CYCLE_DURATION_IN_SEC, TimeUnit.SECONDS).untilAsserted(() ->
-                verify(kafkaTemplate, never()).send(eq("live_score"), argThat(message ->
-                        message.eventId() == eventId
-                ))
+                verify(kafkaTemplate, never()).send(recordOf(eventId))
         );
     }
 
@@ -84,13 +91,13 @@ class LiveEventTrackingControllerWithExternalServiceMocksIntegrationTest {
         var eventId = EventIdGenerator.generateValidEventId();
         var liveEventTrackingRequest = new LiveEventTrackingRequest(eventId, true);
         var externalLiveScoreResponse = setupRestServiceMock(eventId, true);
-        when(kafkaTemplate.send(any(), any())).thenThrow(new RuntimeException());
+        when(kafkaTemplate.send(anyRecord())).thenThrow(new RuntimeException());
 
         callRestEndpoint(liveEventTrackingRequest);
 
         var message = new LiveScoreKafkaMessage(externalLiveScoreResponse.eventId(), externalLiveScoreResponse.currentScore());
         await().atMost(TASK_CYCLE_DURATION_IN_SEC, TimeUnit.SECONDS).untilAsserted(() ->
-                verify(kafkaTemplate, atLeast(3)).send("live_score", message)
+                verify(kafkaTemplate, atLeast(3)).send(record(eventId, message))
         );
     }
 
@@ -99,14 +106,14 @@ class LiveEventTrackingControllerWithExternalServiceMocksIntegrationTest {
         var eventId = EventIdGenerator.generateValidEventId();
         liveEventTrackingService.scheduleTracker(eventId, true);
 
-        assertNotNull(liveEventTrackingService.getScheduledTrackerForEvent(eventId));
+        assertTrue(liveEventTrackingService.isTrackerScheduledForEvent(eventId));
 
         setupRestServiceMock(eventId, true);
         var liveEventTrackingRequest = new LiveEventTrackingRequest(eventId, false);
 
         callRestEndpoint(liveEventTrackingRequest);
 
-        assertNull(liveEventTrackingService.getScheduledTrackerForEvent(eventId));
+        assertFalse(liveEventTrackingService.isTrackerScheduledForEvent(eventId));
     }
 
     @Test
@@ -119,7 +126,7 @@ class LiveEventTrackingControllerWithExternalServiceMocksIntegrationTest {
 
         var message = new LiveScoreKafkaMessage(externalLiveScoreResponse.eventId(), externalLiveScoreResponse.currentScore());
         await().atMost(TASK_CYCLE_DURATION_IN_SEC + 5, TimeUnit.SECONDS).untilAsserted(() ->
-                verify(kafkaTemplate, atLeast(2)).send("live_score", message)
+                verify(kafkaTemplate, atLeast(2)).send(record(eventId, message))
         );
     }
 
@@ -135,9 +142,7 @@ class LiveEventTrackingControllerWithExternalServiceMocksIntegrationTest {
                 verify(restClient, atLeast(3)).get()
         );
         await().atMost(TASK_CYCLE_DURATION_IN_SEC, TimeUnit.SECONDS).untilAsserted(() ->
-                verify(kafkaTemplate, never()).send(eq("live_score"), argThat(message ->
-                        message.eventId() == eventId
-                ))
+                verify(kafkaTemplate, never()).send(recordOf(eventId))
         );
 
         reset(restClient);
@@ -145,7 +150,7 @@ class LiveEventTrackingControllerWithExternalServiceMocksIntegrationTest {
 
         var message = new LiveScoreKafkaMessage(eventId, externalLiveScoreResponse.currentScore());
         await().atMost(TASK_CYCLE_DURATION_IN_SEC, TimeUnit.SECONDS).untilAsserted(() ->
-                verify(kafkaTemplate).send("live_score", message)
+                verify(kafkaTemplate).send(record(eventId, message))
         );
     }
 
@@ -186,4 +191,19 @@ class LiveEventTrackingControllerWithExternalServiceMocksIntegrationTest {
 
         return externalLiveScoreResponse;
     }
-}
\ No newline at end of file
+
+    private static ProducerRecord<String, LiveScoreKafkaMessage> anyRecord() {
+        return any();
+    }
+
+    private static ProducerRecord<String, LiveScoreKafkaMessage> recordOf(long eventId) {
+        return argThat(record -> record.topic().equals("live_score") && record.value().eventId() == eventId);
+    }
+
+    private static ProducerRecord<String, LiveScoreKafkaMessage> record(long eventId, LiveScoreKafkaMessage message) {
+        return argThat(record -> record.topic().equals("live_score")
+                && record.key().equals(String.valueOf(eventId))
+                && record.value().equals(message)
+                && LiveScoreTraceHeaders.read(record.headers()) != null);
+    }
+}
@@ -0,0 +1,101 @@
+package com.sporty.live_events.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveEventTrackerRegistryUnitTest {
+
+    private static final LongConsumer NO_OP = eventId -> {
+    };
+
+    private final LiveEventTrackerRegistry registry = new LiveEventTrackerRegistry();
+
+    @Test
+    void shouldRegisterOnlyOnce() {
+        var registrations = new HashSet<Long>();
+
+        assertThat(registry.registerIfAbsent(1234L, registrations::add)).isTrue();
+        assertThat(registry.registerIfAbsent(1234L, registrations::add)).isFalse();
+
+        assertThat(registry.contains(1234L)).isTrue();
+        assertThat(registrations).containsExactly(1234L);
+    }
+
+    @Test
+    void shouldOnlyRemovePresentEvents() {
+        var removals = new HashSet<Long>();
+        registry.registerIfAbsent(1234L, NO_OP);
+
+        assertThat(registry.removeIfPresent(5678L, removals::add)).isFalse();
+        assertThat(registry.removeIfPresent(1234L, removals::add)).isTrue();
+
+        assertThat(registry.contains(1234L)).isFalse();
+        assertThat(removals).containsExactly(1234L);
+    }
+
+    @Test
+    void shouldNotRegisterWhenCallbackFails() {
+        try {
+            registry.registerIfAbsent(1234L, eventId -> {
+                throw new IllegalStateException();
+            });
+        } catch (IllegalStateException ignored) {
+        }
+
+        assertThat(registry.contains(1234L)).isFalse();
+    }
+
+    @Test
+    void shouldBehaveLikeASetUnderRandomOperations() {
+        var random = new Random(42);
+        Set<Long> expected = new HashSet<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            long eventId = random.nextInt(5_000) - 10;
+            if (random.nextBoolean()) {
+                assertThat(registry.registerIfAbsent(eventId, NO_OP)).isEqualTo(expected.add(eventId));
+            } else {
+                assertThat(registry.removeIfPresent(eventId, NO_OP)).isEqualTo(expected.remove(eventId));
+            }
+        }
+
+        assertThat(registry.size()).isEqualTo(expected.size());
+        for (long eventId = -10; eventId < 4_990; eventId++) {
+            assertThat(registry.contains(eventId)).isEqualTo(expected.contains(eventId));
+        }
+
+        Set<Long> visited = new HashSet<>();
+        registry.forEach(visited::add);
+        assertThat(visited).isEqualTo(expected);
+    }
+
+    @Test
+    void shouldApplyAllInOrderPerEvent() {
+        var applied = registry.applyAll(
+                new long[]{1L, 2L, 1L, 1L, 3L},
+                new boolean[]{true, true, true, false, false},
+                NO_OP, NO_OP);
+
+        assertThat(applied).containsExactly(true, true, false, true, false);
+        assertThat(registry.contains(1L)).isFalse();
+        assertThat(registry.contains(2L)).isTrue();
+    }
+
+    @Test
+    void shouldMarkOnlyEntriesTurnedDownByAdmitAsRejected() {
+        var rejected = new boolean[4];
+        var applied = registry.applyAll(
+                new long[]{1L, 1L, 2L, 1L},
+                new boolean[]{true, true, true, false},
+                eventId -> eventId != 2L, NO_OP, NO_OP, rejected);
+
+        assertThat(applied).containsExactly(true, false, false, true);
+        assertThat(rejected).containsExactly(false, false, true, false);
+    }
+}
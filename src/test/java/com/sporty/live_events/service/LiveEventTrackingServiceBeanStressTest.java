@@ -0,0 +1,96 @@
+package com.sporty.live_events.service;
+
+import com.sporty.live_events.service.admission.LiveEventAdmissionService;
+import com.sporty.live_events.service.journal.LiveEventTrackerJournalService;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import com.sporty.live_events.service.scheduler.LiveScoreChangeDetector;
+import com.sporty.live_events.service.scheduler.LiveScoreTaskSchedulerService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class LiveEventTrackingServiceBeanStressTest {
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 20_000;
+    private static final long EVENT_ID = 1234L;
+
+    private final JobCountingScheduler scheduler = new JobCountingScheduler();
+
+    private final LiveEventTrackingService liveEventTrackingService =
+            new LiveEventTrackingServiceBean(scheduler, mock(LiveScoreChangeDetector.class),
+                    mock(LiveEventTrackerJournalService.class), mock(LiveEventAdmissionService.class),
+                    mock(LiveScorePipelineMetrics.class));
+
+    @Test
+    void shouldKeepExactlyOneLiveJobWhenOneEventIsHammeredConcurrently() throws Exception {
+        var barrier = new CyclicBarrier(THREADS);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                awaitQuietly(barrier);
+                var random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    liveEventTrackingService.scheduleTracker(EVENT_ID, random.nextInt(3) > 0);
+                }
+            }));
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        assertThat(scheduler.violations).hasValue(0);
+        assertThat(scheduler.liveJobs).hasValue(liveEventTrackingService.isTrackerScheduledForEvent(EVENT_ID) ? 1 : 0);
+
+        liveEventTrackingService.scheduleTracker(EVENT_ID, true);
+        assertThat(scheduler.liveJobs).hasValue(1);
+    }
+
+    private static void awaitQuietly(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception exc) {
+            throw new IllegalStateException(exc);
+        }
+    }
+
+    /***
+     Records a violation whenever a second job is scheduled for a live event or a job is cancelled that is not live.
+     ***/
+    private static final class JobCountingScheduler implements LiveScoreTaskSchedulerService {
+        private final AtomicInteger liveJobs = new AtomicInteger();
+        private final AtomicInteger violations = new AtomicInteger();
+
+        @Override
+        public void scheduleJob(long eventId) {
+            if (liveJobs.incrementAndGet() != 1) {
+                violations.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void unscheduleJob(long eventId) {
+            if (liveJobs.decrementAndGet() != 0) {
+                violations.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void setPollInterval(long eventId, Duration pollInterval) {
+        }
+
+        @Override
+        public boolean isJobScheduled(long eventId) {
+            return liveJobs.get() > 0;
+        }
+    }
+}
@@ -1,44 +1,86 @@
 package com.sporty.live_events.service;
 
+import com.sporty.live_events.service.admission.LiveEventAdmissionException;
+import com.sporty.live_events.service.admission.LiveEventAdmissionService;
+import com.sporty.live_events.service.journal.LiveEventTrackerJournalService;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import com.sporty.live_events.service.scheduler.LiveScoreChangeDetector;
 import com.sporty.live_events.service.scheduler.LiveScoreTaskSchedulerService;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertNull;
+import java.time.Duration;
+import java.util.List;
+
+import static com.sporty.live_events.service.LiveEventTrackingOutcome.CHANGED;
+import static com.sporty.live_events.service.LiveEventTrackingOutcome.REJECTED;
+import static com.sporty.live_events.service.LiveEventTrackingOutcome.UNCHANGED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 class LiveEventTrackingServiceBeanUnitTest {
 
     private final LiveScoreTaskSchedulerService liveScoreTaskSchedulerService = mock();
 
-    private final LiveEventTrackingService liveEventTrackingService = new LiveEventTrackingServiceBean(liveScoreTaskSchedulerService);
+    private final LiveScoreChangeDetector liveScoreChangeDetector = mock();
+
+    private final LiveEventTrackerJournalService liveEventTrackerJournalService = mock();
+
+    private final LiveEventAdmissionService liveEventAdmissionService = mock();
+
+    private final LiveScorePipelineMetrics liveScorePipelineMetrics = mock();
+
+    private final LiveEventTrackingService liveEventTrackingService =
+            new LiveEventTrackingServiceBean(liveScoreTaskSchedulerService, liveScoreChangeDetector, liveEventTrackerJournalService,
+                    liveEventAdmissionService, liveScorePipelineMetrics);
 
     @Test
     void shouldScheduleJob() {
         var eventId = 1234L;
-        when(liveScoreTaskSchedulerService.scheduleJob(eventId)).thenReturn(mock());
-
         liveEventTrackingService.scheduleTracker(eventId, true);
 
-        assertNotNull(liveEventTrackingService.getScheduledTrackerForEvent(eventId));
+        assertTrue(liveEventTrackingService.isTrackerScheduledForEvent(eventId));
     }
 
     @Test
     void shouldUnscheduleJob() {
         var eventId = 1234L;
-        when(liveScoreTaskSchedulerService.scheduleJob(eventId)).thenReturn(mock());
+        liveEventTrackingService.scheduleTracker(eventId, true);
+        liveEventTrackingService.scheduleTracker(eventId, false);
+
+        assertFalse(liveEventTrackingService.isTrackerScheduledForEvent(eventId));
+        verify(liveScoreChangeDetector).evict(eventId);
+        verify(liveScorePipelineMetrics).tagEvent(eventId);
+        verify(liveScorePipelineMetrics).untagEvent(eventId);
+    }
 
+    @Test
+    void shouldJournalOnlyTrackingStateChanges() {
+        var eventId = 1234L;
+        when(liveEventAdmissionService.getPriority(eventId)).thenReturn(LiveEventPriority.STANDARD);
+        liveEventTrackingService.scheduleTracker(eventId, true);
         liveEventTrackingService.scheduleTracker(eventId, true);
         liveEventTrackingService.scheduleTracker(eventId, false);
+        liveEventTrackingService.scheduleTracker(eventId, false);
 
-        assertNull(liveEventTrackingService.getScheduledTrackerForEvent(eventId));
+        verify(liveEventTrackerJournalService).recordTracked(eventId, LiveEventPriority.STANDARD);
+        verify(liveEventTrackerJournalService).recordUntracked(eventId);
     }
 
     @Test
-    void shouldNotScheduleSameEventTwice() {
+    void shouldJournalPriorityChangeOfTrackedEvent() {
         var eventId = 1234L;
-        when(liveScoreTaskSchedulerService.scheduleJob(eventId)).thenReturn(mock());
+        liveEventTrackingService.scheduleTracker(eventId, true);
+        liveEventTrackingService.scheduleTracker(eventId, true, null, LiveEventPriority.PREMIUM);
+
+        verify(liveEventTrackerJournalService).recordTracked(eventId, LiveEventPriority.PREMIUM);
+    }
 
+    @Test
+    void shouldNotScheduleSameEventTwice() {
+        var eventId = 1234L;
         liveEventTrackingService.scheduleTracker(eventId, true);
         liveEventTrackingService.scheduleTracker(eventId, true);
 
@@ -51,6 +93,76 @@ class LiveEventTrackingServiceBeanUnitTest {
 
         liveEventTrackingService.scheduleTracker(eventId, false);
 
-        verify(liveScoreTaskSchedulerService, never()).unscheduleJob(any());
+        verify(liveScoreTaskSchedulerService, never()).unscheduleJob(anyLong());
+    }
+
+    @Test
+    void shouldApplyBulkCommandsInOrder() {
+        var applied = liveEventTrackingService.scheduleTrackers(List.of(
+                new LiveEventTrackingCommand(1001L, true),
+                new LiveEventTrackingCommand(1001L, true),
+                new LiveEventTrackingCommand(1002L, false),
+                new LiveEventTrackingCommand(1001L, false)));
+
+        assertThat(applied).containsExactly(CHANGED, UNCHANGED, UNCHANGED, CHANGED);
+        verify(liveScoreTaskSchedulerService).scheduleJob(1001L);
+        verify(liveScoreTaskSchedulerService).unscheduleJob(1001L);
+        assertFalse(liveEventTrackingService.isTrackerScheduledForEvent(1001L));
+    }
+
+    @Test
+    void shouldReschedulePollIntervalOfTrackedEvent() {
+        var eventId = 1234L;
+        liveEventTrackingService.scheduleTracker(eventId, true);
+        liveEventTrackingService.scheduleTracker(eventId, true, Duration.ofSeconds(3));
+
+        verify(liveScoreTaskSchedulerService, times(1)).scheduleJob(eventId);
+        verify(liveScoreTaskSchedulerService).setPollInterval(eventId, Duration.ofSeconds(3));
+    }
+
+    @Test
+    void shouldIgnorePollIntervalWhenUnscheduling() {
+        var eventId = 1234L;
+        liveEventTrackingService.scheduleTracker(eventId, false, Duration.ofSeconds(3));
+
+        verify(liveScoreTaskSchedulerService, never()).setPollInterval(anyLong(), any());
+    }
+
+    @Test
+    void shouldNotScheduleJobWhenRejectedAtCapacity() {
+        var eventId = 1234L;
+        doThrow(new LiveEventAdmissionException("At capacity")).when(liveEventAdmissionService).admit(eventId, LiveEventPriority.LOW);
+
+        assertThatThrownBy(() -> liveEventTrackingService.scheduleTracker(eventId, true, null, LiveEventPriority.LOW))
+                .isInstanceOf(LiveEventAdmissionException.class);
+
+        assertFalse(liveEventTrackingService.isTrackerScheduledForEvent(eventId));
+        verify(liveScoreTaskSchedulerService, never()).scheduleJob(anyLong());
+    }
+
+    @Test
+    void shouldSkipBulkCommandsRejectedAtCapacity() {
+        doThrow(new LiveEventAdmissionException("At capacity")).when(liveEventAdmissionService).admit(1002L, LiveEventPriority.LOW);
+
+        var applied = liveEventTrackingService.scheduleTrackers(List.of(
+                new LiveEventTrackingCommand(1001L, true, null, LiveEventPriority.PREMIUM),
+                new LiveEventTrackingCommand(1002L, true, null, LiveEventPriority.LOW)));
+
+        assertThat(applied).containsExactly(CHANGED, REJECTED);
+        verify(liveEventAdmissionService).admit(1001L, LiveEventPriority.PREMIUM);
+        verify(liveScoreTaskSchedulerService).scheduleJob(1001L);
+        verify(liveScoreTaskSchedulerService, never()).scheduleJob(1002L);
+    }
+
+    @Test
+    void shouldReleaseAdmissionAndMovePriorityOfTrackedEvent() {
+        var eventId = 1234L;
+        liveEventTrackingService.scheduleTracker(eventId, true);
+        liveEventTrackingService.scheduleTracker(eventId, true, null, LiveEventPriority.PREMIUM);
+        liveEventTrackingService.scheduleTracker(eventId, false);
+
+        verify(liveEventAdmissionService).admit(eventId, null);
+        verify(liveEventAdmissionService).admit(eventId, LiveEventPriority.PREMIUM);
+        verify(liveEventAdmissionService).release(eventId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,143 @@
+package com.sporty.live_events.service.admission;
+
+import com.sporty.live_events.configuration.LiveEventAdmissionProperties;
+import com.sporty.live_events.configuration.LiveScoreCadenceProperties;
+import com.sporty.live_events.configuration.LiveScoreSchedulerProperties;
+import com.sporty.live_events.service.LiveEventPriority;
+import com.sporty.live_events.service.external.ExternalLiveScoreRestApiService;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import com.sporty.live_events.service.scheduler.LiveScorePollingCadence;
+import com.sporty.live_events.service.scheduler.LiveScoreTierThrottle;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class LiveEventAdmissionServiceBeanUnitTest {
+
+    // every event polls once per second, so the capacity of 10 fits 10 events
+    private final LiveScoreSchedulerProperties schedulerProperties =
+            new LiveScoreSchedulerProperties(Duration.ofSeconds(1), Duration.ofMillis(100), 128,
+                    LiveScoreSchedulerProperties.ExecutionMode.PLATFORM, 16, 10, 3, Duration.ofSeconds(1));
+
+    private final LiveScoreTierThrottle liveScoreTierThrottle = new LiveScoreTierThrottle();
+
+    private final LiveScorePipelineMetrics liveScorePipelineMetrics = mock();
+
+    private final LiveEventAdmissionServiceBean admissionService = new LiveEventAdmissionServiceBean(liveScoreTierThrottle,
+            new LiveScorePollingCadence(schedulerProperties,
+                    new LiveScoreCadenceProperties(false, Duration.ofSeconds(2), Duration.ofSeconds(60), 0.5, 1.5)),
+            mock(ExternalLiveScoreRestApiService.class), liveScorePipelineMetrics, mock(TaskScheduler.class),
+            schedulerProperties,
+            new LiveEventAdmissionProperties(true, 10, Duration.ofMillis(200), 0.8, 1.0, 4, Duration.ofSeconds(5)));
+
+    @Test
+    void shouldStretchLowestTierJustEnoughToGetUnderSoftLimit() {
+        admit(1, 6, LiveEventPriority.PREMIUM);
+        admit(100, 4, LiveEventPriority.LOW);
+
+        admissionService.evaluate();
+
+        assertThat(liveScoreTierThrottle.getStretch(LiveEventPriority.LOW)).isCloseTo(2.0, within(1e-9));
+        assertThat(liveScoreTierThrottle.getStretch(LiveEventPriority.STANDARD)).isEqualTo(1.0);
+        assertThat(liveScoreTierThrottle.isShed(LiveEventPriority.LOW)).isFalse();
+        assertThat(admissionService.getLoad().get(LiveEventPriority.LOW))
+                .isEqualTo(new LiveEventTierLoad(4, 4.0, 2.0, false));
+    }
+
+    @Test
+    void shouldShedLowestTierWhenStretchingIsNotEnough() {
+        admit(100, 4, LiveEventPriority.LOW);
+        admit(1, 10, LiveEventPriority.PREMIUM);
+
+        admissionService.evaluate();
+
+        assertThat(liveScoreTierThrottle.isShed(LiveEventPriority.LOW)).isTrue();
+        assertThat(liveScoreTierThrottle.isShed(LiveEventPriority.PREMIUM)).isFalse();
+        assertThat(liveScoreTierThrottle.isThrottling()).isTrue();
+    }
+
+    @Test
+    void shouldRestoreTiersOnceLoadDrops() {
+        admit(1, 6, LiveEventPriority.PREMIUM);
+        admit(100, 4, LiveEventPriority.LOW);
+        admissionService.evaluate();
+
+        for (long eventId = 100; eventId < 104; eventId++) {
+            admissionService.release(eventId);
+        }
+        admissionService.evaluate();
+
+        assertThat(liveScoreTierThrottle.isThrottling()).isFalse();
+        assertThat(admissionService.getLoad().get(LiveEventPriority.LOW).trackers()).isZero();
+    }
+
+    @Test
+    void shouldRejectNewLowerTierTrackersOnceHigherTiersUseUpCapacity() {
+        admit(1, 10, LiveEventPriority.PREMIUM);
+
+        assertThatThrownBy(() -> admissionService.admit(100, LiveEventPriority.LOW))
+                .isInstanceOf(LiveEventAdmissionException.class);
+        admissionService.admit(11, LiveEventPriority.PREMIUM);
+
+        assertThat(liveScoreTierThrottle.getPriority(100)).isNull();
+        assertThat(liveScoreTierThrottle.getPriority(11)).isEqualTo(LiveEventPriority.PREMIUM);
+        verify(liveScorePipelineMetrics).recordAdmissionRejected("low");
+    }
+
+    @Test
+    void shouldCheckCapacityWithoutAdmitting() {
+        admit(1, 10, LiveEventPriority.PREMIUM);
+
+        assertThatThrownBy(() -> admissionService.checkCapacity(100, LiveEventPriority.LOW))
+                .isInstanceOf(LiveEventAdmissionException.class);
+        admissionService.checkCapacity(1, LiveEventPriority.LOW);
+        admissionService.checkCapacity(11, LiveEventPriority.PREMIUM);
+
+        assertThat(liveScoreTierThrottle.getPriority(11)).isNull();
+        assertThat(admissionService.getLoad().get(LiveEventPriority.PREMIUM).trackers()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldAdmitNewTrackersWhileLowerTiersCanStillBeStretched() {
+        admit(1, 5, LiveEventPriority.STANDARD);
+        admit(100, 8, LiveEventPriority.LOW);
+
+        admissionService.admit(200, LiveEventPriority.STANDARD);
+
+        assertThat(liveScoreTierThrottle.getPriority(200)).isEqualTo(LiveEventPriority.STANDARD);
+    }
+
+    @Test
+    void shouldKeepTrackedEventsInTheirTierUnlessTheyNameAnother() {
+        admissionService.admit(1, null);
+        admissionService.admit(1, LiveEventPriority.PREMIUM);
+        admissionService.admit(1, null);
+        admissionService.evaluate();
+
+        assertThat(liveScoreTierThrottle.getPriority(1)).isEqualTo(LiveEventPriority.PREMIUM);
+        assertThat(admissionService.getLoad().get(LiveEventPriority.PREMIUM).trackers()).isEqualTo(1);
+        assertThat(admissionService.getLoad().get(LiveEventPriority.STANDARD).trackers()).isZero();
+    }
+
+    @Test
+    void shouldDeriveCapacityFromProviderBudgetAndWorkers() {
+        // 16 workers completing a call of 50 events every 200ms poll 4000 events per second, the provider allows 5000
+        assertThat(LiveEventAdmissionServiceBean.capacity(100, 50, schedulerProperties, Duration.ofMillis(200)))
+                .isEqualTo(4000.0);
+        assertThat(LiveEventAdmissionServiceBean.capacity(20, 50, schedulerProperties, Duration.ofMillis(200)))
+                .isEqualTo(1000.0);
+    }
+
+    private void admit(long firstEventId, int events, LiveEventPriority priority) {
+        for (long eventId = firstEventId; eventId < firstEventId + events; eventId++) {
+            admissionService.admit(eventId, priority);
+        }
+    }
+}
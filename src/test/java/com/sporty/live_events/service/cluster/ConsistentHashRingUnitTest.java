@@ -0,0 +1,51 @@
+package com.sporty.live_events.service.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingUnitTest {
+
+    private static final int EVENT_COUNT = 30_000;
+
+    @Test
+    void shouldSpreadEventsEvenlyOverMembers() {
+        var ring = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+
+        var eventsPerMember = new HashMap<String, Integer>();
+        LongStream.range(0, EVENT_COUNT).forEach(eventId -> eventsPerMember.merge(ring.ownerOf(eventId), 1, Integer::sum));
+
+        assertThat(eventsPerMember).containsOnlyKeys("a", "b", "c");
+        assertThat(eventsPerMember.values()).allSatisfy(events ->
+                assertThat(events).isBetween(EVENT_COUNT / 3 * 8 / 10, EVENT_COUNT / 3 * 12 / 10));
+    }
+
+    @Test
+    void shouldOnlyMoveEventsOfRemovedMember() {
+        var before = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        var after = new ConsistentHashRing(List.of("a", "c"), 128);
+
+        LongStream.range(0, EVENT_COUNT).forEach(eventId -> {
+            if (!"b".equals(before.ownerOf(eventId))) {
+                assertThat(after.ownerOf(eventId)).isEqualTo(before.ownerOf(eventId));
+            }
+        });
+    }
+
+    @Test
+    void shouldAgreeOnOwnerWhateverTheMemberOrder() {
+        var ring = new ConsistentHashRing(List.of("a", "b", "c"), 16);
+        var reordered = new ConsistentHashRing(List.of("c", "a", "b"), 16);
+
+        LongStream.range(0, 1000).forEach(eventId -> assertThat(reordered.ownerOf(eventId)).isEqualTo(ring.ownerOf(eventId)));
+    }
+
+    @Test
+    void shouldHaveNoOwnerWithoutMembers() {
+        assertThat(ConsistentHashRing.empty().ownerOf(1L)).isNull();
+    }
+}
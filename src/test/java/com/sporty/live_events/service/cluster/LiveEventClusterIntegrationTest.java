@@ -0,0 +1,184 @@
+package com.sporty.live_events.service.cluster;
+
+import com.sporty.live_events.LiveEventsApplication;
+import com.sporty.live_events.service.LiveEventTrackingCommand;
+import com.sporty.live_events.service.LiveEventTrackingService;
+import com.sporty.live_events.service.LiveEventTrackingServiceBean;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/***
+ Runs several instances of the application in one JVM against the embedded broker, each with its own context.
+ ***/
+@EmbeddedKafka(partitions = 1)
+class LiveEventClusterIntegrationTest {
+
+    private static final long FIRST_EVENT_ID = 1000;
+    private static final int EVENT_COUNT = 200;
+    private static final String CONTROL_TOPIC = "live_events_cluster";
+
+    private final List<ConfigurableApplicationContext> instances = new ArrayList<>();
+
+    @TempDir
+    private Path journalDirectory;
+
+    @AfterEach
+    void stopInstances() {
+        instances.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void shouldPollEveryEventOnExactlyOneInstanceAndRebalanceWhenMembershipChanges(EmbeddedKafkaBroker broker) {
+        var first = startInstance(broker, "first");
+        var second = startInstance(broker, "second");
+
+        first.getBean(LiveEventTrackingService.class).scheduleTrackers(LongStream.range(FIRST_EVENT_ID, FIRST_EVENT_ID + EVENT_COUNT)
+                .mapToObj(eventId -> new LiveEventTrackingCommand(eventId, true))
+                .toList());
+
+        awaitEveryEventPolledOnce(first, second);
+        assertThat(second.getBean(LiveEventTrackingService.class).isTrackerScheduledForEvent(FIRST_EVENT_ID)).isTrue();
+
+        second.close();
+        awaitEveryEventPolledOnce(first);
+
+        var third = startInstance(broker, "third");
+        awaitEveryEventPolledOnce(first, third);
+    }
+
+    @Test
+    void shouldStopPollingUntrackedEventsOnTheirOwner(EmbeddedKafkaBroker broker) {
+        var first = startInstance(broker, "first");
+        var second = startInstance(broker, "second");
+        awaitMembers(first, 2);
+
+        second.getBean(LiveEventTrackingService.class).scheduleTracker(FIRST_EVENT_ID, true);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> pollingInstances(FIRST_EVENT_ID, first, second) == 1);
+
+        second.getBean(LiveEventTrackingService.class).scheduleTracker(FIRST_EVENT_ID, false);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> pollingInstances(FIRST_EVENT_ID, first, second) == 0);
+
+        // the untrack is followed by a tombstone, so compaction drops the event's key
+        var eventRecords = controlTopicRecords(broker, String.valueOf(FIRST_EVENT_ID));
+        assertThat(eventRecords.size()).isGreaterThanOrEqualTo(3);
+        assertThat(eventRecords.get(eventRecords.size() - 2).value()).contains("\"status\":false");
+        assertThat(eventRecords.get(eventRecords.size() - 1).value()).isNull();
+    }
+
+    @Test
+    void shouldKeepEventUntrackedWhileItsOwnerWasDownWhenOwnerRestartsWithJournal(EmbeddedKafkaBroker broker) {
+        var first = startInstance(broker, "first");
+        var second = startInstance(broker, "second");
+        awaitMembers(first, 2);
+
+        first.getBean(LiveEventTrackingService.class).scheduleTrackers(LongStream.range(FIRST_EVENT_ID, FIRST_EVENT_ID + EVENT_COUNT)
+                .mapToObj(eventId -> new LiveEventTrackingCommand(eventId, true))
+                .toList());
+        awaitEveryEventPolledOnce(first, second);
+        var localTrackingService = second.getBean(LiveEventTrackingServiceBean.class);
+        var eventId = LongStream.range(FIRST_EVENT_ID, FIRST_EVENT_ID + EVENT_COUNT)
+                .filter(localTrackingService::isTrackerScheduledForEvent)
+                .findFirst()
+                .orElseThrow();
+
+        // journaled as tracked by its owner, then untracked while the owner is down
+        second.close();
+        first.getBean(LiveEventTrackingService.class).scheduleTracker(eventId, false);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> pollingInstances(eventId, first) == 0);
+
+        var restarted = startInstance(broker, "second");
+        awaitMembers(restarted, 2);
+
+        await().during(2, TimeUnit.SECONDS).atMost(5, TimeUnit.SECONDS).until(() ->
+                pollingInstances(eventId, first, restarted) == 0
+                        && !first.getBean(LiveEventTrackingService.class).isTrackerScheduledForEvent(eventId)
+                        && !restarted.getBean(LiveEventTrackingService.class).isTrackerScheduledForEvent(eventId));
+    }
+
+    private ConfigurableApplicationContext startInstance(EmbeddedKafkaBroker broker, String instanceId) {
+        var instance = new SpringApplicationBuilder(LiveEventsApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                        "live-events.cluster.enabled=true",
+                        "live-events.cluster.instance-id=" + instanceId,
+                        "live-events.cluster.heartbeat-interval=200ms",
+                        "live-events.cluster.member-timeout=2s",
+                        "live-events.journal.enabled=true",
+                        "live-events.journal.directory=" + journalDirectory.resolve(instanceId))
+                .run();
+        instances.add(instance);
+        return instance;
+    }
+
+    private static List<ConsumerRecord<String, String>> controlTopicRecords(EmbeddedKafkaBroker broker, String key) {
+        var consumerProperties = KafkaTestUtils.consumerProps("control-topic-reader", "false", broker);
+        try (var consumer = new KafkaConsumer<>(consumerProperties, new StringDeserializer(), new StringDeserializer())) {
+            var partition = new TopicPartition(CONTROL_TOPIC, 0);
+            consumer.assign(List.of(partition));
+            consumer.seekToBeginning(List.of(partition));
+
+            var records = new ArrayList<ConsumerRecord<String, String>>();
+            var endOffset = consumer.endOffsets(List.of(partition)).get(partition);
+            while (consumer.position(partition) < endOffset) {
+                consumer.poll(Duration.ofMillis(500)).records(partition).stream()
+                        .filter(record -> key.equals(record.key()))
+                        .forEach(records::add);
+            }
+            return records;
+        }
+    }
+
+    private static void awaitMembers(ConfigurableApplicationContext instance, int members) {
+        await().atMost(20, TimeUnit.SECONDS).until(() ->
+                instance.getBean(ClusteredLiveEventTrackingServiceBean.class).getRing().getMembers().size() == members);
+    }
+
+    private static void awaitEveryEventPolledOnce(ConfigurableApplicationContext... instances) {
+        await().atMost(30, TimeUnit.SECONDS).untilAsserted(() -> {
+            for (long eventId = FIRST_EVENT_ID; eventId < FIRST_EVENT_ID + EVENT_COUNT; eventId++) {
+                assertThat(pollingInstances(eventId, instances)).as("instances polling event %d", eventId).isEqualTo(1);
+            }
+            for (var instance : instances) {
+                assertThat(polledEvents(instance)).isPositive();
+            }
+        });
+    }
+
+    private static int pollingInstances(long eventId, ConfigurableApplicationContext... instances) {
+        var polling = 0;
+        for (var instance : instances) {
+            if (instance.getBean(LiveEventTrackingServiceBean.class).isTrackerScheduledForEvent(eventId)) {
+                polling++;
+            }
+        }
+        return polling;
+    }
+
+    private static long polledEvents(ConfigurableApplicationContext instance) {
+        var localTrackingService = instance.getBean(LiveEventTrackingServiceBean.class);
+        return LongStream.range(FIRST_EVENT_ID, FIRST_EVENT_ID + EVENT_COUNT)
+                .filter(localTrackingService::isTrackerScheduledForEvent)
+                .count();
+    }
+}
@@ -0,0 +1,117 @@
+package com.sporty.live_events.service.command;
+
+import com.sporty.live_events.service.LiveEventTrackingCommand;
+import com.sporty.live_events.service.LiveEventTrackingOutcome;
+import com.sporty.live_events.service.LiveEventTrackingService;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = {
+        "live-events.commands.enabled=true",
+        "live-events.commands.concurrency=2",
+        "live-events.commands.retry-backoff=100ms"})
+@EmbeddedKafka(partitions = 2, topics = {"live_events_commands"})
+class LiveEventCommandListenerIntegrationTest {
+
+    private static final String TOPIC = "live_events_commands";
+    private static final String GROUP = "live_events_commands";
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafkaBroker;
+
+    @MockitoBean
+    private LiveEventTrackingService liveEventTrackingService;
+
+    private final Map<Long, Boolean> trackingState = new ConcurrentHashMap<>();
+
+    private Producer<String, LiveEventCommandMessage> producer;
+
+    @BeforeEach
+    void setup() {
+        producer = new DefaultKafkaProducerFactory<>(KafkaTestUtils.producerProps(embeddedKafkaBroker),
+                new StringSerializer(), new JsonSerializer<LiveEventCommandMessage>()).createProducer();
+        doAnswer(invocation -> apply(invocation.getArgument(0)))
+                .when(liveEventTrackingService).scheduleTrackers(anyList());
+    }
+
+    @AfterEach
+    void teardown() {
+        producer.close();
+    }
+
+    @Test
+    void shouldApplyLastCommandOfEveryEventAndCommitOffsets() throws Exception {
+        var before = committedOffsets();
+        IntStream.range(1000, 1100).forEach(eventId -> send(new LiveEventCommandMessage(eventId, true, 0)));
+        IntStream.range(1000, 1100).filter(eventId -> eventId % 2 == 0)
+                .forEach(eventId -> send(new LiveEventCommandMessage(eventId, false, 0)));
+        producer.flush();
+
+        await().atMost(20, TimeUnit.SECONDS).untilAsserted(() -> {
+            assertThat(committedOffsets()).isEqualTo(before + 150);
+            IntStream.range(1000, 1100).forEach(eventId ->
+                    assertThat(trackingState).containsEntry((long) eventId, eventId % 2 != 0));
+        });
+    }
+
+    @Test
+    void shouldRedeliverBatchUntilItIsAppliedBeforeCommitting() throws Exception {
+        var before = committedOffsets();
+        doAnswer(invocation -> {
+            throw new IllegalStateException("tracking service unavailable");
+        }).doAnswer(invocation -> apply(invocation.getArgument(0)))
+                .when(liveEventTrackingService).scheduleTrackers(anyList());
+
+        send(new LiveEventCommandMessage(2000, true, 5000));
+        producer.flush();
+
+        await().atMost(20, TimeUnit.SECONDS).untilAsserted(() -> {
+            assertThat(trackingState).containsEntry(2000L, true);
+            assertThat(committedOffsets()).isEqualTo(before + 1);
+        });
+        verify(liveEventTrackingService, atLeast(2)).scheduleTrackers(anyList());
+    }
+
+    private List<LiveEventTrackingOutcome> apply(List<LiveEventTrackingCommand> commands) {
+        commands.forEach(command -> trackingState.put(command.eventId(), command.status()));
+        return commands.stream().map(command -> LiveEventTrackingOutcome.CHANGED).toList();
+    }
+
+    private void send(LiveEventCommandMessage message) {
+        producer.send(new ProducerRecord<>(TOPIC, String.valueOf(message.eventId()), message));
+    }
+
+    private long committedOffsets() throws Exception {
+        long committed = 0;
+        for (int partition = 0; partition < 2; partition++) {
+            var offset = KafkaTestUtils.getCurrentOffset(embeddedKafkaBroker.getBrokersAsString(), GROUP, TOPIC, partition);
+            committed += offset == null ? 0 : offset.offset();
+        }
+        return committed;
+    }
+}
@@ -0,0 +1,94 @@
+package com.sporty.live_events.service.command;
+
+import com.sporty.live_events.configuration.LiveEventCommandsProperties;
+import com.sporty.live_events.service.LiveEventPriority;
+import com.sporty.live_events.service.LiveEventTrackingCommand;
+import com.sporty.live_events.service.LiveEventTrackingService;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class LiveEventCommandListenerUnitTest {
+
+    private final LiveEventTrackingService liveEventTrackingService = mock();
+    private final LiveScorePipelineMetrics liveScorePipelineMetrics = mock();
+
+    private final LiveEventCommandListener listener = new LiveEventCommandListener(liveEventTrackingService,
+            liveScorePipelineMetrics, new LiveEventCommandsProperties(true, "live_events_commands", "live_events_commands",
+            1, 1000, Duration.ofSeconds(1), Duration.ofSeconds(30)));
+
+    @Test
+    void shouldApplyOnlyLastCommandPerEvent() {
+        var commands = LiveEventCommandListener.collapse(List.of(
+                new LiveEventCommandMessage(1001, true, 0),
+                new LiveEventCommandMessage(1002, true, 0),
+                new LiveEventCommandMessage(1001, false, 0),
+                new LiveEventCommandMessage(1002, true, 0)));
+
+        assertThat(commands).containsExactly(
+                new LiveEventTrackingCommand(1001, false),
+                new LiveEventTrackingCommand(1002, true));
+    }
+
+    @Test
+    void shouldKeepPollIntervalPinnedEarlierWhileTrackingStaysOn() {
+        var commands = LiveEventCommandListener.collapse(List.of(
+                new LiveEventCommandMessage(1001, true, 5000),
+                new LiveEventCommandMessage(1001, true, 0),
+                new LiveEventCommandMessage(1002, true, 5000),
+                new LiveEventCommandMessage(1002, false, 0),
+                new LiveEventCommandMessage(1002, true, 0)));
+
+        assertThat(commands).containsExactly(
+                new LiveEventTrackingCommand(1001, true, Duration.ofSeconds(5)),
+                new LiveEventTrackingCommand(1002, true));
+    }
+
+    @Test
+    void shouldKeepPriorityOfEarlierCommandWhileTrackingStaysOn() {
+        var commands = LiveEventCommandListener.collapse(List.of(
+                new LiveEventCommandMessage(1001, true, 0, LiveEventPriority.PREMIUM),
+                new LiveEventCommandMessage(1001, true, 5000),
+                new LiveEventCommandMessage(1002, true, 0, LiveEventPriority.LOW),
+                new LiveEventCommandMessage(1002, false, 0),
+                new LiveEventCommandMessage(1002, true, 0)));
+
+        assertThat(commands).containsExactly(
+                new LiveEventTrackingCommand(1001, true, Duration.ofSeconds(5), LiveEventPriority.PREMIUM),
+                new LiveEventTrackingCommand(1002, true));
+    }
+
+    @Test
+    void shouldSkipInvalidCommandsAndApplyTheRest() {
+        listener.onCommands(List.of(
+                record(0, null),
+                record(1, new LiveEventCommandMessage(-1, true, 0)),
+                record(2, new LiveEventCommandMessage(1001, true, 10)),
+                record(3, new LiveEventCommandMessage(1002, true, 0))));
+
+        verify(liveEventTrackingService).scheduleTrackers(List.of(new LiveEventTrackingCommand(1002, true)));
+        verify(liveScorePipelineMetrics).recordTrackingCommands("applied", 1);
+        verify(liveScorePipelineMetrics).recordTrackingCommands("invalid", 3);
+    }
+
+    @Test
+    void shouldNotCallTrackingServiceForBatchWithoutValidCommands() {
+        listener.onCommands(List.of(record(0, null)));
+
+        verify(liveEventTrackingService, never()).scheduleTrackers(anyList());
+    }
+
+    private static ConsumerRecord<String, LiveEventCommandMessage> record(long offset, LiveEventCommandMessage message) {
+        return new ConsumerRecord<>("live_events_commands", 0, offset,
+                message == null ? null : String.valueOf(message.eventId()), message);
+    }
+}
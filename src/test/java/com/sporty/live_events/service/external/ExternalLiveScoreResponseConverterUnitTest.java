@@ -0,0 +1,66 @@
+package com.sporty.live_events.service.external;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExternalLiveScoreResponseConverterUnitTest {
+
+    private final ExternalLiveScoreResponseConverter converter = new ExternalLiveScoreResponseConverter();
+
+    @Test
+    void shouldDecodeScoreAndSkipUnknownFields() throws Exception {
+        var response = read("{\"provider\":{\"name\":\"mock\",\"tags\":[1,2]},\"currentScore\":\"2-1\",\"eventId\":7,\"minute\":63}");
+
+        assertThat(response).isEqualTo(new ExternalLiveScoreResponse(7L, "2-1"));
+    }
+
+    @Test
+    void shouldDecodeMissingScoreAsNull() throws Exception {
+        assertThat(read("{\"eventId\":7,\"currentScore\":null}")).isEqualTo(new ExternalLiveScoreResponse(7L, null));
+    }
+
+    @Test
+    void shouldRejectResponseWithoutEventId() {
+        assertThatThrownBy(() -> read("{\"currentScore\":\"2-1\"}")).isInstanceOf(HttpMessageNotReadableException.class);
+        assertThatThrownBy(() -> read("[]")).isInstanceOf(HttpMessageNotReadableException.class);
+    }
+
+    @Test
+    void shouldRejectScoreThatIsNotScalar() {
+        assertThatThrownBy(() -> read("{\"eventId\":7,\"currentScore\":{\"home\":2,\"away\":1}}"))
+                .isInstanceOf(HttpMessageNotReadableException.class)
+                .hasMessageContaining("currentScore");
+        assertThatThrownBy(() -> read("{\"eventId\":7,\"currentScore\":[2,1]}"))
+                .isInstanceOf(HttpMessageNotReadableException.class);
+    }
+
+    @Test
+    void shouldWriteWhatItReads() throws Exception {
+        var outputMessage = new MockHttpOutputMessage();
+
+        converter.write(new ExternalLiveScoreResponse(7L, "2-1"), MediaType.APPLICATION_JSON, outputMessage);
+
+        assertThat(read(outputMessage.getBodyAsString())).isEqualTo(new ExternalLiveScoreResponse(7L, "2-1"));
+    }
+
+    @Test
+    void shouldOnlyReadLiveScoreResponses() {
+        assertThat(converter.canRead(ExternalLiveScoreResponse.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canRead(String.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(ExternalLiveScoreResponse.class, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    private ExternalLiveScoreResponse read(String body) throws Exception {
+        var inputMessage = new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8));
+        inputMessage.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return converter.read(ExternalLiveScoreResponse.class, inputMessage);
+    }
+}
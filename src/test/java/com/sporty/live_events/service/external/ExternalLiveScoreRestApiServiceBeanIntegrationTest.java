@@ -0,0 +1,213 @@
+package com.sporty.live_events.service.external;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.sporty.live_events.configuration.ExternalLiveScoreProviderProperties;
+import com.sporty.live_events.configuration.LiveScoreMetricsProperties;
+import com.sporty.live_events.configuration.ProviderHedgingProperties;
+import com.sporty.live_events.configuration.ProviderProtectionProperties;
+import com.sporty.live_events.configuration.ProviderRateLimitProperties;
+import com.sporty.live_events.configuration.ProviderTransportProperties;
+import com.sporty.live_events.configuration.RestClientConfiguration;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExternalLiveScoreRestApiServiceBeanIntegrationTest {
+
+    private static final long EVENT_ID = 42L;
+    private static final int FAILURE_THRESHOLD = 3;
+    private static final Duration OPEN_DURATION = Duration.ofMillis(300);
+    private static final Duration READ_TIMEOUT = Duration.ofMillis(500);
+    private static final ProviderHedgingProperties NO_HEDGING =
+            new ProviderHedgingProperties(false, "", 0.95, Duration.ofMillis(20), Duration.ofSeconds(1), 1000, 0.05, 10,
+                    Duration.ofSeconds(30), 0.5);
+
+    private WireMockServer wireMockServer;
+
+    private HttpClient httpClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ExternalLiveScoreRestApiServiceBean externalLiveScoreRestApiService;
+
+    @BeforeEach
+    void setup() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        externalLiveScoreRestApiService = service(false);
+    }
+
+    @AfterEach
+    void teardown() {
+        httpClient.close();
+        wireMockServer.stop();
+    }
+
+    private ExternalLiveScoreRestApiServiceBean service(boolean batchEnabled) {
+        return service(batchEnabled, new ProviderRateLimiter(new ProviderRateLimitProperties(false, 1000, 100, Duration.ofSeconds(1))));
+    }
+
+    private ExternalLiveScoreRestApiServiceBean service(boolean batchEnabled, ProviderRateLimiter providerRateLimiter) {
+        var providerProperties = new ExternalLiveScoreProviderProperties(wireMockServer.baseUrl() + "/mock/status/", 64,
+                batchEnabled, wireMockServer.baseUrl() + "/mock/status/batch", 100);
+        var protectionProperties = new ProviderProtectionProperties(
+                true, FAILURE_THRESHOLD, OPEN_DURATION, 1, 1, Duration.ofSeconds(5), 0.7);
+        var transportProperties = new ProviderTransportProperties(HttpClient.Version.HTTP_2, Duration.ofSeconds(1), READ_TIMEOUT,
+                ProviderTransportProperties.Decoder.STREAMING);
+        var restClientConfiguration = new RestClientConfiguration();
+        if (httpClient == null) {
+            httpClient = restClientConfiguration.liveScoreHttpClient(transportProperties);
+        }
+        var pipelineMetrics = new LiveScorePipelineMetrics(meterRegistry, new LiveScoreMetricsProperties(false, 100));
+        return new ExternalLiveScoreRestApiServiceBean(
+                restClientConfiguration.restClient(httpClient, transportProperties),
+                new ProviderProtection(providerProperties, protectionProperties),
+                providerRateLimiter,
+                new ProviderHedging(providerProperties, NO_HEDGING, pipelineMetrics),
+                pipelineMetrics,
+                providerProperties);
+    }
+
+    @Test
+    void shouldOpenCircuitAndStopCallingProviderAfterConsecutiveFailures() {
+        wireMockServer.stubFor(get(urlEqualTo("/mock/status/" + EVENT_ID))
+                .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            assertThatThrownBy(() -> externalLiveScoreRestApiService.queryCurrentScore(EVENT_ID))
+                    .isInstanceOf(ResourceAccessException.class);
+        }
+
+        assertThatThrownBy(() -> externalLiveScoreRestApiService.queryCurrentScore(EVENT_ID))
+                .isInstanceOf(ProviderUnavailableException.class)
+                .extracting(exc -> ((ProviderUnavailableException) exc).getReason())
+                .isEqualTo(ProviderUnavailableException.Reason.CIRCUIT_OPEN);
+        wireMockServer.verify(FAILURE_THRESHOLD, getRequestedFor(urlEqualTo("/mock/status/" + EVENT_ID)));
+    }
+
+    @Test
+    void shouldNotSpendRateLimitTokensOnCallsRejectedByOpenCircuit() {
+        // one token every 1000s, enough burst for the failing calls and one more, no waiting for a token
+        var providerRateLimiter = new ProviderRateLimiter(
+                new ProviderRateLimitProperties(true, 0.001, FAILURE_THRESHOLD + 1, Duration.ZERO));
+        externalLiveScoreRestApiService = service(false, providerRateLimiter);
+        wireMockServer.stubFor(get(urlEqualTo("/mock/status/" + EVENT_ID))
+                .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            assertThatThrownBy(() -> externalLiveScoreRestApiService.queryCurrentScore(EVENT_ID))
+                    .isInstanceOf(ResourceAccessException.class);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> externalLiveScoreRestApiService.queryCurrentScore(EVENT_ID))
+                    .isInstanceOf(ProviderUnavailableException.class)
+                    .extracting(exc -> ((ProviderUnavailableException) exc).getReason())
+                    .isEqualTo(ProviderUnavailableException.Reason.CIRCUIT_OPEN);
+        }
+
+        assertThat(providerRateLimiter.reserve()).isNotPositive();
+    }
+
+    @Test
+    void shouldCloseCircuitWhenHalfOpenProbeSucceeds() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/mock/status/" + EVENT_ID))
+                .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            assertThatThrownBy(() -> externalLiveScoreRestApiService.queryCurrentScore(EVENT_ID))
+                    .isInstanceOf(ResourceAccessException.class);
+        }
+
+        wireMockServer.stubFor(get(urlEqualTo("/mock/status/" + EVENT_ID))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"eventId\":" + EVENT_ID + ",\"currentScore\":\"1-0\"}")
+                        .withStatus(200)));
+        Thread.sleep(OPEN_DURATION.plusMillis(100).toMillis());
+
+        assertThat(externalLiveScoreRestApiService.queryCurrentScore(EVENT_ID))
+                .isEqualTo(new ExternalLiveScoreResponse(EVENT_ID, "1-0"));
+        assertThat(externalLiveScoreRestApiService.queryCurrentScore(EVENT_ID))
+                .isEqualTo(new ExternalLiveScoreResponse(EVENT_ID, "1-0"));
+    }
+
+    @Test
+    void shouldGiveUpOnHungProviderAfterReadTimeout() {
+        wireMockServer.stubFor(get(urlEqualTo("/mock/status/" + EVENT_ID))
+                .willReturn(aResponse().withStatus(200).withFixedDelay(5000)));
+
+        var startNanos = System.nanoTime();
+        assertThatThrownBy(() -> externalLiveScoreRestApiService.queryCurrentScore(EVENT_ID))
+                .isInstanceOf(ResourceAccessException.class);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - startNanos)).isLessThan(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void shouldRejectScoreOfAnotherEvent() {
+        wireMockServer.stubFor(get(urlEqualTo("/mock/status/" + EVENT_ID))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"eventId\":" + (EVENT_ID + 1) + ",\"currentScore\":\"1-0\"}")
+                        .withStatus(200)));
+
+        assertThatThrownBy(() -> externalLiveScoreRestApiService.queryCurrentScore(EVENT_ID))
+                .isInstanceOf(ExternalLiveScoreResponseException.class);
+    }
+
+    @Test
+    void shouldDropBatchScoresNotRequestedAndLeaveOutMissingOnes() {
+        var batchService = service(true);
+        wireMockServer.stubFor(post(urlEqualTo("/mock/status/batch"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("""
+                                [{"eventId":42,"currentScore":"1-0"},
+                                 {"eventId":42,"currentScore":"2-0"},
+                                 {"eventId":99,"currentScore":"0-1"},
+                                 {"eventId":43,"currentScore":"0-0"}]
+                                """)
+                        .withStatus(200)));
+
+        var responses = batchService.queryCurrentScores(List.of(42L, 43L, 44L));
+
+        assertThat(responses).containsExactly(new ExternalLiveScoreResponse(42L, "1-0"), new ExternalLiveScoreResponse(43L, "0-0"));
+        assertThat(batchMismatches("unrequested")).isEqualTo(2);
+        assertThat(batchMismatches("missing")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFallBackToOneRequestPerEventWhenProviderHasNoBatchEndpoint() {
+        var batchService = service(true);
+        wireMockServer.stubFor(post(urlEqualTo("/mock/status/batch")).willReturn(aResponse().withStatus(404)));
+        for (var eventId : List.of(42L, 43L)) {
+            wireMockServer.stubFor(get(urlEqualTo("/mock/status/" + eventId))
+                    .willReturn(aResponse()
+                            .withHeader("Content-Type", "application/json")
+                            .withBody("{\"eventId\":" + eventId + ",\"currentScore\":\"1-0\"}")
+                            .withStatus(200)));
+        }
+
+        var responses = batchService.queryCurrentScores(List.of(42L, 43L));
+
+        assertThat(responses).containsExactly(new ExternalLiveScoreResponse(42L, "1-0"), new ExternalLiveScoreResponse(43L, "1-0"));
+        assertThat(batchService.getMaxBatchSize()).isEqualTo(1);
+        wireMockServer.verify(1, postRequestedFor(urlEqualTo("/mock/status/batch")));
+    }
+
+    private double batchMismatches(String kind) {
+        return meterRegistry.get("live.score.batch.mismatches").tag("kind", kind).counter().count();
+    }
+}
@@ -0,0 +1,134 @@
+package com.sporty.live_events.service.external;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.sporty.live_events.configuration.LiveScoreMetricsProperties;
+import com.sporty.live_events.configuration.LiveScoreStreamProperties;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class LiveScoreStreamServiceBeanIntegrationTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration IDLE_TIMEOUT = Duration.ofMillis(300);
+
+    private final List<ExternalLiveScoreResponse> scores = new CopyOnWriteArrayList<>();
+    private final AtomicInteger resets = new AtomicInteger();
+
+    private WireMockServer wireMockServer;
+
+    private HttpClient httpClient;
+
+    private LiveScoreStreamServiceBean liveScoreStreamService;
+
+    @BeforeEach
+    void setup() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        liveScoreStreamService = new LiveScoreStreamServiceBean(httpClient,
+                new LiveScorePipelineMetrics(new SimpleMeterRegistry(), new LiveScoreMetricsProperties(false, 100)),
+                new LiveScoreStreamProperties(true, wireMockServer.baseUrl() + "/mock/stream",
+                        Duration.ofMillis(50), Duration.ofMillis(200), IDLE_TIMEOUT));
+        liveScoreStreamService.subscribe(new LiveScoreStreamService.Listener() {
+            @Override
+            public void onScore(ExternalLiveScoreResponse response) {
+                scores.add(response);
+            }
+
+            @Override
+            public void onReset() {
+                resets.incrementAndGet();
+            }
+        });
+    }
+
+    @AfterEach
+    void teardown() throws InterruptedException {
+        liveScoreStreamService.close();
+        httpClient.close();
+        wireMockServer.stop();
+    }
+
+    @Test
+    void shouldDeliverScoresAndResumeAfterLastEventWhenStreamDrops() {
+        stubStream(null, "id: 1\nevent: score\ndata: {\"eventId\":42,\"currentScore\":\"1-0\"}\n\n");
+        stubStream("1", ": keep-alive\n\nid: 2\nevent: score\ndata: {\"eventId\":42,\"currentScore\":\"1-1\"}\n\n");
+
+        liveScoreStreamService.open();
+
+        await().atMost(TIMEOUT).untilAsserted(() -> assertThat(scores).containsExactly(
+                new ExternalLiveScoreResponse(42L, "1-0"), new ExternalLiveScoreResponse(42L, "1-1")));
+        wireMockServer.verify(getRequestedFor(urlEqualTo("/mock/stream")).withHeader("Last-Event-ID", equalTo("1")));
+    }
+
+    @Test
+    void shouldReportResetAndResumeFromItsEventId() {
+        stubStream(null, "id: 7\nevent: reset\ndata:\n\n");
+
+        liveScoreStreamService.open();
+
+        await().atMost(TIMEOUT).untilAsserted(() -> {
+            assertThat(resets).hasValue(1);
+            wireMockServer.verify(getRequestedFor(urlEqualTo("/mock/stream")).withHeader("Last-Event-ID", equalTo("7")));
+        });
+        assertThat(scores).isEmpty();
+    }
+
+    @Test
+    void shouldSkipMalformedEventsAndStopStreamingWhenProviderIsGone() {
+        stubStream(null, "id: 1\nevent: score\ndata: {\"eventId\":\n\nid: 2\nevent: score\ndata: {\"eventId\":42,\"currentScore\":\"2-0\"}\n\n");
+
+        liveScoreStreamService.open();
+
+        await().atMost(TIMEOUT).untilAsserted(() -> assertThat(scores).containsExactly(new ExternalLiveScoreResponse(42L, "2-0")));
+        // resuming after event 2 is not stubbed, so every reconnect is answered with 404
+        await().atMost(TIMEOUT).untilAsserted(() -> assertThat(liveScoreStreamService.isStreaming()).isFalse());
+    }
+
+    @Test
+    void shouldDropAndReconnectStreamThatWentSilent() {
+        var event = "id: 1\nevent: score\ndata: {\"eventId\":42,\"currentScore\":\"1-0\"}\n\n";
+        var padding = ":" + "x".repeat(event.length() - 2) + "\n";
+        // the event arrives right away, then the provider goes silent for 10s without closing the connection
+        wireMockServer.stubFor(get(urlEqualTo("/mock/stream"))
+                .withHeader("Last-Event-ID", absent())
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "text/event-stream")
+                        .withBody(event + padding)
+                        .withChunkedDribbleDelay(2, 20_000)));
+
+        liveScoreStreamService.open();
+
+        await().atMost(TIMEOUT).untilAsserted(() -> assertThat(scores).containsExactly(new ExternalLiveScoreResponse(42L, "1-0")));
+        // resuming after event 1 is not stubbed, so the stream stays down and its events are polled again
+        await().atMost(TIMEOUT).untilAsserted(() -> {
+            wireMockServer.verify(getRequestedFor(urlEqualTo("/mock/stream")).withHeader("Last-Event-ID", equalTo("1")));
+            assertThat(liveScoreStreamService.isStreaming()).isFalse();
+        });
+    }
+
+    private void stubStream(String lastEventId, String body) {
+        var request = get(urlEqualTo("/mock/stream"))
+                .withHeader("Last-Event-ID", lastEventId == null ? absent() : equalTo(lastEventId));
+        wireMockServer.stubFor(request.willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "text/event-stream")
+                .withBody(body)));
+    }
+}
@@ -0,0 +1,125 @@
+package com.sporty.live_events.service.external;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.sporty.live_events.configuration.ExternalLiveScoreProviderProperties;
+import com.sporty.live_events.configuration.LiveScoreMetricsProperties;
+import com.sporty.live_events.configuration.ProviderHedgingProperties;
+import com.sporty.live_events.configuration.ProviderProtectionProperties;
+import com.sporty.live_events.configuration.ProviderRateLimitProperties;
+import com.sporty.live_events.configuration.ProviderTransportProperties;
+import com.sporty.live_events.configuration.RestClientConfiguration;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProviderHedgingIntegrationTest {
+
+    private static final int EVENTS = 100;
+    private static final int SLOW_DELAY_MILLIS = 400;
+
+    private WireMockServer primaryServer;
+    private WireMockServer secondaryServer;
+
+    private HttpClient httpClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ProviderHedging providerHedging;
+
+    @BeforeEach
+    void setup() {
+        primaryServer = new WireMockServer(options().dynamicPort());
+        primaryServer.start();
+        secondaryServer = new WireMockServer(options().dynamicPort());
+        secondaryServer.start();
+
+        // every tenth event is slow on the primary, the secondary is a bit slower than the primary's usual answer
+        for (long eventId = 1; eventId <= EVENTS; eventId++) {
+            primaryServer.stubFor(get(urlEqualTo("/mock/status/" + eventId))
+                    .willReturn(score(eventId).withFixedDelay(eventId % 10 == 9 ? SLOW_DELAY_MILLIS : 10)));
+            secondaryServer.stubFor(get(urlEqualTo("/mock/status/" + eventId))
+                    .willReturn(score(eventId).withFixedDelay(30)));
+        }
+
+        var transportProperties = new ProviderTransportProperties(HttpClient.Version.HTTP_1_1, Duration.ofSeconds(1),
+                Duration.ofSeconds(2), ProviderTransportProperties.Decoder.STREAMING);
+        httpClient = new RestClientConfiguration().liveScoreHttpClient(transportProperties);
+    }
+
+    @AfterEach
+    void teardown() {
+        if (providerHedging != null) {
+            providerHedging.shutdown();
+        }
+        httpClient.close();
+        primaryServer.stop();
+        secondaryServer.stop();
+    }
+
+    @Test
+    void shouldCutTailLatencyOfSlowPrimaryByHedgingToSecondary() {
+        var unhedged = latencies(service(false));
+        var hedgedService = service(true);
+        latencies(hedgedService);
+        var hedged = latencies(hedgedService);
+
+        assertThat(percentile(unhedged, 0.95)).isGreaterThanOrEqualTo(Duration.ofMillis(SLOW_DELAY_MILLIS).toNanos());
+        assertThat(percentile(hedged, 0.95)).isLessThan(Duration.ofMillis(SLOW_DELAY_MILLIS / 2).toNanos());
+        assertThat(percentile(hedged, 0.99)).isLessThan(Duration.ofMillis(SLOW_DELAY_MILLIS).toNanos());
+        assertThat(meterRegistry.get("live.score.hedges").tag("outcome", "won").counter().count()).isPositive();
+        assertThat(secondaryServer.getAllServeEvents()).isNotEmpty();
+    }
+
+    private long[] latencies(ExternalLiveScoreRestApiServiceBean service) {
+        var latencies = new long[EVENTS];
+        for (int eventId = 1; eventId <= EVENTS; eventId++) {
+            var startNanos = System.nanoTime();
+            assertThat(service.queryCurrentScore(eventId).eventId()).isEqualTo(eventId);
+            latencies[eventId - 1] = System.nanoTime() - startNanos;
+        }
+        return latencies;
+    }
+
+    private ExternalLiveScoreRestApiServiceBean service(boolean hedging) {
+        var providerProperties = new ExternalLiveScoreProviderProperties(
+                primaryServer.baseUrl() + "/mock/status/", 64, false, primaryServer.baseUrl() + "/mock/status/batch", 100);
+        var pipelineMetrics = new LiveScorePipelineMetrics(meterRegistry, new LiveScoreMetricsProperties(false, 100));
+        var hedgingProperties = new ProviderHedgingProperties(hedging, secondaryServer.baseUrl() + "/mock/status/", 0.8,
+                Duration.ofMillis(50), Duration.ofMillis(100), 1000, 0.2, 10, Duration.ofSeconds(30), 0.5);
+        providerHedging = new ProviderHedging(providerProperties, hedgingProperties, pipelineMetrics);
+        var transportProperties = new ProviderTransportProperties(HttpClient.Version.HTTP_1_1, Duration.ofSeconds(1),
+                Duration.ofSeconds(2), ProviderTransportProperties.Decoder.STREAMING);
+        return new ExternalLiveScoreRestApiServiceBean(
+                new RestClientConfiguration().restClient(httpClient, transportProperties),
+                new ProviderProtection(providerProperties,
+                        new ProviderProtectionProperties(true, 5, Duration.ofSeconds(10), 1, 1, Duration.ofSeconds(5), 0.7)),
+                new ProviderRateLimiter(new ProviderRateLimitProperties(false, 1000, 100, Duration.ofSeconds(1))),
+                providerHedging,
+                pipelineMetrics,
+                providerProperties);
+    }
+
+    private static long percentile(long[] latencies, double percentile) {
+        var sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+    }
+
+    private static ResponseDefinitionBuilder score(long eventId) {
+        return aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"eventId\":" + eventId + ",\"currentScore\":\"1-0\"}")
+                .withStatus(200);
+    }
+}
@@ -0,0 +1,127 @@
+package com.sporty.live_events.service.external;
+
+import com.sporty.live_events.configuration.ExternalLiveScoreProviderProperties;
+import com.sporty.live_events.configuration.LiveScoreMetricsProperties;
+import com.sporty.live_events.configuration.ProviderHedgingProperties;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ProviderHedgingUnitTest {
+
+    private static final String PRIMARY = "http://primary:8080/mock/status/";
+    private static final String SECONDARY = "http://secondary:8080/mock/status/";
+    private static final Duration HEALTH_RECOVERY = Duration.ofSeconds(30);
+
+    private long now = 0;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+
+    private final ProviderHedging providerHedging = hedging();
+
+    @AfterEach
+    void teardown() {
+        providerHedging.shutdown();
+    }
+
+    @Test
+    void shouldHedgeSlowQueryAndTakeFirstAnswer() {
+        var result = providerHedging.query(baseUri -> answer(baseUri, PRIMARY.equals(baseUri) ? 2_000 : 0));
+
+        assertThat(result).isEqualTo(SECONDARY);
+        assertThat(calls).containsExactly(PRIMARY, SECONDARY);
+        assertThat(hedges("won")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotHedgeBeyondBudget() {
+        providerHedging.query(baseUri -> answer(baseUri, PRIMARY.equals(baseUri) ? 200 : 0));
+        calls.clear();
+
+        var result = providerHedging.query(baseUri -> answer(baseUri, PRIMARY.equals(baseUri) ? 200 : 0));
+
+        assertThat(result).isEqualTo(PRIMARY);
+        assertThat(calls).containsExactly(PRIMARY);
+        assertThat(hedges("throttled")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSendQueriesToSecondaryFirstWhilePrimaryIsUnhealthy() {
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> providerHedging.query(baseUri -> {
+                throw new ExternalLiveScoreResponseException("Provider down");
+            })).isInstanceOf(ExternalLiveScoreResponseException.class);
+        }
+        calls.clear();
+
+        var result = providerHedging.query(baseUri -> answer(baseUri, 0));
+
+        assertThat(result).isEqualTo(SECONDARY);
+        assertThat(calls).containsExactly(SECONDARY);
+    }
+
+    @Test
+    void shouldRecoverHealthWithHalfLifeOfHealthRecovery() {
+        var health = new ProviderHealth("primary", PRIMARY, properties(), () -> now);
+        health.recordFailure();
+        health.recordFailure();
+        var unhealthy = health.getHealth();
+
+        now += HEALTH_RECOVERY.toNanos();
+
+        assertThat(unhealthy).isCloseTo(0.64, within(1e-9));
+        assertThat(health.getHealth()).isCloseTo(1 - (1 - unhealthy) / 2, within(1e-9));
+    }
+
+    @Test
+    void shouldDelayHedgeByLatencyPercentileWithinBounds() {
+        var health = new ProviderHealth("primary", PRIMARY, properties(), () -> now);
+        assertThat(providerHedging.hedgeDelayNanos(health)).isEqualTo(Duration.ofMillis(100).toNanos());
+
+        for (int i = 1; i <= 100; i++) {
+            health.recordSuccess(Duration.ofMillis(i).toNanos());
+        }
+
+        assertThat(providerHedging.hedgeDelayNanos(health)).isEqualTo(Duration.ofMillis(80).toNanos());
+    }
+
+    private String answer(String baseUri, long delayMillis) {
+        calls.add(baseUri);
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exc);
+        }
+        return baseUri;
+    }
+
+    private double hedges(String outcome) {
+        var counter = meterRegistry.find("live.score.hedges").tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private ProviderHedging hedging() {
+        return new ProviderHedging(
+                new ExternalLiveScoreProviderProperties(PRIMARY, 64, false, "http://primary:8080/batch", 100),
+                properties(),
+                new LiveScorePipelineMetrics(meterRegistry, new LiveScoreMetricsProperties(false, 100)),
+                () -> now);
+    }
+
+    private static ProviderHedgingProperties properties() {
+        return new ProviderHedgingProperties(true, SECONDARY, 0.8, Duration.ofMillis(20), Duration.ofMillis(100), 100,
+                0, 1, HEALTH_RECOVERY, 0.5);
+    }
+}
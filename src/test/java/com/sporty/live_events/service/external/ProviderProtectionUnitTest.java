@@ -0,0 +1,129 @@
+package com.sporty.live_events.service.external;
+
+import com.sporty.live_events.configuration.ExternalLiveScoreProviderProperties;
+import com.sporty.live_events.configuration.ProviderProtectionProperties;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProviderProtectionUnitTest {
+
+    private static final URI PROVIDER = URI.create("http://provider:8080/mock/status/1");
+    private static final long TARGET_LATENCY_NANOS = Duration.ofMillis(500).toNanos();
+
+    private long now = 0;
+
+    private final ProviderProtection providerProtection = new ProviderProtection(
+            new ExternalLiveScoreProviderProperties("http://provider:8080/mock/status/", 4, false, "http://provider:8080/batch", 100),
+            new ProviderProtectionProperties(true, 2, Duration.ofSeconds(10), 1, 1, Duration.ofMillis(500), 0.5),
+            () -> now);
+
+    @Test
+    void shouldRejectCallsBeyondConcurrencyLimitWithoutBlocking() {
+        for (int i = 0; i < 4; i++) {
+            providerProtection.acquire(PROVIDER);
+        }
+
+        assertThatThrownBy(() -> providerProtection.acquire(PROVIDER))
+                .isInstanceOf(ProviderUnavailableException.class)
+                .extracting(exc -> ((ProviderUnavailableException) exc).getReason())
+                .isEqualTo(ProviderUnavailableException.Reason.CONCURRENCY_LIMIT);
+    }
+
+    @Test
+    void shouldHalveLimitOncePerTargetLatencyWhenSlowAndRecoverWhenFast() {
+        var first = providerProtection.acquire(PROVIDER);
+        var second = providerProtection.acquire(PROVIDER);
+        now += 2 * TARGET_LATENCY_NANOS;
+        first.close();
+        second.close();
+
+        assertThat(providerProtection.getConcurrencyLimit(PROVIDER)).isEqualTo(2);
+
+        for (int i = 0; i < 20; i++) {
+            providerProtection.acquire(PROVIDER).close();
+        }
+
+        assertThat(providerProtection.getConcurrencyLimit(PROVIDER)).isEqualTo(4);
+    }
+
+    @Test
+    void shouldOpenCircuitAfterConsecutiveFailuresAndProbeOnceOpenDurationElapsed() {
+        failCall();
+        failCall();
+
+        assertThatThrownBy(() -> providerProtection.acquire(PROVIDER))
+                .isInstanceOf(ProviderUnavailableException.class)
+                .extracting(exc -> ((ProviderUnavailableException) exc).getReason())
+                .isEqualTo(ProviderUnavailableException.Reason.CIRCUIT_OPEN);
+
+        now += Duration.ofSeconds(10).toNanos();
+        var probe = providerProtection.acquire(PROVIDER);
+        assertThatThrownBy(() -> providerProtection.acquire(PROVIDER))
+                .isInstanceOf(ProviderUnavailableException.class);
+
+        probe.close();
+        providerProtection.acquire(PROVIDER).close();
+    }
+
+    @Test
+    void shouldReopenCircuitWhenProbeFails() {
+        failCall();
+        failCall();
+        now += Duration.ofSeconds(10).toNanos();
+
+        failCall();
+
+        assertThatThrownBy(() -> providerProtection.acquire(PROVIDER))
+                .isInstanceOf(ProviderUnavailableException.class);
+    }
+
+    @Test
+    void shouldNotCloseCircuitWhenProbeIsCancelled() {
+        failCall();
+        failCall();
+        now += Duration.ofSeconds(10).toNanos();
+
+        try (var probe = providerProtection.acquire(PROVIDER)) {
+            probe.cancelled();
+        }
+
+        // the cancelled probe freed its slot but left the circuit half open, so the next call is the probe again
+        var probe = providerProtection.acquire(PROVIDER);
+        assertThatThrownBy(() -> providerProtection.acquire(PROVIDER))
+                .isInstanceOf(ProviderUnavailableException.class)
+                .extracting(exc -> ((ProviderUnavailableException) exc).getReason())
+                .isEqualTo(ProviderUnavailableException.Reason.CIRCUIT_OPEN);
+        probe.failed();
+        probe.close();
+        assertThatThrownBy(() -> providerProtection.acquire(PROVIDER))
+                .isInstanceOf(ProviderUnavailableException.class);
+    }
+
+    @Test
+    void shouldNotCountCancelledCallsAsSuccesses() {
+        failCall();
+        for (int i = 0; i < 10; i++) {
+            try (var permit = providerProtection.acquire(PROVIDER)) {
+                permit.cancelled();
+            }
+        }
+
+        failCall();
+
+        assertThatThrownBy(() -> providerProtection.acquire(PROVIDER))
+                .isInstanceOf(ProviderUnavailableException.class)
+                .extracting(exc -> ((ProviderUnavailableException) exc).getReason())
+                .isEqualTo(ProviderUnavailableException.Reason.CIRCUIT_OPEN);
+    }
+
+    private void failCall() {
+        try (var permit = providerProtection.acquire(PROVIDER)) {
+            permit.failed();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.sporty.live_events.service.external;
+
+import com.sporty.live_events.configuration.ProviderRateLimitProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProviderRateLimiterUnitTest {
+
+    private static final long INTERVAL_NANOS = Duration.ofMillis(100).toNanos();
+
+    private long now = 0;
+
+    private final ProviderRateLimiter providerRateLimiter = new ProviderRateLimiter(
+            new ProviderRateLimitProperties(true, 10, 5, Duration.ofMillis(250)), () -> now);
+
+    @Test
+    void shouldLetBurstThroughThenSpaceCallsToRate() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(providerRateLimiter.reserve()).isZero();
+        }
+
+        assertThat(providerRateLimiter.reserve()).isEqualTo(INTERVAL_NANOS);
+        assertThat(providerRateLimiter.reserve()).isEqualTo(2 * INTERVAL_NANOS);
+    }
+
+    @Test
+    void shouldRefillAtRateWhileIdle() {
+        for (int i = 0; i < 5; i++) {
+            providerRateLimiter.reserve();
+        }
+
+        now += 2 * INTERVAL_NANOS;
+
+        assertThat(providerRateLimiter.reserve()).isZero();
+        assertThat(providerRateLimiter.reserve()).isZero();
+        assertThat(providerRateLimiter.reserve()).isEqualTo(INTERVAL_NANOS);
+    }
+
+    @Test
+    void shouldRejectCallsWaitingLongerThanMaxWaitWithoutTakingToken() {
+        for (int i = 0; i < 7; i++) {
+            providerRateLimiter.reserve();
+        }
+
+        assertThatThrownBy(providerRateLimiter::reserve)
+                .isInstanceOf(ProviderUnavailableException.class)
+                .extracting(exc -> ((ProviderUnavailableException) exc).getReason())
+                .isEqualTo(ProviderUnavailableException.Reason.RATE_LIMITED);
+
+        now += INTERVAL_NANOS;
+        assertThat(providerRateLimiter.reserve()).isEqualTo(2 * INTERVAL_NANOS);
+    }
+
+    @Test
+    void shouldNeitherWaitNorLimitWhenDisabled() {
+        var unlimited = new ProviderRateLimiter(new ProviderRateLimitProperties(false, 10, 5, Duration.ofMillis(250)), () -> now);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(unlimited.acquire()).isZero();
+        }
+        assertThat(unlimited.getRequestsPerSecond()).isZero();
+    }
+}
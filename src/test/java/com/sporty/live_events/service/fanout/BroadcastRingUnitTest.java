@@ -0,0 +1,68 @@
+package com.sporty.live_events.service.fanout;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BroadcastRingUnitTest {
+
+    private final BroadcastRing<String> ring = new BroadcastRing<>(4);
+
+    @Test
+    void shouldNumberEntriesFromOne() {
+        assertThat(ring.publish(sequence -> "first-" + sequence)).isEqualTo(1);
+        assertThat(ring.publish(sequence -> "second-" + sequence)).isEqualTo(2);
+
+        assertThat(ring.getLastSequence()).isEqualTo(2);
+        assertThat(ring.get(1)).isEqualTo("first-1");
+        assertThat(ring.get(2)).isEqualTo("second-2");
+    }
+
+    @Test
+    void shouldNotReturnOverwrittenEntries() {
+        for (int i = 0; i < 6; i++) {
+            ring.publish(String::valueOf);
+        }
+
+        assertThat(ring.get(2)).isNull();
+        assertThat(ring.get(3)).isEqualTo("3");
+        assertThat(ring.canReadFrom(2)).isFalse();
+        assertThat(ring.canReadFrom(3)).isTrue();
+        assertThat(ring.canReadFrom(7)).isTrue();
+    }
+
+    @Test
+    void shouldReturnRightAwayWhenEntriesArePending() throws InterruptedException {
+        ring.publish(String::valueOf);
+        ring.publish(String::valueOf);
+
+        assertThat(ring.awaitAfter(0, Duration.ofSeconds(10))).isEqualTo(2);
+    }
+
+    @Test
+    void shouldWakeUpWaitingReaderOnPublish() throws InterruptedException {
+        Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+            ring.publish(String::valueOf);
+        });
+
+        assertThat(ring.awaitAfter(0, Duration.ofSeconds(10))).isEqualTo(1);
+    }
+
+    @Test
+    void shouldGiveUpWaitingAfterTimeout() throws InterruptedException {
+        assertThat(ring.awaitAfter(0, Duration.ofMillis(50))).isZero();
+    }
+
+    @Test
+    void shouldRejectCapacityThatIsNotPowerOfTwo() {
+        assertThatThrownBy(() -> new BroadcastRing<String>(3)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
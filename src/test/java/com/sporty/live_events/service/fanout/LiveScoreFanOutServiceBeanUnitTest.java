@@ -0,0 +1,162 @@
+package com.sporty.live_events.service.fanout;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sporty.live_events.configuration.LiveScoreFanOutProperties;
+import com.sporty.live_events.service.kafka.LiveScoreKafkaMessage;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class LiveScoreFanOutServiceBeanUnitTest {
+
+    private static final int RING_CAPACITY = 4;
+
+    private final LiveScorePipelineMetrics liveScorePipelineMetrics = mock();
+
+    private final LiveScoreFanOutServiceBean fanOutService = new LiveScoreFanOutServiceBean(new ObjectMapper(),
+            liveScorePipelineMetrics, new LiveScoreFanOutProperties(true, RING_CAPACITY, 2, 100, Duration.ofSeconds(30)));
+
+    @AfterEach
+    void teardown() {
+        fanOutService.close();
+    }
+
+    @Test
+    void shouldKeepLatestScoreOfEveryEvent() {
+        fanOutService.onScore(new LiveScoreKafkaMessage(1L, "0-0"));
+        fanOutService.onScore(new LiveScoreKafkaMessage(1L, "1-0"));
+        fanOutService.onScore(new LiveScoreKafkaMessage(2L, "0-0"));
+
+        assertThat(fanOutService.getLatestScores(new long[]{1L, 3L}))
+                .containsExactly(new LiveScoreKafkaMessage(1L, "1-0"));
+    }
+
+    @Test
+    void shouldSendSnapshotThenUpdatesOfSubscribedEventsOnly() throws InterruptedException {
+        fanOutService.onScore(new LiveScoreKafkaMessage(1L, "0-0"));
+        var emitter = new RecordingEmitter();
+
+        fanOutService.subscribe(emitter, new long[]{1L}, null);
+        assertThat(emitter.next()).contains("event:snapshot", "{\"eventId\":1,\"currentScore\":\"0-0\"}");
+
+        fanOutService.onScore(new LiveScoreKafkaMessage(2L, "1-0"));
+        fanOutService.onScore(new LiveScoreKafkaMessage(1L, "1-0"));
+
+        assertThat(emitter.next()).contains(id(3), "event:score", "{\"eventId\":1,\"currentScore\":\"1-0\"}");
+        assertThat(emitter.frames.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void shouldResumeAfterLastEventIdWithoutSnapshot() throws InterruptedException {
+        fanOutService.onScore(new LiveScoreKafkaMessage(1L, "0-0"));
+        fanOutService.onScore(new LiveScoreKafkaMessage(1L, "1-0"));
+        var emitter = new RecordingEmitter();
+
+        fanOutService.subscribe(emitter, new long[]{1L}, fanOutService.getEpoch() + "-1");
+
+        assertThat(emitter.next()).contains(id(2), "event:score", "\"1-0\"");
+    }
+
+    @Test
+    void shouldSendSnapshotToSubscriberResumingWithIdOfAnotherInstanceOrStart() throws InterruptedException {
+        fanOutService.onScore(new LiveScoreKafkaMessage(1L, "0-0"));
+        fanOutService.onScore(new LiveScoreKafkaMessage(1L, "1-0"));
+        var otherInstance = new RecordingEmitter();
+        var withoutEpoch = new RecordingEmitter();
+
+        fanOutService.subscribe(otherInstance, new long[]{1L}, "otherepoch-1");
+        fanOutService.subscribe(withoutEpoch, new long[]{1L}, "1");
+
+        assertThat(otherInstance.next()).contains(id(2), "event:snapshot", "\"1-0\"");
+        assertThat(withoutEpoch.next()).contains(id(2), "event:snapshot", "\"1-0\"");
+    }
+
+    @Test
+    void shouldServeSeededScoresInSnapshotsWithoutPublishingThem() throws InterruptedException {
+        fanOutService.seed(new LiveScoreKafkaMessage(1L, "0-0"));
+        fanOutService.seed(new LiveScoreKafkaMessage(1L, "1-0"));
+        var emitter = new RecordingEmitter();
+
+        fanOutService.subscribe(emitter, new long[]{1L}, null);
+
+        assertThat(emitter.next()).contains(id(0), "event:snapshot", "\"1-0\"");
+        assertThat(emitter.frames.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void shouldSendFreshSnapshotToSubscriberThatFellBehindTheRing() throws InterruptedException {
+        var emitter = new RecordingEmitter();
+        emitter.blockFirstSend();
+
+        fanOutService.subscribe(emitter, new long[]{1L}, null);
+        assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int goals = 1; goals <= 2 * RING_CAPACITY; goals++) {
+            fanOutService.onScore(new LiveScoreKafkaMessage(1L, goals + "-0"));
+        }
+        emitter.release.countDown();
+
+        assertThat(emitter.next()).contains(id(0), "event:snapshot");
+        assertThat(emitter.next()).contains(id(8), "event:snapshot", "\"8-0\"");
+        verify(liveScorePipelineMetrics).recordFanOutResync();
+    }
+
+    @Test
+    void shouldRejectSubscribersOverTheLimit() {
+        fanOutService.subscribe(new RecordingEmitter(), new long[]{1L}, null);
+        fanOutService.subscribe(new RecordingEmitter(), new long[]{1L}, null);
+
+        assertThatThrownBy(() -> fanOutService.subscribe(new RecordingEmitter(), new long[]{1L}, null))
+                .isInstanceOf(LiveScoreFanOutException.class);
+        assertThat(fanOutService.getSubscriberCount()).isEqualTo(2);
+    }
+
+    private String id(long sequence) {
+        return "id:" + fanOutService.getEpoch() + "-" + sequence;
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private CountDownLatch release = new CountDownLatch(0);
+
+        void blockFirstSend() {
+            release = new CountDownLatch(1);
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+            frames.add(items.stream()
+                    .map(item -> item.getData() instanceof byte[] bytes
+                            ? new String(bytes, StandardCharsets.UTF_8)
+                            : item.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+
+        String next() throws InterruptedException {
+            var frame = frames.poll(5, TimeUnit.SECONDS);
+            assertThat(frame).isNotNull();
+            return frame;
+        }
+    }
+}
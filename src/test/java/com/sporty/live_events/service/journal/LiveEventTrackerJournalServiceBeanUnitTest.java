@@ -0,0 +1,126 @@
+package com.sporty.live_events.service.journal;
+
+import com.sporty.live_events.configuration.LiveEventTrackerJournalProperties;
+import com.sporty.live_events.configuration.LiveScoreMetricsProperties;
+import com.sporty.live_events.service.LiveEventPriority;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveEventTrackerJournalServiceBeanUnitTest {
+
+    @TempDir
+    private Path directory;
+
+    private final LiveScorePipelineMetrics pipelineMetrics =
+            new LiveScorePipelineMetrics(new SimpleMeterRegistry(), new LiveScoreMetricsProperties(false, 100));
+
+    @Test
+    void shouldRecoverTrackedEventsAfterRestart() throws Exception {
+        var journal = open(DataSize.ofKilobytes(64));
+        journal.recordTracked(1L, null);
+        journal.recordTracked(2L, null);
+        journal.recordTracked(3L, null);
+        journal.recordUntracked(2L);
+        journal.close();
+
+        var reopened = open(DataSize.ofKilobytes(64));
+
+        assertThat(reopened.getJournaledEventIds()).containsExactlyInAnyOrder(1L, 3L);
+        reopened.close();
+    }
+
+    @Test
+    void shouldCompactIntoSnapshotWhenJournalIsFull() throws Exception {
+        // room for 10 records only
+        var journal = open(DataSize.ofBytes(90));
+        LongStream.rangeClosed(1, 50).forEach(eventId -> journal.recordTracked(eventId, null));
+        LongStream.rangeClosed(1, 25).forEach(journal::recordUntracked);
+        journal.close();
+
+        var reopened = open(DataSize.ofBytes(90));
+
+        assertThat(reopened.getJournaledEventIds()).containsExactlyInAnyOrder(LongStream.rangeClosed(26, 50).toArray());
+        assertThat(directory.resolve("snapshot.bin")).exists();
+        reopened.close();
+    }
+
+    @Test
+    void shouldGrowJournalThatCannotHoldARecord() throws Exception {
+        var journal = open(DataSize.ofBytes(4));
+        LongStream.rangeClosed(1, 20).forEach(eventId -> journal.recordTracked(eventId, null));
+        journal.recordUntracked(7L);
+        journal.close();
+
+        var reopened = open(DataSize.ofBytes(4));
+
+        assertThat(reopened.getJournaledEventIds()).containsExactlyInAnyOrder(
+                LongStream.rangeClosed(1, 20).filter(eventId -> eventId != 7).toArray());
+        reopened.close();
+    }
+
+    @Test
+    void shouldRecoverPriorityTiersThroughJournalAndSnapshot() throws Exception {
+        // room for 4 records only, so some of the tiers only make it into the snapshot
+        var journal = open(DataSize.ofBytes(36));
+        journal.recordTracked(1L, LiveEventPriority.PREMIUM);
+        journal.recordTracked(2L, LiveEventPriority.LOW);
+        journal.recordTracked(3L, null);
+        journal.recordTracked(4L, LiveEventPriority.STANDARD);
+        journal.recordTracked(4L, LiveEventPriority.PREMIUM);
+        journal.recordTracked(5L, LiveEventPriority.LOW);
+        journal.close();
+
+        var reopened = open(DataSize.ofBytes(36));
+
+        assertThat(reopened.getJournaledEventIds(LiveEventPriority.PREMIUM)).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(reopened.getJournaledEventIds(LiveEventPriority.STANDARD)).containsExactly(3L);
+        assertThat(reopened.getJournaledEventIds(LiveEventPriority.LOW)).containsExactlyInAnyOrder(2L, 5L);
+        assertThat(reopened.getJournaledEventIds()).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+        reopened.close();
+    }
+
+    @Test
+    void shouldRecoverTierlessSnapshotAndJournalIntoDefaultTier() throws Exception {
+        var snapshot = ByteBuffer.allocate(3 * Long.BYTES).putLong(2).putLong(1L).putLong(2L);
+        Files.write(directory.resolve("snapshot.bin"), snapshot.array());
+        var record = ByteBuffer.allocate(1 + Long.BYTES).put((byte) 1).putLong(3L);
+        Files.write(directory.resolve("journal.bin"), record.array());
+
+        var journal = open(DataSize.ofKilobytes(64));
+
+        assertThat(journal.getJournaledEventIds(LiveEventPriority.DEFAULT)).containsExactlyInAnyOrder(1L, 2L, 3L);
+        journal.close();
+    }
+
+    @Test
+    void shouldNotJournalWhenDisabled() throws Exception {
+        var journal = new LiveEventTrackerJournalServiceBean(new LiveEventTrackerJournalProperties(false, directory,
+                DataSize.ofKilobytes(64), Duration.ofMinutes(1), Duration.ofSeconds(1), 1024, Duration.ofSeconds(1)),
+                pipelineMetrics);
+        journal.open();
+        journal.recordTracked(1L, null);
+        journal.close();
+
+        assertThat(journal.getJournaledEventIds()).isEmpty();
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    private LiveEventTrackerJournalServiceBean open(DataSize journalSize) throws Exception {
+        var journal = new LiveEventTrackerJournalServiceBean(new LiveEventTrackerJournalProperties(true, directory,
+                journalSize, Duration.ofMinutes(1), Duration.ofSeconds(1), 1024, Duration.ofSeconds(1)),
+                pipelineMetrics);
+        journal.open();
+        return journal;
+    }
+}
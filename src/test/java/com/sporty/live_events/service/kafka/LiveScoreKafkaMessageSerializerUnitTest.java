@@ -0,0 +1,71 @@
+package com.sporty.live_events.service.kafka;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LiveScoreKafkaMessageSerializerUnitTest {
+
+    private final LiveScoreKafkaMessageSerializer serializer = new LiveScoreKafkaMessageSerializer();
+    private final LiveScoreKafkaMessageDeserializer deserializer = new LiveScoreKafkaMessageDeserializer();
+
+    @Test
+    void shouldRoundTripBinaryMessage() {
+        var message = new LiveScoreKafkaMessage(1234L, "2-1");
+
+        var bytes = serializer.serialize("live_score", message);
+
+        assertThat(bytes[0]).isEqualTo(LiveScoreKafkaMessageSerializer.SCHEMA_VERSION);
+        assertThat(bytes).hasSize(1 + 8 + 1 + 3);
+        assertThat(deserializer.deserialize("live_score", bytes)).isEqualTo(message);
+    }
+
+    @Test
+    void shouldRoundTripNonAsciiAndLongScores() {
+        var message = new LiveScoreKafkaMessage(Long.MAX_VALUE, "Gökhan ⚽ 1-0 🏆 " + "x".repeat(300));
+
+        assertThat(deserializer.deserialize("live_score", serializer.serialize("live_score", message))).isEqualTo(message);
+    }
+
+    @Test
+    void shouldRoundTripTraceWithinAFewBytes() {
+        var trace = new LiveScoreTrace(1_700_000_000_000_000L, 1_700_000_000_000_150L, 1_700_000_000_020_150L, 1_700_000_000_020_100L);
+        var message = new LiveScoreKafkaMessage(1234L, "2-1", trace);
+
+        var bytes = serializer.serialize("live_score", message);
+
+        assertThat(bytes[0]).isEqualTo(LiveScoreKafkaMessageSerializer.TRACED_SCHEMA_VERSION);
+        assertThat(bytes).hasSize(1 + 8 + 1 + 3 + 8 + 2 + 3 + 1);
+        assertThat(deserializer.deserialize("live_score", bytes)).isEqualTo(message);
+    }
+
+    @Test
+    void shouldEncodeIntoReusedBuffer() {
+        var buffer = ByteBuffer.allocate(64);
+        var message = new LiveScoreKafkaMessage(1L, "0-0");
+
+        LiveScoreKafkaMessageSerializer.encode(message, buffer);
+
+        assertThat(buffer.position()).isEqualTo(LiveScoreKafkaMessageSerializer.encodedSize(message));
+    }
+
+    @Test
+    void shouldStillReadJsonMessages() {
+        var message = new LiveScoreKafkaMessage(1234L, "2-1");
+
+        try (var jsonSerializer = new JsonSerializer<LiveScoreKafkaMessage>()) {
+            assertThat(deserializer.deserialize("live_score", jsonSerializer.serialize("live_score", message))).isEqualTo(message);
+        }
+    }
+
+    @Test
+    void shouldRejectUnknownSchemaVersion() {
+        assertThatThrownBy(() -> deserializer.deserialize("live_score", new byte[]{42, 0, 0}))
+                .isInstanceOf(SerializationException.class);
+    }
+}
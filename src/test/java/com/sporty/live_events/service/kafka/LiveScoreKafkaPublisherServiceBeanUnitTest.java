@@ -0,0 +1,108 @@
+package com.sporty.live_events.service.kafka;
+
+import com.sporty.live_events.configuration.LiveScoreKafkaPublisherProperties;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LiveScoreKafkaPublisherServiceBeanUnitTest {
+
+    private final KafkaTemplate<String, LiveScoreKafkaMessage> kafkaTemplate = mock();
+
+    private final LiveScoreKafkaPublisherService publisherService = new LiveScoreKafkaPublisherServiceBean(kafkaTemplate,
+            mock(LiveScorePipelineMetrics.class), new LiveScoreKafkaPublisherProperties(1, Duration.ofMillis(100), "live_score.DLT", true, false));
+
+    private final LiveScoreKafkaMessage message = new LiveScoreKafkaMessage(1234L, "1-0");
+
+    @Test
+    void shouldPublishKeyedByEventId() {
+        when(kafkaTemplate.send(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        var delivery = publisherService.publishMessage(message);
+
+        assertThat(delivery).isCompleted();
+        verify(kafkaTemplate).send("live_score", "1234", message);
+    }
+
+    @Test
+    void shouldSendTraceAsHeadersAndKeepItOutOfThePayload() {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        var delivery = publisherService.publishMessage(message.withTrace(new LiveScoreTrace(1_000, 1_200, 1_500)));
+
+        assertThat(delivery).isCompleted();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ProducerRecord<String, LiveScoreKafkaMessage>> record = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(record.capture());
+        assertThat(record.getValue().key()).isEqualTo("1234");
+        assertThat(record.getValue().value()).isEqualTo(message);
+
+        var trace = LiveScoreTraceHeaders.read(record.getValue().headers());
+        assertThat(trace.tickedAtMicros()).isEqualTo(1_000);
+        assertThat(trace.fetchStartedAtMicros()).isEqualTo(1_200);
+        assertThat(trace.fetchEndedAtMicros()).isEqualTo(1_500);
+        assertThat(trace.publishedAtMicros()).isGreaterThan(1_500);
+    }
+
+    @Test
+    void shouldRouteToDeadLetterTopicWhenDeliveryFails() {
+        when(kafkaTemplate.send(eq("live_score"), any(), any())).thenReturn(CompletableFuture.failedFuture(new RuntimeException()));
+        when(kafkaTemplate.send(eq("live_score.DLT"), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        var delivery = publisherService.publishMessage(message);
+
+        await().atMost(5, TimeUnit.SECONDS).until(delivery::isDone);
+        assertThat(delivery).isCompletedExceptionally();
+        verify(kafkaTemplate, times(1)).send("live_score", "1234", message);
+        verify(kafkaTemplate).send("live_score.DLT", "1234", message);
+    }
+
+    @Test
+    void shouldNotResendOlderScoreThatFailedAfterNewerOneWasDelivered() {
+        var publisherService = new LiveScoreKafkaPublisherServiceBean(kafkaTemplate, mock(LiveScorePipelineMetrics.class),
+                new LiveScoreKafkaPublisherProperties(2, Duration.ofMillis(100), "live_score.DLT", true, false));
+        var newer = new LiveScoreKafkaMessage(1234L, "2-0");
+        var olderSend = new CompletableFuture<SendResult<String, LiveScoreKafkaMessage>>();
+        when(kafkaTemplate.send("live_score", "1234", message)).thenReturn(olderSend);
+        when(kafkaTemplate.send("live_score", "1234", newer)).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send(eq("live_score.DLT"), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        var olderDelivery = publisherService.publishMessage(message);
+        var newerDelivery = publisherService.publishMessage(newer);
+        olderSend.completeExceptionally(new RuntimeException("Delivery timed out"));
+
+        await().atMost(5, TimeUnit.SECONDS).until(olderDelivery::isDone);
+        assertThat(newerDelivery).isCompleted();
+        assertThat(olderDelivery).isCompletedExceptionally();
+        // the older score only goes to the dead letter topic, it never lands on the partition after the newer one
+        verify(kafkaTemplate, times(1)).send("live_score", "1234", message);
+        verify(kafkaTemplate).send("live_score.DLT", "1234", message);
+    }
+
+    @Test
+    void shouldRejectMessagesWhenTooManyAreInFlight() {
+        when(kafkaTemplate.send(any(), any(), any())).thenReturn(new CompletableFuture<>());
+
+        publisherService.publishMessage(message);
+
+        assertThatThrownBy(() -> publisherService.publishMessage(message))
+                .isInstanceOf(LiveScoreKafkaPublisherException.class);
+    }
+}
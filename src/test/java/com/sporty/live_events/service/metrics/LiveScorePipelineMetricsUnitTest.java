@@ -0,0 +1,75 @@
+package com.sporty.live_events.service.metrics;
+
+import com.sporty.live_events.configuration.LiveScoreMetricsProperties;
+import com.sporty.live_events.service.kafka.LiveScoreTrace;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveScorePipelineMetricsUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldCapPerEventTimersButTimeEveryEvent() {
+        var metrics = new LiveScorePipelineMetrics(meterRegistry, new LiveScoreMetricsProperties(true, 10));
+
+        for (long eventId = 0; eventId < 1000; eventId++) {
+            metrics.tagEvent(eventId);
+            metrics.recordFetch(eventId, System.nanoTime(), true);
+        }
+
+        assertThat(meterRegistry.get("live.score.fetch").tag("mode", "single").timer().count()).isEqualTo(1000);
+        assertThat(meterRegistry.find("live.score.fetch.by.event").timers()).hasSize(10);
+    }
+
+    @Test
+    void shouldRemovePerEventTimersOfUntrackedEventsAndTagEventsTrackedLater() {
+        var metrics = new LiveScorePipelineMetrics(meterRegistry, new LiveScoreMetricsProperties(true, 2));
+        metrics.tagEvent(1L);
+        metrics.tagEvent(2L);
+        metrics.tagEvent(3L);
+
+        metrics.untagEvent(1L);
+        metrics.recordFetch(1L, System.nanoTime(), true);
+        metrics.recordPublish(1L, System.nanoTime(), true);
+        metrics.tagEvent(3L);
+
+        assertThat(meterRegistry.find("live.score.fetch.by.event").tag("event", "1").timer()).isNull();
+        assertThat(meterRegistry.find("live.score.publish.by.event").tag("event", "1").timer()).isNull();
+        assertThat(meterRegistry.find("live.score.fetch.by.event").timers())
+                .extracting(timer -> timer.getId().getTag("event"))
+                .containsExactlyInAnyOrder("2", "3");
+    }
+
+    @Test
+    void shouldNotTagByEventByDefault() {
+        var metrics = new LiveScorePipelineMetrics(meterRegistry, new LiveScoreMetricsProperties(false, 10));
+
+        metrics.recordPublish(1L, System.nanoTime(), false);
+
+        assertThat(meterRegistry.get("live.score.publish").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("live.score.failures").tag("stage", "publish").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("live.score.publish.by.event").timers()).isEmpty();
+    }
+
+    @Test
+    void shouldSplitTracedCycleIntoStages() {
+        var metrics = new LiveScorePipelineMetrics(meterRegistry, new LiveScoreMetricsProperties(false, 10));
+
+        metrics.recordStages(new LiveScoreTrace(1_000, 3_000, 23_000, 24_000), 30_000);
+
+        assertThat(stageMillis("queue")).isEqualTo(2);
+        assertThat(stageMillis("fetch")).isEqualTo(20);
+        assertThat(stageMillis("handover")).isEqualTo(1);
+        assertThat(stageMillis("ack")).isEqualTo(6);
+        assertThat(stageMillis("total")).isEqualTo(29);
+    }
+
+    private double stageMillis(String stage) {
+        return meterRegistry.get("live.score.stage").tag("stage", stage).timer().totalTime(TimeUnit.MILLISECONDS);
+    }
+}
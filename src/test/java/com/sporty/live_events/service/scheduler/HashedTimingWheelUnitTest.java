@@ -0,0 +1,257 @@
+package com.sporty.live_events.service.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTimingWheelUnitTest {
+
+    private static final long TICK_NANOS = Duration.ofMillis(100).toNanos();
+
+    private final List<long[]> dispatched = new ArrayList<>();
+    private long now = 0;
+
+    private final HashedTimingWheel timingWheel =
+            new HashedTimingWheel(Duration.ofMillis(100), 16, dispatched::add, () -> now);
+
+    @Test
+    void shouldFireNewEventOnNextTickAndThenEveryInterval() {
+        timingWheel.schedule(1L, Duration.ofSeconds(1));
+
+        advanceTicks(1);
+        assertThat(dispatched).hasSize(1);
+        assertThat(dispatched.get(0)).containsExactly(1L);
+
+        advanceTicks(9);
+        assertThat(dispatched).hasSize(1);
+
+        advanceTicks(1);
+        assertThat(dispatched).hasSize(2);
+    }
+
+    @Test
+    void shouldFireIntervalsLongerThanOneWheelRevolution() {
+        timingWheel.schedule(1L, Duration.ofSeconds(5));
+
+        advanceTicks(1);
+        advanceTicks(49);
+        assertThat(dispatched).hasSize(1);
+
+        advanceTicks(1);
+        assertThat(dispatched).hasSize(2);
+    }
+
+    @Test
+    void shouldHandEventsDueInTheSameTickOverTogether() {
+        timingWheel.schedule(1L, Duration.ofSeconds(1));
+        timingWheel.schedule(2L, Duration.ofSeconds(1));
+        timingWheel.schedule(3L, Duration.ofSeconds(1));
+
+        advanceTicks(1);
+
+        assertThat(dispatched).hasSize(1);
+        assertThat(dispatched.get(0)).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void shouldNotScheduleSameEventTwice() {
+        assertThat(timingWheel.schedule(1L, Duration.ofSeconds(1))).isTrue();
+        assertThat(timingWheel.schedule(1L, Duration.ofSeconds(1))).isFalse();
+
+        advanceTicks(1);
+
+        assertThat(dispatched.get(0)).containsExactly(1L);
+    }
+
+    @Test
+    void shouldStopFiringCancelledEvents() {
+        timingWheel.schedule(1L, Duration.ofSeconds(1));
+        advanceTicks(1);
+
+        assertThat(timingWheel.cancel(1L)).isTrue();
+        advanceTicks(20);
+
+        assertThat(dispatched).hasSize(1);
+        assertThat(timingWheel.contains(1L)).isFalse();
+    }
+
+    @Test
+    void shouldKeepFindingEventsWhileTheEntryTableGrowsAndDropsCancelledOnes() {
+        for (long eventId = 0; eventId < 10_000; eventId++) {
+            assertThat(timingWheel.schedule(eventId, Duration.ofSeconds(1))).isTrue();
+        }
+        for (long eventId = 0; eventId < 10_000; eventId += 2) {
+            assertThat(timingWheel.cancel(eventId)).isTrue();
+        }
+        // reuses and purges the slots left by the cancelled events
+        for (long eventId = 10_000; eventId < 15_000; eventId++) {
+            timingWheel.schedule(eventId, Duration.ofSeconds(1));
+        }
+
+        assertThat(timingWheel.size()).isEqualTo(10_000);
+        assertThat(timingWheel.contains(0L)).isFalse();
+        assertThat(timingWheel.contains(9_999L)).isTrue();
+        assertThat(timingWheel.contains(14_999L)).isTrue();
+        assertThat(timingWheel.cancel(9_998L)).isFalse();
+        assertThat(timingWheel.schedule(9_998L, Duration.ofSeconds(1))).isTrue();
+    }
+
+    @Test
+    void shouldCatchUpAndReportLatenessWhenTickerRunsLate() {
+        timingWheel.schedule(1L, Duration.ofMillis(100));
+
+        now += 5 * TICK_NANOS + TICK_NANOS / 2;
+        timingWheel.advance();
+
+        assertThat(dispatched).hasSize(5);
+        assertThat(timingWheel.getMaxTickLatenessNanos()).isGreaterThanOrEqualTo(4 * TICK_NANOS);
+    }
+
+    @Test
+    void shouldCountCaughtUpTicksAsMissed() {
+        advanceTicks(3);
+        assertThat(timingWheel.getMissedTicks()).isZero();
+
+        now += 5 * TICK_NANOS;
+        timingWheel.advance();
+
+        assertThat(timingWheel.getMissedTicks()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldPullNextFireInWhenRescheduledToShorterInterval() {
+        timingWheel.schedule(1L, Duration.ofSeconds(5));
+        advanceTicks(1);
+
+        assertThat(timingWheel.reschedule(1L, Duration.ofMillis(500))).isTrue();
+        advanceTicks(5);
+
+        assertThat(dispatched).hasSize(2);
+
+        advanceTicks(45);
+        assertThat(dispatched).hasSize(11);
+    }
+
+    @Test
+    void shouldPushNextFireOutWhenRescheduledToLongerIntervalWithoutFiringTwice() {
+        timingWheel.schedule(1L, Duration.ofMillis(500));
+        advanceTicks(1);
+
+        timingWheel.reschedule(1L, Duration.ofMillis(2100));
+        advanceTicks(20);
+        assertThat(dispatched).hasSize(1);
+
+        advanceTicks(1);
+        assertThat(dispatched).hasSize(2);
+
+        advanceTicks(21);
+        assertThat(dispatched).hasSize(3);
+    }
+
+    @Test
+    void shouldNotRescheduleUnknownEvents() {
+        assertThat(timingWheel.reschedule(1L, Duration.ofSeconds(1))).isFalse();
+    }
+
+    @Test
+    void shouldFireRetryAfterDelayAndThenResumeInterval() {
+        timingWheel.schedule(1L, Duration.ofSeconds(5));
+        advanceTicks(1);
+
+        assertThat(timingWheel.scheduleRetry(1L, Duration.ofMillis(300))).isTrue();
+        advanceTicks(2);
+        assertThat(dispatched).hasSize(1);
+
+        advanceTicks(1);
+        assertThat(dispatched).hasSize(2);
+
+        advanceTicks(49);
+        assertThat(dispatched).hasSize(2);
+
+        advanceTicks(1);
+        assertThat(dispatched).hasSize(3);
+    }
+
+    @Test
+    void shouldNotRetryUnknownOrCancelledEvents() {
+        assertThat(timingWheel.scheduleRetry(1L, Duration.ofMillis(300))).isFalse();
+
+        timingWheel.schedule(2L, Duration.ofSeconds(5));
+        advanceTicks(1);
+        timingWheel.scheduleRetry(2L, Duration.ofMillis(300));
+        timingWheel.cancel(2L);
+        advanceTicks(10);
+
+        assertThat(dispatched).hasSize(1);
+    }
+
+    @Test
+    void shouldCountFailedFiresOfCycleFromItsStartUntilItEnds() {
+        timingWheel.schedule(1L, Duration.ofSeconds(5));
+        assertThat(timingWheel.getCycleStartedAt(1L, 10L)).isEqualTo(10L);
+
+        assertThat(timingWheel.recordFailedFire(1L, 10L)).isEqualTo(1);
+        assertThat(timingWheel.recordFailedFire(1L, 20L)).isEqualTo(2);
+        assertThat(timingWheel.getCycleStartedAt(1L, 30L)).isEqualTo(10L);
+
+        timingWheel.endCycle(1L);
+        assertThat(timingWheel.getCycleStartedAt(1L, 30L)).isEqualTo(30L);
+        assertThat(timingWheel.recordFailedFire(1L, 30L)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCountFailedFiresOfUnknownOrCancelledEvents() {
+        assertThat(timingWheel.recordFailedFire(1L, 10L)).isZero();
+
+        timingWheel.schedule(2L, Duration.ofSeconds(5));
+        timingWheel.recordFailedFire(2L, 10L);
+        timingWheel.cancel(2L);
+        timingWheel.schedule(2L, Duration.ofSeconds(5));
+
+        assertThat(timingWheel.getCycleStartedAt(2L, 20L)).isEqualTo(20L);
+        assertThat(timingWheel.recordFailedFire(2L, 20L)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSpreadFirstFiresOfBurstAndKeepThemSpreadInLaterCycles() {
+        var spreadingWheel = new HashedTimingWheel(Duration.ofMillis(100), 16, 50, dispatched::add, () -> now);
+        for (long eventId = 1; eventId <= 5_000; eventId++) {
+            spreadingWheel.schedule(eventId, Duration.ofSeconds(10));
+        }
+
+        for (int tick = 1; tick <= 300; tick++) {
+            now += TICK_NANOS;
+            spreadingWheel.advance();
+        }
+
+        assertThat(dispatched).hasSize(300).allSatisfy(due -> assertThat(due).hasSize(50));
+    }
+
+    @Test
+    void shouldFireLoneEventOnNextTickWhenSpreading() {
+        var spreadingWheel = new HashedTimingWheel(Duration.ofMillis(100), 16, 50, dispatched::add, () -> now);
+        spreadingWheel.schedule(1L, Duration.ofSeconds(10));
+        now += TICK_NANOS;
+        spreadingWheel.advance();
+
+        now += 50 * TICK_NANOS;
+        spreadingWheel.advance();
+        spreadingWheel.schedule(2L, Duration.ofSeconds(10));
+        now += TICK_NANOS;
+        spreadingWheel.advance();
+
+        assertThat(dispatched).hasSize(2);
+        assertThat(dispatched.get(1)).containsExactly(2L);
+    }
+
+    private void advanceTicks(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            now += TICK_NANOS;
+            timingWheel.advance();
+        }
+    }
+}
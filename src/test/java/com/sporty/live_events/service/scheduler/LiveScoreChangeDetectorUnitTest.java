@@ -0,0 +1,72 @@
+package com.sporty.live_events.service.scheduler;
+
+import com.sporty.live_events.configuration.LiveScorePublishProperties;
+import com.sporty.live_events.configuration.LiveScorePublishProperties.Mode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveScoreChangeDetectorUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldAlwaysPublishInAlwaysMode() {
+        var detector = detector(Mode.ALWAYS, 10);
+
+        assertThat(detector.shouldPublish(1L, "0-0")).isTrue();
+        assertThat(detector.shouldPublish(1L, "0-0")).isTrue();
+    }
+
+    @Test
+    void shouldOnlyPublishChangedScoresInOnChangeMode() {
+        var detector = detector(Mode.ON_CHANGE, 10);
+
+        assertThat(detector.shouldPublish(1L, "0-0")).isTrue();
+        assertThat(detector.shouldPublish(1L, "0-0")).isFalse();
+        assertThat(detector.shouldPublish(1L, "1-0")).isTrue();
+        assertThat(detector.shouldPublish(1L, "1-0")).isFalse();
+
+        assertThat(count("published")).isEqualTo(2);
+        assertThat(count("suppressed")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRepublishUnchangedScoreOnHeartbeat() {
+        var detector = detector(Mode.ON_CHANGE_WITH_HEARTBEAT, 10);
+
+        assertThat(detector.shouldPublish(1L, "0-0")).isTrue();
+        assertThat(detector.shouldPublish(1L, "0-0")).isFalse();
+        assertThat(detector.shouldPublish(1L, "0-0")).isTrue();
+        assertThat(detector.shouldPublish(1L, "0-0")).isFalse();
+    }
+
+    @Test
+    void shouldPublishAgainAfterEviction() {
+        var detector = detector(Mode.ON_CHANGE, 10);
+
+        detector.shouldPublish(1L, "0-0");
+        detector.evict(1L);
+
+        assertThat(detector.shouldPublish(1L, "0-0")).isTrue();
+    }
+
+    @Test
+    void shouldAlwaysPublishEventsOverCacheCapacity() {
+        var detector = detector(Mode.ON_CHANGE, 1);
+
+        detector.shouldPublish(1L, "0-0");
+
+        assertThat(detector.shouldPublish(2L, "0-0")).isTrue();
+        assertThat(detector.shouldPublish(2L, "0-0")).isTrue();
+    }
+
+    private LiveScoreChangeDetector detector(Mode mode, int cacheCapacity) {
+        return new LiveScoreChangeDetector(new LiveScorePublishProperties(mode, 2, cacheCapacity), meterRegistry);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("live.score.messages").tag("outcome", outcome).counter().count();
+    }
+}
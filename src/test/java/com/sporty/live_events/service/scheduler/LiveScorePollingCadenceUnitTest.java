@@ -0,0 +1,63 @@
+package com.sporty.live_events.service.scheduler;
+
+import com.sporty.live_events.configuration.LiveScoreCadenceProperties;
+import com.sporty.live_events.configuration.LiveScoreSchedulerProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveScorePollingCadenceUnitTest {
+
+    private final LiveScoreSchedulerProperties schedulerProperties =
+            new LiveScoreSchedulerProperties(Duration.ofSeconds(10), Duration.ofMillis(100), 128,
+                    LiveScoreSchedulerProperties.ExecutionMode.PLATFORM, 1, 10, 3, Duration.ofSeconds(1));
+
+    private final LiveScorePollingCadence adaptiveCadence = new LiveScorePollingCadence(schedulerProperties,
+            new LiveScoreCadenceProperties(true, Duration.ofSeconds(2), Duration.ofSeconds(60), 0.5, 1.5));
+
+    @Test
+    void shouldSpeedUpTowardFloorWhileScoreChanges() {
+        assertThat(adaptiveCadence.onScore(1L, "0-0")).isNull();
+
+        assertThat(adaptiveCadence.onScore(1L, "1-0")).isEqualTo(Duration.ofSeconds(5));
+        assertThat(adaptiveCadence.onScore(1L, "2-0")).isEqualTo(Duration.ofMillis(2500));
+        assertThat(adaptiveCadence.onScore(1L, "3-0")).isEqualTo(Duration.ofSeconds(2));
+        assertThat(adaptiveCadence.onScore(1L, "4-0")).isNull();
+    }
+
+    @Test
+    void shouldBackOffTowardCeilingWhileScoreStaysTheSame() {
+        adaptiveCadence.onScore(1L, "0-0");
+
+        assertThat(adaptiveCadence.onScore(1L, "0-0")).isEqualTo(Duration.ofSeconds(15));
+        for (int i = 0; i < 10; i++) {
+            adaptiveCadence.onScore(1L, "0-0");
+        }
+
+        assertThat(adaptiveCadence.getInterval(1L)).isEqualTo(Duration.ofSeconds(60));
+    }
+
+    @Test
+    void shouldKeepOverriddenIntervalUntilCleared() {
+        adaptiveCadence.onScore(1L, "0-0");
+
+        assertThat(adaptiveCadence.override(1L, Duration.ofSeconds(1))).isEqualTo(Duration.ofSeconds(1));
+        assertThat(adaptiveCadence.onScore(1L, "1-0")).isNull();
+        assertThat(adaptiveCadence.getInterval(1L)).isEqualTo(Duration.ofSeconds(1));
+
+        assertThat(adaptiveCadence.override(1L, null)).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void shouldPollAtCycleWhenNotAdaptive() {
+        var fixedCadence = new LiveScorePollingCadence(schedulerProperties,
+                new LiveScoreCadenceProperties(false, Duration.ofSeconds(2), Duration.ofSeconds(60), 0.5, 1.5));
+
+        fixedCadence.onScore(1L, "0-0");
+
+        assertThat(fixedCadence.onScore(1L, "1-0")).isNull();
+        assertThat(fixedCadence.getInterval(1L)).isEqualTo(Duration.ofSeconds(10));
+    }
+}
@@ -1,16 +1,42 @@
 package com.sporty.live_events.service.scheduler;
 
+import com.sporty.live_events.configuration.LiveScoreCadenceProperties;
+import com.sporty.live_events.configuration.LiveScorePublishProperties;
+import com.sporty.live_events.configuration.LiveScoreSchedulerProperties;
+import com.sporty.live_events.service.LiveEventPriority;
+import com.sporty.live_events.service.external.ExternalLiveScoreResponse;
 import com.sporty.live_events.service.external.ExternalLiveScoreRestApiService;
+import com.sporty.live_events.service.external.LiveScoreStreamService;
+import com.sporty.live_events.service.kafka.LiveScoreKafkaMessage;
 import com.sporty.live_events.service.kafka.LiveScoreKafkaPublisherService;
+import com.sporty.live_events.service.metrics.LiveScorePipelineMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.scheduling.TaskScheduler;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class LiveScoreTaskSchedulerServiceBeanUnitTest {
@@ -18,9 +44,31 @@ class LiveScoreTaskSchedulerServiceBeanUnitTest {
     private final ExternalLiveScoreRestApiService externalLiveScoreRestApiService = mock();
     private final LiveScoreKafkaPublisherService liveScoreKafkaPublisherService = mock();
     private final TaskScheduler taskScheduler = mock();
+    private final LiveScoreSchedulerProperties properties =
+            new LiveScoreSchedulerProperties(Duration.ofSeconds(10), Duration.ofMillis(100), 128,
+                    LiveScoreSchedulerProperties.ExecutionMode.PLATFORM, 1, 10, 3, Duration.ofSeconds(1));
 
-    private final LiveScoreTaskSchedulerService schedulerService =
-            new LiveScoreTaskSchedulerServiceBean(externalLiveScoreRestApiService, liveScoreKafkaPublisherService, taskScheduler);
+    private final LiveScoreChangeDetector liveScoreChangeDetector = new LiveScoreChangeDetector(
+            new LiveScorePublishProperties(LiveScorePublishProperties.Mode.ALWAYS, 0, 10), new SimpleMeterRegistry());
+
+    private final LiveScorePollingCadence liveScorePollingCadence = new LiveScorePollingCadence(properties,
+            new LiveScoreCadenceProperties(true, Duration.ofSeconds(2), Duration.ofSeconds(60), 0.5, 1.5));
+
+    private final LiveScorePipelineMetrics liveScorePipelineMetrics = mock();
+
+    private final LiveScoreStreamService liveScoreStreamService = mock();
+
+    private final LiveScoreTierThrottle liveScoreTierThrottle = new LiveScoreTierThrottle();
+
+    private final LiveScoreTaskSchedulerServiceBean schedulerService =
+            new LiveScoreTaskSchedulerServiceBean(externalLiveScoreRestApiService, liveScoreKafkaPublisherService,
+                    liveScoreChangeDetector, liveScorePollingCadence, liveScorePipelineMetrics, liveScoreStreamService,
+                    liveScoreTierThrottle, taskScheduler, Runnable::run, properties);
+
+    @BeforeEach
+    void setup() {
+        when(liveScoreKafkaPublisherService.publishMessage(any())).thenReturn(CompletableFuture.completedFuture(null));
+    }
 
     @Test
     void shouldThrowExceptionWhenExternalServiceFails() {
@@ -28,13 +76,196 @@ class LiveScoreTaskSchedulerServiceBeanUnitTest {
         when(externalLiveScoreRestApiService.queryCurrentScore(eventId))
                 .thenThrow(new RuntimeException("External service failed"));
 
-        var runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
-        when(taskScheduler.scheduleAtFixedRate(runnableCaptor.capture(), any(Duration.class)))
-                .thenReturn(mock());
+        assertThrows(LiveScoreTaskSchedulerException.class, schedulerService.getTask(eventId)::run);
+    }
+
+    @Test
+    void shouldCountFailedCyclesWhenTimingWheelTicks() {
+        var eventId = 1234L;
+        when(externalLiveScoreRestApiService.queryCurrentScore(eventId))
+                .thenThrow(new RuntimeException("External service failed"));
+
+        schedulerService.scheduleJob(eventId);
+        schedulerService.getTimingWheel().advance(System.nanoTime() + Duration.ofSeconds(1).toNanos());
+
+        verify(liveScorePipelineMetrics).recordTaskFailure();
+    }
+
+    @Test
+    void shouldTrackScheduledJobsInTimingWheel() {
+        var eventId = 1234L;
+
+        schedulerService.scheduleJob(eventId);
+        assertTrue(schedulerService.isJobScheduled(eventId));
+
+        schedulerService.unscheduleJob(eventId);
+        assertFalse(schedulerService.isJobScheduled(eventId));
+    }
+
+    @Test
+    void shouldPublishScoreWhenTimingWheelTicks() {
+        var eventId = 1234L;
+        when(externalLiveScoreRestApiService.queryCurrentScore(eventId))
+                .thenReturn(new ExternalLiveScoreResponse(eventId, "1-0"));
+
+        schedulerService.scheduleJob(eventId);
+        schedulerService.getTimingWheel().advance(System.nanoTime() + Duration.ofSeconds(1).toNanos());
+
+        verify(liveScoreKafkaPublisherService).publishMessage(score(eventId, "1-0"));
+    }
+
+    @Test
+    void shouldTraceRetriedCycleFromTheTickOfItsFirstAttempt() {
+        var eventId = 1234L;
+        when(externalLiveScoreRestApiService.queryCurrentScore(eventId))
+                .thenThrow(new RuntimeException("External service failed"))
+                .thenReturn(new ExternalLiveScoreResponse(eventId, "1-0"));
+        schedulerService.scheduleJob(eventId);
+
+        assertThrows(LiveScoreTaskSchedulerException.class, schedulerService.getTask(eventId, 1_000)::run);
+        schedulerService.getTask(eventId, 2_000).run();
+
+        var message = ArgumentCaptor.forClass(LiveScoreKafkaMessage.class);
+        verify(liveScoreKafkaPublisherService).publishMessage(message.capture());
+        var trace = message.getValue().trace();
+        assertThat(trace.tickedAtMicros()).isEqualTo(1_000);
+        assertThat(trace.fetchStartedAtMicros()).isLessThanOrEqualTo(trace.fetchEndedAtMicros());
+    }
+
+    @Test
+    void shouldCoalesceEventsDueInTheSameTickIntoBatches() {
+        when(externalLiveScoreRestApiService.getMaxBatchSize()).thenReturn(2);
+        when(externalLiveScoreRestApiService.queryCurrentScores(anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).stream()
+                        .map(eventId -> new ExternalLiveScoreResponse(eventId, "0-0"))
+                        .toList());
+
+        schedulerService.scheduleJob(1L);
+        schedulerService.scheduleJob(2L);
+        schedulerService.scheduleJob(3L);
+        schedulerService.getTimingWheel().advance(System.nanoTime() + Duration.ofSeconds(1).toNanos());
 
+        verify(externalLiveScoreRestApiService, times(2)).queryCurrentScores(anyCollection());
+        verify(externalLiveScoreRestApiService, never()).queryCurrentScore(anyLong());
+        verify(liveScoreKafkaPublisherService, times(3)).publishMessage(any());
+    }
+
+    @Test
+    void shouldRetryEventsMissingFromBatchAnswerAndDropScoresNotRequested() {
+        when(externalLiveScoreRestApiService.queryCurrentScores(anyCollection())).thenReturn(List.of(
+                new ExternalLiveScoreResponse(1L, "1-0"),
+                new ExternalLiveScoreResponse(1L, "2-0"),
+                new ExternalLiveScoreResponse(99L, "0-1")));
+        schedulerService.scheduleJob(1L);
+        schedulerService.scheduleJob(2L);
+        schedulerService.scheduleJob(3L);
+
+        schedulerService.getBatchTask(new long[]{1L, 2L, 3L}).run();
+
+        verify(liveScoreKafkaPublisherService).publishMessage(score(1L, "1-0"));
+        verify(liveScoreKafkaPublisherService, times(1)).publishMessage(any());
+        verify(liveScorePipelineMetrics, times(2)).recordFetchRetry();
+    }
+
+    @Test
+    void shouldPublishStreamedScoresAndSkipPollsOnceSnapshotIsTaken() {
+        var eventId = 1234L;
+        when(liveScoreStreamService.isStreaming()).thenReturn(true);
+        when(externalLiveScoreRestApiService.queryCurrentScore(eventId))
+                .thenReturn(new ExternalLiveScoreResponse(eventId, "0-0"));
+        var listener = subscribeToStream();
+
+        var startNanos = System.nanoTime();
         schedulerService.scheduleJob(eventId);
+        schedulerService.getTimingWheel().advance(startNanos + Duration.ofSeconds(1).toNanos());
+        listener.onScore(new ExternalLiveScoreResponse(eventId, "1-0"));
+        schedulerService.getTimingWheel().advance(startNanos + Duration.ofSeconds(30).toNanos());
+
+        verify(externalLiveScoreRestApiService, times(1)).queryCurrentScore(eventId);
+        verify(liveScoreKafkaPublisherService).publishMessage(score(eventId, "1-0"));
+    }
+
+    @Test
+    void shouldPollAgainWhenStreamCannotResume() {
+        var eventId = 1234L;
+        when(liveScoreStreamService.isStreaming()).thenReturn(true);
+        when(externalLiveScoreRestApiService.queryCurrentScore(eventId))
+                .thenReturn(new ExternalLiveScoreResponse(eventId, "0-0"));
+        var listener = subscribeToStream();
+
+        var startNanos = System.nanoTime();
+        schedulerService.scheduleJob(eventId);
+        schedulerService.getTimingWheel().advance(startNanos + Duration.ofSeconds(1).toNanos());
+        listener.onReset();
+        schedulerService.getTimingWheel().advance(startNanos + Duration.ofSeconds(30).toNanos());
+
+        verify(externalLiveScoreRestApiService, times(2)).queryCurrentScore(eventId);
+    }
+
+    @Test
+    void shouldPollAgainOnceStreamIsNoLongerConnected() {
+        var eventId = 1234L;
+        when(liveScoreStreamService.isStreaming()).thenReturn(true);
+        when(externalLiveScoreRestApiService.queryCurrentScore(eventId))
+                .thenReturn(new ExternalLiveScoreResponse(eventId, "0-0"));
+        var listener = subscribeToStream();
+
+        var startNanos = System.nanoTime();
+        schedulerService.scheduleJob(eventId);
+        schedulerService.getTimingWheel().advance(startNanos + Duration.ofSeconds(1).toNanos());
+        listener.onScore(new ExternalLiveScoreResponse(eventId, "1-0"));
+        // a silent stream is dropped by its idle timeout, which polls its events again
+        when(liveScoreStreamService.isStreaming()).thenReturn(false);
+        schedulerService.getTimingWheel().advance(startNanos + Duration.ofSeconds(30).toNanos());
+
+        verify(externalLiveScoreRestApiService, atLeast(2)).queryCurrentScore(eventId);
+    }
+
+    @Test
+    void shouldSkipPollsOfShedTier() {
+        var eventId = 1234L;
+        liveScoreTierThrottle.assign(eventId, LiveEventPriority.LOW);
+        liveScoreTierThrottle.degrade(new double[]{1, 1, 1}, new boolean[]{false, false, true});
+
+        schedulerService.scheduleJob(eventId);
+        schedulerService.getTimingWheel().advance(System.nanoTime() + Duration.ofSeconds(30).toNanos());
+
+        verify(externalLiveScoreRestApiService, never()).queryCurrentScore(anyLong());
+        verify(liveScorePipelineMetrics, atLeastOnce()).recordSkippedPolls("shed", 1);
+    }
+
+    @Test
+    void shouldKeepProviderRequestRateFlatWhenManyEventsAreScheduledAtOnce() {
+        when(externalLiveScoreRestApiService.getMaxRequestsPerSecond()).thenReturn(500.0);
+        when(externalLiveScoreRestApiService.getMaxBatchSize()).thenReturn(1);
+        var rateLimitedScheduler = new LiveScoreTaskSchedulerServiceBean(externalLiveScoreRestApiService,
+                liveScoreKafkaPublisherService, liveScoreChangeDetector, liveScorePollingCadence, liveScorePipelineMetrics,
+                liveScoreStreamService, liveScoreTierThrottle, taskScheduler, Runnable::run, properties);
+        var requestsPerTick = new TreeMap<Long, Integer>();
+        when(externalLiveScoreRestApiService.queryCurrentScore(anyLong())).thenAnswer(invocation -> {
+            // polls are dispatched while the wheel processes the tick after its current one
+            requestsPerTick.merge(rateLimitedScheduler.getTimingWheel().getCurrentTick() + 1, 1, Integer::sum);
+            return new ExternalLiveScoreResponse(invocation.getArgument(0), "0-0");
+        });
+
+        for (long eventId = 1; eventId <= 5_000; eventId++) {
+            rateLimitedScheduler.scheduleJob(eventId);
+        }
+        rateLimitedScheduler.getTimingWheel().advance(System.nanoTime() + Duration.ofSeconds(30).toNanos());
+
+        // 500 requests per second are 50 per 100ms tick, so the 5000 events fill the first 100 ticks of their cycle
+        assertThat(requestsPerTick.keySet()).containsAll(LongStream.rangeClosed(1, 100).boxed().toList());
+        assertThat(requestsPerTick.values()).allMatch(requests -> requests == 50);
+    }
+
+    private LiveScoreStreamService.Listener subscribeToStream() {
+        var listener = ArgumentCaptor.forClass(LiveScoreStreamService.Listener.class);
+        schedulerService.startTicker();
+        verify(liveScoreStreamService).subscribe(listener.capture());
+        return listener.getValue();
+    }
 
-        Runnable capturedTask = runnableCaptor.getValue();
-        assertThrows(LiveScoreTaskSchedulerException.class, capturedTask::run);
+    private static LiveScoreKafkaMessage score(long eventId, String currentScore) {
+        return argThat(message -> message.eventId() == eventId && message.currentScore().equals(currentScore));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package com.sporty.live_events.service.scheduler;
+
+import com.sporty.live_events.service.LiveEventPriority;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static com.sporty.live_events.service.scheduler.LiveScoreTierThrottle.Decision.POLL;
+import static com.sporty.live_events.service.scheduler.LiveScoreTierThrottle.Decision.SHED;
+import static com.sporty.live_events.service.scheduler.LiveScoreTierThrottle.Decision.STRETCHED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveScoreTierThrottleUnitTest {
+
+    private final LiveScoreTierThrottle throttle = new LiveScoreTierThrottle();
+
+    @Test
+    void shouldPollStretchedTierOnEveryNthFiringStartingWithTheFirst() {
+        throttle.assign(1L, LiveEventPriority.LOW);
+        throttle.assign(2L, LiveEventPriority.PREMIUM);
+        throttle.degrade(new double[]{1, 1, 2}, new boolean[3]);
+
+        assertThat(Stream.generate(() -> throttle.decide(1L)).limit(5))
+                .containsExactly(POLL, STRETCHED, POLL, STRETCHED, POLL);
+        assertThat(throttle.decide(2L)).isEqualTo(POLL);
+    }
+
+    @Test
+    void shouldShedTierAndRestoreIt() {
+        throttle.assign(1L, LiveEventPriority.LOW);
+        throttle.degrade(new double[]{1, 1, 1}, new boolean[]{false, false, true});
+
+        assertThat(throttle.isThrottling()).isTrue();
+        assertThat(throttle.decide(1L)).isEqualTo(SHED);
+
+        throttle.degrade(new double[]{1, 1, 1}, new boolean[3]);
+
+        assertThat(throttle.isThrottling()).isFalse();
+        assertThat(throttle.decide(1L)).isEqualTo(POLL);
+    }
+
+    @Test
+    void shouldPollEventsWithoutTier() {
+        throttle.degrade(new double[]{1, 4, 4}, new boolean[]{false, true, true});
+
+        assertThat(throttle.decide(1L)).isEqualTo(POLL);
+    }
+}
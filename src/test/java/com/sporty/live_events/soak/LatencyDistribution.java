@@ -0,0 +1,59 @@
+package com.sporty.live_events.soak;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/***
+ Response time of the simulated provider, parsed from "fixed:20ms", "uniform:5ms:50ms" or "lognormal:20ms:200ms".
+ The log-normal one is given by its median and 99th percentile, which is how provider latency is usually reported,
+ and has the long tail real providers show under load.
+ ***/
+public sealed interface LatencyDistribution {
+    // z-score of the 99th percentile of the standard normal distribution
+    double P99_Z = 2.326;
+
+    long sampleNanos(RandomGenerator random);
+
+    static LatencyDistribution parse(String spec) {
+        var parts = spec.trim().split(":");
+        try {
+            return switch (parts[0]) {
+                case "fixed" -> new Fixed(duration(parts[1]));
+                case "uniform" -> new Uniform(duration(parts[1]), duration(parts[2]));
+                case "lognormal" -> new LogNormal(duration(parts[1]), duration(parts[2]));
+                default -> throw new IllegalArgumentException("Unknown latency distribution " + parts[0]);
+            };
+        } catch (ArrayIndexOutOfBoundsException exc) {
+            throw new IllegalArgumentException("Incomplete latency distribution " + spec, exc);
+        }
+    }
+
+    private static Duration duration(String value) {
+        return DurationStyle.detectAndParse(value);
+    }
+
+    record Fixed(Duration latency) implements LatencyDistribution {
+        @Override
+        public long sampleNanos(RandomGenerator random) {
+            return latency.toNanos();
+        }
+    }
+
+    record Uniform(Duration min, Duration max) implements LatencyDistribution {
+        @Override
+        public long sampleNanos(RandomGenerator random) {
+            return random.nextLong(min.toNanos(), max.toNanos() + 1);
+        }
+    }
+
+    record LogNormal(Duration median, Duration p99) implements LatencyDistribution {
+        @Override
+        public long sampleNanos(RandomGenerator random) {
+            var mu = Math.log(median.toNanos());
+            var sigma = Math.log((double) p99.toNanos() / median.toNanos()) / P99_Z;
+            return (long) Math.exp(mu + sigma * random.nextGaussian());
+        }
+    }
+}
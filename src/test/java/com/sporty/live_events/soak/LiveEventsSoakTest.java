@@ -0,0 +1,259 @@
+package com.sporty.live_events.soak;
+
+import com.sporty.live_events.configuration.LiveScoreSchedulerProperties;
+import com.sporty.live_events.service.kafka.LiveScoreKafkaMessage;
+import com.sporty.live_events.service.kafka.LiveScoreKafkaMessageDeserializer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/***
+ Soak test of the whole pipeline: N events are tracked through the bulk endpoint of LiveEventTrackingController,
+ the scheduler polls the SimulatedProvider and publishes to an embedded Kafka broker, and a consumer measures how
+ long after the provider answered each score arrived.
+ After the warmup it reports, over the measured duration, the sustained throughput, the poll-to-consume latency
+ percentiles, heap and GC behavior, and the scheduler's missed ticks.
+
+ Excluded from `./gradlew test`, run with `./gradlew soakTest`, see SoakSettings for the knobs.
+ ***/
+@Tag("soak")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "logging.level.com.sporty.live_events=WARN")
+@EmbeddedKafka(partitions = 4, topics = {"live_score"})
+class LiveEventsSoakTest {
+    private static final SoakSettings SETTINGS = SoakSettings.fromSystemProperties();
+
+    private static SimulatedProvider simulatedProvider;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafkaBroker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private LiveScoreSchedulerProperties schedulerProperties;
+
+    private final LatencySamples latencies = new LatencySamples();
+    private final AtomicLong consumed = new AtomicLong();
+    private volatile boolean measuring;
+    private volatile boolean consuming = true;
+
+    @DynamicPropertySource
+    static void providerProperties(DynamicPropertyRegistry registry) throws IOException {
+        simulatedProvider = new SimulatedProvider(LatencyDistribution.parse(SETTINGS.providerLatency()),
+                SETTINGS.providerErrorRate(), SETTINGS.scoreChangeProbability());
+        registry.add("live-events.provider.base-uri", simulatedProvider::getBaseUri);
+        registry.add("live-events.provider.batch-uri", simulatedProvider::getBatchUri);
+    }
+
+    @AfterAll
+    static void stopProvider() {
+        simulatedProvider.close();
+    }
+
+    @Test
+    void shouldSustainLoadOfTrackedEvents() throws Exception {
+        var consumer = Thread.ofPlatform().name("soak-consumer").start(this::consume);
+        var heapSampler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            assertThat(trackEvents()).isEqualTo(SETTINGS.events());
+            Thread.sleep(SETTINGS.warmup());
+
+            var start = Snapshot.take(this);
+            var maxHeapUsed = new AtomicLong();
+            heapSampler.scheduleAtFixedRate(() -> maxHeapUsed.accumulateAndGet(
+                    ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(), Math::max), 0, 1, TimeUnit.SECONDS);
+            measuring = true;
+
+            Thread.sleep(SETTINGS.duration());
+
+            measuring = false;
+            var end = Snapshot.take(this);
+            var report = report(start, end, maxHeapUsed.get());
+            System.out.println(report);
+            if (SETTINGS.report() != null) {
+                Files.createDirectories(SETTINGS.report().toAbsolutePath().getParent());
+                Files.writeString(SETTINGS.report(), report);
+            }
+
+            assertThat(end.consumed - start.consumed).as("scores consumed while measuring").isPositive();
+            if (SETTINGS.maxP99Latency() != null) {
+                assertThat(latencies.percentileNanos(0.99)).as("poll-to-consume p99 in nanos")
+                        .isLessThanOrEqualTo(SETTINGS.maxP99Latency().toNanos());
+            }
+        } finally {
+            heapSampler.shutdownNow();
+            consuming = false;
+            consumer.join();
+        }
+    }
+
+    private int trackEvents() throws IOException, InterruptedException {
+        var body = new StringBuilder();
+        for (int i = 0; i < SETTINGS.events(); i++) {
+            body.append("{\"eventId\":").append(SoakSettings.FIRST_EVENT_ID + i).append(",\"status\":true");
+            if (SETTINGS.pollInterval() != null) {
+                body.append(",\"pollInterval\":\"").append(SETTINGS.pollInterval()).append('"');
+            }
+            body.append("}\n");
+        }
+
+        try (var httpClient = HttpClient.newHttpClient()) {
+            var response = httpClient.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/events/status/bulk"))
+                            .header("Content-Type", "application/x-ndjson")
+                            .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofLines());
+            assertThat(response.statusCode()).isEqualTo(200);
+            return (int) response.body().filter(line -> line.contains("\"SCHEDULED\"")).count();
+        }
+    }
+
+    private void consume() {
+        var consumerProps = KafkaTestUtils.consumerProps("soak-group", "true", embeddedKafkaBroker);
+        try (Consumer<String, LiveScoreKafkaMessage> consumer = new DefaultKafkaConsumerFactory<>(consumerProps,
+                new StringDeserializer(), new LiveScoreKafkaMessageDeserializer()).createConsumer()) {
+            consumer.subscribe(List.of("live_score"));
+            while (consuming) {
+                for (var record : consumer.poll(Duration.ofMillis(100))) {
+                    var servedAtNanos = simulatedProvider.lastServedAtNanos(record.value().eventId());
+                    consumed.incrementAndGet();
+                    if (measuring && servedAtNanos != 0) {
+                        latencies.add(System.nanoTime() - servedAtNanos);
+                    }
+                }
+            }
+        }
+    }
+
+    private String report(Snapshot start, Snapshot end, long maxHeapUsed) {
+        var seconds = (end.nanos - start.nanos) / 1e9;
+        var nominalInterval = SETTINGS.pollInterval() != null ? SETTINGS.pollInterval() : schedulerProperties.cycle();
+        var heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        var heapAfterGc = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.getCollectionUsage() != null)
+                .mapToLong(pool -> pool.getCollectionUsage().getUsed())
+                .sum();
+
+        var report = new StringBuilder();
+        line(report, "Soak test of %d events over %s after %s warmup, provider latency %s, error rate %.3f, change probability %.3f",
+                SETTINGS.events(), SETTINGS.duration(), SETTINGS.warmup(), SETTINGS.providerLatency(),
+                SETTINGS.providerErrorRate(), SETTINGS.scoreChangeProbability());
+        line(report, "Throughput: %.1f scores/s consumed, %.1f requests/s to the provider (nominal %.1f/s), %.1f errors/s, %.1f score changes/s",
+                (end.consumed - start.consumed) / seconds,
+                (end.providerRequests - start.providerRequests) / seconds,
+                SETTINGS.events() / (nominalInterval.toNanos() / 1e9),
+                (end.providerErrors - start.providerErrors) / seconds,
+                (end.scoreChanges - start.scoreChanges) / seconds);
+
+        line(report, "Poll-to-consume latency: p50 %.1fms, p90 %.1fms, p99 %.1fms, p99.9 %.1fms, max %.1fms over %d scores",
+                millis(0.5), millis(0.9), millis(0.99), millis(0.999), millis(1.0), latencies.size());
+        line(report, "Scheduler: %.0f missed ticks, max tick lag %.1fms, %.0f polls skipped, %.0f failures",
+                end.missedTicks - start.missedTicks, meterRegistry.get("live.score.schedule.lag.max").gauge().value() * 1e3,
+                end.skippedPolls - start.skippedPolls, end.failures - start.failures);
+        line(report, "Heap: max used %dMB, %dMB after last GC, %dMB committed of %dMB",
+                maxHeapUsed >> 20, heapAfterGc >> 20, heap.getCommitted() >> 20, heap.getMax() >> 20);
+        end.gc.forEach((collector, countAndTime) -> {
+            var before = start.gc.getOrDefault(collector, new long[2]);
+            line(report, "GC %s: %d collections, %dms", collector, countAndTime[0] - before[0], countAndTime[1] - before[1]);
+        });
+        return report.toString();
+    }
+
+    private double millis(double percentile) {
+        return latencies.percentileNanos(percentile) / 1e6;
+    }
+
+    private static void line(StringBuilder report, String format, Object... args) {
+        report.append(String.format(Locale.ROOT, format, args)).append(System.lineSeparator());
+    }
+
+    private double counterSum(String name) {
+        return meterRegistry.find(name).counters().stream().mapToDouble(Counter::count).sum();
+    }
+
+    private record Snapshot(long nanos, long consumed, long providerRequests, long providerErrors, long scoreChanges,
+                            double missedTicks, double skippedPolls, double failures, Map<String, long[]> gc) {
+
+        static Snapshot take(LiveEventsSoakTest test) {
+            var gc = new LinkedHashMap<String, long[]>();
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                gc.put(collector.getName(), new long[]{collector.getCollectionCount(), collector.getCollectionTime()});
+            }
+            return new Snapshot(System.nanoTime(), test.consumed.get(), simulatedProvider.getRequests(),
+                    simulatedProvider.getErrors(), simulatedProvider.getScoreChanges(),
+                    test.meterRegistry.get("live.score.schedule.missed.ticks").functionCounter().count(),
+                    test.counterSum("live.score.polls.skipped"), test.counterSum("live.score.failures"), gc);
+        }
+    }
+
+    /***
+     Latencies recorded by the consumer thread, read once it stopped measuring.
+     ***/
+    private static final class LatencySamples {
+        private long[] samples = new long[1 << 16];
+        private int size;
+        private long[] sorted;
+
+        synchronized void add(long nanos) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size << 1);
+            }
+            samples[size++] = nanos;
+            sorted = null;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long percentileNanos(double percentile) {
+            if (size == 0) {
+                return 0;
+            }
+            if (sorted == null) {
+                sorted = Arrays.copyOf(samples, size);
+                Arrays.sort(sorted);
+            }
+            return sorted[Math.max(0, (int) Math.ceil(percentile * size) - 1)];
+        }
+    }
+}
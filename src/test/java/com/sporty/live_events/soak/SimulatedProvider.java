@@ -0,0 +1,158 @@
+package com.sporty.live_events.soak;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/***
+ Score provider of the soak test, serving /mock/status/{eventId} and /mock/status/batch like the real one.
+ Every response is delayed by a sample of the latency distribution, fails with 503 at the given error rate,
+ and every served event scores a goal with the given change probability.
+
+ The time of the last successful answer per event is kept, so the consumer can tell how long after the poll
+ a score arrived on Kafka.
+ ***/
+public class SimulatedProvider implements AutoCloseable {
+    private final HttpServer server;
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final double changeProbability;
+    private final Map<Long, EventState> events = new ConcurrentHashMap<>();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder scoreChanges = new LongAdder();
+
+    public SimulatedProvider(LatencyDistribution latency, double errorRate, double changeProbability) throws IOException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.changeProbability = changeProbability;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/mock/status/", this::handleStatus);
+        this.server.createContext("/mock/status/batch", this::handleBatchStatus);
+        this.server.start();
+    }
+
+    public String getBaseUri() {
+        return "http://localhost:" + server.getAddress().getPort() + "/mock/status/";
+    }
+
+    public String getBatchUri() {
+        return getBaseUri() + "batch";
+    }
+
+    /***
+     System.nanoTime() of the last successful answer for the event, or 0 if it was never served.
+     ***/
+    public long lastServedAtNanos(long eventId) {
+        var state = events.get(eventId);
+        return state == null ? 0 : state.servedAtNanos;
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getScoreChanges() {
+        return scoreChanges.sum();
+    }
+
+    private void handleStatus(HttpExchange exchange) throws IOException {
+        var path = exchange.getRequestURI().getPath();
+        var eventId = Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+
+        if (delayAndFail(exchange)) {
+            return;
+        }
+        respond(exchange, serve(eventId, new StringBuilder()).toString());
+    }
+
+    private void handleBatchStatus(HttpExchange exchange) throws IOException {
+        var requestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8).trim();
+        var eventIds = requestBody.substring(1, requestBody.length() - 1).split(",");
+
+        if (delayAndFail(exchange)) {
+            return;
+        }
+
+        var responseBody = new StringBuilder("[");
+        for (int i = 0; i < eventIds.length; i++) {
+            if (i > 0) {
+                responseBody.append(',');
+            }
+            serve(Long.parseLong(eventIds[i].trim()), responseBody);
+        }
+        respond(exchange, responseBody.append(']').toString());
+    }
+
+    private StringBuilder serve(long eventId, StringBuilder body) {
+        var state = events.computeIfAbsent(eventId, id -> new EventState());
+        var random = ThreadLocalRandom.current();
+        String score;
+        synchronized (state) {
+            if (random.nextDouble() < changeProbability) {
+                if (random.nextBoolean()) {
+                    state.home++;
+                } else {
+                    state.away++;
+                }
+                scoreChanges.increment();
+            }
+            score = state.home + ":" + state.away;
+            state.servedAtNanos = System.nanoTime();
+        }
+        return body.append("{\"eventId\":").append(eventId).append(",\"currentScore\":\"").append(score).append("\"}");
+    }
+
+    private boolean delayAndFail(HttpExchange exchange) throws IOException {
+        requests.increment();
+        var random = ThreadLocalRandom.current();
+        try {
+            Thread.sleep(Duration.ofNanos(latency.sampleNanos(random)));
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (random.nextDouble() >= errorRate) {
+            return false;
+        }
+        errors.increment();
+        exchange.sendResponseHeaders(503, -1);
+        exchange.close();
+        return true;
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        var bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (var out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static final class EventState {
+        private int home;
+        private int away;
+        private volatile long servedAtNanos;
+    }
+}
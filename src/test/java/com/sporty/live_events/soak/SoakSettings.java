@@ -0,0 +1,50 @@
+package com.sporty.live_events.soak;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/***
+ Knobs of the soak test, read from "soak.*" system properties, which `./gradlew soakTest -Psoak.x=y` passes on.
+ Event ids are taken from 1000 upwards, so at most 9000 events fit the id range the tracking API accepts.
+ pollInterval pins every event to a fixed interval, by default they follow the configured cadence.
+ maxP99Latency fails the run when the poll-to-consume p99 ends up above it, report is where the report is written.
+ ***/
+public record SoakSettings(
+        int events,
+        Duration duration,
+        Duration warmup,
+        Duration pollInterval,
+        String providerLatency,
+        double providerErrorRate,
+        double scoreChangeProbability,
+        Duration maxP99Latency,
+        Path report) {
+
+    static final long FIRST_EVENT_ID = 1000;
+    static final int MAX_EVENTS = 9000;
+
+    public static SoakSettings fromSystemProperties() {
+        var settings = new SoakSettings(
+                Integer.parseInt(System.getProperty("soak.events", "5000")),
+                duration("soak.duration", "5m"),
+                duration("soak.warmup", "30s"),
+                duration("soak.poll-interval", null),
+                System.getProperty("soak.provider.latency", "lognormal:20ms:200ms"),
+                Double.parseDouble(System.getProperty("soak.provider.error-rate", "0.01")),
+                Double.parseDouble(System.getProperty("soak.provider.change-probability", "0.05")),
+                duration("soak.max-p99-latency", null),
+                System.getProperty("soak.report") == null ? null : Path.of(System.getProperty("soak.report")));
+
+        if (settings.events < 1 || settings.events > MAX_EVENTS) {
+            throw new IllegalArgumentException("soak.events must be between 1 and " + MAX_EVENTS);
+        }
+        return settings;
+    }
+
+    private static Duration duration(String name, String defaultValue) {
+        var value = System.getProperty(name, defaultValue);
+        return value == null ? null : DurationStyle.detectAndParse(value);
+    }
+}
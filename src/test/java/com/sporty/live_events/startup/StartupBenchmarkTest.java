@@ -0,0 +1,211 @@
+package com.sporty.live_events.startup;
+
+import com.sporty.live_events.service.kafka.LiveScoreKafkaMessage;
+import com.sporty.live_events.service.kafka.LiveScoreKafkaMessageDeserializer;
+import com.sporty.live_events.soak.LatencyDistribution;
+import com.sporty.live_events.soak.SimulatedProvider;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/***
+ Starts the packaged app once per startup mode and run, against an embedded Kafka broker and a simulated provider,
+ tracks an event as soon as the app answers and waits for its first score on Kafka.
+ Reports the median time from process start to ready and to the first published message, and the resident set
+ size at that point, per mode. NATIVE only runs when the native image was built.
+
+ Excluded from `./gradlew test`, run with `./gradlew startupBenchmark`, which builds the extracted jar and
+ the CDS archive first.
+ ***/
+@Tag("startup")
+class StartupBenchmarkTest {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final long FIRST_EVENT_ID = 1000;
+
+    enum Mode {
+        JVM,
+        AOT,
+        AOT_CDS,
+        NATIVE
+    }
+
+    private final Path applicationJar = Path.of(System.getProperty("startup.application-jar"));
+    private final Path cdsArchive = Path.of(System.getProperty("startup.cds-archive"));
+    private final Path nativeImage = Path.of(System.getProperty("startup.native-image"));
+    private final int runs = Integer.parseInt(System.getProperty("startup.runs", "3"));
+    private final String java = ProcessHandle.current().info().command().orElse("java");
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private long nextEventId = FIRST_EVENT_ID;
+
+    @Test
+    void shouldReportStartupOfEveryMode() throws Exception {
+        var broker = new EmbeddedKafkaKraftBroker(1, 1, "live_score");
+        broker.afterPropertiesSet();
+        try (var simulatedProvider = new SimulatedProvider(new LatencyDistribution.Fixed(Duration.ofMillis(1)), 0, 0);
+             var consumer = consumer(broker)) {
+
+            var report = new StringBuilder(String.format(Locale.ROOT, "%-8s %12s %16s %10s%n",
+                    "mode", "ready", "first message", "RSS"));
+            for (var mode : Mode.values()) {
+                if (mode == Mode.NATIVE && !Files.isExecutable(nativeImage)) {
+                    report.append(String.format(Locale.ROOT, "%-8s skipped, build it with ./gradlew nativeCompile -Pnative%n", mode));
+                    continue;
+                }
+
+                var results = new ArrayList<Result>();
+                for (int run = 0; run < runs; run++) {
+                    results.add(start(mode, broker, simulatedProvider, consumer));
+                }
+                report.append(String.format(Locale.ROOT, "%-8s %10dms %14dms %8dMB%n", mode,
+                        median(results, Result::readyMillis), median(results, Result::firstMessageMillis),
+                        median(results, Result::rssKilobytes) >> 10));
+            }
+
+            System.out.println(report);
+            var reportFile = Path.of(System.getProperty("startup.report"));
+            Files.createDirectories(reportFile.getParent());
+            Files.writeString(reportFile, report);
+        } finally {
+            broker.destroy();
+            httpClient.close();
+        }
+    }
+
+    private Result start(Mode mode, EmbeddedKafkaKraftBroker broker, SimulatedProvider simulatedProvider,
+                         Consumer<String, LiveScoreKafkaMessage> consumer) throws Exception {
+        var eventId = nextEventId++;
+        var port = freePort();
+        var command = new ArrayList<>(launcher(mode));
+        command.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                "--live-events.provider.base-uri=" + simulatedProvider.getBaseUri(),
+                "--logging.level.com.sporty.live_events=WARN"));
+
+        consumer.seekToEnd(consumer.assignment());
+        consumer.assignment().forEach(consumer::position);
+
+        var startNanos = System.nanoTime();
+        var process = new ProcessBuilder(command)
+                .directory(applicationJar.getParent().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(applicationJar.getParent().resolve(mode + ".log").toFile())
+                .start();
+        try {
+            var deadline = startNanos + STARTUP_TIMEOUT.toNanos();
+            trackWhenReady(port, eventId, deadline);
+            var readyNanos = System.nanoTime();
+            awaitScore(consumer, eventId, deadline);
+            var firstMessageNanos = System.nanoTime();
+
+            return new Result(TimeUnit.NANOSECONDS.toMillis(readyNanos - startNanos),
+                    TimeUnit.NANOSECONDS.toMillis(firstMessageNanos - startNanos), rssKilobytes(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private List<String> launcher(Mode mode) {
+        // the same absolute jar path as the training run, the CDS archive is only used for a matching class path
+        var jar = applicationJar.toString();
+        return switch (mode) {
+            case JVM -> List.of(java, "-jar", jar);
+            case AOT -> List.of(java, "-Dspring.aot.enabled=true", "-jar", jar);
+            case AOT_CDS -> List.of(java, "-XX:SharedArchiveFile=" + cdsArchive, "-Dspring.aot.enabled=true", "-jar", jar);
+            case NATIVE -> List.of(nativeImage.toString());
+        };
+    }
+
+    private void trackWhenReady(int port, long eventId, long deadlineNanos) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/events/status"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"eventId\":" + eventId + ",\"status\":true}"))
+                .build();
+        while (System.nanoTime() < deadlineNanos) {
+            try {
+                var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                assertThat(response.statusCode()).isEqualTo(200);
+                return;
+            } catch (ConnectException exc) {
+                Thread.sleep(10);
+            }
+        }
+        throw new AssertionError("App did not answer within " + STARTUP_TIMEOUT);
+    }
+
+    private static void awaitScore(Consumer<String, LiveScoreKafkaMessage> consumer, long eventId, long deadlineNanos) {
+        while (System.nanoTime() < deadlineNanos) {
+            for (var record : consumer.poll(Duration.ofMillis(10))) {
+                if (record.value().eventId() == eventId) {
+                    return;
+                }
+            }
+        }
+        throw new AssertionError("No score of event " + eventId + " was published within " + STARTUP_TIMEOUT);
+    }
+
+    private static Consumer<String, LiveScoreKafkaMessage> consumer(EmbeddedKafkaKraftBroker broker) {
+        var consumer = new DefaultKafkaConsumerFactory<>(KafkaTestUtils.consumerProps("startup-benchmark", "false", broker),
+                new StringDeserializer(), new LiveScoreKafkaMessageDeserializer()).createConsumer();
+        broker.consumeFromAnEmbeddedTopic(consumer, "live_score");
+        return consumer;
+    }
+
+    /***
+     VmRSS from /proc, so only available on Linux, -1 elsewhere.
+     ***/
+    private static long rssKilobytes(long pid) throws IOException {
+        var status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        try (var lines = Files.lines(status)) {
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                    .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                    .findFirst()
+                    .orElse(-1);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(List<Result> results, ToLongFunction<Result> metric) {
+        var values = results.stream().mapToLong(metric).toArray();
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+
+    private record Result(long readyMillis, long firstMessageMillis, long rssKilobytes) {
+    }
+}